@@ -0,0 +1,108 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.cache.SerializedAggregateEncoder;
+import com.example.nba.cache.SerializedAggregates;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of writing season aggregates with the default Jackson encoder against the
+ * {@link SerializedAggregateEncoder}: a single {@link PlayerSeasonStats}, as returned by the season lookup,
+ * which the encoder copies from its cached form, and the JSON array of a season's {@value #PLAYERS} players,
+ * which it serializes without caching.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregateSerializationBenchmark {
+    private static final int PLAYERS = 450;
+    private static final ResolvableType TYPE = ResolvableType.forClass(PlayerSeasonStats.class);
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Jackson2JsonEncoder jacksonEncoder = new Jackson2JsonEncoder(objectMapper);
+    private final SerializedAggregateEncoder serializedEncoder =
+            new SerializedAggregateEncoder(new SerializedAggregates(objectMapper, 20_000));
+
+    private PlayerSeasonStats seasonStats;
+    private List<PlayerSeasonStats> season;
+
+    @Setup
+    public void setUp() {
+        InMemoryPlayerSeasonStatisticsRepository repository =
+                new InMemoryPlayerSeasonStatisticsRepository(new DefaultKeyGenerator());
+        for (int i = 0; i < PLAYERS * 20; i++) {
+            PlayerGameStats line = BenchmarkData.gameLine(i);
+            repository.mergeGame(new PlayerGameStats(line.id(), String.valueOf(i % PLAYERS), line.gameId(),
+                    line.teamId(), line.timestamp(), line.season(), line.points(), line.rebounds(), line.assists(),
+                    line.steals(), line.blocks(), line.fouls(), line.turnovers(), line.minutesPlayed())).block();
+        }
+        season = repository.findBySeason(BenchmarkData.SEASON, null).collectList().block();
+        seasonStats = season.get(0);
+    }
+
+    @Benchmark
+    public int jacksonValue() {
+        return release(jacksonEncoder.encodeValue(seasonStats, bufferFactory, TYPE, MediaType.APPLICATION_JSON,
+                Map.of()));
+    }
+
+    @Benchmark
+    public int serializedValue() {
+        return release(serializedEncoder.encodeValue(seasonStats, bufferFactory, TYPE, MediaType.APPLICATION_JSON,
+                Map.of()));
+    }
+
+    @Benchmark
+    public int jacksonSeason() {
+        return encode(jacksonEncoder);
+    }
+
+    @Benchmark
+    public int serializedSeason() {
+        return encode(serializedEncoder);
+    }
+
+    private int encode(Encoder<Object> encoder) {
+        return encoder.encode(Flux.fromIterable(season), bufferFactory, TYPE, MediaType.APPLICATION_JSON, Map.of())
+                .map(AggregateSerializationBenchmark::release)
+                .reduce(0, Integer::sum)
+                .block();
+    }
+
+    private static int release(DataBuffer buffer) {
+        int bytes = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+}
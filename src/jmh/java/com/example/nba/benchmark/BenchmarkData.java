@@ -0,0 +1,57 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Shared fixtures for the JMH benchmarks.
+ */
+final class BenchmarkData {
+    static final int PLAYERS = 14;
+    static final int TEAMS = 10;
+    static final String SEASON = "2023-2024";
+
+    private static final LocalDateTime TIP_OFF = LocalDateTime.of(2023, 10, 24, 19, 30);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a pool of distinct game lines spread over the sample roster, so that benchmarks cycling
+     * through it touch several player and team keys.
+     */
+    static PlayerGameStats[] gameLines(int count) {
+        PlayerGameStats[] lines = new PlayerGameStats[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = gameLine(i);
+        }
+        return lines;
+    }
+
+    /**
+     * Creates the game line with the given sequence number. Every {@value #PLAYERS} consecutive numbers are
+     * the lines of one game, one per player, so lines with different numbers have different player/game
+     * pairs and saving them is never a no-op resend.
+     */
+    static PlayerGameStats gameLine(long sequence) {
+        int i = (int) (sequence & Integer.MAX_VALUE);
+        return new PlayerGameStats(
+                "stat-" + sequence,
+                String.valueOf(1 + i % PLAYERS),
+                "game-" + sequence / PLAYERS,
+                String.valueOf(1 + i % TEAMS),
+                TIP_OFF.plusMinutes(i),
+                SEASON,
+                i % 45,
+                i % 18,
+                i % 13,
+                i % 5,
+                i % 4,
+                i % 7,
+                i % 6,
+                BigDecimal.valueOf(i % 481, 1)
+        );
+    }
+}
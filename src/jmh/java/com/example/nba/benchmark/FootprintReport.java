@@ -0,0 +1,86 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.InMemoryPlayerStatisticsRepository;
+import com.example.nba.repository.columnar.ColumnarGameStatsStore;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import com.example.nba.repository.offheap.OffHeapPlayerStatisticsRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Reports the retained heap per game line of the ways game lines are held: the record map alone, the
+ * columnar store alone, the whole heap game repository (map, game log, ID index and columnar copy), and
+ * the heap part of the off-heap game repository (dictionaries, primitive indexes and columnar copy).
+ * <p>
+ * Each structure is filled with fresh lines whose strings are not shared, as if deserialized from JSON,
+ * and measured as the growth of the used heap after a full collection. Run with a fixed heap to reduce
+ * noise, e.g.
+ * <pre>
+ * java -Xms2g -Xmx2g -cp ... com.example.nba.benchmark.FootprintReport 1000000
+ * </pre>
+ */
+public final class FootprintReport {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private FootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+
+        report("record map", rows, count -> {
+            ConcurrentHashMap<CompositeKey, PlayerGameStats> map = new ConcurrentHashMap<>();
+            for (int i = 0; i < count; i++) {
+                PlayerGameStats line = BenchmarkData.gameLine(i);
+                map.put(keyGenerator.compositeKey(line.playerId(), line.gameId()), line);
+            }
+            return map;
+        });
+        report("columnar store", rows, count -> {
+            ColumnarGameStatsStore store = new ColumnarGameStatsStore(new IdentifierInterner());
+            for (int i = 0; i < count; i++) {
+                store.put(BenchmarkData.gameLine(i));
+            }
+            return store;
+        });
+        report("game repository", rows, count -> {
+            InMemoryPlayerStatisticsRepository repository = new InMemoryPlayerStatisticsRepository(keyGenerator, new IdentifierInterner());
+            for (int i = 0; i < count; i++) {
+                repository.save(BenchmarkData.gameLine(i)).block();
+            }
+            return repository;
+        });
+        report("off-heap repository", rows, count -> {
+            OffHeapPlayerStatisticsRepository repository = new OffHeapPlayerStatisticsRepository(new IdentifierInterner());
+            for (int i = 0; i < count; i++) {
+                repository.save(BenchmarkData.gameLine(i)).block();
+            }
+            return repository;
+        });
+    }
+
+    private static void report(String name, int rows, IntFunction<Object> fill) {
+        long before = usedHeap();
+        Object retained = fill.apply(rows);
+        long after = usedHeap();
+        System.out.printf("%-20s %,14d bytes %,8.1f bytes/line%n", name, after - before, (after - before) / (double) rows);
+        // Keep the structure reachable until it has been measured
+        if (retained.hashCode() == 42) {
+            System.out.print("");
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
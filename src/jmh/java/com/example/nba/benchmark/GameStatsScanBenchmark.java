@@ -0,0 +1,123 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.columnar.ColumnarGameStatsStore;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares aggregate scans over {@code rows} game lines held as records in a {@link ConcurrentHashMap}, the
+ * way the game repository stores them, with the same scans over a {@link ColumnarGameStatsStore}. Each scan
+ * computes the count and the total, minimum and maximum of every statistic of the matching lines:
+ * all lines, one team's lines, and the lines of one week (about 1% of the rows, which lets the columnar
+ * store skip most segments by their zone maps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class GameStatsScanBenchmark {
+    private static final LocalDateTime WEEK_START = LocalDateTime.of(2023, 10, 24, 19, 30).plusMinutes(500_000);
+
+    @Param("1000000")
+    private int rows;
+
+    private final ConcurrentHashMap<CompositeKey, PlayerGameStats> map = new ConcurrentHashMap<>();
+    private final ColumnarGameStatsStore store = new ColumnarGameStatsStore(new IdentifierInterner());
+
+    @Setup
+    public void setUp() {
+        DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        for (int i = 0; i < rows; i++) {
+            PlayerGameStats line = BenchmarkData.gameLine(i);
+            map.put(keyGenerator.compositeKey(line.playerId(), line.gameId()), line);
+            store.put(line);
+        }
+    }
+
+    @Benchmark
+    public long[] mapAll() {
+        return summarize(line -> true);
+    }
+
+    @Benchmark
+    public GameStatsSummary columnarAll() {
+        return store.summarize(GameStatsFilter.all());
+    }
+
+    @Benchmark
+    public long[] mapTeam() {
+        return summarize(line -> line.teamId().equals("3") && line.season().equals(BenchmarkData.SEASON));
+    }
+
+    @Benchmark
+    public GameStatsSummary columnarTeam() {
+        return store.summarize(new GameStatsFilter(BenchmarkData.SEASON, "3", null, null, null, List.of()));
+    }
+
+    @Benchmark
+    public long[] mapWeek() {
+        LocalDateTime end = WEEK_START.plusWeeks(1);
+        return summarize(line -> !line.timestamp().isBefore(WEEK_START) && line.timestamp().isBefore(end));
+    }
+
+    @Benchmark
+    public GameStatsSummary columnarWeek() {
+        return store.summarize(new GameStatsFilter(null, null, null, WEEK_START, WEEK_START.plusWeeks(1), List.of()));
+    }
+
+    /**
+     * Computes what {@link ColumnarGameStatsStore#summarize} does from the records: the count followed by
+     * the total, minimum and maximum of each statistic.
+     */
+    private long[] summarize(Predicate<PlayerGameStats> filter) {
+        long[] result = new long[1 + 8 * 3];
+        for (int stat = 0; stat < 8; stat++) {
+            result[2 + stat * 3] = Long.MAX_VALUE;
+            result[3 + stat * 3] = Long.MIN_VALUE;
+        }
+        for (PlayerGameStats line : map.values()) {
+            if (filter.test(line)) {
+                result[0]++;
+                fold(result, 0, line.points());
+                fold(result, 1, line.rebounds());
+                fold(result, 2, line.assists());
+                fold(result, 3, line.steals());
+                fold(result, 4, line.blocks());
+                fold(result, 5, line.fouls());
+                fold(result, 6, line.turnovers());
+                fold(result, 7, line.minutesPlayed().unscaledValue().longValue());
+            }
+        }
+        return result;
+    }
+
+    private static void fold(long[] result, int stat, long value) {
+        int offset = 1 + stat * 3;
+        result[offset] += value;
+        result[offset + 1] = Math.min(result[offset + 1], value);
+        result[offset + 2] = Math.max(result[offset + 2], value);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.cache.SeasonStatsResponseCache;
+import com.example.nba.cache.SerializedAggregates;
+import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.persistence.GameStatsChangeLog;
+import com.example.nba.persistence.GameStatsJournal;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.InMemoryPlayerStatisticsRepository;
+import com.example.nba.repository.InMemoryTeamStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import com.example.nba.repository.rolling.InMemoryRollingStatsRepository;
+import com.example.nba.service.GameStatisticsServiceImpl;
+import com.example.nba.service.PlayerStatisticsServiceImpl;
+import com.example.nba.service.TeamStatisticsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the full ingest chain behind {@code POST /api/v1/statistics/player/stats}: the game row save,
+ * the player season merge and the team season merge, wired the same way as in the application.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngestBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+        GameStatisticsServiceImpl gameStatisticsService;
+        GameStatsChangeLog changeLog;
+
+        @Setup
+        public void setUp() throws IOException {
+            changeLog = GameStatsChangeLog.openTemporary(65_536);
+            DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+            TeamInitializer teamInitializer = new TeamInitializer();
+            teamInitializer.run();
+            gameStatisticsService = new GameStatisticsServiceImpl(
+                    new PlayerStatisticsServiceImpl(
+                            new InMemoryPlayerStatisticsRepository(keyGenerator, new IdentifierInterner()),
+                            new InMemoryPlayerSeasonStatisticsRepository(keyGenerator),
+                            new InMemoryRollingStatsRepository(new int[]{5, 10}, new int[]{30}, 32)),
+                    new TeamStatisticsServiceImpl(new InMemoryTeamStatisticsRepository(keyGenerator)),
+                    teamInitializer,
+                    Validation.buildDefaultValidatorFactory().getValidator(),
+                    GameStatsJournal.NONE,
+                    new SeasonStatsResponseCache(
+                            new SerializedAggregates(new ObjectMapper(), 1_000), keyGenerator, 10_000),
+                    changeLog);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            changeLog.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lines {
+        private static final AtomicLong THREAD_BLOCKS = new AtomicLong();
+
+        long next;
+
+        @Setup
+        public void setUp() {
+            // Every thread numbers its own block of games, so each save ingests a new game
+            next = THREAD_BLOCKS.getAndIncrement() << 40;
+        }
+
+        PlayerGameStats next() {
+            return BenchmarkData.gameLine(next++);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PlayerGameStats saveGameStatisticsSingleThreaded(Pipeline pipeline, Lines lines) {
+        return pipeline.gameStatisticsService.saveGameStatistics(lines.next()).block();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PlayerGameStats saveGameStatisticsMultiThreaded(Pipeline pipeline, Lines lines) {
+        return pipeline.gameStatisticsService.saveGameStatistics(lines.next()).block();
+    }
+}
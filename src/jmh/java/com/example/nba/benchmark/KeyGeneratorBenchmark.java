@@ -0,0 +1,69 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the composite key construction done on every repository save and lookup, and the latency of
+ * a map lookup keyed by a joined string compared with one keyed by a {@link CompositeKey}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyGeneratorBenchmark {
+    private final DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+    private String playerId = "7";
+    private String season = BenchmarkData.SEASON;
+
+    private final Map<String, Object> stringKeyed = new ConcurrentHashMap<>();
+    private final Map<CompositeKey, Object> compositeKeyed = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        for (int player = 1; player <= 500; player++) {
+            for (int year = 2000; year < 2024; year++) {
+                String id = String.valueOf(player);
+                String seasonId = year + "-" + (year + 1);
+                stringKeyed.put(keyGenerator.generateKey(id, seasonId), seasonId);
+                compositeKeyed.put(keyGenerator.compositeKey(id, seasonId), seasonId);
+            }
+        }
+    }
+
+    @Benchmark
+    public String generateKey() {
+        return keyGenerator.generateKey(playerId, season);
+    }
+
+    @Benchmark
+    public CompositeKey compositeKey() {
+        return keyGenerator.compositeKey(playerId, season);
+    }
+
+    @Benchmark
+    public Object stringKeyLookup() {
+        return stringKeyed.get(keyGenerator.generateKey(playerId, season));
+    }
+
+    @Benchmark
+    public Object compositeKeyLookup() {
+        return compositeKeyed.get(keyGenerator.compositeKey(playerId, season));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures merging game lines into the player season repository, which republishes every changed player to
+ * the season's leaderboards, on one thread and on as many threads as there are cores. All lines belong to
+ * the {@value BenchmarkData#PLAYERS} players of one season, so concurrent threads keep updating the same
+ * season leaderboard. Scores are merges per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Repository {
+        final InMemoryPlayerSeasonStatisticsRepository repository =
+                new InMemoryPlayerSeasonStatisticsRepository(new DefaultKeyGenerator());
+    }
+
+    @State(Scope.Thread)
+    public static class Lines {
+        private static final int POOL = 4096;
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        PlayerGameStats[] lines;
+        int next;
+
+        @Setup
+        public void setUp() {
+            // Threads start at different players, so they do not move through the keys in lockstep
+            int offset = THREADS.getAndIncrement() * 5;
+            lines = new PlayerGameStats[POOL];
+            for (int i = 0; i < POOL; i++) {
+                lines[i] = BenchmarkData.gameLine(offset + i);
+            }
+        }
+
+        PlayerGameStats next() {
+            return lines[next++ & (POOL - 1)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void mergeSingleThreaded(Repository repository, Lines lines) {
+        repository.repository.mergeGame(lines.next()).block();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void mergeMultiThreaded(Repository repository, Lines lines) {
+        repository.repository.mergeGame(lines.next()).block();
+    }
+}
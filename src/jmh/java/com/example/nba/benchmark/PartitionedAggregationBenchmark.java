@@ -0,0 +1,127 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.Team;
+import com.example.nba.repository.accumulator.PlayerSeasonAccumulator;
+import com.example.nba.repository.accumulator.TeamSeasonAccumulator;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares folding batches of {@code batchSize} game lines into the player and team season statistics
+ * through concurrent maps of accumulators, the way the season repositories do, with handing the same
+ * batches to a {@link PartitionedSeasonAggregator} of {@code partitions} single-writer threads. Each
+ * variant runs on one thread and on as many threads as there are cores; the lines cover the
+ * {@value BenchmarkData#PLAYERS} players and {@value BenchmarkData#TEAMS} teams of the sample roster, so
+ * concurrent threads keep hitting the same keys. Scores are batches per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionedAggregationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Aggregates {
+        @Param({"1", "32"})
+        int batchSize;
+
+        @Param("4")
+        int partitions;
+
+        final DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        final ConcurrentHashMap<CompositeKey, PlayerSeasonAccumulator> players = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<CompositeKey, TeamSeasonAccumulator> teams = new ConcurrentHashMap<>();
+        PartitionedSeasonAggregator aggregator;
+
+        @Setup
+        public void setUp() {
+            aggregator = new PartitionedSeasonAggregator(partitions, keyGenerator, teamId -> new Team(teamId, teamId));
+        }
+
+        @TearDown
+        public void tearDown() {
+            aggregator.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batches {
+        private static final int POOL = 4096;
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        final List<List<PlayerGameStats>> batches = new ArrayList<>();
+        int next;
+
+        @Setup
+        public void setUp(Aggregates aggregates) {
+            // Threads start at different lines, so they do not move through the keys in lockstep
+            int offset = THREADS.getAndIncrement() * 7;
+            PlayerGameStats[] lines = BenchmarkData.gameLines(POOL + offset);
+            for (int i = 0; i < POOL / aggregates.batchSize; i++) {
+                int from = offset + i * aggregates.batchSize;
+                batches.add(Arrays.asList(Arrays.copyOfRange(lines, from, from + aggregates.batchSize)));
+            }
+        }
+
+        List<PlayerGameStats> next() {
+            List<PlayerGameStats> batch = batches.get(next);
+            next = (next + 1) % batches.size();
+            return batch;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void mapSingleThreaded(Aggregates aggregates, Batches batches) {
+        merge(aggregates, batches.next());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void mapMultiThreaded(Aggregates aggregates, Batches batches) {
+        merge(aggregates, batches.next());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void partitionedSingleThreaded(Aggregates aggregates, Batches batches) {
+        aggregates.aggregator.mergeGames(batches.next()).block();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void partitionedMultiThreaded(Aggregates aggregates, Batches batches) {
+        aggregates.aggregator.mergeGames(batches.next()).block();
+    }
+
+    private static void merge(Aggregates aggregates, List<PlayerGameStats> batch) {
+        for (PlayerGameStats line : batch) {
+            aggregates.players.computeIfAbsent(aggregates.keyGenerator.compositeKey(line.playerId(), line.season()),
+                    key -> new PlayerSeasonAccumulator(line.playerId(), line.season())).add(line);
+            aggregates.teams.computeIfAbsent(aggregates.keyGenerator.compositeKey(line.teamId(), line.season()),
+                    key -> new TeamSeasonAccumulator(new Team(line.teamId(), line.teamId()), line.season())).add(line);
+        }
+    }
+}
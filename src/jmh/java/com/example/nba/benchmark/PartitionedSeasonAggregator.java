@@ -0,0 +1,330 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.KeyGenerator;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Single-writer aggregation of player and team season statistics, sharded over partition threads.
+ * <p>
+ * Every player belongs to exactly one partition, chosen by player ID, and every team to exactly one, chosen by
+ * team ID. A partition thread owns the season totals of its players and teams in plain primitive arrays and
+ * is the only thread that ever touches them, so folding a game in takes neither a lock nor a CAS. Writers hand
+ * each partition its share of a batch through a lock-free inbox; the partition applies everything waiting in
+ * its inbox, then publishes an immutable {@link PlayerSeasonStats} or {@link TeamSeasonStats} per changed key.
+ * Readers only ever see these published snapshots.
+ * <p>
+ * This is an alternative to the concurrent maps of accumulators behind the season repositories, which let
+ * any ingest thread update any key, kept only for {@link PartitionedAggregationBenchmark}: the hand-off to the
+ * partition threads cost far more than the contention it removed. The inboxes are unbounded: callers wait for
+ * their merges to complete, so the queued work is bounded by the number of concurrent callers.
+ */
+final class PartitionedSeasonAggregator implements Closeable {
+    // games, points, rebounds, assists, steals, blocks, fouls, turnovers, minutes in tenths
+    private static final int PLAYER_TOTALS = 9;
+    // games, points, rebounds, assists, steals, blocks, fouls, turnovers
+    private static final int TEAM_TOTALS = 8;
+    private static final int MAX_DRAIN = 256;
+
+    private final KeyGenerator keyGenerator;
+    private final Function<String, Team> teams;
+    private final Partition[] partitions;
+    private final ConcurrentHashMap<CompositeKey, PlayerSeasonStats> playerSnapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CompositeKey, TeamSeasonStats> teamSnapshots = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Starts the partition threads.
+     *
+     * @param partitions the number of partition threads
+     * @param teams      resolves the team of a team ID, for the published team statistics
+     */
+    PartitionedSeasonAggregator(int partitions, KeyGenerator keyGenerator, Function<String, Team> teams) {
+        this.keyGenerator = keyGenerator;
+        this.teams = teams;
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition("season-partition-" + i);
+        }
+        for (Partition partition : this.partitions) {
+            partition.thread.start();
+        }
+    }
+
+    /**
+     * Folds the games into the season statistics of their players and teams.
+     *
+     * @return a {@code Mono} that completes once every game is reflected in the published statistics; it
+     *         completes on a partition thread, so further work should be moved to another scheduler
+     */
+    Mono<Void> mergeGames(List<PlayerGameStats> games) {
+        return apply(games, 1);
+    }
+
+    /**
+     * Subtracts previously merged games from the season statistics of their players and teams.
+     *
+     * @return a {@code Mono} that completes once the published statistics no longer include the games
+     */
+    Mono<Void> removeGames(List<PlayerGameStats> games) {
+        return apply(games, -1);
+    }
+
+    /**
+     * Returns the latest published season statistics of the player, or {@code null} if no game of the
+     * player's season was merged.
+     */
+    PlayerSeasonStats playerSeasonStats(String playerId, String season) {
+        return playerSnapshots.get(keyGenerator.compositeKey(playerId, season));
+    }
+
+    /**
+     * Returns the latest published season statistics of the team, or {@code null} if no game of the team's
+     * season was merged.
+     */
+    TeamSeasonStats teamSeasonStats(String teamId, String season) {
+        return teamSnapshots.get(keyGenerator.compositeKey(teamId, season));
+    }
+
+    private Mono<Void> apply(List<PlayerGameStats> games, int sign) {
+        if (games.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            if (closed) {
+                return Mono.error(new IllegalStateException("Season aggregator is closed"));
+            }
+            // Each partition receives the lines of its players and the lines of its teams
+            Map<Partition, Command> commands = new LinkedHashMap<>();
+            for (PlayerGameStats gameStats : games) {
+                commands.computeIfAbsent(partitionOf(gameStats.playerId()), partition -> new Command(sign))
+                        .players.add(gameStats);
+                commands.computeIfAbsent(partitionOf(gameStats.teamId()), partition -> new Command(sign))
+                        .teams.add(gameStats);
+            }
+            Completion completion = new Completion(commands.size());
+            commands.forEach((partition, command) -> partition.submit(command.completingWith(completion)));
+            return Mono.fromFuture(completion.future);
+        });
+    }
+
+    private Partition partitionOf(String id) {
+        return partitions[Math.floorMod(id.hashCode(), partitions.length)];
+    }
+
+    /**
+     * Stops the partition threads once they have applied the commands already submitted.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Partition partition : partitions) {
+            partition.running = false;
+            LockSupport.unpark(partition.thread);
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Commands that raced with close() and arrived after the partition stopped
+            IllegalStateException closedException = new IllegalStateException("Season aggregator is closed");
+            partition.inbox.forEach(command -> command.completion.future.completeExceptionally(closedException));
+        }
+    }
+
+    private final class Partition {
+        final ConcurrentLinkedQueue<Command> inbox = new ConcurrentLinkedQueue<>();
+        final Thread thread;
+        volatile boolean running = true;
+
+        // Only touched by the partition thread
+        private final Map<CompositeKey, long[]> playerTotals = new HashMap<>();
+        private final Map<CompositeKey, long[]> teamTotals = new HashMap<>();
+        private final Map<CompositeKey, long[]> changedPlayers = new LinkedHashMap<>();
+        private final Map<CompositeKey, long[]> changedTeams = new LinkedHashMap<>();
+        private final List<Command> drained = new ArrayList<>(MAX_DRAIN);
+
+        Partition(String name) {
+            thread = new Thread(this::run, name);
+            thread.setDaemon(true);
+        }
+
+        void submit(Command command) {
+            inbox.add(command);
+            LockSupport.unpark(thread);
+        }
+
+        private void run() {
+            while (true) {
+                Command command = inbox.poll();
+                if (command == null) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                do {
+                    drained.add(command);
+                    fold(command);
+                } while (drained.size() < MAX_DRAIN && (command = inbox.poll()) != null);
+                publish();
+                drained.forEach(Command::complete);
+                drained.clear();
+            }
+        }
+
+        private void fold(Command command) {
+            for (PlayerGameStats gameStats : command.players) {
+                CompositeKey key = keyGenerator.compositeKey(gameStats.playerId(), gameStats.season());
+                long[] totals = playerTotals.computeIfAbsent(key, k -> new long[PLAYER_TOTALS]);
+                addCounts(totals, gameStats, command.sign);
+                totals[8] += command.sign * Math.round(gameStats.minutesPlayed().doubleValue() * 10);
+                changedPlayers.put(key, totals);
+            }
+            for (PlayerGameStats gameStats : command.teams) {
+                CompositeKey key = keyGenerator.compositeKey(gameStats.teamId(), gameStats.season());
+                long[] totals = teamTotals.computeIfAbsent(key, k -> new long[TEAM_TOTALS]);
+                addCounts(totals, gameStats, command.sign);
+                changedTeams.put(key, totals);
+            }
+        }
+
+        // Statistics that no game contributes to anymore are dropped rather than published as zeros
+        private void publish() {
+            changedPlayers.forEach((key, totals) -> {
+                if (totals[0] == 0) {
+                    playerTotals.remove(key);
+                    playerSnapshots.remove(key);
+                } else {
+                    playerSnapshots.put(key, playerSnapshot(key, totals));
+                }
+            });
+            changedTeams.forEach((key, totals) -> {
+                if (totals[0] == 0) {
+                    teamTotals.remove(key);
+                    teamSnapshots.remove(key);
+                } else {
+                    teamSnapshots.put(key, teamSnapshot(key, totals));
+                }
+            });
+            changedPlayers.clear();
+            changedTeams.clear();
+        }
+    }
+
+    // The first eight totals of players and teams are laid out alike
+    private static void addCounts(long[] totals, PlayerGameStats gameStats, int sign) {
+        totals[0] += sign;
+        totals[1] += sign * gameStats.points();
+        totals[2] += sign * gameStats.rebounds();
+        totals[3] += sign * gameStats.assists();
+        totals[4] += sign * gameStats.steals();
+        totals[5] += sign * gameStats.blocks();
+        totals[6] += sign * gameStats.fouls();
+        totals[7] += sign * gameStats.turnovers();
+    }
+
+    // Derived like PlayerSeasonAccumulator#snapshot, including the rounding of the average minutes
+    private static PlayerSeasonStats playerSnapshot(CompositeKey key, long[] totals) {
+        long games = totals[0];
+        return new PlayerSeasonStats(
+                key.first(),
+                key.second(),
+                (int) games,
+                (int) totals[1],
+                (int) totals[2],
+                (int) totals[3],
+                (int) totals[4],
+                (int) totals[5],
+                (int) totals[6],
+                (int) totals[7],
+                BigDecimal.valueOf(totals[8], 1),
+                average(totals[1], games),
+                average(totals[2], games),
+                average(totals[3], games),
+                average(totals[4], games),
+                average(totals[5], games),
+                average(totals[6], games),
+                average(totals[7], games),
+                BigDecimal.valueOf(games == 0 ? 0 : (2 * totals[8] + games) / (2 * games), 1)
+        );
+    }
+
+    private TeamSeasonStats teamSnapshot(CompositeKey key, long[] totals) {
+        long games = totals[0];
+        return new TeamSeasonStats(
+                teams.apply(key.first()),
+                key.second(),
+                (int) games,
+                average(totals[1], games),
+                average(totals[2], games),
+                average(totals[3], games),
+                average(totals[4], games),
+                average(totals[5], games),
+                average(totals[6], games),
+                average(totals[7], games)
+        );
+    }
+
+    private static double average(long total, long games) {
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    private static final class Command {
+        final int sign;
+        final List<PlayerGameStats> players = new ArrayList<>();
+        final List<PlayerGameStats> teams = new ArrayList<>();
+        Completion completion;
+
+        Command(int sign) {
+            this.sign = sign;
+        }
+
+        Command completingWith(Completion completion) {
+            this.completion = completion;
+            return this;
+        }
+
+        void complete() {
+            completion.partitionDone();
+        }
+    }
+
+    // Completes a caller's merge once every partition it was split over has published its share
+    private static final class Completion {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final AtomicInteger remaining;
+
+        Completion(int partitions) {
+            this.remaining = new AtomicInteger(partitions);
+        }
+
+        void partitionDone() {
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(null);
+            }
+        }
+    }
+}
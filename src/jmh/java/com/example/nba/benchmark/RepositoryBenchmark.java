@@ -0,0 +1,92 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.InMemoryPlayerStatisticsRepository;
+import com.example.nba.repository.InMemoryTeamStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single save and lookup calls against the in-memory repositories, including the
+ * {@code Mono} wrapping they return.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+    private final DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+    private final InMemoryPlayerStatisticsRepository gameRepository =
+            new InMemoryPlayerStatisticsRepository(keyGenerator, new IdentifierInterner());
+    private final InMemoryPlayerSeasonStatisticsRepository playerSeasonRepository =
+            new InMemoryPlayerSeasonStatisticsRepository(keyGenerator);
+    private final InMemoryTeamStatisticsRepository teamRepository =
+            new InMemoryTeamStatisticsRepository(keyGenerator);
+
+    private PlayerGameStats[] lines;
+    private PlayerSeasonStats playerSeasonStats;
+    private TeamSeasonStats teamSeasonStats;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkData.gameLines(1024);
+        for (PlayerGameStats line : lines) {
+            gameRepository.save(line).block();
+            playerSeasonRepository.mergeGame(line).block();
+            teamRepository.mergeGame(new Team(line.teamId(), "Team " + line.teamId()), line).block();
+        }
+        playerSeasonStats = playerSeasonRepository.findByPlayerIdAndSeason("1", BenchmarkData.SEASON).block();
+        teamSeasonStats = teamRepository.findByTeamId("1", BenchmarkData.SEASON).block();
+    }
+
+    private PlayerGameStats nextLine() {
+        return lines[next++ & (lines.length - 1)];
+    }
+
+    @Benchmark
+    public GameStatsWrite gameSave() {
+        return gameRepository.save(nextLine()).block();
+    }
+
+    @Benchmark
+    public PlayerSeasonStats playerSeasonSave() {
+        return playerSeasonRepository.save(playerSeasonStats).block();
+    }
+
+    @Benchmark
+    public PlayerSeasonStats playerSeasonFind() {
+        PlayerGameStats line = nextLine();
+        return playerSeasonRepository.findByPlayerIdAndSeason(line.playerId(), line.season()).block();
+    }
+
+    @Benchmark
+    public TeamSeasonStats teamSave() {
+        return teamRepository.save(teamSeasonStats).block();
+    }
+
+    @Benchmark
+    public TeamSeasonStats teamFind() {
+        PlayerGameStats line = nextLine();
+        return teamRepository.findByTeamId(line.teamId(), line.season()).block();
+    }
+}
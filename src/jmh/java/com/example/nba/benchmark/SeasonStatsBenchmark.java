@@ -0,0 +1,80 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.repository.accumulator.PlayerSeasonAccumulator;
+import com.example.nba.repository.accumulator.TeamSeasonAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares folding one game into a season aggregate through the immutable {@code withNewGame} copies
+ * against the mutable accumulators used by the in-memory repositories.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeasonStatsBenchmark {
+    private PlayerGameStats gameStats;
+    private PlayerSeasonStats playerSeasonStats;
+    private TeamSeasonStats teamSeasonStats;
+    private PlayerSeasonAccumulator playerAccumulator;
+    private TeamSeasonAccumulator teamAccumulator;
+
+    @Setup
+    public void setUp() {
+        gameStats = new PlayerGameStats("stat-1", "7", "game-1", "7", LocalDateTime.now(), BenchmarkData.SEASON,
+                28, 9, 8, 1, 0, 2, 4, new BigDecimal("36.4"));
+        Team team = new Team("7", "Dallas Mavericks");
+        playerSeasonStats = PlayerSeasonStats.fromFirstGame(gameStats);
+        teamSeasonStats = TeamSeasonStats.fromFirstGame(gameStats, team);
+        playerAccumulator = new PlayerSeasonAccumulator(playerSeasonStats);
+        teamAccumulator = new TeamSeasonAccumulator(teamSeasonStats);
+    }
+
+    @Benchmark
+    public PlayerSeasonStats playerWithNewGame() {
+        return playerSeasonStats.withNewGame(gameStats);
+    }
+
+    @Benchmark
+    public PlayerSeasonAccumulator playerAccumulatorAdd() {
+        playerAccumulator.add(gameStats);
+        return playerAccumulator;
+    }
+
+    @Benchmark
+    public PlayerSeasonStats playerAccumulatorAddAndSnapshot() {
+        playerAccumulator.add(gameStats);
+        return playerAccumulator.snapshot();
+    }
+
+    @Benchmark
+    public TeamSeasonStats teamWithNewGame() {
+        return teamSeasonStats.withNewGame(gameStats);
+    }
+
+    @Benchmark
+    public TeamSeasonAccumulator teamAccumulatorAdd() {
+        teamAccumulator.add(gameStats);
+        return teamAccumulator;
+    }
+}
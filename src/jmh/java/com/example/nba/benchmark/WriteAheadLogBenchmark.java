@@ -0,0 +1,118 @@
+package com.example.nba.benchmark;
+
+import com.example.nba.cache.SeasonStatsResponseCache;
+import com.example.nba.cache.SerializedAggregates;
+import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.persistence.GameStatsChangeLog;
+import com.example.nba.persistence.GameStatsJournal;
+import com.example.nba.persistence.WriteAheadLog;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.InMemoryPlayerStatisticsRepository;
+import com.example.nba.repository.InMemoryTeamStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import com.example.nba.repository.rolling.InMemoryRollingStatsRepository;
+import com.example.nba.service.GameStatisticsServiceImpl;
+import com.example.nba.service.PlayerStatisticsServiceImpl;
+import com.example.nba.service.TeamStatisticsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures startup replay of a write-ahead log of {@value #RECORDS} game lines: decoding alone, and
+ * decoding plus rebuilding the repositories through the same restore path the application uses.
+ * Divide {@value #RECORDS} by the reported time for records per second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriteAheadLogBenchmark {
+    static final int RECORDS = 1_000_000;
+    private static final int REPLAY_BATCH_SIZE = 8192;
+
+    private Path logFile;
+    private GameStatsChangeLog changeLog;
+    private GameStatisticsServiceImpl gameStatisticsService;
+
+    @Setup(Level.Trial)
+    public void writeLog() throws IOException {
+        logFile = Files.createTempFile("game-stats", ".wal");
+        changeLog = GameStatsChangeLog.openTemporary(1024);
+        try (WriteAheadLog log = WriteAheadLog.open(logFile, 1024)) {
+            log.recover(REPLAY_BATCH_SIZE, batch -> {
+            });
+            List<PlayerGameStats> group = new ArrayList<>(REPLAY_BATCH_SIZE);
+            for (int i = 0; i < RECORDS; i++) {
+                group.add(BenchmarkData.gameLine(i));
+                if (group.size() == REPLAY_BATCH_SIZE || i == RECORDS - 1) {
+                    log.appendAll(group).block();
+                    group.clear();
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshRepositories() {
+        DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        TeamInitializer teamInitializer = new TeamInitializer();
+        teamInitializer.run();
+        gameStatisticsService = new GameStatisticsServiceImpl(
+                new PlayerStatisticsServiceImpl(
+                        new InMemoryPlayerStatisticsRepository(keyGenerator, new IdentifierInterner()),
+                        new InMemoryPlayerSeasonStatisticsRepository(keyGenerator),
+                        new InMemoryRollingStatsRepository(new int[]{5, 10}, new int[]{30}, 32)),
+                new TeamStatisticsServiceImpl(new InMemoryTeamStatisticsRepository(keyGenerator)),
+                teamInitializer,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                GameStatsJournal.NONE,
+                new SeasonStatsResponseCache(
+                        new SerializedAggregates(new ObjectMapper(), 1_000), keyGenerator, 10_000),
+                changeLog);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteLog() throws IOException {
+        Files.deleteIfExists(logFile);
+        changeLog.close();
+    }
+
+    @Benchmark
+    public long decode() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(logFile, 1024)) {
+            return log.recover(REPLAY_BATCH_SIZE, batch -> {
+            });
+        }
+    }
+
+    @Benchmark
+    public long replayIntoRepositories() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(logFile, 1024)) {
+            return log.recover(REPLAY_BATCH_SIZE,
+                    batch -> gameStatisticsService.restoreGameStatistics(batch).block());
+        }
+    }
+}
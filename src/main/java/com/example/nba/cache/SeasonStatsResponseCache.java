@@ -0,0 +1,212 @@
+package com.example.nba.cache;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.KeyGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the serialized player and team season statistics responses.
+ * <p>
+ * Each region holds at most {@code nba.cache.season-stats.max-entries} responses and evicts approximately the
+ * least recently used one; hits do not lock. A cached response is the JSON body together with its ETag, so a hit is answered, or a matching
+ * {@code If-None-Match} is answered with a 304, without reading the aggregate again. Bodies are the
+ * {@link SerializedAggregates serialized forms} of the aggregates. Only existing aggregates are cached.
+ * <p>
+ * Entries are invalidated by the ingest path once a write has been applied to the aggregates: a write
+ * invalidates the player and team season of its line, and a correction also those of the previous line.
+ * A load that races with an invalidation of its key is not cached: every invalidation increments the stamp of
+ * the key's stripe, and a loaded response is only stored if the stamp is unchanged since before the load.
+ */
+@Component
+public class SeasonStatsResponseCache {
+    private static final int STRIPES = 1024;
+
+    private final SerializedAggregates serializedAggregates;
+    private final KeyGenerator keyGenerator;
+    private final Region players;
+    private final Region teams;
+
+    public SeasonStatsResponseCache(SerializedAggregates serializedAggregates, KeyGenerator keyGenerator,
+                                    @Value("${nba.cache.season-stats.max-entries:10000}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of cached responses must be positive");
+        }
+        this.serializedAggregates = serializedAggregates;
+        this.keyGenerator = keyGenerator;
+        this.players = new Region(maxEntries);
+        this.teams = new Region(maxEntries);
+    }
+
+    /**
+     * A serialized response body and its strong ETag, including the quotes.
+     */
+    public record CachedResponse(byte[] body, String eTag) {
+    }
+
+    public Mono<CachedResponse> playerSeasonStats(String playerId, String season,
+                                                  Supplier<Mono<PlayerSeasonStats>> loader) {
+        return get(players, keyGenerator.compositeKey(playerId, season), loader);
+    }
+
+    public Mono<CachedResponse> teamSeasonStats(String teamId, String season,
+                                                Supplier<Mono<TeamSeasonStats>> loader) {
+        return get(teams, keyGenerator.compositeKey(teamId, season), loader);
+    }
+
+    /**
+     * Invalidates the responses affected by a write. Must be called after the write has been applied to the
+     * player and team season statistics.
+     */
+    public void invalidate(GameStatsWrite write) {
+        switch (write.outcome()) {
+            case INSERTED -> invalidate(write.current());
+            case CORRECTED -> {
+                invalidate(write.previous());
+                invalidate(write.current());
+            }
+            case UNCHANGED, DUPLICATE_ID -> {
+            }
+        }
+    }
+
+    private void invalidate(PlayerGameStats line) {
+        players.invalidate(keyGenerator.compositeKey(line.playerId(), line.season()));
+        teams.invalidate(keyGenerator.compositeKey(line.teamId(), line.season()));
+    }
+
+    private <T> Mono<CachedResponse> get(Region region, CompositeKey key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            CachedResponse cached = region.get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long stamp = region.stamp(key);
+            return loader.get().map(value -> {
+                CachedResponse response = serialize(value);
+                region.put(key, stamp, response);
+                return response;
+            });
+        });
+    }
+
+    private CachedResponse serialize(Object value) {
+        byte[] body = serializedAggregates.serialize(value);
+        return new CachedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    /**
+     * Bounded map of responses with the invalidation stamps of its keys.
+     * <p>
+     * Entries live in a {@link ConcurrentHashMap}, so a hit is a lock-free lookup that at most sets the entry's
+     * referenced bit. Eviction approximates LRU with the CLOCK policy: stored entries are queued in insertion
+     * order, and while the region is over its bound the head of the queue is evicted unless it was referenced
+     * since it was last queued, in which case its bit is cleared and it is queued again. Entries replaced or
+     * invalidated stay in the queue until they reach its head and are then dropped. One thread evicts at a
+     * time; a store that finds another one evicting leaves the work to it.
+     */
+    private static final class Region {
+        private final int maxEntries;
+        private final ConcurrentHashMap<CompositeKey, Entry> entries = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final ReentrantLock evicting = new ReentrantLock();
+        private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+        Region(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        CachedResponse get(CompositeKey key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            // Only the first hit since the entry was last queued writes
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.response;
+        }
+
+        long stamp(CompositeKey key) {
+            return stamps.get(stripe(key));
+        }
+
+        void put(CompositeKey key, long stamp, CachedResponse response) {
+            int stripe = stripe(key);
+            if (stamps.get(stripe) != stamp) {
+                return;
+            }
+            Entry entry = new Entry(key, response);
+            entries.put(key, entry);
+            // An invalidation since the first check may have removed the key before the entry was stored, so the
+            // entry is withdrawn; a later invalidation removes it itself
+            if (stamps.get(stripe) != stamp) {
+                entries.remove(key, entry);
+                return;
+            }
+            clock.offer(entry);
+            queued.incrementAndGet();
+            evict();
+        }
+
+        void invalidate(CompositeKey key) {
+            stamps.incrementAndGet(stripe(key));
+            entries.remove(key);
+        }
+
+        private void evict() {
+            // Queued entries beyond twice the bound are mostly replaced or invalidated ones
+            while ((entries.size() > maxEntries || queued.get() > 2 * maxEntries) && evicting.tryLock()) {
+                try {
+                    while (entries.size() > maxEntries || queued.get() > 2 * maxEntries) {
+                        Entry entry = clock.poll();
+                        if (entry == null) {
+                            break;
+                        }
+                        if (entries.get(entry.key) != entry) {
+                            queued.decrementAndGet();
+                        } else if (entry.referenced || entries.size() <= maxEntries) {
+                            entry.referenced = false;
+                            clock.offer(entry);
+                        } else {
+                            entries.remove(entry.key, entry);
+                            queued.decrementAndGet();
+                        }
+                    }
+                } finally {
+                    evicting.unlock();
+                }
+            }
+        }
+
+        private static int stripe(CompositeKey key) {
+            return key.hashCode() & (STRIPES - 1);
+        }
+    }
+
+    private static final class Entry {
+        final CompositeKey key;
+        final CachedResponse response;
+        volatile boolean referenced;
+
+        Entry(CompositeKey key, CachedResponse response) {
+            this.key = key;
+            this.response = response;
+        }
+    }
+}
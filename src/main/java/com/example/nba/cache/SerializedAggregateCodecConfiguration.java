@@ -0,0 +1,33 @@
+package com.example.nba.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Provides the {@link SerializedAggregates} and registers the {@link SerializedAggregateEncoder} ahead of the
+ * default Jackson encoder for server responses.
+ */
+@Configuration
+public class SerializedAggregateCodecConfiguration implements WebFluxConfigurer {
+    private final SerializedAggregates aggregates;
+
+    public SerializedAggregateCodecConfiguration(
+            ObjectMapper objectMapper,
+            @Value("${nba.cache.serialized-aggregates.max-entries:20000}") int maxEntries) {
+        this.aggregates = new SerializedAggregates(objectMapper, maxEntries);
+    }
+
+    @Bean
+    public SerializedAggregates serializedAggregates() {
+        return aggregates;
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new SerializedAggregateEncoder(aggregates));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.nba.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes season aggregates as JSON or NDJSON from their {@link SerializedAggregates serialized forms}, so a
+ * read of an unchanged aggregate copies bytes into a {@link DataBuffer} instead of running Jackson.
+ * <p>
+ * A single value is written as a JSON object, a stream as a JSON array or, for
+ * {@code application/x-ndjson}, as one object per line, flushed per line. Streams are written without keeping
+ * their forms, which would only displace those of single values. Other types are left to the default Jackson
+ * encoder.
+ */
+public final class SerializedAggregateEncoder extends AbstractEncoder<Object> implements HttpMessageEncoder<Object> {
+    private final SerializedAggregates aggregates;
+
+    public SerializedAggregateEncoder(SerializedAggregates aggregates) {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+        this.aggregates = aggregates;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return aggregates.supports(elementType.toClass()) && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> value) {
+            return value.map(aggregate -> encodeValue(aggregate, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mimeType)) {
+            return Flux.from(inputStream).map(aggregate -> {
+                byte[] form = aggregates.write(aggregate);
+                return bufferFactory.allocateBuffer(form.length + 1).write(form).write((byte) '\n');
+            });
+        }
+        Flux<DataBuffer> elements = Flux.from(inputStream).index().map(element -> {
+            byte[] form = aggregates.write(element.getT2());
+            if (element.getT1() == 0) {
+                return bufferFactory.wrap(form);
+            }
+            return bufferFactory.allocateBuffer(form.length + 1).write((byte) ',').write(form);
+        });
+        return Flux.concat(
+                Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{'['})),
+                elements,
+                Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{']'})));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return bufferFactory.wrap(aggregates.serialize(value));
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return List.of(MediaType.APPLICATION_NDJSON);
+    }
+}
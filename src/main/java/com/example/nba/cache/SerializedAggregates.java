@@ -0,0 +1,78 @@
+package com.example.nba.cache;
+
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.TeamSeasonStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * JSON serialized forms of the season aggregates, {@link PlayerSeasonStats} and {@link TeamSeasonStats}.
+ * <p>
+ * The season accumulators hand out the same snapshot instance until their statistics change, so a snapshot
+ * instance stands for one version of one aggregate. Its serialized form is computed once and reused by every
+ * read of that instance. Forms are kept in a direct-mapped table of
+ * {@code nba.cache.serialized-aggregates.max-entries} slots, rounded up to a power of two, indexed by the
+ * snapshot's identity hash: a lookup compares references instead of hashing the whole record, and neither
+ * lookups nor stores take a lock. A form whose slot is taken by another snapshot is simply computed again.
+ * <p>
+ * Bulk writers, such as season lists and NDJSON exports, use {@link #write(Object)}, which bypasses the table
+ * so that one export does not evict the forms of the aggregates read one at a time.
+ */
+public class SerializedAggregates {
+    private final ObjectMapper objectMapper;
+    private final AtomicReferenceArray<Form> forms;
+    private final int mask;
+
+    public SerializedAggregates(ObjectMapper objectMapper, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of serialized aggregates must be positive");
+        }
+        int slots = Integer.highestOneBit(Math.min(maxEntries, 1 << 30));
+        if (slots < maxEntries) {
+            slots <<= 1;
+        }
+        this.objectMapper = objectMapper;
+        this.forms = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Returns {@code true} for the aggregate types whose serialized forms are kept.
+     */
+    public boolean supports(Class<?> type) {
+        return type == PlayerSeasonStats.class || type == TeamSeasonStats.class;
+    }
+
+    /**
+     * Returns the JSON form of the aggregate, reusing the form computed for the same instance. The returned
+     * array is shared and must not be modified.
+     */
+    public byte[] serialize(Object aggregate) {
+        int slot = System.identityHashCode(aggregate) & mask;
+        Form form = forms.get(slot);
+        if (form != null && form.aggregate() == aggregate) {
+            return form.bytes();
+        }
+        // Concurrent misses of the same instance produce identical forms, so the last store wins
+        byte[] bytes = write(aggregate);
+        forms.set(slot, new Form(aggregate, bytes));
+        return bytes;
+    }
+
+    /**
+     * Returns the JSON form of the aggregate without looking it up or keeping it.
+     */
+    public byte[] write(Object aggregate) {
+        try {
+            return objectMapper.writeValueAsBytes(aggregate);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Form(Object aggregate, byte[] bytes) {
+    }
+}
@@ -1,19 +1,44 @@
 package com.example.nba.controller;
 
+import com.example.nba.cache.SeasonStatsResponseCache;
+import com.example.nba.ingest.IngestPipeline;
+import com.example.nba.live.SeasonStatsUpdates;
+import com.example.nba.model.BatchIngestResult;
+import com.example.nba.model.GameStatsChange;
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.IngestReceipt;
+import com.example.nba.model.LeaderboardEntry;
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.RollingStats;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
+import com.example.nba.persistence.GameStatsChangeLog;
 import com.example.nba.service.GameStatisticsService;
 import com.example.nba.service.PlayerStatisticsService;
+import com.example.nba.service.TeamService;
 import com.example.nba.service.TeamStatisticsService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 @RequestMapping("api/v1/statistics")
 public class StatisticsController {
@@ -21,64 +46,368 @@ public class StatisticsController {
 
     private final PlayerStatisticsService playerStatisticsService;
     private final GameStatisticsService gameStatisticsService;
+    private final IngestPipeline ingestPipeline;
     private final TeamStatisticsService teamStatisticsService;
+    private final TeamService teamService;
+    private final SeasonStatsResponseCache responseCache;
+    private final SeasonStatsUpdates updates;
+    private final GameStatsChangeLog changeLog;
+    private final Duration heartbeat;
 
     public StatisticsController(
             PlayerStatisticsService playerStatisticsService,
             GameStatisticsService gameStatisticsService,
-            TeamStatisticsService teamStatisticsService
+            IngestPipeline ingestPipeline,
+            TeamStatisticsService teamStatisticsService,
+            TeamService teamService,
+            SeasonStatsResponseCache responseCache,
+            SeasonStatsUpdates updates,
+            GameStatsChangeLog changeLog,
+            @Value("${nba.live.heartbeat:15s}") Duration heartbeat
     ) {
         this.playerStatisticsService = playerStatisticsService;
         this.gameStatisticsService = gameStatisticsService;
+        this.ingestPipeline = ingestPipeline;
         this.teamStatisticsService = teamStatisticsService;
+        this.teamService = teamService;
+        this.responseCache = responseCache;
+        this.updates = updates;
+        this.changeLog = changeLog;
+        this.heartbeat = heartbeat;
     }
 
+    /**
+     * Queues a validated game line for ingest and answers {@code 202 Accepted} with its receipt. The line is
+     * applied to the statistics by the ingest workers; when its queue is full it is shed with a
+     * {@code 429 Too Many Requests} instead. A line of an unknown team is rejected before it is queued.
+     */
     @PostMapping("/player/stats")
-    public Mono<ResponseEntity<PlayerGameStats>> createPlayerGameStats(
+    public Mono<ResponseEntity<IngestReceipt>> createPlayerGameStats(
             @RequestBody @Valid PlayerGameStats gameStats) {
-        logger.info("Recording game statistics for player: {}", gameStats.playerId());
-        return gameStatisticsService.saveGameStatistics(gameStats)
-                .map(ResponseEntity::ok)
-                .doOnError(error -> logger.error("Failed to save game statistics: {}", error.getMessage()));
-
+        if (!teamService.existsById(gameStats.teamId())) {
+            return Mono.error(new ServerWebInputException("Team not found for ID: " + gameStats.teamId()));
+        }
+        logger.debug("Queueing game statistics for player: {}", gameStats.playerId());
+        return Mono.fromCallable(() -> ingestPipeline.submit(gameStats))
+                .map(receipt -> ResponseEntity.accepted().body(receipt));
     }
 
 
+    /**
+     * Records a batch of player game statistics, typically every player line of a finished slate, in one
+     * request. Accepts a JSON array or an NDJSON stream and answers with a result per submitted entry.
+     */
+    @PostMapping(value = "/player/stats/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BatchIngestResult>> createPlayerGameStatsBatch(
+            @RequestBody Flux<PlayerGameStats> gameStats) {
+        return gameStats.collectList()
+                .doOnNext(batch -> logger.info("Recording batch of {} game statistics", batch.size()))
+                .flatMap(gameStatisticsService::saveGameStatisticsBatch)
+                .map(ResponseEntity::ok)
+                .doOnError(error -> logger.error("Failed to save game statistics batch: {}", error.getMessage()));
+    }
+
+    /**
+     * Retrieves a player's season statistics from the response cache. The response carries an ETag, and a
+     * request whose {@code If-None-Match} matches it is answered with a 304 and no body.
+     */
     @GetMapping("/players/{playerId}/seasons/{season}")
-    public Mono<ResponseEntity<PlayerSeasonStats>> getPlayerSeasonStats(
+    public Mono<ResponseEntity<byte[]>> getPlayerSeasonStats(
             @PathVariable String playerId,
             @PathVariable String season) {
         logger.info("Retrieving season statistics for player: {}, season: {}", playerId, season);
-        return playerStatisticsService.getPlayerSeasonStatistics(playerId, season)
+        return responseCache.playerSeasonStats(playerId, season,
+                        () -> playerStatisticsService.getPlayerSeasonStatistics(playerId, season))
                 .doOnError(error -> logger.error("Failed to retrieve player season stats: {}", error.getMessage()))
                 .transform(this::wrapResponse);
     }
 
+    /**
+     * Retrieves a team's season statistics from the response cache, like
+     * {@link #getPlayerSeasonStats(String, String)}.
+     */
     @GetMapping("/teams/{teamId}/seasons/{season}")
-    public Mono<ResponseEntity<TeamSeasonStats>> getTeamSeasonStats(
+    public Mono<ResponseEntity<byte[]>> getTeamSeasonStats(
             @PathVariable String teamId,
             @PathVariable String season) {
         logger.info("Retrieving season statistics for team: {}, season: {}", teamId, season);
-        return gameStatisticsService.getTeamSeasonStats(teamId, season)
+        return responseCache.teamSeasonStats(teamId, season,
+                        () -> gameStatisticsService.getTeamSeasonStats(teamId, season))
                 .doOnError(error -> logger.error("Failed to retrieve team season stats: {}", error.getMessage()))
                 .transform(this::wrapResponse);
     }
 
-    private <T> Mono<ResponseEntity<T>> wrapResponse(Mono<T> monoResult) {
-        return monoResult
+    @GetMapping("/players/{playerId}/seasons")
+    public Flux<PlayerSeasonStats> getPlayerSeasons(@PathVariable String playerId) {
+        return playerStatisticsService.getPlayerSeasonStatisticsByPlayer(playerId);
+    }
+
+    /**
+     * Retrieves a player's game log in timestamp order, optionally restricted to {@code [from, to)}.
+     */
+    @GetMapping("/players/{playerId}/games")
+    public Flux<PlayerGameStats> getPlayerGameLog(
+            @PathVariable String playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return Flux.error(new ServerWebInputException("From must not be after to"));
+        }
+        return playerStatisticsService.getPlayerGameLog(playerId, from, to);
+    }
+
+    /**
+     * Retrieves a player's per-game averages over each rolling window of their most recent games, such as
+     * the last 5 games or the last 30 days.
+     */
+    @GetMapping("/players/{playerId}/rolling")
+    public Flux<RollingStats> getRollingStats(@PathVariable String playerId) {
+        return playerStatisticsService.getRollingStatistics(playerId);
+    }
+
+    /**
+     * Retrieves a player's per-game averages over one rolling window, e.g. {@code last-10-games}.
+     */
+    @GetMapping("/players/{playerId}/rolling/{window}")
+    public Mono<ResponseEntity<RollingStats>> getRollingStats(
+            @PathVariable String playerId,
+            @PathVariable String window) {
+        return playerStatisticsService.getRollingStatistics(playerId, window)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Aggregates the recorded game lines matching every given filter: season, team, player, the timestamp
+     * range {@code [from, to)} and a minimum of minutes played. Without filters, every line is aggregated.
+     */
+    @GetMapping("/games/summary")
+    public Mono<GameStatsSummary> getGameStatsSummary(
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String teamId,
+            @RequestParam(required = false) String playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) BigDecimal minMinutes) {
+        List<GameStatsFilter.StatRange> ranges = minMinutes == null
+                ? List.of()
+                : List.of(new GameStatsFilter.StatRange(GameStatsFilter.Stat.MINUTES_PLAYED, minMinutes, null));
+        return playerStatisticsService.summarizeGameStatistics(
+                new GameStatsFilter(season, teamId, playerId, from, to, ranges));
+    }
+
+    /**
+     * Retrieves the players leading a season in a statistic ({@code points}, {@code rebounds},
+     * {@code assists}, {@code steals}, {@code blocks}, {@code fouls}, {@code turnovers} or
+     * {@code minutes_played}) by per-game average.
+     */
+    @GetMapping("/leaders")
+    public Flux<LeaderboardEntry> getLeaders(
+            @RequestParam String season,
+            @RequestParam String stat,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0) {
+            return Flux.error(new ServerWebInputException("Limit must be positive"));
+        }
+        return parseStat(stat).flatMapMany(parsed -> playerStatisticsService.getLeaders(season, parsed, limit));
+    }
+
+    /**
+     * Retrieves a player's rank among the players of a season in a statistic, like {@link #getLeaders}.
+     */
+    @GetMapping("/leaders/players/{playerId}")
+    public Mono<ResponseEntity<LeaderboardEntry>> getLeaderboardRank(
+            @PathVariable String playerId,
+            @RequestParam String season,
+            @RequestParam String stat) {
+        return parseStat(stat)
+                .flatMap(parsed -> playerStatisticsService.getLeaderboardRank(playerId, season, parsed))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves a page of a season's team standings by a per-game average ({@code points}, {@code rebounds},
+     * {@code assists}, {@code steals}, {@code blocks}, {@code fouls} or {@code turnovers}).
+     */
+    @GetMapping("/standings")
+    public Flux<TeamStanding> getStandings(
+            @RequestParam String season,
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "30") int limit) {
+        if (offset < 0 || limit <= 0) {
+            return Flux.error(new ServerWebInputException("Offset must not be negative and limit must be positive"));
+        }
+        return parseMetric(metric)
+                .flatMapMany(parsed -> teamStatisticsService.getStandings(season, parsed, offset, limit));
+    }
+
+    /**
+     * Retrieves a team's standing in a season by a per-game average, like {@link #getStandings}.
+     */
+    @GetMapping("/standings/teams/{teamId}")
+    public Mono<ResponseEntity<TeamStanding>> getStanding(
+            @PathVariable String teamId,
+            @RequestParam String season,
+            @RequestParam String metric) {
+        return parseMetric(metric)
+                .flatMap(parsed -> teamStatisticsService.getStanding(teamId, season, parsed))
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    private static Mono<GameStatsFilter.Stat> parseStat(String stat) {
+        return parse(GameStatsFilter.Stat.class, stat, "Unknown statistic: ");
+    }
+
+    private static Mono<TeamSeasonStats.Metric> parseMetric(String metric) {
+        return parse(TeamSeasonStats.Metric.class, metric, "Unknown metric: ");
+    }
+
+    private static <E extends Enum<E>> Mono<E> parse(Class<E> type, String name, String unknown) {
+        try {
+            return Mono.just(Enum.valueOf(type, name.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ServerWebInputException(unknown + name));
+        }
+    }
+
+    @GetMapping("/teams/{teamId}/seasons")
+    public Flux<TeamSeasonStats> getTeamSeasons(@PathVariable String teamId) {
+        return teamStatisticsService.getTeamStatsByTeam(teamId);
+    }
+
+    @GetMapping("/seasons/{season}/players")
+    public Flux<PlayerSeasonStats> getSeasonPlayerStats(@PathVariable String season) {
+        return playerStatisticsService.getPlayerSeasonStatisticsBySeason(season);
+    }
+
+    @GetMapping("/seasons/{season}/teams")
+    public Flux<TeamSeasonStats> getSeasonTeamStats(@PathVariable String season) {
+        return teamStatisticsService.getTeamStatsBySeason(season);
+    }
+
+    // Clients may store the body but revalidate it with its ETag on every use
+    private Mono<ResponseEntity<byte[]>> wrapResponse(Mono<SeasonStatsResponseCache.CachedResponse> monoResult) {
+        return monoResult
+                .map(response -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(response.eTag())
+                        .cacheControl(CacheControl.noCache())
+                        .body(response.body()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/teams/stats")
     public Flux<TeamSeasonStats> getAllTeamStats() {
         return teamStatisticsService.getAllTeamStats();
     }
 
+    /**
+     * Streams team season statistics as NDJSON or server-sent events, ordered by season and team ID.
+     * Clients resume a stream with the season and team ID of the last row they received, or restrict it
+     * to one season with {@code season} (resuming with {@code afterTeamId} alone).
+     */
+    @GetMapping(value = "/teams/stats",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TeamSeasonStats> streamTeamStats(
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String afterSeason,
+            @RequestParam(required = false) String afterTeamId,
+            @RequestParam(required = false) Integer limit) {
+        return checkStreamParameters(season, afterSeason, afterTeamId, limit)
+                .thenMany(teamStatisticsService.streamTeamStats(season, afterSeason, afterTeamId))
+                .transform(rows -> limit == null ? rows : rows.take(limit));
+    }
+
+    /**
+     * Pushes the season statistics of the given players as server-sent events each time an ingested game
+     * changes them, optionally for one season only. A client that reads slower than updates arrive gets the
+     * latest statistics of each player rather than every intermediate value. Heartbeat comments are sent
+     * from the start and every {@code nba.live.heartbeat}, so idle connections are not closed by proxies.
+     */
+    @GetMapping(value = "/live/players", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<PlayerSeasonStats>> livePlayerSeasonStats(
+            @RequestParam List<String> ids,
+            @RequestParam(required = false) String season) {
+        if (ids.isEmpty()) {
+            return Flux.error(new ServerWebInputException("At least one player ID is required"));
+        }
+        logger.info("Subscribing to season statistics updates of players: {}", ids);
+        return events("player", updates.players(ids, season));
+    }
+
+    /**
+     * Pushes the season statistics of the given teams as they change, like {@link #livePlayerSeasonStats}.
+     */
+    @GetMapping(value = "/live/teams", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TeamSeasonStats>> liveTeamSeasonStats(
+            @RequestParam List<String> ids,
+            @RequestParam(required = false) String season) {
+        if (ids.isEmpty()) {
+            return Flux.error(new ServerWebInputException("At least one team ID is required"));
+        }
+        logger.info("Subscribing to season statistics updates of teams: {}", ids);
+        return events("team", updates.teams(ids, season));
+    }
+
+    // A prefetch of one keeps conflated updates from queueing up in the merge
+    private <T> Flux<ServerSentEvent<T>> events(String name, Flux<T> values) {
+        Flux<ServerSentEvent<T>> heartbeats = Flux.interval(Duration.ZERO, heartbeat)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<T>builder().comment("heartbeat").build());
+        return Flux.merge(1, values.map(value -> ServerSentEvent.builder(value).event(name).build()), heartbeats);
+    }
+
+    /**
+     * Tails the change log as NDJSON: every ingested line that changed the statistics, with its sequence
+     * number, from sequence {@code from} on, or only the changes appended from now on without it. Consumers
+     * resume with the sequence following the last change they processed.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<GameStatsChange> getChanges(@RequestParam(required = false) Long from) {
+        long next = changeLog.nextSequence();
+        if (from != null && (from < 0 || from > next)) {
+            return Flux.error(new ServerWebInputException("Sequence must be between 0 and " + next));
+        }
+        logger.info("Tailing the change log from sequence: {}", from == null ? next : from);
+        return changeLog.changes(from == null ? next : from);
+    }
+
     @GetMapping("/players/season-stats")
     public Flux<PlayerSeasonStats> getAllPlayerSeasonStats() {
         return playerStatisticsService.getAllPlayerSeasonStatistics();
     }
 
+    /**
+     * Streams player season statistics as NDJSON or server-sent events, ordered by season and player ID.
+     * Clients resume a stream with the season and player ID of the last row they received, or restrict it
+     * to one season with {@code season} (resuming with {@code afterPlayerId} alone).
+     */
+    @GetMapping(value = "/players/season-stats",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PlayerSeasonStats> streamPlayerSeasonStats(
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String afterSeason,
+            @RequestParam(required = false) String afterPlayerId,
+            @RequestParam(required = false) Integer limit) {
+        return checkStreamParameters(season, afterSeason, afterPlayerId, limit)
+                .thenMany(playerStatisticsService.streamPlayerSeasonStatistics(season, afterSeason, afterPlayerId))
+                .transform(rows -> limit == null ? rows : rows.take(limit));
+    }
+
+    private Mono<Void> checkStreamParameters(String season, String afterSeason, String afterId, Integer limit) {
+        if (season == null && (afterSeason == null) != (afterId == null)) {
+            return Mono.error(new ServerWebInputException(
+                    "A cursor across seasons needs both the season and the ID of the last row"));
+        }
+        if (limit != null && limit <= 0) {
+            return Mono.error(new ServerWebInputException("Limit must be positive"));
+        }
+        return Mono.empty();
+    }
+
 
 }
\ No newline at end of file
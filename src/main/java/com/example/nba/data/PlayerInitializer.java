@@ -3,53 +3,77 @@ package com.example.nba.data;
 import com.example.nba.model.Player;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Initializes and manages NBA player data.
- * Provides access to player information through a map-based storage.
+ * Loads the players from the roster file {@code nba.roster.players} on startup and on {@link #reload()},
+ * and provides access to them through an immutable {@link Registry}, published in the shared {@link Rosters}.
  */
 @Component
 public class PlayerInitializer implements CommandLineRunner {
-    private final Map<String, Player> players = new HashMap<>();
+    static final String DEFAULT_SOURCE = "data/players.json";
+
     private static final Logger logger = LoggerFactory.getLogger(PlayerInitializer.class);
 
+    private final Resource source;
+    private final Rosters rosters;
+
+    public PlayerInitializer() {
+        this(new ClassPathResource(DEFAULT_SOURCE));
+    }
+
+    public PlayerInitializer(Resource source) {
+        this(source, new Rosters());
+    }
+
+    @Autowired
+    public PlayerInitializer(@Value("${nba.roster.players:classpath:" + DEFAULT_SOURCE + "}") Resource source,
+                             Rosters rosters) {
+        this.source = source;
+        this.rosters = rosters;
+    }
+
     @Override
     public void run(String... args) {
-        // Create sample players
-        createPlayer("1", "LeBron James");
-        createPlayer("2", "Stephen Curry");
-        createPlayer("3", "Kevin Durant");
-        createPlayer("4", "Giannis Antetokounmpo");
-        createPlayer("5", "Nikola Jokic");
-        createPlayer("6", "Joel Embiid");
-        createPlayer("7", "Luka Doncic");
-        createPlayer("8", "Jayson Tatum");
-        createPlayer("9", "Ja Morant");
-        createPlayer("10", "Devin Booker");
-        createPlayer("11", "Michael Jordan");
-        createPlayer("12", "Bugs Bunny");
-        createPlayer("13", "Lola Bunny");
-        createPlayer("14", "Bill Murray");
-
-        logger.info("Initialized {} players", players.size());
-    }
-
-    private void createPlayer(String id, String name) {
-        Player player = new Player(id, name);
-        players.put(id, player);
+        reload();
+    }
+
+    /**
+     * Reads the roster file again and publishes the new players. If the file cannot be read or is invalid,
+     * the current players are kept and the exception is thrown.
+     */
+    public int reload() {
+        Registry<Player> loaded = load();
+        rosters.update(roster -> roster.withPlayers(loaded));
+        logger.info("Initialized {} players from {}", loaded.size(), source.getDescription());
+        return loaded.size();
+    }
+
+    /**
+     * Reads and validates the roster file without publishing it.
+     */
+    Registry<Player> load() {
+        return Registry.of(RosterReader.read(source, Player[].class), Player::id);
+    }
+
+    public Registry<Player> getRegistry() {
+        return rosters.current().players();
     }
 
     public Map<String, Player> getPlayers() {
-        return players;
+        return getRegistry().asMap();
     }
 
     public Player getPlayer(String id) {
-        return players.get(id);
+        return getRegistry().get(id);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.example.nba.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable registry of entries, such as players or teams, keyed by their string ID.
+ * <p>
+ * Each entry is assigned a dense {@code int} code in registry order, and lookups resolve the ID to its code
+ * and then index an array. IDs are resolved through an open-addressed table of IDs and {@code int} codes with
+ * linear probing, so a lookup hashes the ID once and neither boxes nor follows map entries. Instances are never modified after construction and all fields are final, so a
+ * registry published through a {@code volatile} field can be read without locking; a reload builds a new
+ * registry and swaps the reference.
+ *
+ * @param <T> the entry type
+ */
+public final class Registry<T> {
+    /**
+     * Returned by {@link #code(String)} for an unknown ID.
+     */
+    public static final int MISSING = -1;
+
+    private static final Registry<?> EMPTY = new Registry<>(List.of(), Map.of());
+
+    private final List<T> entries;
+    // Open-addressed at most half full, so every probe sequence reaches an empty slot
+    private final String[] ids;
+    private final int[] codes;
+    private final int mask;
+    private final Map<String, T> byId;
+
+    private Registry(List<T> entries, Map<String, T> byId) {
+        int slots = Integer.highestOneBit(Math.max(1, entries.size()) * 2 - 1) * 2;
+        this.entries = entries;
+        this.ids = new String[slots];
+        this.codes = new int[slots];
+        this.mask = slots - 1;
+        int code = 0;
+        for (String id : byId.keySet()) {
+            int slot = slot(id);
+            while (ids[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = id;
+            codes[slot] = code++;
+        }
+        this.byId = Collections.unmodifiableMap(byId);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Registry<T> empty() {
+        return (Registry<T>) EMPTY;
+    }
+
+    /**
+     * Creates a registry of the entries in the given order.
+     *
+     * @throws IllegalArgumentException if an entry is {@code null}, has a blank ID or shares its ID with
+     *                                  another entry
+     */
+    public static <T> Registry<T> of(List<T> entries, Function<T, String> idOf) {
+        List<T> copy = new ArrayList<>(entries.size());
+        Map<String, T> byId = new LinkedHashMap<>();
+        for (T entry : entries) {
+            if (entry == null) {
+                throw new IllegalArgumentException("Registry entry must not be null");
+            }
+            String id = idOf.apply(entry);
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("Registry entry without an ID: " + entry);
+            }
+            if (byId.putIfAbsent(id, entry) != null) {
+                throw new IllegalArgumentException("Duplicate registry ID: " + id);
+            }
+            copy.add(entry);
+        }
+        return new Registry<>(List.copyOf(copy), byId);
+    }
+
+    /**
+     * Returns the dense code of the ID, or {@link #MISSING} if no entry has it.
+     */
+    public int code(String id) {
+        if (id == null) {
+            return MISSING;
+        }
+        for (int slot = slot(id); ids[slot] != null; slot = (slot + 1) & mask) {
+            if (ids[slot].equals(id)) {
+                return codes[slot];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns the entry with the given code.
+     *
+     * @throws IndexOutOfBoundsException if no entry has the code
+     */
+    public T get(int code) {
+        return entries.get(code);
+    }
+
+    /**
+     * Returns the entry with the given ID, or {@code null} if there is none.
+     */
+    public T get(String id) {
+        int code = code(id);
+        return code == MISSING ? null : entries.get(code);
+    }
+
+    /**
+     * Returns an unmodifiable view of the entries by ID, in registry order.
+     */
+    public Map<String, T> asMap() {
+        return byId;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private int slot(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.nba.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/rosters}: reports the number of registered players and teams, and
+ * reloads both roster files on {@code POST}.
+ * <p>
+ * A reload reads and validates both files before publishing them together as one {@link Rosters.Roster}, so
+ * readers see either the previous players and teams or the reloaded ones. If either file fails, neither is
+ * applied and the response reports the error with the sizes of the rosters still in place.
+ */
+@Component
+@Endpoint(id = "rosters")
+public class RosterEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(RosterEndpoint.class);
+
+    private final PlayerInitializer playerInitializer;
+    private final TeamInitializer teamInitializer;
+    private final Rosters rosters;
+
+    public RosterEndpoint(PlayerInitializer playerInitializer, TeamInitializer teamInitializer, Rosters rosters) {
+        this.playerInitializer = playerInitializer;
+        this.teamInitializer = teamInitializer;
+        this.rosters = rosters;
+    }
+
+    @ReadOperation
+    public Map<String, Integer> sizes() {
+        return sizes(rosters.current());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> reload() {
+        Rosters.Roster reloaded;
+        try {
+            Rosters.Roster loaded = new Rosters.Roster(playerInitializer.load(), teamInitializer.load());
+            reloaded = rosters.update(current -> loaded);
+        } catch (RuntimeException e) {
+            logger.warn("Roster reload failed, keeping the current rosters", e);
+            Map<String, Object> body = new LinkedHashMap<>(sizes(rosters.current()));
+            body.put("error", e.getMessage());
+            return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+        logger.info("Reloaded {} players and {} teams", reloaded.players().size(), reloaded.teams().size());
+        return new WebEndpointResponse<>(new LinkedHashMap<>(sizes(reloaded)));
+    }
+
+    private static Map<String, Integer> sizes(Rosters.Roster roster) {
+        return Map.of("players", roster.players().size(), "teams", roster.teams().size());
+    }
+}
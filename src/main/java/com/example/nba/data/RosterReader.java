@@ -0,0 +1,27 @@
+package com.example.nba.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Reads roster files: JSON arrays of entries, such as {@code [{"id": "1", "name": "LeBron James"}]}.
+ */
+final class RosterReader {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private RosterReader() {
+    }
+
+    static <T> List<T> read(Resource source, Class<T[]> type) {
+        try (InputStream in = source.getInputStream()) {
+            return List.of(MAPPER.readValue(in, type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read roster " + source.getDescription(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.nba.data;
+
+import com.example.nba.model.Player;
+import com.example.nba.model.Team;
+import org.springframework.stereotype.Component;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * The current player and team registries, published together.
+ * <p>
+ * Both registries are held in one immutable {@link Roster} behind a single {@code volatile} field, so a reader
+ * sees the players and teams of the same reload. Readers never lock; updates are rare and serialized, so
+ * that reloading one roster does not undo a concurrent reload of the other.
+ */
+@Component
+public class Rosters {
+    private volatile Roster current = new Roster(Registry.empty(), Registry.empty());
+
+    public Roster current() {
+        return current;
+    }
+
+    /**
+     * Publishes the roster derived from the current one.
+     *
+     * @return the published roster
+     */
+    synchronized Roster update(UnaryOperator<Roster> change) {
+        Roster updated = change.apply(current);
+        current = updated;
+        return updated;
+    }
+
+    /**
+     * Player and team registries of one reload.
+     */
+    public record Roster(Registry<Player> players, Registry<Team> teams) {
+
+        Roster withPlayers(Registry<Player> players) {
+            return new Roster(players, teams);
+        }
+
+        Roster withTeams(Registry<Team> teams) {
+            return new Roster(players, teams);
+        }
+    }
+}
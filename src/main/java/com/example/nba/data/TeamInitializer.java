@@ -3,51 +3,79 @@ package com.example.nba.data;
 import com.example.nba.model.Team;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Initializes and manages NBA team data.
  * This class implements {@link CommandLineRunner} to automatically
- * initialize a predefined set of teams when the application starts.
- * Provides access to team information through a map-based storage system.
+ * load the teams from the roster file {@code nba.roster.teams} when the application starts.
+ * Provides access to team information through an immutable {@link Registry}
+ * that is replaced as a whole by {@link #reload()} in the shared {@link Rosters}, so readers never lock.
  */
 @Component
 public class TeamInitializer implements CommandLineRunner {
-    private final Map<String, Team> teams = new HashMap<>();
-    private static final Logger logger = LoggerFactory.getLogger(PlayerInitializer.class);
+    static final String DEFAULT_SOURCE = "data/teams.json";
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamInitializer.class);
+
+    private final Resource source;
+    private final Rosters rosters;
+
+    public TeamInitializer() {
+        this(new ClassPathResource(DEFAULT_SOURCE));
+    }
+
+    public TeamInitializer(Resource source) {
+        this(source, new Rosters());
+    }
+
+    @Autowired
+    public TeamInitializer(@Value("${nba.roster.teams:classpath:" + DEFAULT_SOURCE + "}") Resource source,
+                           Rosters rosters) {
+        this.source = source;
+        this.rosters = rosters;
+    }
 
     @Override
     public void run(String... args) {
-        // Create sample teams
-        createTeam("1", "Los Angeles Lakers");
-        createTeam("2", "Golden State Warriors");
-        createTeam("3", "Phoenix Suns");
-        createTeam("4", "Milwaukee Bucks");
-        createTeam("5", "Denver Nuggets");
-        createTeam("6", "Philadelphia 76ers");
-        createTeam("7", "Dallas Mavericks");
-        createTeam("8", "Boston Celtics");
-        createTeam("9", "Memphis Grizzlies");
-        createTeam("10", "Brooklyn Nets");
+        reload();
+    }
+
+    /**
+     * Reads the roster file again and publishes the new teams. If the file cannot be read or is invalid, the
+     * current teams are kept and the exception is thrown.
+     */
+    public int reload() {
+        Registry<Team> loaded = load();
+        rosters.update(roster -> roster.withTeams(loaded));
+        logger.info("Initialized {} teams from {}", loaded.size(), source.getDescription());
+        return loaded.size();
+    }
 
-        logger.info("Initialized {} players", teams.size());
+    /**
+     * Reads and validates the roster file without publishing it.
+     */
+    Registry<Team> load() {
+        return Registry.of(RosterReader.read(source, Team[].class), Team::id);
     }
 
-    private void createTeam(String id, String name) {
-        Team team = new Team(id, name);
-        teams.put(id, team);
+    public Registry<Team> getRegistry() {
+        return rosters.current().teams();
     }
 
     public Map<String, Team> getTeams() {
-        return teams;
+        return getRegistry().asMap();
     }
 
     public Team getTeam(String id) {
-        return teams.get(id);
+        return getRegistry().get(id);
     }
 
-}
\ No newline at end of file
+}
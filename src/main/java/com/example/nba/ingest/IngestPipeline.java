@@ -0,0 +1,206 @@
+package com.example.nba.ingest;
+
+import com.example.nba.model.BatchIngestResult;
+import com.example.nba.model.BatchItemResult;
+import com.example.nba.model.IngestReceipt;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.service.GameStatisticsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decouples single-line ingest from the request: submitted lines are queued and applied by worker threads in
+ * micro-batches, so a burst of submissions neither runs the aggregation chain on the event loop nor slows down
+ * other requests.
+ * <p>
+ * Lines are partitioned by player ID over the workers, each with its own bounded queue, so the lines of a
+ * player are applied in the order they were submitted. A worker takes everything queued in its partition, up
+ * to {@code nba.ingest.max-batch-size} lines, and saves it with one
+ * {@link GameStatisticsService#saveGameStatisticsBatch batch save}, which merges each player and team season
+ * once per batch. A submission to a full queue is shed immediately with an {@link IngestQueueFullException}.
+ * <p>
+ * The queue depth, the size of the applied batches and the number of shed and failed lines are published as
+ * {@code nba.ingest.queue.depth}, {@code nba.ingest.batch.size}, {@code nba.ingest.shed} and
+ * {@code nba.ingest.failed}. Closing the pipeline applies the lines already queued.
+ */
+@Component
+public class IngestPipeline implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(IngestPipeline.class);
+
+    private static final Pending STOP = new Pending(-1, null);
+
+    private final GameStatisticsService gameStatisticsService;
+    private final int maxBatchSize;
+    private final Partition[] partitions;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean closed;
+
+    private final DistributionSummary batchSizes;
+    private final Counter shed;
+    private final Counter failed;
+
+    public IngestPipeline(GameStatisticsService gameStatisticsService,
+                          @Value("${nba.ingest.queue-capacity:10000}") int queueCapacity,
+                          @Value("${nba.ingest.max-batch-size:512}") int maxBatchSize,
+                          @Value("${nba.ingest.workers:2}") int workers,
+                          MeterRegistry meterRegistry) {
+        this.gameStatisticsService = gameStatisticsService;
+        this.maxBatchSize = maxBatchSize;
+        this.partitions = new Partition[workers];
+        for (int i = 0; i < workers; i++) {
+            partitions[i] = new Partition(new ArrayBlockingQueue<>(Math.max(1, queueCapacity / workers)),
+                    "ingest-worker-" + i);
+        }
+
+        Gauge.builder("nba.ingest.queue.depth", this, IngestPipeline::queueDepth)
+                .description("Game lines queued for ingest")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("nba.ingest.batch.size")
+                .description("Game lines applied per ingest batch")
+                .register(meterRegistry);
+        shed = Counter.builder("nba.ingest.shed")
+                .description("Game lines rejected because the ingest queue was full")
+                .register(meterRegistry);
+        failed = Counter.builder("nba.ingest.failed")
+                .description("Queued game lines that could not be applied")
+                .register(meterRegistry);
+
+        for (Partition partition : partitions) {
+            partition.worker.start();
+        }
+    }
+
+    /**
+     * Queues the line for ingest.
+     *
+     * @return the receipt of the queued line
+     * @throws IngestQueueFullException    if the line's queue is full
+     * @throws IngestUnavailableException if the pipeline is shutting down
+     */
+    public IngestReceipt submit(PlayerGameStats gameStats) {
+        if (closed) {
+            throw new IngestUnavailableException();
+        }
+        Pending pending = new Pending(sequence.getAndIncrement(), gameStats);
+        if (!partitionOf(gameStats.playerId()).queue.offer(pending)) {
+            shed.increment();
+            throw new IngestQueueFullException();
+        }
+        return new IngestReceipt(pending.sequence(), gameStats.id());
+    }
+
+    /**
+     * Returns the number of lines queued and not yet taken by a worker.
+     */
+    public int queueDepth() {
+        int depth = 0;
+        for (Partition partition : partitions) {
+            depth += partition.queue.size();
+        }
+        return depth;
+    }
+
+    private Partition partitionOf(String playerId) {
+        return partitions[Math.floorMod(playerId.hashCode(), partitions.length)];
+    }
+
+    private void drain(BlockingQueue<Pending> queue) {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            stopped = batch.remove(STOP);
+            if (!batch.isEmpty()) {
+                apply(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void apply(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<PlayerGameStats> lines = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            lines.add(pending.gameStats());
+        }
+        try {
+            BatchIngestResult result = gameStatisticsService.saveGameStatisticsBatch(lines).block();
+            if (result != null && result.rejected() > 0) {
+                for (BatchItemResult item : result.items()) {
+                    if (item.status() == BatchItemResult.Status.REJECTED) {
+                        failed.increment();
+                        logger.warn("Rejected queued game statistics {} (submission {}): {}",
+                                item.id(), batch.get(item.index()).sequence(), item.errors());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.error("Failed to apply submissions {} to {}", batch.get(0).sequence(),
+                    batch.get(batch.size() - 1).sequence(), e);
+        }
+    }
+
+    /**
+     * Stops accepting submissions, then waits for the workers to apply the lines already queued.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Partition partition : partitions) {
+            try {
+                partition.queue.put(STOP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Submissions that raced with close() and were queued behind the stop marker
+            if (!partition.queue.isEmpty()) {
+                failed.increment(partition.queue.size());
+                logger.warn("Dropped {} game statistics submitted while ingest was shutting down",
+                        partition.queue.size());
+            }
+        }
+    }
+
+    private final class Partition {
+        final BlockingQueue<Pending> queue;
+        final Thread worker;
+
+        Partition(BlockingQueue<Pending> queue, String name) {
+            this.queue = queue;
+            this.worker = new Thread(() -> drain(queue), name);
+            this.worker.setDaemon(true);
+        }
+    }
+
+    private record Pending(long sequence, PlayerGameStats gameStats) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.nba.ingest;
+
+/**
+ * Thrown when a game line is shed because the ingest queue it belongs to is full.
+ */
+public class IngestQueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public IngestQueueFullException() {
+        super("Ingest queue is full, retry later");
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.nba.ingest;
+
+/**
+ * Thrown when a game line is submitted after the ingest pipeline started shutting down.
+ */
+public class IngestUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public IngestUnavailableException() {
+        super("Ingest is shutting down");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.nba.live;
+
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.TeamSeasonStats;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Live feed of player and team season statistics, published by the season repositories as aggregates change,
+ * while they still hold the changed aggregate, so the updates of one aggregate are published in order.
+ * <p>
+ * Every player and every team is a topic backed by its own {@link Sinks.Many}. A topic exists only while it
+ * has subscribers, so the ingest path can ask {@link #hasPlayerSubscribers(String)} before reading an
+ * aggregate and publishes nothing for entities nobody follows.
+ * <p>
+ * Updates are conflated per topic: a subscriber that reads slower than updates arrive receives the latest
+ * value of each topic it follows instead of every intermediate one, so a slow consumer holds at most a
+ * couple of values per topic rather than a growing buffer, and never slows down ingest or other subscribers.
+ */
+@Component
+public class SeasonStatsUpdates {
+    private final Topics<PlayerSeasonStats> players =
+            new Topics<>(PlayerSeasonStats::playerId, PlayerSeasonStats::season);
+    private final Topics<TeamSeasonStats> teams =
+            new Topics<>(stats -> stats.team().id(), TeamSeasonStats::season);
+
+    /**
+     * Streams the updated season statistics of the given players, optionally of one season only.
+     */
+    public Flux<PlayerSeasonStats> players(Collection<String> playerIds, String season) {
+        return players.subscribe(playerIds, season);
+    }
+
+    /**
+     * Streams the updated season statistics of the given teams, optionally of one season only.
+     */
+    public Flux<TeamSeasonStats> teams(Collection<String> teamIds, String season) {
+        return teams.subscribe(teamIds, season);
+    }
+
+    public boolean hasPlayerSubscribers(String playerId) {
+        return players.hasSubscribers(playerId);
+    }
+
+    public boolean hasTeamSubscribers(String teamId) {
+        return teams.hasSubscribers(teamId);
+    }
+
+    public void publish(PlayerSeasonStats stats) {
+        players.publish(stats);
+    }
+
+    public void publish(TeamSeasonStats stats) {
+        teams.publish(stats);
+    }
+
+    private static final class Topics<T> {
+        private final ConcurrentHashMap<String, Topic<T>> topics = new ConcurrentHashMap<>();
+        private final Function<T, String> idOf;
+        private final Function<T, String> seasonOf;
+
+        Topics(Function<T, String> idOf, Function<T, String> seasonOf) {
+            this.idOf = idOf;
+            this.seasonOf = seasonOf;
+        }
+
+        Flux<T> subscribe(Collection<String> ids, String season) {
+            // A prefetch of one keeps the merge from queueing values that conflation would have replaced
+            return Flux.fromIterable(ids)
+                    .distinct()
+                    .flatMap(id -> topic(id)
+                            .filter(stats -> season == null || season.equals(seasonOf.apply(stats)))
+                            .onBackpressureLatest(), Math.max(1, ids.size()), 1);
+        }
+
+        boolean hasSubscribers(String id) {
+            return topics.containsKey(id);
+        }
+
+        void publish(T stats) {
+            Topic<T> topic = topics.get(idOf.apply(stats));
+            if (topic != null) {
+                // The sink only accepts serialized emissions; subscribers merely store the value
+                synchronized (topic) {
+                    topic.sink.tryEmitNext(stats);
+                }
+            }
+        }
+
+        private Flux<T> topic(String id) {
+            return Flux.defer(() -> {
+                // Counted inside the map's compute, so a topic is never dropped while being joined
+                Topic<T> topic = topics.compute(id, (key, existing) -> {
+                    Topic<T> joined = existing == null ? new Topic<>() : existing;
+                    joined.subscribers++;
+                    return joined;
+                });
+                return topic.sink.asFlux()
+                        .doFinally(signal -> topics.computeIfPresent(id,
+                                (key, existing) -> --existing.subscribers == 0 ? null : existing));
+            });
+        }
+    }
+
+    private static final class Topic<T> {
+        final Sinks.Many<T> sink = Sinks.many().multicast().directBestEffort();
+        // Only changed inside ConcurrentHashMap.compute for the topic's key
+        int subscribers;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.nba.model;
+
+import java.util.List;
+
+/**
+ * Response to a batch game statistics submission: how many entries were accepted and rejected,
+ * and a result for every submitted entry in submission order.
+ */
+public record BatchIngestResult(
+        int accepted,
+        int rejected,
+        List<BatchItemResult> items
+) {
+    public static BatchIngestResult of(List<BatchItemResult> items) {
+        int accepted = (int) items.stream()
+                .filter(item -> item.status() == BatchItemResult.Status.ACCEPTED)
+                .count();
+        return new BatchIngestResult(accepted, items.size() - accepted, List.copyOf(items));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.nba.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a single entry of a batch game statistics submission.
+ * <p>
+ * {@code index} is the zero-based position of the entry in the submitted batch and {@code id} its
+ * statistics ID, if one was provided. Rejected entries list the reasons in {@code errors}; accepted
+ * entries have no errors.
+ */
+public record BatchItemResult(
+        int index,
+        String id,
+        Status status,
+        List<String> errors
+) {
+    public enum Status {
+        ACCEPTED,
+        REJECTED
+    }
+
+    public static BatchItemResult accepted(int index, String id) {
+        return new BatchItemResult(index, id, Status.ACCEPTED, List.of());
+    }
+
+    public static BatchItemResult rejected(int index, String id, List<String> errors) {
+        return new BatchItemResult(index, id, Status.REJECTED, List.copyOf(errors));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.nba.model;
+
+/**
+ * An ingested game line that changed the statistics, as recorded in the change log. A correction of a line
+ * is recorded as a later change with the same statistics ID.
+ *
+ * @param sequence  the change's position in the log, starting at 0 and without gaps
+ * @param gameStats the inserted or corrected game line
+ */
+public record GameStatsChange(long sequence, PlayerGameStats gameStats) {
+}
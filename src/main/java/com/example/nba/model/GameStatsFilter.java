@@ -0,0 +1,52 @@
+package com.example.nba.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects player game lines for an aggregate scan. Every criterion is optional: a null identifier or bound
+ * matches every line, and all given criteria must hold.
+ * <p>
+ * {@code from} is inclusive and {@code to} exclusive. {@code ranges} restrict individual statistics to
+ * inclusive bounds.
+ */
+public record GameStatsFilter(
+        String season,
+        String teamId,
+        String playerId,
+        LocalDateTime from,
+        LocalDateTime to,
+        List<StatRange> ranges
+) {
+    public GameStatsFilter {
+        ranges = ranges == null ? List.of() : List.copyOf(ranges);
+    }
+
+    /**
+     * A filter matching every game line.
+     */
+    public static GameStatsFilter all() {
+        return new GameStatsFilter(null, null, null, null, null, List.of());
+    }
+
+    /**
+     * The statistics of a game line that can be filtered on and aggregated.
+     */
+    public enum Stat {
+        POINTS,
+        REBOUNDS,
+        ASSISTS,
+        STEALS,
+        BLOCKS,
+        FOULS,
+        TURNOVERS,
+        MINUTES_PLAYED
+    }
+
+    /**
+     * Restricts one statistic to {@code [min, max]}; a null bound leaves that side open.
+     */
+    public record StatRange(Stat stat, BigDecimal min, BigDecimal max) {
+    }
+}
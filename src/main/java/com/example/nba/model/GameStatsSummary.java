@@ -0,0 +1,25 @@
+package com.example.nba.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregates of the player game lines matching a {@link GameStatsFilter}: the number of lines and the
+ * total, minimum, maximum and average of every statistic. All aggregates are zero if no line matched.
+ */
+public record GameStatsSummary(
+        long games,
+        StatSummary points,
+        StatSummary rebounds,
+        StatSummary assists,
+        StatSummary steals,
+        StatSummary blocks,
+        StatSummary fouls,
+        StatSummary turnovers,
+        MinutesSummary minutesPlayed
+) {
+    public record StatSummary(long total, int min, int max, double average) {
+    }
+
+    public record MinutesSummary(BigDecimal total, BigDecimal min, BigDecimal max, BigDecimal average) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.nba.model;
+
+/**
+ * Acknowledges a game line queued for ingest. The line is applied to the statistics shortly after, unless it
+ * turns out to reuse the statistics ID of a different game.
+ *
+ * @param sequence the submission's number, unique and increasing in the order submissions were queued. It
+ *                 counts submissions to this process only and restarts at 0 on every start; it is not the
+ *                 sequence of the line in the change log
+ * @param id       the statistics ID of the queued line
+ */
+public record IngestReceipt(long sequence, String id) {
+}
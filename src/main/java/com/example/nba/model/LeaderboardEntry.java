@@ -0,0 +1,14 @@
+package com.example.nba.model;
+
+/**
+ * A player's position on a season leaderboard for one statistic.
+ * <p>
+ * Ranks follow standard competition ranking: players with the same per-game value share a rank, and the next
+ * rank skips accordingly (1, 2, 2, 4). Tied players are listed by player ID.
+ *
+ * @param rank     the 1-based rank
+ * @param playerId the player's ID
+ * @param value    the player's per-game average of the statistic
+ */
+public record LeaderboardEntry(int rank, String playerId, double value) {
+}
@@ -0,0 +1,32 @@
+package com.example.nba.model;
+
+/**
+ * A player's per-game averages over a rolling window of their most recent games, such as the last 5 games
+ * or the games of the last 30 days.
+ *
+ * @param playerId         the player's ID
+ * @param window           the window's name, e.g. {@code last-5-games} or {@code last-30-days}
+ * @param gamesPlayed      the number of games in the window
+ * @param avgPoints        average points per game in the window
+ * @param avgRebounds      average rebounds per game in the window
+ * @param avgAssists       average assists per game in the window
+ * @param avgSteals        average steals per game in the window
+ * @param avgBlocks        average blocks per game in the window
+ * @param avgFouls         average fouls per game in the window
+ * @param avgTurnovers     average turnovers per game in the window
+ * @param avgMinutesPlayed average minutes played per game in the window
+ */
+public record RollingStats(
+        String playerId,
+        String window,
+        int gamesPlayed,
+        double avgPoints,
+        double avgRebounds,
+        double avgAssists,
+        double avgSteals,
+        double avgBlocks,
+        double avgFouls,
+        double avgTurnovers,
+        double avgMinutesPlayed
+) {
+}
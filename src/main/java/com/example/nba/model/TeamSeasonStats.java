@@ -4,6 +4,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
+import java.util.function.ToDoubleFunction;
+
 /**
  * Represents the aggregated statistics of an NBA team for a specific season.
  * Each instance contains key metrics such as total games played and averages for points,
@@ -48,6 +50,32 @@ public record TeamSeasonStats(
         @PositiveOrZero
         double averageTeamTurnovers
 ) {
+    /**
+     * The per-game averages teams are ranked by in the season standings.
+     */
+    public enum Metric {
+        POINTS(TeamSeasonStats::averageTeamPoints),
+        REBOUNDS(TeamSeasonStats::averageTeamRebounds),
+        ASSISTS(TeamSeasonStats::averageTeamAssists),
+        STEALS(TeamSeasonStats::averageTeamSteals),
+        BLOCKS(TeamSeasonStats::averageTeamBlocks),
+        FOULS(TeamSeasonStats::averageTeamFouls),
+        TURNOVERS(TeamSeasonStats::averageTeamTurnovers);
+
+        private final ToDoubleFunction<TeamSeasonStats> average;
+
+        Metric(ToDoubleFunction<TeamSeasonStats> average) {
+            this.average = average;
+        }
+
+        /**
+         * Returns the metric's average in the given statistics.
+         */
+        public double of(TeamSeasonStats stats) {
+            return average.applyAsDouble(stats);
+        }
+    }
+
     /**
      * Creates initial team season stats from the first game stats
      */
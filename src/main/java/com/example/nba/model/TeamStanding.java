@@ -0,0 +1,14 @@
+package com.example.nba.model;
+
+/**
+ * A team's position in a season's standings by one {@link TeamSeasonStats.Metric}.
+ * <p>
+ * Ranks follow standard competition ranking, like {@link LeaderboardEntry}: teams with the same average share
+ * a rank and the next rank skips accordingly. Tied teams are listed by team ID.
+ *
+ * @param rank   the 1-based rank
+ * @param teamId the team's ID
+ * @param value  the team's per-game average of the metric
+ */
+public record TeamStanding(int rank, String teamId, double value) {
+}
@@ -0,0 +1,276 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary point-in-time image of the ingested state: the stored game lines and the player and team season
+ * aggregates derived from them, tagged with the write-ahead log position the image covers.
+ * <p>
+ * Layout: {@code [magic][version]}, the game lines as {@link GameStatsCodec} records, the player and team
+ * season statistics, then a footer {@code [logPosition][lineCount][playerCount][teamCount]} and a CRC32C of
+ * everything before it. The counts live in the footer so the lines can be streamed out without knowing
+ * their number up front. Snapshots are written to a temporary file and atomically renamed into place, and
+ * are read through a single memory mapping after the checksum has been verified.
+ */
+final class AggregateSnapshot {
+    private static final int MAGIC = 0x4E424153; // "NBAS"
+    private static final int VERSION = 1;
+    private static final int FOOTER_BYTES = 4 * Long.BYTES + Integer.BYTES;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private AggregateSnapshot() {
+    }
+
+    /**
+     * Counts and log position recorded in a snapshot.
+     */
+    record Footer(long logPosition, long lines, long playerStats, long teamStats) {
+    }
+
+    /**
+     * Writes a snapshot, replacing any previous snapshot at {@code path} only once it is complete and durable.
+     */
+    static Footer write(Path path, long logPosition, Iterable<PlayerGameStats> lines,
+                        Iterable<PlayerSeasonStats> playerStats, Iterable<TeamSeasonStats> teamStats)
+            throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Footer footer;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output output = new Output(channel);
+            ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).putInt(MAGIC).putInt(VERSION).flip();
+            output.write(header);
+
+            long lineCount = 0;
+            for (PlayerGameStats line : lines) {
+                output.write(GameStatsCodec.encode(line));
+                lineCount++;
+            }
+            long playerCount = 0;
+            for (PlayerSeasonStats stats : playerStats) {
+                output.write(encode(stats));
+                playerCount++;
+            }
+            long teamCount = 0;
+            for (TeamSeasonStats stats : teamStats) {
+                output.write(encode(stats));
+                teamCount++;
+            }
+
+            footer = new Footer(logPosition, lineCount, playerCount, teamCount);
+            output.write(ByteBuffer.allocate(4 * Long.BYTES)
+                    .putLong(logPosition).putLong(lineCount).putLong(playerCount).putLong(teamCount)
+                    .flip());
+            output.finish();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return footer;
+    }
+
+    /**
+     * Verifies a snapshot and, if {@code accept} accepts its footer, hands its content to the given consumers,
+     * lines first.
+     *
+     * @return the footer, or {@code null} if it was not accepted
+     * @throws IOException if the snapshot is truncated, corrupt or of an unknown version, in which case
+     *                     nothing has been handed to the consumers
+     */
+    static Footer read(Path path, Predicate<Footer> accept, Consumer<PlayerGameStats> lines,
+                       Consumer<PlayerSeasonStats> playerStats, Consumer<TeamSeasonStats> teamStats)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is too large to map: " + size + " bytes");
+            }
+            if (size < 2 * Integer.BYTES + FOOTER_BYTES) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int checksumOffset = (int) size - Integer.BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(0, checksumOffset));
+            if ((int) crc.getValue() != buffer.getInt(checksumOffset)) {
+                throw new IOException("Snapshot " + path + " is corrupt");
+            }
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Snapshot " + path + " has an unknown format");
+            }
+            int footerOffset = (int) size - FOOTER_BYTES;
+            Footer footer = new Footer(buffer.getLong(footerOffset), buffer.getLong(footerOffset + Long.BYTES),
+                    buffer.getLong(footerOffset + 2 * Long.BYTES), buffer.getLong(footerOffset + 3 * Long.BYTES));
+            if (!accept.test(footer)) {
+                return null;
+            }
+
+            buffer.position(2 * Integer.BYTES).limit(footerOffset);
+            for (long i = 0; i < footer.lines(); i++) {
+                PlayerGameStats line = GameStatsCodec.decode(buffer);
+                if (line == null) {
+                    throw new IOException("Snapshot " + path + " has a corrupt game line at offset " + buffer.position());
+                }
+                lines.accept(line);
+            }
+            for (long i = 0; i < footer.playerStats(); i++) {
+                playerStats.accept(decodePlayerSeasonStats(buffer));
+            }
+            for (long i = 0; i < footer.teamStats(); i++) {
+                teamStats.accept(decodeTeamSeasonStats(buffer));
+            }
+            return footer;
+        }
+    }
+
+    private static ByteBuffer encode(PlayerSeasonStats stats) {
+        byte[] playerId = GameStatsCodec.utf8(stats.playerId());
+        byte[] season = GameStatsCodec.utf8(stats.season());
+        ByteBuffer buffer = ByteBuffer.allocate(2 * GameStatsCodec.MAX_VAR_INT_BYTES + playerId.length
+                + season.length + 8 * GameStatsCodec.MAX_VAR_INT_BYTES + 2 * GameStatsCodec.MAX_DECIMAL_BYTES
+                + 7 * Double.BYTES);
+        GameStatsCodec.putBytes(buffer, playerId);
+        GameStatsCodec.putBytes(buffer, season);
+        GameStatsCodec.putVarLong(buffer, stats.gamesPlayed());
+        GameStatsCodec.putVarLong(buffer, stats.totalPoints());
+        GameStatsCodec.putVarLong(buffer, stats.totalRebounds());
+        GameStatsCodec.putVarLong(buffer, stats.totalAssists());
+        GameStatsCodec.putVarLong(buffer, stats.totalSteals());
+        GameStatsCodec.putVarLong(buffer, stats.totalBlocks());
+        GameStatsCodec.putVarLong(buffer, stats.totalFouls());
+        GameStatsCodec.putVarLong(buffer, stats.totalTurnovers());
+        GameStatsCodec.putDecimal(buffer, stats.totalMinutesPlayed());
+        buffer.putDouble(stats.avgPoints());
+        buffer.putDouble(stats.avgRebounds());
+        buffer.putDouble(stats.avgAssists());
+        buffer.putDouble(stats.avgSteals());
+        buffer.putDouble(stats.avgBlocks());
+        buffer.putDouble(stats.avgFouls());
+        buffer.putDouble(stats.avgTurnovers());
+        GameStatsCodec.putDecimal(buffer, stats.avgMinutesPlayed());
+        return buffer.flip();
+    }
+
+    private static PlayerSeasonStats decodePlayerSeasonStats(ByteBuffer buffer) {
+        return new PlayerSeasonStats(
+                GameStatsCodec.getString(buffer),
+                GameStatsCodec.getString(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                GameStatsCodec.getDecimal(buffer),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                GameStatsCodec.getDecimal(buffer)
+        );
+    }
+
+    private static ByteBuffer encode(TeamSeasonStats stats) {
+        byte[] teamId = GameStatsCodec.utf8(stats.team().id());
+        byte[] teamName = GameStatsCodec.utf8(stats.team().name());
+        byte[] season = GameStatsCodec.utf8(stats.season());
+        ByteBuffer buffer = ByteBuffer.allocate(4 * GameStatsCodec.MAX_VAR_INT_BYTES + teamId.length
+                + teamName.length + season.length + 7 * Double.BYTES);
+        GameStatsCodec.putBytes(buffer, teamId);
+        GameStatsCodec.putBytes(buffer, teamName);
+        GameStatsCodec.putBytes(buffer, season);
+        GameStatsCodec.putVarLong(buffer, stats.totalGamesPlayed());
+        buffer.putDouble(stats.averageTeamPoints());
+        buffer.putDouble(stats.averageTeamRebounds());
+        buffer.putDouble(stats.averageTeamAssists());
+        buffer.putDouble(stats.averageTeamSteals());
+        buffer.putDouble(stats.averageTeamBlocks());
+        buffer.putDouble(stats.averageTeamFouls());
+        buffer.putDouble(stats.averageTeamTurnovers());
+        return buffer.flip();
+    }
+
+    private static TeamSeasonStats decodeTeamSeasonStats(ByteBuffer buffer) {
+        return new TeamSeasonStats(
+                new Team(GameStatsCodec.getString(buffer), GameStatsCodec.getString(buffer)),
+                GameStatsCodec.getString(buffer),
+                (int) GameStatsCodec.getVarLong(buffer),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble()
+        );
+    }
+
+    /**
+     * Buffers small writes into large ones and checksums everything written.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private final CRC32C crc = new CRC32C();
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(ByteBuffer bytes) throws IOException {
+            crc.update(bytes.duplicate());
+            if (bytes.remaining() > buffer.remaining()) {
+                flush();
+            }
+            if (bytes.remaining() > buffer.capacity()) {
+                writeFully(bytes);
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        void finish() throws IOException {
+            ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).flip();
+            if (buffer.remaining() < checksum.remaining()) {
+                flush();
+            }
+            buffer.put(checksum);
+            flush();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
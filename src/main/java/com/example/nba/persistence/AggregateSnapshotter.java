@@ -0,0 +1,184 @@
+package com.example.nba.persistence;
+
+import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.repository.PlayerSeasonStatisticsRepository;
+import com.example.nba.repository.PlayerStatisticsRepository;
+import com.example.nba.repository.RollingStatsRepository;
+import com.example.nba.repository.TeamStatisticsStatisticsRepository;
+import com.example.nba.repository.accumulator.PlayerSeasonAccumulator;
+import com.example.nba.repository.accumulator.TeamSeasonAccumulator;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.KeyGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes an {@link AggregateSnapshot} of the ingested state, so a restart only has to replay
+ * the write-ahead log written since the snapshot.
+ * <p>
+ * A snapshot first reads the log's {@link WriteAheadLog#durablePosition() durable position}, then copies the
+ * stored game lines. Lines are applied before they are logged, so every line logged before that position is
+ * part of the copy; lines applied later may be part of it too, and replaying them again is a no-op because
+ * ingest is idempotent. The season aggregates are recomputed from the copied lines rather than read from
+ * the live repositories, so the lines and aggregates of a snapshot always agree even though ingest keeps
+ * running while it is taken.
+ */
+public class AggregateSnapshotter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AggregateSnapshotter.class);
+
+    private final Path path;
+    private final WriteAheadLog writeAheadLog;
+    private final PlayerStatisticsRepository gameStatsRepository;
+    private final PlayerSeasonStatisticsRepository playerSeasonStatsRepository;
+    private final TeamStatisticsStatisticsRepository teamSeasonStatsRepository;
+    private final RollingStatsRepository rollingStatsRepository;
+    private final TeamInitializer teamInitializer;
+    private final KeyGenerator keyGenerator;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "aggregate-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long lastSnapshotPosition = -1;
+
+    public AggregateSnapshotter(Path path, WriteAheadLog writeAheadLog,
+                                PlayerStatisticsRepository gameStatsRepository,
+                                PlayerSeasonStatisticsRepository playerSeasonStatsRepository,
+                                TeamStatisticsStatisticsRepository teamSeasonStatsRepository,
+                                RollingStatsRepository rollingStatsRepository,
+                                TeamInitializer teamInitializer, KeyGenerator keyGenerator) {
+        this.path = path;
+        this.writeAheadLog = writeAheadLog;
+        this.gameStatsRepository = gameStatsRepository;
+        this.playerSeasonStatsRepository = playerSeasonStatsRepository;
+        this.teamSeasonStatsRepository = teamSeasonStatsRepository;
+        this.rollingStatsRepository = rollingStatsRepository;
+        this.teamInitializer = teamInitializer;
+        this.keyGenerator = keyGenerator;
+    }
+
+    /**
+     * Loads the latest snapshot into the repositories, unless it covers more of the write-ahead log than
+     * exists, e.g. because the log was replaced. The players' rolling windows are not part of the snapshot;
+     * they are rebuilt from its game lines.
+     *
+     * @param logSize the current size of the write-ahead log
+     * @return the footer of the loaded snapshot, or {@code null} if there is no usable snapshot
+     */
+    public synchronized AggregateSnapshot.Footer restore(long logSize) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            AggregateSnapshot.Footer footer = AggregateSnapshot.read(path,
+                    candidate -> candidate.logPosition() <= logSize,
+                    line -> gameStatsRepository.save(line).flatMap(rollingStatsRepository::apply).block(),
+                    stats -> playerSeasonStatsRepository.save(stats).block(),
+                    stats -> teamSeasonStatsRepository.save(stats).block());
+            if (footer == null) {
+                logger.warn("Ignoring snapshot {}: it covers more than the {} bytes of the write-ahead log",
+                        path, logSize);
+            } else {
+                lastSnapshotPosition = footer.logPosition();
+            }
+            return footer;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable snapshot {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Takes a snapshot every {@code interval}, skipping intervals in which nothing was logged.
+     */
+    public void start(Duration interval) {
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotIfChanged, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a snapshot of the current state.
+     *
+     * @return the footer of the written snapshot
+     */
+    public synchronized AggregateSnapshot.Footer snapshot() throws IOException {
+        long startNanos = System.nanoTime();
+        long logPosition = writeAheadLog.durablePosition();
+        Map<CompositeKey, PlayerSeasonAccumulator> playerStats = new HashMap<>();
+        Map<CompositeKey, TeamSeasonAccumulator> teamStats = new HashMap<>();
+
+        Iterable<PlayerGameStats> lines = () -> gameStatsRepository.findAll()
+                .toStream()
+                .peek(line -> accumulate(line, playerStats, teamStats))
+                .iterator();
+        // The aggregates are only complete once the lines have been written, hence the lazy iterables
+        Iterable<PlayerSeasonStats> playerSnapshots = () -> playerStats.values().stream()
+                .map(PlayerSeasonAccumulator::snapshot)
+                .iterator();
+        Iterable<TeamSeasonStats> teamSnapshots = () -> teamStats.values().stream()
+                .map(TeamSeasonAccumulator::snapshot)
+                .iterator();
+
+        AggregateSnapshot.Footer footer =
+                AggregateSnapshot.write(path, logPosition, lines, playerSnapshots, teamSnapshots);
+        lastSnapshotPosition = logPosition;
+        logger.info("Wrote snapshot of {} game lines, {} player and {} team season statistics at log position {} in {} ms",
+                footer.lines(), footer.playerStats(), footer.teamStats(), logPosition,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return footer;
+    }
+
+    private void accumulate(PlayerGameStats line, Map<CompositeKey, PlayerSeasonAccumulator> playerStats,
+                            Map<CompositeKey, TeamSeasonAccumulator> teamStats) {
+        playerStats.computeIfAbsent(keyGenerator.compositeKey(line.playerId(), line.season()),
+                        key -> new PlayerSeasonAccumulator(line.playerId(), line.season()))
+                .add(line);
+        Team team = teamInitializer.getTeam(line.teamId());
+        if (team != null) {
+            teamStats.computeIfAbsent(keyGenerator.compositeKey(line.teamId(), line.season()),
+                            key -> new TeamSeasonAccumulator(team, line.season()))
+                    .add(line);
+        }
+    }
+
+    private synchronized void snapshotIfChanged() {
+        if (writeAheadLog.durablePosition() == lastSnapshotPosition) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write snapshot {}", path, e);
+        }
+    }
+
+    /**
+     * Stops taking periodic snapshots and takes a final one, so the next start has no log to replay.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotIfChanged();
+    }
+}
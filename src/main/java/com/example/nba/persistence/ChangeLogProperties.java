@@ -0,0 +1,20 @@
+package com.example.nba.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the game statistics change log, bound from {@code nba.changes.*}.
+ *
+ * @param bufferSize the number of most recent changes kept in memory
+ * @param path       the spill file; without one the log is kept in a temporary file and starts empty on every
+ *                   start
+ */
+@ConfigurationProperties(prefix = "nba.changes")
+public record ChangeLogProperties(
+        @DefaultValue("65536") int bufferSize,
+        Path path
+) {
+}
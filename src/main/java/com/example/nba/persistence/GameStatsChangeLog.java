@@ -0,0 +1,360 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.GameStatsChange;
+import com.example.nba.model.PlayerGameStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequence-numbered log of the game lines that changed the statistics, in the order the ingest path recorded
+ * them, for downstream consumers such as a search indexer or a warehouse loader.
+ * <p>
+ * Every change is appended to a spill file and kept in a ring buffer of the most recent changes. Consumers
+ * {@link #changes(long) tail} the log from any sequence: changes still in the ring are served from memory and
+ * older ones are read back from the spill file, so memory stays bounded however far a consumer falls behind.
+ * The file position of every {@value #INDEX_INTERVAL}th change is indexed, so a catch-up read skips at most
+ * that many records to reach its first change.
+ * <p>
+ * The ingest path {@link #record(PlayerGameStats) records} a change while it still holds the changed game, so
+ * two concurrent corrections of one game are numbered in the order they were applied, and later
+ * {@link #flush() flushes} the recorded changes to the spill file with one write. Consumers only see flushed
+ * changes, always a gap-free prefix of the numbering.
+ * <p>
+ * The spill file uses the {@link GameStatsCodec} framing. It is not forced to disk, since it serves catch-up
+ * reads rather than recovery. Reopening the file continues its numbering; a torn record at its end is
+ * truncated away.
+ */
+public final class GameStatsChangeLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(GameStatsChangeLog.class);
+
+    static final int INDEX_INTERVAL = 1024;
+    private static final int READ_BATCH_SIZE = 256;
+    private static final int READ_CHUNK_BYTES = 64 << 10;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final PlayerGameStats[] ring;
+    // Replays the next sequence to every waiting consumer, so none misses an append made while it was reading
+    private final Sinks.Many<Long> appended = Sinks.many().replay().latest();
+    // Serializes flushes, so recording a change never waits for the spill file
+    private final Object flushLock = new Object();
+
+    // Encoded changes recorded but not yet flushed, numbered from nextSequence on
+    private List<ByteBuffer> unflushed = new ArrayList<>();
+    private long[] index = new long[16];
+    private int indexed;
+    private long end;
+    private long nextSequence;
+    private long recordedSequence;
+    private long ringStart;
+
+    private GameStatsChangeLog(Path path, FileChannel channel, int bufferSize) {
+        this.path = path;
+        this.channel = channel;
+        this.ring = new PlayerGameStats[bufferSize];
+    }
+
+    /**
+     * Opens the log kept in the given spill file, creating it and its parent directories if needed, and
+     * continues the numbering of the changes it holds.
+     *
+     * @param path       the spill file
+     * @param bufferSize the number of most recent changes kept in memory
+     */
+    public static GameStatsChangeLog open(Path path, int bufferSize) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        GameStatsChangeLog log = new GameStatsChangeLog(path, channel, bufferSize);
+        log.recover();
+        return log;
+    }
+
+    /**
+     * Opens an empty log kept in a temporary spill file, which is deleted when the log is closed.
+     *
+     * @param bufferSize the number of most recent changes kept in memory
+     */
+    public static GameStatsChangeLog openTemporary(int bufferSize) throws IOException {
+        Path path = Files.createTempFile("game-stats-changes", ".log");
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        GameStatsChangeLog log = new GameStatsChangeLog(path, channel, bufferSize);
+        log.recover();
+        return log;
+    }
+
+    /**
+     * Appends the changed lines, numbered in order, and wakes up the consumers tailing the log.
+     *
+     * @return a {@code Mono} that completes once the lines can be read from the log
+     */
+    public Mono<Void> append(List<PlayerGameStats> gameStats) {
+        if (gameStats.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> {
+            gameStats.forEach(this::record);
+            publish();
+        });
+    }
+
+    /**
+     * Numbers the changed line, without writing it yet. Callers record a change while they hold its game, so
+     * the numbering follows the order the changes of one game were applied in.
+     */
+    public void record(PlayerGameStats gameStats) {
+        ByteBuffer record = GameStatsCodec.encode(gameStats);
+        boolean backlogged;
+        synchronized (this) {
+            ring[(int) (recordedSequence % ring.length)] = gameStats;
+            recordedSequence++;
+            ringStart = Math.max(ringStart, recordedSequence - ring.length);
+            unflushed.add(record);
+            backlogged = unflushed.size() >= ring.length;
+        }
+        // Changes left unflushed by failed ingests must not pile up in memory
+        if (backlogged) {
+            publish();
+        }
+    }
+
+    /**
+     * Writes every recorded change to the spill file and wakes up the consumers tailing the log. A failed
+     * write keeps the changes for the next flush.
+     *
+     * @return a {@code Mono} that completes once the changes recorded so far can be read from the log
+     */
+    public Mono<Void> flush() {
+        return Mono.fromRunnable(this::publish);
+    }
+
+    /**
+     * Streams the changes from the given sequence on: first those already in the log, then every new one as it
+     * is appended. The stream does not complete; a consumer resumes from the sequence following the last
+     * change it processed.
+     *
+     * @param fromSequence the sequence of the first change, at most {@link #nextSequence()}
+     * @return the changes, or an {@link IllegalArgumentException} if the sequence is not in the log
+     */
+    public Flux<GameStatsChange> changes(long fromSequence) {
+        return Flux.defer(() -> {
+            long last = nextSequence();
+            if (fromSequence < 0 || fromSequence > last) {
+                return Flux.error(new IllegalArgumentException(
+                        "Sequence " + fromSequence + " is outside the change log, which ends at " + last));
+            }
+            AtomicLong next = new AtomicLong(fromSequence);
+            // Catch-up reads may block on the spill file
+            return Flux.defer(() -> {
+                        try {
+                            return Flux.fromIterable(read(next.get(), READ_BATCH_SIZE));
+                        } catch (IOException e) {
+                            return Flux.error(e);
+                        }
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(change -> next.set(change.sequence() + 1))
+                    .repeatWhen(reads -> reads.concatMap(read -> appended.asFlux()
+                            .filter(sequence -> sequence > next.get())
+                            .next()));
+        });
+    }
+
+    /**
+     * Returns the sequence of the first change not yet flushed, which is also the number of changes consumers
+     * can read.
+     */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    private void publish() {
+        synchronized (flushLock) {
+            List<ByteBuffer> records;
+            synchronized (this) {
+                if (unflushed.isEmpty()) {
+                    return;
+                }
+                records = unflushed;
+                unflushed = new ArrayList<>();
+            }
+
+            ByteBuffer[] buffers = records.toArray(new ByteBuffer[0]);
+            try {
+                long remaining = 0;
+                for (ByteBuffer record : buffers) {
+                    remaining += record.remaining();
+                }
+                while (remaining > 0) {
+                    remaining -= channel.write(buffers);
+                }
+            } catch (IOException e) {
+                discardPartialWrite();
+                synchronized (this) {
+                    records.forEach(ByteBuffer::rewind);
+                    records.addAll(unflushed);
+                    unflushed = records;
+                }
+                throw new UncheckedIOException("Failed to append " + buffers.length + " changes to " + path, e);
+            }
+
+            long sequence;
+            synchronized (this) {
+                long position = end;
+                for (ByteBuffer record : buffers) {
+                    if (nextSequence % INDEX_INTERVAL == 0) {
+                        addToIndex(position);
+                    }
+                    position += record.limit();
+                    nextSequence++;
+                }
+                end = position;
+                sequence = nextSequence;
+            }
+            appended.tryEmitNext(sequence);
+        }
+    }
+
+    private List<GameStatsChange> read(long from, int maxChanges) throws IOException {
+        int count;
+        long position;
+        long limit;
+        long sequence;
+        synchronized (this) {
+            count = (int) Math.min(maxChanges, nextSequence - from);
+            if (count <= 0) {
+                return List.of();
+            }
+            if (from >= ringStart) {
+                List<GameStatsChange> changes = new ArrayList<>(count);
+                for (long next = from; next < from + count; next++) {
+                    changes.add(new GameStatsChange(next, ring[(int) (next % ring.length)]));
+                }
+                return changes;
+            }
+            int entry = (int) (from / INDEX_INTERVAL);
+            position = index[entry];
+            sequence = (long) entry * INDEX_INTERVAL;
+            limit = end;
+        }
+
+        // The changes have left the ring: read them back from the spill file, which is only ever appended to
+        List<GameStatsChange> changes = new ArrayList<>(count);
+        long[] next = {sequence};
+        scan(position, limit, (recordPosition, gameStats) -> {
+            if (next[0] >= from) {
+                changes.add(new GameStatsChange(next[0], gameStats));
+            }
+            next[0]++;
+            return changes.size() < count;
+        });
+        return changes;
+    }
+
+    private void recover() throws IOException {
+        long size = channel.size();
+        long intact = scan(0, size, (position, gameStats) -> {
+            if (nextSequence % INDEX_INTERVAL == 0) {
+                addToIndex(position);
+            }
+            nextSequence++;
+            return true;
+        });
+        if (intact < size) {
+            logger.warn("Truncating {} bytes of incomplete change log records at offset {} of {}",
+                    size - intact, intact, path);
+            channel.truncate(intact);
+        }
+        channel.position(intact);
+        end = intact;
+        recordedSequence = nextSequence;
+        ringStart = nextSequence;
+        appended.tryEmitNext(nextSequence);
+    }
+
+    /**
+     * Decodes the records between the two file positions in order until the visitor stops.
+     *
+     * @return the position following the last intact record read
+     */
+    private long scan(long position, long limit, RecordVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_BYTES);
+        while (position < limit) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), limit - position));
+            // Positional reads leave the channel's position, where appends are written, untouched
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+
+            int start = buffer.position();
+            PlayerGameStats gameStats;
+            while ((gameStats = GameStatsCodec.decode(buffer)) != null) {
+                if (!visitor.visit(position + start, gameStats)) {
+                    return position + buffer.position();
+                }
+                start = buffer.position();
+            }
+            if (buffer.position() == 0) {
+                // Not even one record fits: either a torn tail or a record larger than the buffer
+                if (position + buffer.limit() >= limit) {
+                    return position;
+                }
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                continue;
+            }
+            position += buffer.position();
+        }
+        return position;
+    }
+
+    private void addToIndex(long position) {
+        if (indexed == index.length) {
+            index = Arrays.copyOf(index, indexed * 2);
+        }
+        index[indexed++] = position;
+    }
+
+    // A partially written group would otherwise end the next recovery early and hide every later change
+    private void discardPartialWrite() {
+        try {
+            channel.truncate(end);
+            channel.position(end);
+        } catch (IOException e) {
+            logger.error("Failed to discard a partial write at the end of the change log {}", path, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        boolean visit(long position, PlayerGameStats gameStats);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.PlayerGameStats;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary encoding of {@link PlayerGameStats} log records.
+ * <p>
+ * Each record is framed as {@code [int payloadLength][int crc32c(payload)][payload]}. The payload holds
+ * the strings as length-prefixed UTF-8, the timestamp as UTC epoch seconds plus nanoseconds, and every
+ * number as a zig-zag varint, so a typical game line takes well under 100 bytes. Minutes played keep
+ * their unscaled value and scale, so a decoded line is {@code equals} to the encoded one.
+ * <p>
+ * The checksum lets a reader detect a record that was only partially written before a crash.
+ */
+final class GameStatsCodec {
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    static final int MAX_VAR_LONG_BYTES = 10;
+    static final int MAX_VAR_INT_BYTES = 5;
+    static final int MAX_DECIMAL_BYTES = MAX_VAR_LONG_BYTES + MAX_VAR_INT_BYTES;
+
+    // Length prefixes of the 5 strings, the timestamp, 7 counters and the minutes
+    private static final int MAX_FIXED_PAYLOAD_BYTES =
+            5 * MAX_VAR_INT_BYTES + Long.BYTES + MAX_VAR_INT_BYTES + 7 * MAX_VAR_INT_BYTES + MAX_DECIMAL_BYTES;
+
+    private GameStatsCodec() {
+    }
+
+    /**
+     * Encodes a framed record into a new buffer, ready to be written.
+     */
+    static ByteBuffer encode(PlayerGameStats gameStats) {
+        byte[] id = utf8(gameStats.id());
+        byte[] playerId = utf8(gameStats.playerId());
+        byte[] gameId = utf8(gameStats.gameId());
+        byte[] teamId = utf8(gameStats.teamId());
+        byte[] season = utf8(gameStats.season());
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + MAX_FIXED_PAYLOAD_BYTES
+                + id.length + playerId.length + gameId.length + teamId.length + season.length);
+        buffer.position(HEADER_BYTES);
+        putBytes(buffer, id);
+        putBytes(buffer, playerId);
+        putBytes(buffer, gameId);
+        putBytes(buffer, teamId);
+        buffer.putLong(gameStats.timestamp().toEpochSecond(ZoneOffset.UTC));
+        putVarLong(buffer, gameStats.timestamp().getNano());
+        putBytes(buffer, season);
+        putVarLong(buffer, gameStats.points());
+        putVarLong(buffer, gameStats.rebounds());
+        putVarLong(buffer, gameStats.assists());
+        putVarLong(buffer, gameStats.steals());
+        putVarLong(buffer, gameStats.blocks());
+        putVarLong(buffer, gameStats.fouls());
+        putVarLong(buffer, gameStats.turnovers());
+        putDecimal(buffer, gameStats.minutesPlayed());
+
+        int payloadLength = buffer.position() - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, payloadLength);
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the record starting at the buffer's position and advances past it.
+     *
+     * @return the decoded line, or {@code null} if the buffer ends inside the record or the record is
+     *         corrupt; the position is left unchanged in that case
+     */
+    static PlayerGameStats decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(start);
+        if (payloadLength <= 0 || payloadLength > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_BYTES, payloadLength));
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES)) {
+            return null;
+        }
+
+        buffer.position(start + HEADER_BYTES);
+        String id = getString(buffer);
+        String playerId = getString(buffer);
+        String gameId = getString(buffer);
+        String teamId = getString(buffer);
+        long epochSecond = buffer.getLong();
+        int nano = (int) getVarLong(buffer);
+        String season = getString(buffer);
+        int points = (int) getVarLong(buffer);
+        int rebounds = (int) getVarLong(buffer);
+        int assists = (int) getVarLong(buffer);
+        int steals = (int) getVarLong(buffer);
+        int blocks = (int) getVarLong(buffer);
+        int fouls = (int) getVarLong(buffer);
+        int turnovers = (int) getVarLong(buffer);
+        BigDecimal minutesPlayed = getDecimal(buffer);
+
+        return new PlayerGameStats(id, playerId, gameId, teamId,
+                LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC), season,
+                points, rebounds, assists, steals, blocks, fouls, turnovers,
+                minutesPlayed);
+    }
+
+    static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        putVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = (int) getVarLong(buffer);
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(buffer.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        putVarLong(buffer, value.unscaledValue().longValueExact());
+        putVarLong(buffer, value.scale());
+    }
+
+    static BigDecimal getDecimal(ByteBuffer buffer) {
+        long unscaled = getVarLong(buffer);
+        int scale = (int) getVarLong(buffer);
+        return new BigDecimal(BigInteger.valueOf(unscaled), scale);
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put((byte) zigZag);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+}
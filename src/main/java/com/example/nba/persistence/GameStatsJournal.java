@@ -0,0 +1,87 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.PlayerGameStats;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Durable record of the game statistics lines that changed the in-memory state, in the order they
+ * were applied. The in-memory repositories can be rebuilt by replaying the journal.
+ */
+public interface GameStatsJournal {
+
+    /**
+     * A journal that records nothing, used when persistence is disabled.
+     */
+    GameStatsJournal NONE = new GameStatsJournal() {
+        private final Reservation durable = new Reservation() {
+            @Override
+            public void release() {
+            }
+
+            @Override
+            public Mono<Void> durable() {
+                return Mono.empty();
+            }
+        };
+
+        @Override
+        public Mono<Void> append(PlayerGameStats gameStats) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> appendAll(List<PlayerGameStats> gameStats) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Reservation reserve(PlayerGameStats gameStats) {
+            return durable;
+        }
+    };
+
+    /**
+     * Appends a single game statistics line.
+     *
+     * @param gameStats the line to record
+     * @return a {@code Mono} that completes once the line is durable
+     */
+    Mono<Void> append(PlayerGameStats gameStats);
+
+    /**
+     * Appends several game statistics lines as one contiguous group.
+     *
+     * @param gameStats the lines to record, in order
+     * @return a {@code Mono} that completes once every line is durable
+     */
+    Mono<Void> appendAll(List<PlayerGameStats> gameStats);
+
+    /**
+     * Takes the next position of the journal for a line right away, but writes the line only once the
+     * reservation is {@linkplain Reservation#release() released}. A caller applying lines under a per-game
+     * lock reserves while it holds the lock, so the lines of one game are journaled in the order they were
+     * applied, and releases once it has applied the line.
+     *
+     * @param gameStats the line to record
+     * @return the reservation, which must be released even if applying the line fails
+     */
+    Reservation reserve(PlayerGameStats gameStats);
+
+    /**
+     * The position of one line in the journal, reserved by {@link #reserve(PlayerGameStats)}.
+     */
+    interface Reservation {
+
+        /**
+         * Lets the journal write the line. Lines reserved later may wait for it; releasing again has no effect.
+         */
+        void release();
+
+        /**
+         * @return a {@code Mono} that completes once the line is durable
+         */
+        Mono<Void> durable();
+    }
+}
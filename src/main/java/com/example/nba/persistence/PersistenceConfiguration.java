@@ -0,0 +1,73 @@
+package com.example.nba.persistence;
+
+import com.example.nba.data.TeamInitializer;
+import com.example.nba.repository.PlayerSeasonStatisticsRepository;
+import com.example.nba.repository.PlayerStatisticsRepository;
+import com.example.nba.repository.RollingStatsRepository;
+import com.example.nba.repository.TeamStatisticsStatisticsRepository;
+import com.example.nba.repository.key.KeyGenerator;
+import com.example.nba.service.GameStatisticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Wires the {@link GameStatsJournal}: a {@link WriteAheadLog}, with periodic snapshots, that is restored on
+ * startup when {@code nba.wal.enabled=true}, and a journal that records nothing otherwise. Also wires the
+ * {@link GameStatsChangeLog} consumed by downstream systems.
+ */
+@Configuration
+@EnableConfigurationProperties({WalProperties.class, SnapshotProperties.class, ChangeLogProperties.class})
+public class PersistenceConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(GameStatsJournal.class)
+    public GameStatsJournal noGameStatsJournal() {
+        return GameStatsJournal.NONE;
+    }
+
+    @Bean
+    public GameStatsChangeLog gameStatsChangeLog(ChangeLogProperties properties) throws IOException {
+        return properties.path() == null
+                ? GameStatsChangeLog.openTemporary(properties.bufferSize())
+                : GameStatsChangeLog.open(properties.path(), properties.bufferSize());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "nba.wal", name = "enabled", havingValue = "true")
+    static class WriteAheadLogConfiguration {
+
+        @Bean
+        public WriteAheadLog writeAheadLog(WalProperties properties) throws IOException {
+            return WriteAheadLog.open(properties.path(), properties.maxGroupSize());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "nba.snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public AggregateSnapshotter aggregateSnapshotter(SnapshotProperties properties, WriteAheadLog writeAheadLog,
+                                                         PlayerStatisticsRepository gameStatsRepository,
+                                                         PlayerSeasonStatisticsRepository playerSeasonStatsRepository,
+                                                         TeamStatisticsStatisticsRepository teamSeasonStatsRepository,
+                                                         RollingStatsRepository rollingStatsRepository,
+                                                         TeamInitializer teamInitializer, KeyGenerator keyGenerator) {
+            return new AggregateSnapshotter(properties.path(), writeAheadLog, gameStatsRepository,
+                    playerSeasonStatsRepository, teamSeasonStatsRepository, rollingStatsRepository, teamInitializer,
+                    keyGenerator);
+        }
+
+        @Bean
+        public WalRecovery walRecovery(WriteAheadLog writeAheadLog, GameStatisticsService gameStatisticsService,
+                                       WalProperties walProperties, SnapshotProperties snapshotProperties,
+                                       ObjectProvider<AggregateSnapshotter> snapshotter,
+                                       MeterRegistry meterRegistry) {
+            return new WalRecovery(writeAheadLog, gameStatisticsService, walProperties.replayBatchSize(),
+                    snapshotter.getIfAvailable(), snapshotProperties.interval(), meterRegistry);
+        }
+    }
+}
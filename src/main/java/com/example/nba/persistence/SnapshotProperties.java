@@ -0,0 +1,23 @@
+package com.example.nba.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the periodic state snapshots, bound from {@code nba.snapshot.*}. Snapshots are only taken
+ * when the write-ahead log is enabled.
+ *
+ * @param enabled  whether snapshots are taken and restored on startup
+ * @param path     the snapshot file
+ * @param interval the time between snapshots; intervals without new log records are skipped
+ */
+@ConfigurationProperties(prefix = "nba.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/state.snapshot") Path path,
+        @DefaultValue("5m") Duration interval
+) {
+}
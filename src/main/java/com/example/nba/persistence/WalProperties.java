@@ -0,0 +1,23 @@
+package com.example.nba.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the game statistics write-ahead log, bound from {@code nba.wal.*}.
+ *
+ * @param enabled         whether ingested game statistics are logged and replayed on startup
+ * @param path            the log file
+ * @param maxGroupSize    the maximum number of appends written and forced to disk together
+ * @param replayBatchSize the number of replayed lines applied to the repositories at a time
+ */
+@ConfigurationProperties(prefix = "nba.wal")
+public record WalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/game-stats.wal") Path path,
+        @DefaultValue("1024") int maxGroupSize,
+        @DefaultValue("8192") int replayBatchSize
+) {
+}
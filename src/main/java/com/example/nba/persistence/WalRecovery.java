@@ -0,0 +1,89 @@
+package com.example.nba.persistence;
+
+import com.example.nba.service.GameStatisticsService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds the in-memory repositories once the application is ready, i.e. after the team and player data
+ * have been initialized: loads the latest snapshot, if any, then replays the write-ahead log written since.
+ * Afterwards it starts the periodic snapshots.
+ * <p>
+ * The recovery time and the number of records restored from the snapshot and from the log are published as
+ * the {@code nba.recovery.duration} and {@code nba.recovery.records} gauges.
+ */
+public class WalRecovery {
+    private static final Logger logger = LoggerFactory.getLogger(WalRecovery.class);
+
+    private final WriteAheadLog writeAheadLog;
+    private final GameStatisticsService gameStatisticsService;
+    private final int batchSize;
+    private final AggregateSnapshotter snapshotter;
+    private final Duration snapshotInterval;
+
+    private final AtomicLong recoveryMillis = new AtomicLong();
+    private final AtomicLong snapshotRecords = new AtomicLong();
+    private final AtomicLong logRecords = new AtomicLong();
+
+    /**
+     * @param snapshotter      the snapshotter to restore from and start, or {@code null} if snapshots are disabled
+     * @param snapshotInterval the interval between snapshots
+     */
+    public WalRecovery(WriteAheadLog writeAheadLog, GameStatisticsService gameStatisticsService, int batchSize,
+                       AggregateSnapshotter snapshotter, Duration snapshotInterval, MeterRegistry meterRegistry) {
+        this.writeAheadLog = writeAheadLog;
+        this.gameStatisticsService = gameStatisticsService;
+        this.batchSize = batchSize;
+        this.snapshotter = snapshotter;
+        this.snapshotInterval = snapshotInterval;
+
+        TimeGauge.builder("nba.recovery.duration", recoveryMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time taken to restore the ingested state on startup")
+                .register(meterRegistry);
+        Gauge.builder("nba.recovery.records", snapshotRecords, AtomicLong::get)
+                .description("Game lines restored on startup")
+                .tag("source", "snapshot")
+                .register(meterRegistry);
+        Gauge.builder("nba.recovery.records", logRecords, AtomicLong::get)
+                .description("Game lines restored on startup")
+                .tag("source", "log")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        long startNanos = System.nanoTime();
+        try {
+            long fromPosition = 0;
+            if (snapshotter != null) {
+                AggregateSnapshot.Footer footer = snapshotter.restore(writeAheadLog.size());
+                if (footer != null) {
+                    fromPosition = footer.logPosition();
+                    snapshotRecords.set(footer.lines());
+                }
+            }
+            logRecords.set(writeAheadLog.recover(fromPosition, batchSize,
+                    batch -> gameStatisticsService.restoreGameStatistics(batch).block()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay the write-ahead log", e);
+        }
+        recoveryMillis.set((System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Restored {} game statistics records from the snapshot and {} from the write-ahead log in {} ms",
+                snapshotRecords.get(), logRecords.get(), recoveryMillis.get());
+
+        if (snapshotter != null) {
+            snapshotter.start(snapshotInterval);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.PlayerGameStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Append-only, file-backed {@link GameStatsJournal}.
+ * <p>
+ * Appenders encode their lines with {@link GameStatsCodec} on their own thread and hand them to a single
+ * writer thread. The writer drains everything queued since its last write, writes it with one gathering
+ * write and makes it durable with one {@link FileChannel#force(boolean) fsync} (group commit), so the cost
+ * of an fsync is shared by all appends that arrive while the previous one is in progress. An append
+ * completes only once its group has been forced to disk.
+ * <p>
+ * A {@linkplain #reserve(PlayerGameStats) reserved} line is queued, and so ordered, when it is reserved, but
+ * the writer waits for its release before writing it and everything queued behind it. Lines are released once
+ * applied, so every line before the {@link #durablePosition() durable position} is part of the in-memory state.
+ * <p>
+ * Before anything is appended, {@link #recover(int, Consumer)} must replay the existing log. Replay reads
+ * the file through memory-mapped windows and decodes records straight from the mapping. A torn record at
+ * the end of the log, left behind by a crash during a write, is truncated away; appends made before
+ * recovery finishes are queued and written after it.
+ */
+public final class WriteAheadLog implements GameStatsJournal, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final long REPLAY_WINDOW_BYTES = 64L << 20;
+    private static final long RELEASE_POLL_MILLIS = 100;
+    private static final CompletableFuture<Void> RELEASED = CompletableFuture.completedFuture(null);
+    private static final PendingAppend SHUTDOWN =
+            new PendingAppend(new ByteBuffer[0], RELEASED, new CompletableFuture<>());
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int maxGroupSize;
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile long durablePosition;
+
+    private WriteAheadLog(Path path, FileChannel channel, int maxGroupSize) {
+        this.path = path;
+        this.channel = channel;
+        this.maxGroupSize = maxGroupSize;
+        this.writer = new Thread(this::writeLoop, "wal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens the log at the given path, creating it and its parent directories if needed.
+     *
+     * @param path         the log file
+     * @param maxGroupSize the maximum number of queued appends written and forced together
+     */
+    public static WriteAheadLog open(Path path, int maxGroupSize) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new WriteAheadLog(path, channel, maxGroupSize);
+    }
+
+    /**
+     * Replays every intact record of the log in order, in batches of up to {@code batchSize} lines, then
+     * starts accepting appends. Must be called exactly once.
+     *
+     * @return the number of replayed records
+     */
+    public long recover(int batchSize, Consumer<List<PlayerGameStats>> replay) throws IOException {
+        return recover(0, batchSize, replay);
+    }
+
+    /**
+     * Replays the intact records from the given {@link #durablePosition() position} on, e.g. the position
+     * covered by a snapshot, then starts accepting appends. Must be called exactly once.
+     *
+     * @return the number of replayed records
+     * @throws IllegalArgumentException if the position lies beyond the end of the log
+     */
+    public long recover(long fromPosition, int batchSize, Consumer<List<PlayerGameStats>> replay) throws IOException {
+        long size = channel.size();
+        if (fromPosition > size) {
+            throw new IllegalArgumentException(
+                    "Position " + fromPosition + " is beyond the end of the write-ahead log " + path);
+        }
+        long position = fromPosition;
+        long records = 0;
+        List<PlayerGameStats> batch = new ArrayList<>(batchSize);
+
+        while (position < size) {
+            long windowSize = Math.min(REPLAY_WINDOW_BYTES, size - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            PlayerGameStats gameStats;
+            while ((gameStats = GameStatsCodec.decode(window)) != null) {
+                batch.add(gameStats);
+                records++;
+                if (batch.size() == batchSize) {
+                    replay.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (window.position() == 0) {
+                // Not even one record fits: either a torn tail or a record larger than the window
+                if (position + windowSize == size) {
+                    break;
+                }
+                throw new IOException("Write-ahead log record at offset " + position + " exceeds the replay window");
+            }
+            position += window.position();
+        }
+        if (!batch.isEmpty()) {
+            replay.accept(batch);
+        }
+
+        if (position < size) {
+            logger.warn("Truncating {} bytes of incomplete write-ahead log records at offset {} of {}",
+                    size - position, position, path);
+            channel.truncate(position);
+        }
+        channel.position(position);
+        durablePosition = position;
+        writer.start();
+        return records;
+    }
+
+    @Override
+    public Mono<Void> append(PlayerGameStats gameStats) {
+        return Mono.defer(() -> enqueue(new ByteBuffer[]{GameStatsCodec.encode(gameStats)}, RELEASED));
+    }
+
+    @Override
+    public Mono<Void> appendAll(List<PlayerGameStats> gameStats) {
+        if (gameStats.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            ByteBuffer[] records = new ByteBuffer[gameStats.size()];
+            for (int i = 0; i < records.length; i++) {
+                records[i] = GameStatsCodec.encode(gameStats.get(i));
+            }
+            return enqueue(records, RELEASED);
+        });
+    }
+
+    @Override
+    public Reservation reserve(PlayerGameStats gameStats) {
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        Mono<Void> durable = enqueue(new ByteBuffer[]{GameStatsCodec.encode(gameStats)}, released);
+        return new Reservation() {
+            @Override
+            public void release() {
+                released.complete(null);
+            }
+
+            @Override
+            public Mono<Void> durable() {
+                return durable;
+            }
+        };
+    }
+
+    /**
+     * Returns the size in bytes of the log.
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Returns the end of the durable part of the log: every line appended before this position has been
+     * forced to disk, and was applied to the in-memory state before it was written.
+     */
+    public long durablePosition() {
+        return durablePosition;
+    }
+
+    private Mono<Void> enqueue(ByteBuffer[] records, CompletableFuture<Void> released) {
+        if (closed) {
+            return Mono.error(new IllegalStateException("Write-ahead log is closed: " + path));
+        }
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        pending.add(new PendingAppend(records, released, durable));
+        if (closed && !writer.isAlive()) {
+            // Raced with close() after the writer drained the queue for the last time
+            durable.completeExceptionally(new IllegalStateException("Write-ahead log is closed: " + path));
+        }
+        return Mono.fromFuture(durable);
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>(maxGroupSize);
+        List<ByteBuffer> buffers = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(pending.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pending.drainTo(group, maxGroupSize - 1);
+
+            boolean shutdown = false;
+            for (PendingAppend append : group) {
+                awaitRelease(append);
+                if (append == SHUTDOWN) {
+                    shutdown = true;
+                } else {
+                    buffers.addAll(List.of(append.records()));
+                }
+            }
+            writeGroup(group, buffers);
+            group.clear();
+            buffers.clear();
+            if (shutdown) {
+                return;
+            }
+        }
+    }
+
+    // Once the log is closing, lines still held back by their appenders are written as they are
+    private void awaitRelease(PendingAppend append) {
+        while (!append.released().isDone() && !closed) {
+            try {
+                append.released().get(RELEASE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Check for close() and keep waiting
+            } catch (ExecutionException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeGroup(List<PendingAppend> group, List<ByteBuffer> buffers) {
+        try {
+            ByteBuffer[] records = buffers.toArray(ByteBuffer[]::new);
+            long remaining = 0;
+            for (ByteBuffer record : records) {
+                remaining += record.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(records);
+            }
+            channel.force(false);
+            durablePosition = channel.position();
+            group.forEach(append -> append.durable().complete(null));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to append {} records to the write-ahead log {}", buffers.size(), path, e);
+            discardPartialWrite();
+            group.forEach(append -> append.durable().completeExceptionally(e));
+        }
+    }
+
+    // A partially written group would otherwise end replay early and hide every later group
+    private void discardPartialWrite() {
+        try {
+            channel.truncate(durablePosition);
+            channel.position(durablePosition);
+        } catch (IOException e) {
+            logger.error("Failed to discard a partial write at the end of the write-ahead log {}", path, e);
+        }
+    }
+
+    /**
+     * Writes and forces everything appended so far, then closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (writer.isAlive()) {
+            pending.add(SHUTDOWN);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        IllegalStateException closedException = new IllegalStateException("Write-ahead log is closed: " + path);
+        pending.forEach(append -> append.durable().completeExceptionally(closedException));
+        channel.close();
+    }
+
+    private record PendingAppend(ByteBuffer[] records, CompletableFuture<Void> released,
+                                 CompletableFuture<Void> durable) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.nba.repository;
+
+import com.example.nba.model.PlayerGameStats;
+
+/**
+ * Outcome of saving a player game line, telling the caller how the season aggregates must change.
+ * <p>
+ * Game lines are identified by {@code (playerId, gameId)}. {@code previous} is the line stored for that game
+ * before the save, if any, and {@code current} the submitted line. For a {@link Outcome#DUPLICATE_ID} outcome,
+ * {@code previous} is the line that already owns the submitted statistics ID and nothing was stored.
+ */
+public record GameStatsWrite(
+        Outcome outcome,
+        PlayerGameStats previous,
+        PlayerGameStats current
+) {
+    public enum Outcome {
+        /** First line for the game: add it to the aggregates. */
+        INSERTED,
+        /** The game's line changed: subtract {@code previous} from the aggregates and add {@code current}. */
+        CORRECTED,
+        /** A resend of the stored line: the aggregates already contain it. */
+        UNCHANGED,
+        /** The statistics ID is already used by a different game: the line was rejected. */
+        DUPLICATE_ID
+    }
+
+    public static GameStatsWrite inserted(PlayerGameStats current) {
+        return new GameStatsWrite(Outcome.INSERTED, null, current);
+    }
+
+    public static GameStatsWrite corrected(PlayerGameStats previous, PlayerGameStats current) {
+        return new GameStatsWrite(Outcome.CORRECTED, previous, current);
+    }
+
+    public static GameStatsWrite unchanged(PlayerGameStats current) {
+        return new GameStatsWrite(Outcome.UNCHANGED, current, current);
+    }
+
+    public static GameStatsWrite duplicateId(PlayerGameStats owner, PlayerGameStats current) {
+        return new GameStatsWrite(Outcome.DUPLICATE_ID, owner, current);
+    }
+}
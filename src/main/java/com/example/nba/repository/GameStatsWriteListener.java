@@ -0,0 +1,24 @@
+package com.example.nba.repository;
+
+/**
+ * Callback for the saves of a {@link PlayerStatisticsRepository}, invoked while the repository still holds
+ * the lock of the saved game. Whatever a listener records for the lines of one game is therefore ordered like
+ * the saves themselves, e.g. the journal positions of two concurrent corrections of the same game.
+ */
+@FunctionalInterface
+public interface GameStatsWriteListener {
+
+    /**
+     * A listener that records nothing.
+     */
+    GameStatsWriteListener NONE = write -> {
+    };
+
+    /**
+     * Called with the outcome of every save, before the saved line is visible to readers. Runs under the
+     * game's lock, so it must neither block nor fail.
+     *
+     * @param write the outcome of the save
+     */
+    void onWrite(GameStatsWrite write);
+}
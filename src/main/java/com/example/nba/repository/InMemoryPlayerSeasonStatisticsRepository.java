@@ -1,12 +1,23 @@
 package com.example.nba.repository;
 
+import com.example.nba.live.SeasonStatsUpdates;
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.LeaderboardEntry;
+import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.repository.accumulator.PlayerSeasonAccumulator;
+import com.example.nba.repository.key.CompositeKey;
 import com.example.nba.repository.key.KeyGenerator;
+import com.example.nba.repository.leaderboard.PlayerLeaderboards;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * In-memory repository implementation for managing player season statistics.
@@ -22,36 +33,161 @@ import java.util.concurrent.ConcurrentHashMap;
  * customizable for different key formats or algorithms.
  * <p>
  * Thread safety is ensured by utilizing the thread-safe features of {@link ConcurrentHashMap}.
+ * Each player and season is held in a {@link PlayerSeasonAccumulator}: merging a game adds primitive
+ * totals in place instead of copying an immutable record, and {@link PlayerSeasonStats} snapshots are
+ * only derived when statistics are read.
+ * <p>
+ * A {@link SeasonStatsKeyIndex} keeps the keys ordered by season and by player, so queries for one season
+ * or one player only touch the matching statistics.
+ * <p>
+ * Every change of a player's season statistics is also applied to {@link PlayerLeaderboards}, which keep
+ * the players of each season ranked by the per-game average of every statistic, and pushed to the live
+ * subscribers of the player through {@link SeasonStatsUpdates}.
  */
 @Repository
 public class InMemoryPlayerSeasonStatisticsRepository implements PlayerSeasonStatisticsRepository {
-    private final ConcurrentHashMap<String, PlayerSeasonStats> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CompositeKey, PlayerSeasonAccumulator> storage = new ConcurrentHashMap<>();
+    private final SeasonStatsKeyIndex keyIndex = new SeasonStatsKeyIndex();
+    private final PlayerLeaderboards leaderboards = new PlayerLeaderboards();
     private final KeyGenerator keyGenerator;
+    private final SeasonStatsUpdates updates;
+    // PlayerSeasonAccumulator.publish requires the same consumer on every call
+    private final Consumer<PlayerSeasonAccumulator> publisher = this::publish;
 
     public InMemoryPlayerSeasonStatisticsRepository(KeyGenerator keyGenerator) {
-        this.keyGenerator = keyGenerator;
+        this(keyGenerator, new SeasonStatsUpdates());
     }
 
+    @Autowired
+    public InMemoryPlayerSeasonStatisticsRepository(KeyGenerator keyGenerator, SeasonStatsUpdates updates) {
+        this.keyGenerator = keyGenerator;
+        this.updates = updates;
+    }
 
+    // Replaces the accumulator, so only valid while ingest is quiescent: a merge that already holds the
+    // replaced accumulator would add to it after it is gone
     @Override
     public Mono<PlayerSeasonStats> save(PlayerSeasonStats playerSeasonStats) {
         return Mono.justOrEmpty(playerSeasonStats)
                 .map(stats -> {
-                    String key = keyGenerator.generateKey(stats.playerId(), stats.season());
-                    storage.put(key, stats);
+                    CompositeKey key = keyGenerator.compositeKey(stats.playerId(), stats.season());
+                    PlayerSeasonAccumulator accumulator = new PlayerSeasonAccumulator(stats);
+                    storage.put(key, accumulator);
+                    keyIndex.add(key);
+                    accumulator.publish(publisher);
                     return stats;
                 });
     }
 
+    @Override
+    public Mono<Void> mergeGame(PlayerGameStats gameStats) {
+        return Mono.fromRunnable(() -> {
+            PlayerSeasonAccumulator accumulator = accumulatorFor(gameStats.playerId(), gameStats.season());
+            accumulator.add(gameStats);
+            accumulator.publish(publisher);
+        });
+    }
+
+    @Override
+    public Mono<Void> mergeGames(Collection<PlayerGameStats> games) {
+        return Mono.fromRunnable(() -> games.stream()
+                .collect(Collectors.groupingBy(stats -> keyGenerator.compositeKey(stats.playerId(), stats.season())))
+                .forEach((key, group) -> {
+                    PlayerSeasonAccumulator accumulator = accumulatorFor(key.first(), key.second());
+                    accumulator.addAll(group);
+                    accumulator.publish(publisher);
+                }));
+    }
+
+    // A correction racing with the insert it replaces may remove the game before it was merged, so the removal
+    // must be recorded even if the season has no accumulator yet
+    @Override
+    public Mono<Void> removeGame(PlayerGameStats gameStats) {
+        return Mono.fromRunnable(() -> {
+            PlayerSeasonAccumulator accumulator = accumulatorFor(gameStats.playerId(), gameStats.season());
+            accumulator.remove(gameStats);
+            accumulator.publish(publisher);
+        });
+    }
+
     @Override
     public Mono<PlayerSeasonStats> findByPlayerIdAndSeason(String playerId, String season) {
-        return Mono.justOrEmpty(storage.get(keyGenerator.generateKey(playerId, season)));
+        return Mono.justOrEmpty(storage.get(keyGenerator.compositeKey(playerId, season)))
+                .filter(accumulator -> !accumulator.isEmpty())
+                .map(PlayerSeasonAccumulator::snapshot);
     }
 
     @Override
     public Flux<PlayerSeasonStats> findAll() {
-        return Flux.fromIterable(storage.values());
+        return Flux.fromIterable(storage.values())
+                .filter(accumulator -> !accumulator.isEmpty())
+                .map(PlayerSeasonAccumulator::snapshot);
+    }
+
+    @Override
+    public Flux<PlayerSeasonStats> findAllAfter(String afterSeason, String afterPlayerId) {
+        return keyIndex.after(afterSeason, afterPlayerId)
+                .transform(this::snapshots);
     }
 
+    @Override
+    public Flux<PlayerSeasonStats> findBySeason(String season, String afterPlayerId) {
+        return keyIndex.inSeason(season, afterPlayerId)
+                .transform(this::snapshots);
+    }
+
+    @Override
+    public Flux<PlayerSeasonStats> findByPlayerId(String playerId) {
+        return keyIndex.ofId(playerId)
+                .transform(this::snapshots);
+    }
+
+    @Override
+    public Flux<LeaderboardEntry> findLeaders(String season, GameStatsFilter.Stat stat, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(leaderboards.leaders(season, stat, limit)));
+    }
+
+    @Override
+    public Mono<LeaderboardEntry> findLeaderboardRank(String playerId, String season, GameStatsFilter.Stat stat) {
+        return Mono.fromSupplier(() -> leaderboards.rank(playerId, season, stat));
+    }
+
+    // Reads the accumulator's current values under its monitor but ranks and pushes them after releasing it, so a
+    // writer never holds its player while waiting for the season leaderboard. Changes of the same player and
+    // season still reach the leaderboards and live subscribers in order, as only one thread publishes them
+    private void publish(PlayerSeasonAccumulator accumulator) {
+        double[] perGame;
+        PlayerSeasonStats snapshot = null;
+        synchronized (accumulator) {
+            perGame = accumulator.isEmpty() ? null : accumulator.perGame();
+            if (perGame != null && updates.hasPlayerSubscribers(accumulator.playerId())) {
+                snapshot = accumulator.snapshot();
+            }
+        }
+        leaderboards.update(accumulator.playerId(), accumulator.season(), perGame);
+        if (snapshot != null) {
+            updates.publish(snapshot);
+        }
+    }
+
+    private Flux<PlayerSeasonStats> snapshots(Flux<CompositeKey> keys) {
+        return keys.mapNotNull(storage::get)
+                .filter(accumulator -> !accumulator.isEmpty())
+                .map(PlayerSeasonAccumulator::snapshot);
+    }
+
+    private PlayerSeasonAccumulator accumulatorFor(String playerId, String season) {
+        CompositeKey key = keyGenerator.compositeKey(playerId, season);
+        PlayerSeasonAccumulator accumulator = storage.get(key);
+        if (accumulator == null) {
+            PlayerSeasonAccumulator created = new PlayerSeasonAccumulator(playerId, season);
+            accumulator = storage.putIfAbsent(key, created);
+            if (accumulator == null) {
+                keyIndex.add(key);
+                accumulator = created;
+            }
+        }
+        return accumulator;
+    }
 
 }
\ No newline at end of file
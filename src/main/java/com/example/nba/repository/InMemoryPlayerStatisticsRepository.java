@@ -1,11 +1,24 @@
 package com.example.nba.repository;
 
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
 import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.columnar.ColumnarGameStatsStore;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.IdentifierInterner;
 import com.example.nba.repository.key.KeyGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * In-memory repository for managing player game statistics.
@@ -18,34 +31,159 @@ import java.util.concurrent.ConcurrentHashMap;
  * Key Features:
  * - Uses in-memory storage for quick access to player game statistics.
  * - Supports concurrent access and modification through thread-safe operations.
+ * - Saves are idempotent on {@code (playerId, gameId)} and report whether a line was inserted, corrected or
+ *   resent, so callers only fold new information into the season aggregates. Statistics IDs are unique: a
+ *   line reusing the ID of a different game is rejected. The IDs of the last {@code nba.storage.id-window}
+ *   lines are indexed exactly and older ones only through a Bloom filter, so the index stays bounded; see
+ *   {@link StatisticsIdIndex}.
+ * - Keeps a per-player game log ordered by timestamp, so time-range queries for one player
+ *   only visit that player's games in the requested range.
+ * - Interns the player, team and season IDs of stored lines, so the lines and the season aggregates derived
+ *   from them share one instance of each identifier.
+ * - Mirrors every stored line into a {@link ColumnarGameStatsStore}, so aggregates over arbitrary filters
+ *   scan primitive columns instead of the row map. Lines are queued for the store under the game's lock and
+ *   copied once it is released.
+ * <p>
+ * Selected unless {@code nba.storage.game-rows} chooses another implementation.
  * <p>
  * Limitations:
  * - Data is non-persistent and will be lost when the application shuts down.
  * - Designed for single-node applications; does not support distributed storage.
  */
 @Repository
+@ConditionalOnProperty(prefix = "nba.storage", name = "game-rows", havingValue = "heap", matchIfMissing = true)
 public class InMemoryPlayerStatisticsRepository implements PlayerStatisticsRepository {
-    private final ConcurrentHashMap<String, PlayerGameStats> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CompositeKey, PlayerGameStats> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, NavigableMap<GameLogKey, PlayerGameStats>> gameLogs =
+            new ConcurrentHashMap<>();
+    private final StatisticsIdIndex ids;
+    private final ColumnarGameStatsStore columnarStore;
     private final KeyGenerator keyGenerator;
+    private final IdentifierInterner interner;
+
+    public InMemoryPlayerStatisticsRepository(KeyGenerator keyGenerator, IdentifierInterner interner) {
+        this(keyGenerator, interner, 1 << 20, 8_000_000L);
+    }
 
-    public InMemoryPlayerStatisticsRepository(KeyGenerator keyGenerator) {
+    @Autowired
+    public InMemoryPlayerStatisticsRepository(KeyGenerator keyGenerator, IdentifierInterner interner,
+                                              @Value("${nba.storage.id-window:1048576}") int idWindow,
+                                              @Value("${nba.storage.expected-ids:8000000}") long expectedIds) {
         this.keyGenerator = keyGenerator;
+        this.interner = interner;
+        this.columnarStore = new ColumnarGameStatsStore(interner);
+        this.ids = new StatisticsIdIndex(idWindow, expectedIds, this::keyOf);
+    }
+
+    @Override
+    public Flux<PlayerGameStats> findByPlayerId(String playerId, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<GameLogKey, PlayerGameStats> gameLog = gameLogs.get(playerId);
+        // An inverted range is empty; sub-maps would reject it
+        if (gameLog == null || (from != null && to != null && from.isAfter(to))) {
+            return Flux.empty();
+        }
+        NavigableMap<GameLogKey, PlayerGameStats> range = gameLog;
+        if (from != null) {
+            range = range.tailMap(GameLogKey.first(from), true);
+        }
+        if (to != null) {
+            range = range.headMap(GameLogKey.first(to), false);
+        }
+        return Flux.fromIterable(range.values());
+    }
+
+    @Override
+    public Flux<PlayerGameStats> findAll() {
+        return Flux.fromIterable(storage.values());
     }
 
     @Override
-    public Mono<PlayerGameStats> findByPlayerId(String playerId) {
-        return Mono.justOrEmpty(storage.get(keyGenerator.generateKey(playerId)));
+    public Mono<GameStatsSummary> summarize(GameStatsFilter filter) {
+        return Mono.fromSupplier(() -> columnarStore.summarize(filter));
     }
 
     @Override
-    public Mono<PlayerGameStats> save(PlayerGameStats playerGameStats) {
+    public Mono<GameStatsWrite> save(PlayerGameStats playerGameStats, GameStatsWriteListener listener) {
         return Mono.justOrEmpty(playerGameStats)
+                .map(interner::intern)
                 .map(stats -> {
-                    String key = keyGenerator.generateKey(stats.playerId(), stats.gameId());
-                    storage.put(key, stats);
-                    return stats;
+                    CompositeKey key = keyGenerator.compositeKey(stats.playerId(), stats.gameId());
+                    GameStatsWrite[] write = new GameStatsWrite[1];
+                    // compute serializes writers of the same game, keeping the row, its ID and its log entry in step
+                    storage.compute(key, (k, previous) -> {
+                        if (stats.equals(previous)) {
+                            write[0] = GameStatsWrite.unchanged(previous);
+                            listener.onWrite(write[0]);
+                            return previous;
+                        }
+                        if (previous == null || !previous.id().equals(stats.id())) {
+                            CompositeKey owner = ids.claim(stats.id(), k);
+                            if (owner != null) {
+                                write[0] = GameStatsWrite.duplicateId(storage.get(owner), stats);
+                                listener.onWrite(write[0]);
+                                return previous;
+                            }
+                            if (previous != null) {
+                                ids.release(previous.id(), k);
+                            }
+                        }
+
+                        NavigableMap<GameLogKey, PlayerGameStats> gameLog = gameLogFor(stats.playerId());
+                        if (previous != null) {
+                            gameLog.remove(GameLogKey.of(previous));
+                        }
+                        gameLog.put(GameLogKey.of(stats), stats);
+                        columnarStore.enqueue(stats);
+                        write[0] = previous == null
+                                ? GameStatsWrite.inserted(stats)
+                                : GameStatsWrite.corrected(previous, stats);
+                        listener.onWrite(write[0]);
+                        return stats;
+                    });
+                    columnarStore.drain();
+                    return write[0];
                 });
     }
 
+    private NavigableMap<GameLogKey, PlayerGameStats> gameLogFor(String playerId) {
+        NavigableMap<GameLogKey, PlayerGameStats> gameLog = gameLogs.get(playerId);
+        if (gameLog == null) {
+            gameLog = gameLogs.computeIfAbsent(playerId, id -> new ConcurrentSkipListMap<>());
+        }
+        return gameLog;
+    }
+
+    // Exact lookup for IDs that fell out of the index window; only reached when the Bloom filter matches
+    private CompositeKey keyOf(String id) {
+        for (var entry : storage.entrySet()) {
+            if (entry.getValue().id().equals(id)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Orders a player's games by timestamp, breaking ties between games with the same timestamp by game ID.
+     */
+    private record GameLogKey(LocalDateTime timestamp, String gameId) implements Comparable<GameLogKey> {
+        private static final Comparator<GameLogKey> ORDER =
+                Comparator.comparing(GameLogKey::timestamp).thenComparing(GameLogKey::gameId);
+        // No game ID sorts before the empty string
+        private static final String LOWEST_GAME_ID = "";
+
+        static GameLogKey of(PlayerGameStats stats) {
+            return new GameLogKey(stats.timestamp(), stats.gameId());
+        }
+
+        static GameLogKey first(LocalDateTime timestamp) {
+            return new GameLogKey(timestamp, LOWEST_GAME_ID);
+        }
+
+        @Override
+        public int compareTo(GameLogKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
 
-}
\ No newline at end of file
+}
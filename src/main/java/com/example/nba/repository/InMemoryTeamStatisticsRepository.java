@@ -1,12 +1,23 @@
 package com.example.nba.repository;
 
+import com.example.nba.live.SeasonStatsUpdates;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
+import com.example.nba.repository.accumulator.TeamSeasonAccumulator;
+import com.example.nba.repository.key.CompositeKey;
 import com.example.nba.repository.key.KeyGenerator;
+import com.example.nba.repository.leaderboard.TeamStandings;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of {@code TeamStatisticsStatisticsRepository} for managing NBA team season statistics.
@@ -21,7 +32,13 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * Thread-safety:
  * This implementation ensures thread-safety through the use of {@code ConcurrentHashMap}. Concurrent read and
- * write operations are supported without additional synchronization.
+ * write operations are supported without additional synchronization. Each team and season is held in a
+ * {@code TeamSeasonAccumulator}, so games merged into the same hot team key add into striped counters
+ * instead of racing to replace a single value; the counters are folded when the statistics are read.
+ * A {@code SeasonStatsKeyIndex} keeps the keys ordered by season and by team, so queries for one season or
+ * one team only touch the matching statistics. Every change to a team's season statistics is published to
+ * {@code TeamStandings}, which keeps the season's teams ranked by each average, and to the team's live
+ * subscribers through {@code SeasonStatsUpdates}.
  *
  * Limitations:
  * - Since this implementation uses in-memory storage, data is not persisted across application restarts.
@@ -33,31 +50,138 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Repository
 public final class InMemoryTeamStatisticsRepository implements TeamStatisticsStatisticsRepository {
-    private final ConcurrentHashMap<String, TeamSeasonStats> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CompositeKey, TeamSeasonAccumulator> storage = new ConcurrentHashMap<>();
+    private final SeasonStatsKeyIndex keyIndex = new SeasonStatsKeyIndex();
+    private final TeamStandings standings = new TeamStandings();
     private final KeyGenerator keyGenerator;
+    private final SeasonStatsUpdates updates;
+    // TeamSeasonAccumulator.publish requires the same consumer on every call
+    private final Consumer<TeamSeasonStats> publisher = this::publish;
 
     public InMemoryTeamStatisticsRepository(KeyGenerator keyGenerator) {
+        this(keyGenerator, new SeasonStatsUpdates());
+    }
+
+    @Autowired
+    public InMemoryTeamStatisticsRepository(KeyGenerator keyGenerator, SeasonStatsUpdates updates) {
         this.keyGenerator = keyGenerator;
+        this.updates = updates;
     }
 
+    // Replaces the accumulator, so only valid while ingest is quiescent: a merge that already holds the
+    // replaced accumulator would add to it after it is gone
     @Override
     public Mono<TeamSeasonStats> save(TeamSeasonStats teamSeasonStats) {
         return Mono.justOrEmpty(teamSeasonStats)
                 .map(stats -> {
-                    String key = keyGenerator.generateKey(stats.team().id(), stats.season());
-                    storage.put(key, stats);
+                    CompositeKey key = keyGenerator.compositeKey(stats.team().id(), stats.season());
+                    TeamSeasonAccumulator accumulator = new TeamSeasonAccumulator(stats);
+                    storage.put(key, accumulator);
+                    keyIndex.add(key);
+                    accumulator.publish(publisher);
                     return stats;
                 });
     }
 
+    @Override
+    public Mono<Void> mergeGame(Team team, PlayerGameStats gameStats) {
+        return Mono.fromRunnable(() -> {
+            TeamSeasonAccumulator accumulator = accumulatorFor(team, gameStats.season());
+            accumulator.add(gameStats);
+            accumulator.publish(publisher);
+        });
+    }
+
+    @Override
+    public Mono<Void> mergeGames(Team team, Collection<PlayerGameStats> games) {
+        return Mono.fromRunnable(() -> games.stream()
+                .collect(Collectors.groupingBy(PlayerGameStats::season))
+                .forEach((season, group) -> {
+                    TeamSeasonAccumulator accumulator = accumulatorFor(team, season);
+                    accumulator.addAll(group);
+                    accumulator.publish(publisher);
+                }));
+    }
+
+    // A correction racing with the insert it replaces may remove the game before it was merged, so the removal
+    // must be recorded even if the season has no accumulator yet
+    @Override
+    public Mono<Void> removeGame(Team team, PlayerGameStats gameStats) {
+        return Mono.fromRunnable(() -> {
+            TeamSeasonAccumulator accumulator = accumulatorFor(team, gameStats.season());
+            accumulator.remove(gameStats);
+            accumulator.publish(publisher);
+        });
+    }
+
     @Override
     public Mono<TeamSeasonStats> findByTeamId(String teamId, String season) {
-        return Mono.justOrEmpty(storage.get(keyGenerator.generateKey(teamId, season)));
+        return Mono.justOrEmpty(storage.get(keyGenerator.compositeKey(teamId, season)))
+                .filter(accumulator -> !accumulator.isEmpty())
+                .map(TeamSeasonAccumulator::snapshot);
     }
 
     @Override
     public Flux<TeamSeasonStats> findAll() {
-        return Flux.fromIterable(storage.values());
+        return Flux.fromIterable(storage.values())
+                .filter(accumulator -> !accumulator.isEmpty())
+                .map(TeamSeasonAccumulator::snapshot);
+    }
+
+    @Override
+    public Flux<TeamSeasonStats> findAllAfter(String afterSeason, String afterTeamId) {
+        return keyIndex.after(afterSeason, afterTeamId)
+                .transform(this::snapshots);
+    }
+
+    @Override
+    public Flux<TeamSeasonStats> findBySeason(String season, String afterTeamId) {
+        return keyIndex.inSeason(season, afterTeamId)
+                .transform(this::snapshots);
+    }
+
+    @Override
+    public Flux<TeamSeasonStats> findByTeamId(String teamId) {
+        return keyIndex.ofId(teamId)
+                .transform(this::snapshots);
+    }
+
+    @Override
+    public Flux<TeamStanding> findStandings(String season, TeamSeasonStats.Metric metric, int offset, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(standings.standings(season, metric, offset, limit)));
+    }
+
+    @Override
+    public Mono<TeamStanding> findStanding(String teamId, String season, TeamSeasonStats.Metric metric) {
+        return Mono.fromSupplier(() -> standings.rank(teamId, season, metric));
+    }
+
+    // Called with the accumulator's snapshots in the order they were taken
+    private void publish(TeamSeasonStats stats) {
+        standings.update(stats);
+        if (stats.totalGamesPlayed() != 0 && updates.hasTeamSubscribers(stats.team().id())) {
+            updates.publish(stats);
+        }
+    }
+
+    private Flux<TeamSeasonStats> snapshots(Flux<CompositeKey> keys) {
+        return keys.mapNotNull(storage::get)
+                .filter(accumulator -> !accumulator.isEmpty())
+                .map(TeamSeasonAccumulator::snapshot);
+    }
+
+    private TeamSeasonAccumulator accumulatorFor(Team team, String season) {
+        CompositeKey key = keyGenerator.compositeKey(team.id(), season);
+        TeamSeasonAccumulator accumulator = storage.get(key);
+        if (accumulator == null) {
+            TeamSeasonAccumulator created = new TeamSeasonAccumulator(team, season);
+            accumulator = storage.putIfAbsent(key, created);
+            if (accumulator == null) {
+                keyIndex.add(key);
+                accumulator = created;
+            }
+        }
+        return accumulator;
     }
 
 }
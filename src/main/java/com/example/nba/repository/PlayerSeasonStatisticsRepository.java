@@ -1,9 +1,14 @@
 package com.example.nba.repository;
 
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.LeaderboardEntry;
+import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.PlayerSeasonStats;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Repository interface for managing player season statistics data.
  * <p>
@@ -20,6 +25,10 @@ public interface PlayerSeasonStatisticsRepository {
      * <p>
      * This method saves the provided {@link PlayerSeasonStats} object to the underlying data storage.
      * If the player's statistics for the given season already exist, they will be updated.
+     * <p>
+     * The saved statistics replace the existing ones as a whole, so a game merged or removed concurrently with
+     * the save may be lost. Only save while no game lines are being ingested, e.g. when restoring a snapshot at
+     * startup.
      *
      * @param playerSeasonStats the player season statistics to save; must not be null
      * @return a {@link Mono} emitting the saved {@link PlayerSeasonStats}, or
@@ -27,6 +36,43 @@ public interface PlayerSeasonStatisticsRepository {
      */
     Mono<PlayerSeasonStats> save(PlayerSeasonStats playerSeasonStats);
 
+    /**
+     * Atomically folds a single game into the season statistics of its player.
+     * <p>
+     * If no statistics exist yet for the game's player and season, they are created from the game;
+     * otherwise the game is added to the existing statistics. The read and the write happen as one
+     * atomic step, so concurrent merges for the same player and season never lose an update.
+     * <p>
+     * The merged statistics are not emitted, so implementations are free to materialize a
+     * {@link PlayerSeasonStats} only when it is read through {@link #findByPlayerIdAndSeason(String, String)}.
+     *
+     * @param gameStats the game statistics to merge; must not be null
+     * @return a {@link Mono} that completes once the game has been merged
+     */
+    Mono<Void> mergeGame(PlayerGameStats gameStats);
+
+    /**
+     * Merges a batch of games, possibly spanning several players and seasons.
+     * <p>
+     * Games are grouped by player and season, and each group is folded into its season statistics in a
+     * single atomic merge, so a batch costs one merge per aggregate rather than one per game.
+     *
+     * @param games the game statistics to merge; must not be null
+     * @return a {@link Mono} that completes once every game has been merged
+     */
+    Mono<Void> mergeGames(Collection<PlayerGameStats> games);
+
+    /**
+     * Subtracts a previously merged game from the player's season statistics, e.g. before merging a
+     * corrected line for the same game. A correction may overtake the merge of the line it replaces, so the
+     * removal is recorded even if the player has no statistics for the season yet; the season counts as empty
+     * until the game is merged.
+     *
+     * @param gameStats the previously merged game statistics
+     * @return a {@link Mono} that completes once the game has been removed
+     */
+    Mono<Void> removeGame(PlayerGameStats gameStats);
+
     /**
      * Retrieves the seasonal statistics of a player based on the player's unique identifier
      * and the specified season.
@@ -45,5 +91,56 @@ public interface PlayerSeasonStatisticsRepository {
      */
     Flux<PlayerSeasonStats> findAll();
 
-}
+    /**
+     * Streams player season statistics in {@code (season, playerId)} order, resuming strictly after the
+     * given cursor. The stream is produced lazily as it is consumed, so callers can page through
+     * arbitrarily many rows.
+     *
+     * @param afterSeason   the season of the last row already consumed, or null to start from the beginning
+     * @param afterPlayerId the player ID of the last row already consumed, or null to start from the beginning
+     * @return a {@link Flux} emitting the player season statistics after the cursor
+     */
+    Flux<PlayerSeasonStats> findAllAfter(String afterSeason, String afterPlayerId);
+
+    /**
+     * Streams the statistics of all players in one season in player ID order, resuming strictly after
+     * the given player ID if one is provided.
+     *
+     * @param season        the season whose statistics are streamed
+     * @param afterPlayerId the player ID of the last row already consumed, or null to start with the first player
+     * @return a {@link Flux} emitting the season's player statistics, or an empty {@link Flux} if there are none
+     */
+    Flux<PlayerSeasonStats> findBySeason(String season, String afterPlayerId);
+
+    /**
+     * Retrieves the statistics of one player for every season the player has played, in season order.
+     *
+     * @param playerId the unique identifier of the player
+     * @return a {@link Flux} emitting the player's season statistics, or an empty {@link Flux} if there are none
+     */
+    Flux<PlayerSeasonStats> findByPlayerId(String playerId);
 
+    /**
+     * Retrieves the leaders of one season for a statistic, ranked by per-game average. A player's entry may lag
+     * a merge that completes while another thread is still publishing the same player's earlier change; it
+     * is up to date once that publication is done.
+     *
+     * @param season the season whose leaders are retrieved
+     * @param stat   the statistic the players are ranked by
+     * @param limit  the maximum number of entries
+     * @return a {@link Flux} emitting the leaderboard entries in rank order
+     */
+    Flux<LeaderboardEntry> findLeaders(String season, GameStatsFilter.Stat stat, int limit);
+
+    /**
+     * Retrieves a player's entry on the leaderboard of one season for a statistic.
+     *
+     * @param playerId the unique identifier of the player
+     * @param season   the season of the leaderboard
+     * @param stat     the statistic the players are ranked by
+     * @return a {@link Mono} emitting the player's entry, or an empty {@link Mono} if the player has no
+     * statistics in the season
+     */
+    Mono<LeaderboardEntry> findLeaderboardRank(String playerId, String season, GameStatsFilter.Stat stat);
+
+}
@@ -1,30 +1,66 @@
 package com.example.nba.repository;
 
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
 import com.example.nba.model.PlayerGameStats;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 /**
  * Repository interface for managing player statistics data
  */
 @Repository
 public interface PlayerStatisticsRepository {
     /**
-     * Finds player statistics by player ID
+     * Finds the game log of a player: the player's game statistics ordered by game timestamp,
+     * optionally restricted to a time range
      *
      * @param playerId the unique identifier of the player
-     * @return Mono containing the player statistics if found, empty Mono otherwise
+     * @param from     the earliest timestamp to include (inclusive), or null for no lower bound
+     * @param to       the timestamp to stop at (exclusive), or null for no upper bound
+     * @return Flux emitting the player's game statistics in timestamp order, empty if none are found
+     */
+    Flux<PlayerGameStats> findByPlayerId(String playerId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds the statistics of every stored player game, in no particular order
+     *
+     * @return Flux emitting every stored player game statistics line
      */
-    Mono<PlayerGameStats> findByPlayerId(String playerId);
+    Flux<PlayerGameStats> findAll();
 
     /**
-     * Saves or updates player statistics
+     * Saves or updates the statistics of a player in one game, keyed by {@code (playerId, gameId)}.
+     * <p>
+     * Saving is idempotent: resending a stored line changes nothing, and a different line for a stored game
+     * replaces it. A line whose statistics ID already belongs to a different game is not stored.
      *
      * @param playerGameStats the player statistics to save
-     * @return Mono containing the saved player statistics
+     * @return Mono containing the outcome of the save, including the replaced line if any
      */
-    Mono<PlayerGameStats> save(PlayerGameStats playerGameStats);
+    default Mono<GameStatsWrite> save(PlayerGameStats playerGameStats) {
+        return save(playerGameStats, GameStatsWriteListener.NONE);
+    }
 
+    /**
+     * Saves or updates the statistics of a player in one game like {@link #save(PlayerGameStats)}, and hands
+     * the outcome to the listener while the game is still locked against concurrent saves
+     *
+     * @param playerGameStats the player statistics to save
+     * @param listener        the listener notified of the outcome of the save
+     * @return Mono containing the outcome of the save, including the replaced line if any
+     */
+    Mono<GameStatsWrite> save(PlayerGameStats playerGameStats, GameStatsWriteListener listener);
 
+    /**
+     * Aggregates the statistics of every stored player game matching the filter
+     *
+     * @param filter the criteria the aggregated games must meet
+     * @return Mono containing the number of matching games and the aggregates of each statistic
+     */
+    Mono<GameStatsSummary> summarize(GameStatsFilter filter);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.example.nba.repository;
+
+import com.example.nba.model.RollingStats;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for players' rolling statistics: per-game averages over windows of their most recent
+ * games, such as the last 5 games or the last 30 days.
+ * <p>
+ * The windows are maintained from the outcomes of saving game lines, so reading them never scans the stored
+ * game lines. Implementations should ensure thread-safety.
+ */
+public interface RollingStatsRepository {
+    /**
+     * Applies the outcome of saving a game line to the player's windows: an inserted line is added, a
+     * corrected line replaces the previous one, and other outcomes change nothing.
+     *
+     * @param write the outcome of saving a game line
+     * @return a {@code Mono} that completes once the windows have been updated
+     */
+    Mono<Void> apply(GameStatsWrite write);
+
+    /**
+     * Applies the outcomes of saving a batch of game lines, in order, like {@link #apply(GameStatsWrite)}.
+     *
+     * @param writes the outcomes of saving the game lines
+     * @return a {@code Mono} that completes once every outcome has been applied
+     */
+    Mono<Void> applyAll(Collection<GameStatsWrite> writes);
+
+    /**
+     * Retrieves the player's rolling statistics for every window.
+     *
+     * @param playerId the unique identifier of the player
+     * @return a {@code Flux} emitting a {@code RollingStats} per window, or an empty {@code Flux} if the player
+     * has no games
+     */
+    Flux<RollingStats> findByPlayerId(String playerId);
+
+    /**
+     * Retrieves the player's rolling statistics for one window.
+     *
+     * @param playerId the unique identifier of the player
+     * @param window   the window's name, e.g. {@code last-5-games}
+     * @return a {@code Mono} emitting the player's statistics in the window, or an empty {@code Mono} if the
+     * player has no games or the window does not exist
+     */
+    Mono<RollingStats> findByPlayerIdAndWindow(String playerId, String window);
+}
@@ -0,0 +1,68 @@
+package com.example.nba.repository;
+
+import com.example.nba.repository.key.CompositeKey;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes over the {@code (id, season)} keys of a season statistics repository.
+ * <p>
+ * Every key is kept in two orders: season-major, {@code (season, id)}, and id-major, {@code (id, season)}.
+ * All keys of one season, or of one player or team, therefore form a contiguous range, so queries by
+ * season or by id cost O(log n + result) instead of a scan over the whole repository. The season-major
+ * order also lets a stream resume strictly after the last key a client has seen.
+ * <p>
+ * Keys are added when an aggregate is first created, never on the per-game update path. Streams iterate
+ * the underlying {@link ConcurrentSkipListSet}s lazily, as subscribers request elements, so a consumer can
+ * page through any number of keys with constant memory on the server. Iteration is weakly consistent:
+ * keys added while a stream is running may or may not be included.
+ */
+final class SeasonStatsKeyIndex {
+    private static final Comparator<CompositeKey> SEASON_MAJOR =
+            Comparator.comparing(CompositeKey::second).thenComparing(CompositeKey::first);
+    private static final Comparator<CompositeKey> ID_MAJOR =
+            Comparator.comparing(CompositeKey::first).thenComparing(CompositeKey::second);
+    // No identifier sorts before the empty string, so (season, "") is the first key of a season
+    private static final String LOWEST = "";
+
+    private final NavigableSet<CompositeKey> bySeason = new ConcurrentSkipListSet<>(SEASON_MAJOR);
+    private final NavigableSet<CompositeKey> byId = new ConcurrentSkipListSet<>(ID_MAJOR);
+
+    void add(CompositeKey key) {
+        bySeason.add(key);
+        byId.add(key);
+    }
+
+    /**
+     * Streams all keys in {@code (season, id)} order, starting strictly after the cursor
+     * {@code (afterSeason, afterId)}, or from the first key if no cursor is given.
+     */
+    Flux<CompositeKey> after(String afterSeason, String afterId) {
+        if (afterSeason == null || afterId == null) {
+            return Flux.fromIterable(bySeason);
+        }
+        return Flux.fromIterable(bySeason.tailSet(new CompositeKey(afterId, afterSeason), false));
+    }
+
+    /**
+     * Streams the keys of a single season in id order, starting strictly after {@code afterId} if given.
+     */
+    Flux<CompositeKey> inSeason(String season, String afterId) {
+        CompositeKey from = afterId == null
+                ? new CompositeKey(LOWEST, season)
+                : new CompositeKey(afterId, season);
+        return Flux.fromIterable(bySeason.tailSet(from, afterId == null))
+                .takeWhile(key -> key.second().equals(season));
+    }
+
+    /**
+     * Streams the keys of a single player or team in season order.
+     */
+    Flux<CompositeKey> ofId(String id) {
+        return Flux.fromIterable(byId.tailSet(new CompositeKey(id, LOWEST), true))
+                .takeWhile(key -> key.first().equals(id));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.nba.repository;
+
+import com.example.nba.repository.key.CompositeKey;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Bounded index of the statistics IDs in use, for rejecting a line that reuses the ID of another game.
+ * <p>
+ * The IDs of the most recently stored {@code window} lines are indexed exactly, which covers the retries of
+ * an upstream feed. Every ID ever claimed is also added to a Bloom filter sized for {@code expectedIds} IDs
+ * at a 1% false positive rate. A new ID that is neither in the window nor in the filter is known to be
+ * unused; only an ID the filter may contain is looked up in the stored rows, which is exact but scans them.
+ * Memory stays fixed however many lines are ingested, and the filter's false positive rate grows only once
+ * more than {@code expectedIds} IDs were claimed.
+ * <p>
+ * Claims of the same ID are serialized by the window map, so no lock is taken.
+ */
+final class StatisticsIdIndex {
+    private static final int HASHES = 7;
+    // Bits per expected ID for a 1% false positive rate with seven hashes
+    private static final double BITS_PER_ID = 9.6;
+
+    private final ConcurrentHashMap<String, CompositeKey> recent = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> window;
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicLongArray filter;
+    private final long bits;
+    private final Function<String, CompositeKey> owners;
+
+    /**
+     * @param window      the number of most recently claimed IDs indexed exactly
+     * @param expectedIds the number of IDs the filter is sized for
+     * @param owners      finds the key of the stored row with an ID, or {@code null} if there is none
+     */
+    StatisticsIdIndex(int window, long expectedIds, Function<String, CompositeKey> owners) {
+        if (window <= 0 || expectedIds <= 0) {
+            throw new IllegalArgumentException("Statistics ID window and expected IDs must be positive");
+        }
+        this.window = new AtomicReferenceArray<>(window);
+        this.filter = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8,
+                ((long) Math.ceil(expectedIds * BITS_PER_ID) + 63) / 64));
+        this.bits = filter.length() * 64L;
+        this.owners = owners;
+    }
+
+    /**
+     * Claims the ID for the row stored under {@code key}.
+     *
+     * @return the key of another row that already uses the ID, in which case nothing was claimed, or
+     * {@code null} once the ID is claimed for {@code key}
+     */
+    CompositeKey claim(String id, CompositeKey key) {
+        CompositeKey owner = recent.putIfAbsent(id, key);
+        if (owner != null) {
+            return owner.equals(key) ? null : owner;
+        }
+        if (mightContain(id)) {
+            CompositeKey older = owners.apply(id);
+            if (older != null && !older.equals(key)) {
+                recent.remove(id, key);
+                return older;
+            }
+        }
+        add(id);
+        int slot = (int) (claims.getAndIncrement() % window.length());
+        String evicted = window.getAndSet(slot, id);
+        if (evicted != null && !evicted.equals(id)) {
+            // The evicted ID stays in the filter, so a later claim still finds its row
+            recent.remove(evicted);
+        }
+        return null;
+    }
+
+    /**
+     * Releases the ID of the row stored under {@code key}, e.g. once the row was saved under a new ID.
+     */
+    void release(String id, CompositeKey key) {
+        recent.remove(id, key);
+    }
+
+    private boolean mightContain(String id) {
+        long hash = hash(id);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Integer.toUnsignedLong(first + i * second) % bits;
+            if ((filter.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String id) {
+        long hash = hash(id);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Integer.toUnsignedLong(first + i * second) % bits;
+            long mask = 1L << bit;
+            filter.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+        }
+    }
+
+    // 64-bit FNV-1a over the characters, independent of String.hashCode collisions
+    private static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.nba.repository;
 
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Repository interface for managing NBA team season statistics data.
  * <p>
@@ -20,12 +25,53 @@ public interface TeamStatisticsStatisticsRepository {
      * <p>
      * This method saves the provided {@code TeamSeasonStats} object to the underlying data storage.
      * If the statistics for the given team and season already exist, they will be updated.
+     * <p>
+     * The saved statistics replace the existing ones as a whole, so a game line merged or removed concurrently
+     * with the save may be lost. Only save while no game lines are being ingested, e.g. when restoring a
+     * snapshot at startup.
      *
      * @param teamSeasonStats the aggregated statistics of the team for a specific season; must not be null
      * @return a {@code Mono} emitting the saved {@code TeamSeasonStats}, or an error if the saving process fails
      */
     Mono<TeamSeasonStats> save(TeamSeasonStats teamSeasonStats);
 
+    /**
+     * Adds a single player game line to the season statistics of the given team.
+     * <p>
+     * If no statistics exist yet for the team and the game's season, they are created. Concurrent merges
+     * into the same team and season must neither lose data nor block each other; the merged statistics
+     * become visible through {@link #findByTeamId(String, String)}.
+     *
+     * @param team      the team the game line belongs to; must not be null
+     * @param gameStats the player game statistics to add; must not be null
+     * @return a {@code Mono} that completes once the game has been merged
+     */
+    Mono<Void> mergeGame(Team team, PlayerGameStats gameStats);
+
+    /**
+     * Adds a batch of player game lines of one team, possibly spanning several seasons.
+     * <p>
+     * Lines are grouped by season and each group is added to the team's season statistics in a single
+     * merge, so a batch costs one merge per team and season rather than one per line.
+     *
+     * @param team  the team all game lines belong to; must not be null
+     * @param games the player game statistics to add; must not be null
+     * @return a {@code Mono} that completes once every line has been merged
+     */
+    Mono<Void> mergeGames(Team team, Collection<PlayerGameStats> games);
+
+    /**
+     * Subtracts a previously merged player game line from the team's season statistics, e.g. before merging
+     * a corrected line for the same game. A correction may overtake the merge of the line it replaces, so the
+     * removal is recorded even if the team has no statistics for the season yet; the season counts as empty
+     * until the line is merged.
+     *
+     * @param team      the team the game line was merged into; must not be null
+     * @param gameStats the previously merged player game statistics
+     * @return a {@code Mono} that completes once the line has been removed
+     */
+    Mono<Void> removeGame(Team team, PlayerGameStats gameStats);
+
     /**
      * Retrieves the seasonal statistics for a specific NBA team based on the team's unique identifier
      * and the specified season.
@@ -44,4 +90,56 @@ public interface TeamStatisticsStatisticsRepository {
      */
     Flux<TeamSeasonStats> findAll();
 
+    /**
+     * Streams team season statistics in {@code (season, teamId)} order, resuming strictly after the given
+     * cursor. The stream is produced lazily as it is consumed, so callers can page through arbitrarily
+     * many rows.
+     *
+     * @param afterSeason the season of the last row already consumed, or null to start from the beginning
+     * @param afterTeamId the team ID of the last row already consumed, or null to start from the beginning
+     * @return a {@code Flux} emitting the team season statistics after the cursor
+     */
+    Flux<TeamSeasonStats> findAllAfter(String afterSeason, String afterTeamId);
+
+    /**
+     * Streams the statistics of all teams in one season in team ID order, resuming strictly after the
+     * given team ID if one is provided.
+     *
+     * @param season      the season whose statistics are streamed
+     * @param afterTeamId the team ID of the last row already consumed, or null to start with the first team
+     * @return a {@code Flux} emitting the season's team statistics, or an empty {@code Flux} if there are none
+     */
+    Flux<TeamSeasonStats> findBySeason(String season, String afterTeamId);
+
+    /**
+     * Retrieves the statistics of one team for every season it has played, in season order.
+     *
+     * @param teamId the unique identifier of the team
+     * @return a {@code Flux} emitting the team's season statistics, or an empty {@code Flux} if there are none
+     */
+    Flux<TeamSeasonStats> findByTeamId(String teamId);
+
+    /**
+     * Retrieves a page of a season's standings by one metric, ranked by the teams' current averages. The
+     * standings are maintained as the statistics change, so a page is read without scanning the season.
+     *
+     * @param season the season identifier
+     * @param metric the average teams are ranked by
+     * @param offset the number of leading standings to skip
+     * @param limit  the maximum number of standings to return
+     * @return a {@code Flux} emitting the standings in rank order, or an empty {@code Flux} past the last team
+     */
+    Flux<TeamStanding> findStandings(String season, TeamSeasonStats.Metric metric, int offset, int limit);
+
+    /**
+     * Retrieves a team's standing in a season by one metric.
+     *
+     * @param teamId the unique identifier of the team
+     * @param season the season identifier
+     * @param metric the average teams are ranked by
+     * @return a {@code Mono} emitting the team's standing, or an empty {@code Mono} if the team has no
+     * statistics in the season
+     */
+    Mono<TeamStanding> findStanding(String teamId, String season, TeamSeasonStats.Metric metric);
+
 }
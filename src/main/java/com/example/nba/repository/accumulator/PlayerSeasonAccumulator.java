@@ -0,0 +1,224 @@
+package com.example.nba.repository.accumulator;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Mutable, primitive accumulator for the season statistics of a single player.
+ * <p>
+ * {@link PlayerSeasonStats#withNewGame(PlayerGameStats)} allocates a new 19-field record and two
+ * {@link BigDecimal}s for every ingested game. This accumulator instead keeps the season totals as
+ * primitive {@code long}s, with minutes played stored in tenths of a minute, so adding a game allocates
+ * nothing. A {@link PlayerSeasonStats} snapshot is only built when one is requested, and is cached until the
+ * next game is added. The per-game averages that the publisher hands to the leaderboards after every merge
+ * are written into one buffer owned by the accumulator, see {@link #perGame()}, so publishing a merge does
+ * not allocate either.
+ * <p>
+ * Adds and snapshots synchronize on the accumulator itself. The monitor is per player and season and
+ * is only held for a handful of primitive additions, so it is almost always uncontended.
+ */
+public final class PlayerSeasonAccumulator {
+    private final String playerId;
+    private final String season;
+
+    private long gamesPlayed;
+    private long totalPoints;
+    private long totalRebounds;
+    private long totalAssists;
+    private long totalSteals;
+    private long totalBlocks;
+    private long totalFouls;
+    private long totalTurnovers;
+    private long totalMinutesInTenths;
+
+    private PlayerSeasonStats snapshot;
+    // Written by perGame, only ever called by the publishing thread
+    private final double[] perGame = new double[GameStatsFilter.Stat.values().length];
+
+    // Publications requested and not yet drained, see publish
+    private final AtomicInteger pendingPublications = new AtomicInteger();
+
+    /**
+     * Creates an empty accumulator for the given player and season.
+     */
+    public PlayerSeasonAccumulator(String playerId, String season) {
+        this.playerId = playerId;
+        this.season = season;
+    }
+
+    /**
+     * Creates an accumulator that continues from previously aggregated statistics.
+     * Until another game is added, {@link #snapshot()} returns {@code seasonStats} itself.
+     */
+    public PlayerSeasonAccumulator(PlayerSeasonStats seasonStats) {
+        this(seasonStats.playerId(), seasonStats.season());
+        this.gamesPlayed = seasonStats.gamesPlayed();
+        this.totalPoints = seasonStats.totalPoints();
+        this.totalRebounds = seasonStats.totalRebounds();
+        this.totalAssists = seasonStats.totalAssists();
+        this.totalSteals = seasonStats.totalSteals();
+        this.totalBlocks = seasonStats.totalBlocks();
+        this.totalFouls = seasonStats.totalFouls();
+        this.totalTurnovers = seasonStats.totalTurnovers();
+        this.totalMinutesInTenths = toTenths(seasonStats.totalMinutesPlayed());
+        this.snapshot = seasonStats;
+    }
+
+    public String playerId() {
+        return playerId;
+    }
+
+    public String season() {
+        return season;
+    }
+
+    /**
+     * Adds a single game to the season totals.
+     *
+     * @throws IllegalArgumentException if the game belongs to a different player or season
+     */
+    public synchronized void add(PlayerGameStats gameStats) {
+        apply(gameStats, 1);
+    }
+
+    /**
+     * Subtracts a previously added game from the season totals, e.g. to replace it with a corrected line.
+     *
+     * @throws IllegalArgumentException if the game belongs to a different player or season
+     */
+    public synchronized void remove(PlayerGameStats gameStats) {
+        apply(gameStats, -1);
+    }
+
+    /**
+     * Returns {@code true} if no game contributes to the season totals, e.g. after the only game was removed.
+     * A game removed before it was added, as when a correction overtakes the line it replaces, leaves the
+     * totals negative until the game is added; such totals count as empty too.
+     */
+    public synchronized boolean isEmpty() {
+        return gamesPlayed <= 0;
+    }
+
+    /**
+     * Adds several games of this player and season while holding the accumulator's monitor once.
+     *
+     * @throws IllegalArgumentException if a game belongs to a different player or season; games
+     *                                  preceding it in iteration order have already been added
+     */
+    public synchronized void addAll(Iterable<PlayerGameStats> games) {
+        for (PlayerGameStats gameStats : games) {
+            add(gameStats);
+        }
+    }
+
+    private void apply(PlayerGameStats gameStats, int sign) {
+        if (!gameStats.playerId().equals(playerId)) {
+            throw new IllegalArgumentException("Game stats player ID doesn't match season stats player ID");
+        }
+        if (!gameStats.season().equals(season)) {
+            throw new IllegalArgumentException("Game stats season doesn't match season stats season");
+        }
+
+        gamesPlayed += sign;
+        totalPoints += sign * gameStats.points();
+        totalRebounds += sign * gameStats.rebounds();
+        totalAssists += sign * gameStats.assists();
+        totalSteals += sign * gameStats.steals();
+        totalBlocks += sign * gameStats.blocks();
+        totalFouls += sign * gameStats.fouls();
+        totalTurnovers += sign * gameStats.turnovers();
+        totalMinutesInTenths += sign * toTenths(gameStats.minutesPlayed());
+        snapshot = null;
+    }
+
+    /**
+     * Returns the season statistics as an immutable {@link PlayerSeasonStats}, deriving the averages
+     * from the primitive totals if a game has been added since the last snapshot.
+     */
+    public synchronized PlayerSeasonStats snapshot() {
+        if (snapshot == null) {
+            snapshot = new PlayerSeasonStats(
+                    playerId,
+                    season,
+                    (int) gamesPlayed,
+                    (int) totalPoints,
+                    (int) totalRebounds,
+                    (int) totalAssists,
+                    (int) totalSteals,
+                    (int) totalBlocks,
+                    (int) totalFouls,
+                    (int) totalTurnovers,
+                    BigDecimal.valueOf(totalMinutesInTenths, 1),
+                    average(totalPoints),
+                    average(totalRebounds),
+                    average(totalAssists),
+                    average(totalSteals),
+                    average(totalBlocks),
+                    average(totalFouls),
+                    average(totalTurnovers),
+                    BigDecimal.valueOf(averageMinutesInTenths(), 1)
+            );
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the per-game averages of the statistics, indexed by {@link GameStatsFilter.Stat#ordinal()}.
+     * Minutes played are not rounded, unlike in {@link #snapshot()}.
+     * <p>
+     * The averages are written into a buffer owned by the accumulator and overwritten by the next call, so
+     * only the consumer passed to {@link #publish(Consumer)} may call this method, and it must not keep the
+     * array.
+     */
+    public synchronized double[] perGame() {
+        perGame[GameStatsFilter.Stat.POINTS.ordinal()] = average(totalPoints);
+        perGame[GameStatsFilter.Stat.REBOUNDS.ordinal()] = average(totalRebounds);
+        perGame[GameStatsFilter.Stat.ASSISTS.ordinal()] = average(totalAssists);
+        perGame[GameStatsFilter.Stat.STEALS.ordinal()] = average(totalSteals);
+        perGame[GameStatsFilter.Stat.BLOCKS.ordinal()] = average(totalBlocks);
+        perGame[GameStatsFilter.Stat.FOULS.ordinal()] = average(totalFouls);
+        perGame[GameStatsFilter.Stat.TURNOVERS.ordinal()] = average(totalTurnovers);
+        perGame[GameStatsFilter.Stat.MINUTES_PLAYED.ordinal()] = average(totalMinutesInTenths) / 10;
+        return perGame;
+    }
+
+    /**
+     * Passes the accumulator to the consumer after the caller's change, without holding the accumulator's
+     * monitor and without making concurrent writers wait for each other. Only one thread publishes at a time:
+     * a caller that finds another one publishing leaves it to publish once more on its behalf. The last
+     * publication therefore sees every change that preceded a call, and publications happen in order. Callers
+     * must always pass the same consumer.
+     */
+    public void publish(Consumer<PlayerSeasonAccumulator> consumer) {
+        if (pendingPublications.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            consumer.accept(this);
+            missed = pendingPublications.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private double average(long total) {
+        return gamesPlayed == 0 ? 0 : (double) total / gamesPlayed;
+    }
+
+    // Rounds half up, matching BigDecimal.divide(..., 1, RoundingMode.HALF_UP) on non-negative minutes
+    private long averageMinutesInTenths() {
+        return gamesPlayed == 0 ? 0 : (2 * totalMinutesInTenths + gamesPlayed) / (2 * gamesPlayed);
+    }
+
+    /**
+     * Converts minutes to tenths of a minute. Game minutes are validated to be in 0.1 increments,
+     * and {@link BigDecimal#doubleValue()} does not allocate for such small compact values.
+     */
+    static long toTenths(BigDecimal minutes) {
+        return Math.round(minutes.doubleValue() * 10);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.nba.repository.accumulator;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Contention-tolerant accumulator for the season statistics of a single team.
+ * <p>
+ * Every player line of a team is folded into the same team/season aggregate, which makes it the most
+ * contended key during ingest. Instead of replacing an immutable {@link TeamSeasonStats} on each game,
+ * this accumulator spreads its totals over striped cells. A writer adds a game's statistics into the cell of
+ * its thread while holding only that cell's monitor, so writers on different threads rarely wait for each
+ * other, and the cells are only folded into a {@link TeamSeasonStats} when a snapshot is read.
+ * <p>
+ * The accumulator starts from a base {@link TeamSeasonStats} (an empty one for a new team/season, or a
+ * previously saved value) and reports the base combined with everything added since.
+ * <p>
+ * A snapshot folds each cell while holding its monitor, so every game is either fully included or not at all:
+ * the averages of a snapshot are never the totals of a game divided by a game count that misses it. A
+ * snapshot taken while games are being added may include a game added after another one it misses, but no
+ * added game is ever lost.
+ */
+public final class TeamSeasonAccumulator {
+    // Twice the number of cores, rounded up to a power of two, at most 128
+    private static final int CELLS =
+            Integer.highestOneBit(Math.min(64, Runtime.getRuntime().availableProcessors()) * 2 - 1) * 2;
+
+    private final TeamSeasonStats base;
+    private final Cell[] cells = new Cell[CELLS];
+
+    // Set once by the first add or remove; a correction can leave the game count unchanged but not the totals
+    private volatile boolean modified;
+
+    // Publications requested and not yet drained, see publish
+    private final AtomicInteger pendingPublications = new AtomicInteger();
+
+    /**
+     * Creates an empty accumulator for the given team and season.
+     */
+    public TeamSeasonAccumulator(Team team, String season) {
+        this(new TeamSeasonStats(team, season, 0, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Creates an accumulator that continues from previously aggregated statistics.
+     */
+    public TeamSeasonAccumulator(TeamSeasonStats base) {
+        this.base = base;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Cell();
+        }
+    }
+
+    /**
+     * Adds a single player game line to the team's season totals.
+     *
+     * @throws IllegalArgumentException if the game belongs to a different team or season
+     */
+    public void add(PlayerGameStats gameStats) {
+        checkBelongsHere(gameStats);
+        cell().add(1, gameStats.points(), gameStats.rebounds(), gameStats.assists(), gameStats.steals(),
+                gameStats.blocks(), gameStats.fouls(), gameStats.turnovers());
+        markModified();
+    }
+
+    /**
+     * Subtracts a previously added player game line from the team's season totals, e.g. to replace it
+     * with a corrected line. The line may also be one that is part of the base statistics.
+     *
+     * @throws IllegalArgumentException if the game belongs to a different team or season
+     */
+    public void remove(PlayerGameStats gameStats) {
+        checkBelongsHere(gameStats);
+        cell().add(-1, -gameStats.points(), -gameStats.rebounds(), -gameStats.assists(), -gameStats.steals(),
+                -gameStats.blocks(), -gameStats.fouls(), -gameStats.turnovers());
+        markModified();
+    }
+
+    /**
+     * Adds several player game lines, touching the thread's cell once for the whole group.
+     *
+     * @throws IllegalArgumentException if any game belongs to a different team or season, in which
+     *                                  case nothing is added
+     */
+    public void addAll(Iterable<PlayerGameStats> gameLines) {
+        long gameCount = 0;
+        long pointsSum = 0;
+        long reboundsSum = 0;
+        long assistsSum = 0;
+        long stealsSum = 0;
+        long blocksSum = 0;
+        long foulsSum = 0;
+        long turnoversSum = 0;
+        for (PlayerGameStats gameStats : gameLines) {
+            checkBelongsHere(gameStats);
+            gameCount++;
+            pointsSum += gameStats.points();
+            reboundsSum += gameStats.rebounds();
+            assistsSum += gameStats.assists();
+            stealsSum += gameStats.steals();
+            blocksSum += gameStats.blocks();
+            foulsSum += gameStats.fouls();
+            turnoversSum += gameStats.turnovers();
+        }
+
+        cell().add(gameCount, pointsSum, reboundsSum, assistsSum, stealsSum, blocksSum, foulsSum, turnoversSum);
+        markModified();
+    }
+
+    /**
+     * Returns {@code true} if no game contributes to this accumulator, counting both the base and the
+     * games added or removed since. A game removed before it was added, as when a correction overtakes the
+     * line it replaces, leaves the totals negative until the game is added; such totals count as empty too.
+     */
+    public boolean isEmpty() {
+        long games = 0;
+        for (Cell cell : cells) {
+            synchronized (cell) {
+                games += cell.games;
+            }
+        }
+        return base.totalGamesPlayed() + games <= 0;
+    }
+
+    /**
+     * Folds the striped partial sums into an immutable {@link TeamSeasonStats}.
+     */
+    public TeamSeasonStats snapshot() {
+        if (!modified) {
+            return base;
+        }
+
+        Cell sum = new Cell();
+        for (Cell cell : cells) {
+            synchronized (cell) {
+                sum.add(cell.games, cell.points, cell.rebounds, cell.assists, cell.steals, cell.blocks, cell.fouls,
+                        cell.turnovers);
+            }
+        }
+        int baseGames = base.totalGamesPlayed();
+        int totalGames = (int) (baseGames + sum.games);
+        if (totalGames <= 0) {
+            return new TeamSeasonStats(base.team(), base.season(), 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new TeamSeasonStats(
+                base.team(),
+                base.season(),
+                totalGames,
+                average(base.averageTeamPoints(), baseGames, sum.points, totalGames),
+                average(base.averageTeamRebounds(), baseGames, sum.rebounds, totalGames),
+                average(base.averageTeamAssists(), baseGames, sum.assists, totalGames),
+                average(base.averageTeamSteals(), baseGames, sum.steals, totalGames),
+                average(base.averageTeamBlocks(), baseGames, sum.blocks, totalGames),
+                average(base.averageTeamFouls(), baseGames, sum.fouls, totalGames),
+                average(base.averageTeamTurnovers(), baseGames, sum.turnovers, totalGames)
+        );
+    }
+
+    /**
+     * Passes a snapshot taken after the caller's change to the consumer, without making concurrent writers
+     * wait for each other. Only one thread publishes at a time: a caller that finds another one publishing
+     * leaves it to take one more snapshot on its behalf. The last snapshot published therefore includes every
+     * change that preceded a call, and snapshots are published in order. Callers must always pass the same
+     * consumer.
+     */
+    public void publish(Consumer<TeamSeasonStats> consumer) {
+        if (pendingPublications.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            consumer.accept(snapshot());
+            missed = pendingPublications.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void markModified() {
+        // Only read after the first write, so the hot path does not keep invalidating the field's cache line
+        if (!modified) {
+            modified = true;
+        }
+    }
+
+    // Threads are spread over the cells by ID, so a thread always adds into the same cell
+    @SuppressWarnings("deprecation")
+    private Cell cell() {
+        return cells[(int) Thread.currentThread().getId() & (cells.length - 1)];
+    }
+
+    private void checkBelongsHere(PlayerGameStats gameStats) {
+        if (!base.team().id().equals(gameStats.teamId())) {
+            throw new IllegalArgumentException("Game stats team ID does not match season stats team ID");
+        }
+        if (!base.season().equals(gameStats.season())) {
+            throw new IllegalArgumentException("Game stats season does not match season stats season");
+        }
+    }
+
+    private static double average(double baseAverage, int baseGames, long addedTotal, int totalGames) {
+        return (baseAverage * baseGames + addedTotal) / totalGames;
+    }
+
+    /**
+     * Partial season totals, guarded by the cell's monitor.
+     */
+    private static final class Cell {
+        private long games;
+        private long points;
+        private long rebounds;
+        private long assists;
+        private long steals;
+        private long blocks;
+        private long fouls;
+        private long turnovers;
+
+        synchronized void add(long games, long points, long rebounds, long assists, long steals, long blocks,
+                              long fouls, long turnovers) {
+            this.games += games;
+            this.points += points;
+            this.rebounds += rebounds;
+            this.assists += assists;
+            this.steals += steals;
+            this.blocks += blocks;
+            this.fouls += fouls;
+            this.turnovers += turnovers;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.nba.repository.columnar;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.key.IdentifierDictionary;
+import com.example.nba.repository.key.IdentifierInterner;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Column-oriented copy of the stored player game lines for analytical scans.
+ * <p>
+ * Game lines are appended to fixed-size {@link GameStatsSegment}s that hold every column in its own
+ * primitive array: player, team, season and game IDs as dictionary codes (player, team and season codes
+ * are those of the shared {@link IdentifierInterner}), the timestamp as epoch seconds
+ * and nanos, the counting statistics as {@code int}s and minutes played in tenths as a {@code short}. A
+ * row takes 58 bytes of column data plus its locator entry, against several hundred for a
+ * {@link PlayerGameStats} record with its timestamp, {@link BigDecimal} and strings, and a scan walks
+ * contiguous arrays instead of chasing pointers from a hash map into records.
+ * <p>
+ * A scan first selects the live rows of a segment matching the filter, then folds each column
+ * over the selection in a tight loop. Sealed segments whose zone map rules out the filter are skipped.
+ * <p>
+ * Writers only {@link #enqueue(PlayerGameStats) enqueue} their lines, which takes no lock, so the repository
+ * can feed the store while it holds a game without serializing ingest on the store. Queued lines are copied
+ * into the segments in queue order by a single writer at a time: whichever caller of {@link #drain()} gets
+ * the write lock, the others return at once and leave their lines to it. Scans first drain the queue, then
+ * read the segments without a lock: they see every line enqueued before the scan started, and possibly both
+ * the old and the new row of a correction made while the scan runs.
+ * <p>
+ * The store keeps no statistics IDs and does not replace the row store; the repository feeds it every
+ * line it inserts or corrects.
+ */
+public final class ColumnarGameStatsStore {
+    public static final int DEFAULT_SEGMENT_CAPACITY = 16_384;
+
+    private static final int MINUTES = GameStatsSegment.COUNTING_STATS;
+
+    private final int segmentCapacity;
+    private final IdentifierDictionary players;
+    private final IdentifierDictionary teams;
+    private final IdentifierDictionary seasons;
+    private final IdentifierDictionary games = new IdentifierDictionary();
+    private final Queue<PlayerGameStats> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // (player code, game code) -> global row position, guarded by writeLock
+    private final RowLocator locator = new RowLocator();
+
+    // Replaced by a longer copy when a segment is added; only the last one takes rows
+    private volatile GameStatsSegment[] segments = new GameStatsSegment[0];
+
+    public ColumnarGameStatsStore(IdentifierInterner interner) {
+        this(interner, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    public ColumnarGameStatsStore(IdentifierInterner interner, int segmentCapacity) {
+        if (segmentCapacity <= 0) {
+            throw new IllegalArgumentException("Segment capacity must be positive");
+        }
+        this.segmentCapacity = segmentCapacity;
+        this.players = interner.players();
+        this.teams = interner.teams();
+        this.seasons = interner.seasons();
+    }
+
+    /**
+     * Stores the line of a player and game, replacing the previously stored line of the same player and game.
+     */
+    public void put(PlayerGameStats gameStats) {
+        enqueue(gameStats);
+        drain();
+    }
+
+    /**
+     * Queues the line of a player and game to replace the previously stored line of the same player and game.
+     * Lines of one game must be enqueued in the order they were stored; they are copied on the next
+     * {@link #drain()}.
+     */
+    public void enqueue(PlayerGameStats gameStats) {
+        pending.add(gameStats);
+    }
+
+    /**
+     * Copies the queued lines into the segments, unless another thread is already doing so: that thread then
+     * copies the lines queued so far as well, so this never waits for the write lock.
+     */
+    public void drain() {
+        // Re-checks after unlocking, since a line queued just before the unlock was missed by the drainer
+        while (!pending.isEmpty() && writeLock.tryLock()) {
+            try {
+                appendPending();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // Waits for a running drain, so the caller sees every line queued before it
+    private void awaitPending() {
+        writeLock.lock();
+        try {
+            appendPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void appendPending() {
+        PlayerGameStats gameStats;
+        while ((gameStats = pending.poll()) != null) {
+            append(gameStats);
+        }
+    }
+
+    private void append(PlayerGameStats gameStats) {
+        int player = players.encode(gameStats.playerId());
+        int game = games.encode(gameStats.gameId());
+        long key = ((long) player << 32) | (game & 0xFFFFFFFFL);
+
+        int previous = locator.get(key);
+        if (previous != RowLocator.ABSENT) {
+            segments[previous / segmentCapacity].delete(previous % segmentCapacity);
+        }
+
+        GameStatsSegment segment = writableSegment();
+        int row = segment.append(
+                player,
+                teams.encode(gameStats.teamId()),
+                seasons.encode(gameStats.season()),
+                game,
+                gameStats.timestamp().toEpochSecond(ZoneOffset.UTC),
+                gameStats.timestamp().getNano(),
+                gameStats.points(),
+                gameStats.rebounds(),
+                gameStats.assists(),
+                gameStats.steals(),
+                gameStats.blocks(),
+                gameStats.fouls(),
+                gameStats.turnovers(),
+                (short) gameStats.minutesPlayed().movePointRight(1).intValue());
+        locator.put(key, (segments.length - 1) * segmentCapacity + row);
+    }
+
+    private GameStatsSegment writableSegment() {
+        GameStatsSegment[] current = segments;
+        if (current.length > 0 && !current[current.length - 1].isFull()) {
+            return current[current.length - 1];
+        }
+        GameStatsSegment segment = new GameStatsSegment(segmentCapacity);
+        GameStatsSegment[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = segment;
+        segments = grown;
+        return segment;
+    }
+
+    /**
+     * Aggregates every statistic over the live lines matching the filter.
+     */
+    public GameStatsSummary summarize(GameStatsFilter filter) {
+        awaitPending();
+        long[] totals = new long[MINUTES + 1];
+        int[] minimums = new int[MINUTES + 1];
+        int[] maximums = new int[MINUTES + 1];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+        Arrays.fill(maximums, Integer.MIN_VALUE);
+        long games = 0;
+
+        ScanFilter scanFilter = ScanFilter.encode(filter, players, teams, seasons);
+        if (scanFilter != null) {
+            int[] selection = new int[segmentCapacity];
+            for (GameStatsSegment segment : segments) {
+                int matched = segment.select(scanFilter, selection);
+                if (matched == 0) {
+                    continue;
+                }
+                games += matched;
+                for (int stat = 0; stat < GameStatsSegment.COUNTING_STATS; stat++) {
+                    fold(segment.counts[stat], selection, matched, stat, totals, minimums, maximums);
+                }
+                fold(segment.minutesInTenths, selection, matched, totals, minimums, maximums);
+            }
+        }
+        return summary(games, totals, minimums, maximums);
+    }
+
+    private static void fold(int[] column, int[] selection, int matched, int stat,
+                             long[] totals, int[] minimums, int[] maximums) {
+        long total = 0;
+        int min = minimums[stat];
+        int max = maximums[stat];
+        for (int i = 0; i < matched; i++) {
+            int value = column[selection[i]];
+            total += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        totals[stat] += total;
+        minimums[stat] = min;
+        maximums[stat] = max;
+    }
+
+    private static void fold(short[] column, int[] selection, int matched,
+                             long[] totals, int[] minimums, int[] maximums) {
+        long total = 0;
+        int min = minimums[MINUTES];
+        int max = maximums[MINUTES];
+        for (int i = 0; i < matched; i++) {
+            int value = column[selection[i]];
+            total += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        totals[MINUTES] += total;
+        minimums[MINUTES] = min;
+        maximums[MINUTES] = max;
+    }
+
+    private static GameStatsSummary summary(long games, long[] totals, int[] minimums, int[] maximums) {
+        GameStatsSummary.StatSummary[] stats = new GameStatsSummary.StatSummary[GameStatsSegment.COUNTING_STATS];
+        for (int stat = 0; stat < stats.length; stat++) {
+            stats[stat] = games == 0
+                    ? new GameStatsSummary.StatSummary(0, 0, 0, 0)
+                    : new GameStatsSummary.StatSummary(totals[stat], minimums[stat], maximums[stat],
+                    (double) totals[stat] / games);
+        }
+        GameStatsSummary.MinutesSummary minutes = games == 0
+                ? new GameStatsSummary.MinutesSummary(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO)
+                : new GameStatsSummary.MinutesSummary(
+                BigDecimal.valueOf(totals[MINUTES], 1),
+                BigDecimal.valueOf(minimums[MINUTES], 1),
+                BigDecimal.valueOf(maximums[MINUTES], 1),
+                BigDecimal.valueOf(totals[MINUTES], 1).divide(BigDecimal.valueOf(games), 1, RoundingMode.HALF_UP));
+        return new GameStatsSummary(games, stats[0], stats[1], stats[2], stats[3], stats[4], stats[5], stats[6],
+                minutes);
+    }
+
+    /**
+     * Returns the number of rows held, including rows replaced by corrections.
+     */
+    public long rows() {
+        awaitPending();
+        long rows = 0;
+        for (GameStatsSegment segment : segments) {
+            rows += segment.size();
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of live lines, one per player and game.
+     */
+    public int liveRows() {
+        writeLock.lock();
+        try {
+            appendPending();
+            return locator.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
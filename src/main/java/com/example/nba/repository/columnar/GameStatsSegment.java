@@ -0,0 +1,122 @@
+package com.example.nba.repository.columnar;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-capacity block of game lines stored column by column in primitive arrays.
+ * <p>
+ * Rows are appended by the store's single writer and published by the volatile {@link #size}, so scanners
+ * read every column of a row below {@code size} without locking. A full segment is sealed: it takes no
+ * more rows, and its zone map (the timestamp and season code range of its rows) lets scans skip it as a
+ * whole. Replaced rows are not removed but marked in a deletion bitmap.
+ */
+final class GameStatsSegment {
+    static final int COUNTING_STATS = 7;
+
+    final int capacity;
+
+    final int[] players;
+    final int[] teams;
+    final int[] seasons;
+    final int[] games;
+    final long[] epochSeconds;
+    final int[] nanos;
+    // One column per counting statistic, indexed by GameStatsFilter.Stat ordinal
+    final int[][] counts;
+    final short[] minutesInTenths;
+    private final AtomicLongArray deleted;
+
+    private volatile int size;
+
+    // Zone map, only read once the segment is sealed
+    private long minEpochSecond = Long.MAX_VALUE;
+    private long maxEpochSecond = Long.MIN_VALUE;
+    private int minSeason = Integer.MAX_VALUE;
+    private int maxSeason = Integer.MIN_VALUE;
+    private volatile boolean sealed;
+
+    GameStatsSegment(int capacity) {
+        this.capacity = capacity;
+        this.players = new int[capacity];
+        this.teams = new int[capacity];
+        this.seasons = new int[capacity];
+        this.games = new int[capacity];
+        this.epochSeconds = new long[capacity];
+        this.nanos = new int[capacity];
+        this.counts = new int[COUNTING_STATS][capacity];
+        this.minutesInTenths = new short[capacity];
+        this.deleted = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Appends a row from already encoded values and returns its position. Only called by the writer.
+     */
+    int append(int player, int team, int season, int game, long epochSecond, int nano,
+               int points, int rebounds, int assists, int steals, int blocks, int fouls, int turnovers,
+               short minutes) {
+        int row = size;
+        players[row] = player;
+        teams[row] = team;
+        seasons[row] = season;
+        games[row] = game;
+        epochSeconds[row] = epochSecond;
+        nanos[row] = nano;
+        counts[0][row] = points;
+        counts[1][row] = rebounds;
+        counts[2][row] = assists;
+        counts[3][row] = steals;
+        counts[4][row] = blocks;
+        counts[5][row] = fouls;
+        counts[6][row] = turnovers;
+        minutesInTenths[row] = minutes;
+
+        minEpochSecond = Math.min(minEpochSecond, epochSecond);
+        maxEpochSecond = Math.max(maxEpochSecond, epochSecond);
+        minSeason = Math.min(minSeason, season);
+        maxSeason = Math.max(maxSeason, season);
+        size = row + 1;
+        if (row + 1 == capacity) {
+            sealed = true;
+        }
+        return row;
+    }
+
+    /**
+     * Marks a row as replaced. Only called by the writer.
+     */
+    void delete(int row) {
+        int word = row >>> 6;
+        deleted.set(word, deleted.get(word) | (1L << row));
+    }
+
+    /**
+     * Writes the positions of the live rows matching the filter into {@code selection} and returns their
+     * number. {@code selection} must hold at least {@link #capacity} positions.
+     */
+    int select(ScanFilter filter, int[] selection) {
+        int rows = size;
+        if (sealed && !filter.mayMatch(minSeason, maxSeason, minEpochSecond, maxEpochSecond)) {
+            return 0;
+        }
+
+        int matched = 0;
+        for (int start = 0; start < rows; start += 64) {
+            long dead = deleted.get(start >>> 6);
+            int end = Math.min(start + 64, rows);
+            for (int row = start; row < end; row++) {
+                if ((dead & (1L << row)) == 0 && filter.matches(this, row)) {
+                    selection[matched++] = row;
+                }
+            }
+        }
+        return matched;
+    }
+}
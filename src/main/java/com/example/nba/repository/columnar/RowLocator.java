@@ -0,0 +1,79 @@
+package com.example.nba.repository.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a {@code long} row key to the {@code int} position of the row, without
+ * boxing or a node per entry. Not thread-safe; the owning store only touches it under its write lock.
+ */
+final class RowLocator {
+    static final int ABSENT = -1;
+
+    private long[] keys;
+    private int[] rows;
+    private int size;
+    private int shift;
+
+    RowLocator() {
+        allocate(1024);
+    }
+
+    int get(long key) {
+        int mask = rows.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int row = rows[slot];
+            if (row == ABSENT || keys[slot] == key) {
+                return row;
+            }
+        }
+    }
+
+    void put(long key, int row) {
+        int mask = rows.length - 1;
+        int slot = slot(key);
+        while (rows[slot] != ABSENT && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (rows[slot] == ABSENT) {
+            size++;
+        }
+        keys[slot] = key;
+        rows[slot] = row;
+        if (size * 2 > rows.length) {
+            grow();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldRows = rows;
+        allocate(oldRows.length * 2);
+        int mask = rows.length - 1;
+        for (int i = 0; i < oldRows.length; i++) {
+            if (oldRows[i] != ABSENT) {
+                int slot = slot(oldKeys[i]);
+                while (rows[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                rows[slot] = oldRows[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        rows = new int[capacity];
+        Arrays.fill(rows, ABSENT);
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    // Fibonacci hashing: the high bits of the product spread consecutive codes over the table
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
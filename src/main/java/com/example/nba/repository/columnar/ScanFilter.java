@@ -0,0 +1,123 @@
+package com.example.nba.repository.columnar;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.repository.key.IdentifierDictionary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * A {@link GameStatsFilter} translated to the encoding of the columns: identifiers as dictionary codes,
+ * timestamps as epoch seconds and nanos, and statistic ranges as inclusive {@code int} bounds with minutes
+ * in tenths. Absent criteria become bounds that every row satisfies.
+ */
+final class ScanFilter {
+    // Distinct from IdentifierDictionary.MISSING, which means no row can match
+    private static final int ANY = -2;
+
+    private final int player;
+    private final int team;
+    private final int season;
+    private final long fromSecond;
+    private final int fromNano;
+    private final long toSecond;
+    private final int toNano;
+    private final int[] minimums = new int[GameStatsSegment.COUNTING_STATS + 1];
+    private final int[] maximums = new int[GameStatsSegment.COUNTING_STATS + 1];
+    private final boolean ranged;
+
+    private ScanFilter(int player, int team, int season, LocalDateTime from, LocalDateTime to,
+                       Iterable<GameStatsFilter.StatRange> ranges) {
+        this.player = player;
+        this.team = team;
+        this.season = season;
+        this.fromSecond = from == null ? Long.MIN_VALUE : from.toEpochSecond(ZoneOffset.UTC);
+        this.fromNano = from == null ? 0 : from.getNano();
+        this.toSecond = to == null ? Long.MAX_VALUE : to.toEpochSecond(ZoneOffset.UTC);
+        this.toNano = to == null ? Integer.MAX_VALUE : to.getNano();
+
+        Arrays.fill(minimums, Integer.MIN_VALUE);
+        Arrays.fill(maximums, Integer.MAX_VALUE);
+        boolean anyRange = false;
+        for (GameStatsFilter.StatRange range : ranges) {
+            int stat = range.stat().ordinal();
+            BigDecimal scale = range.stat() == GameStatsFilter.Stat.MINUTES_PLAYED ? BigDecimal.TEN : BigDecimal.ONE;
+            if (range.min() != null) {
+                minimums[stat] = Math.max(minimums[stat], toInt(range.min().multiply(scale), RoundingMode.CEILING));
+            }
+            if (range.max() != null) {
+                maximums[stat] = Math.min(maximums[stat], toInt(range.max().multiply(scale), RoundingMode.FLOOR));
+            }
+            anyRange = true;
+        }
+        this.ranged = anyRange;
+    }
+
+    /**
+     * Encodes the filter against the store's dictionaries, or returns {@code null} if it names an identifier
+     * the store has never seen and so cannot match any row.
+     */
+    static ScanFilter encode(GameStatsFilter filter, IdentifierDictionary players, IdentifierDictionary teams,
+                             IdentifierDictionary seasons) {
+        int player = filter.playerId() == null ? ANY : players.lookup(filter.playerId());
+        int team = filter.teamId() == null ? ANY : teams.lookup(filter.teamId());
+        int season = filter.season() == null ? ANY : seasons.lookup(filter.season());
+        if (player == IdentifierDictionary.MISSING || team == IdentifierDictionary.MISSING
+                || season == IdentifierDictionary.MISSING) {
+            return null;
+        }
+        return new ScanFilter(player, team, season, filter.from(), filter.to(), filter.ranges());
+    }
+
+    /**
+     * Returns {@code false} if no row of a segment with the given zone map can match.
+     */
+    boolean mayMatch(int minSeason, int maxSeason, long minEpochSecond, long maxEpochSecond) {
+        if (season != ANY && (season < minSeason || season > maxSeason)) {
+            return false;
+        }
+        return maxEpochSecond >= fromSecond && minEpochSecond <= toSecond;
+    }
+
+    boolean matches(GameStatsSegment segment, int row) {
+        if ((player != ANY && segment.players[row] != player)
+                || (team != ANY && segment.teams[row] != team)
+                || (season != ANY && segment.seasons[row] != season)) {
+            return false;
+        }
+        long second = segment.epochSeconds[row];
+        if (second < fromSecond || (second == fromSecond && segment.nanos[row] < fromNano)) {
+            return false;
+        }
+        if (second > toSecond || (second == toSecond && segment.nanos[row] >= toNano)) {
+            return false;
+        }
+        return !ranged || inRanges(segment, row);
+    }
+
+    private boolean inRanges(GameStatsSegment segment, int row) {
+        for (int stat = 0; stat < GameStatsSegment.COUNTING_STATS; stat++) {
+            int value = segment.counts[stat][row];
+            if (value < minimums[stat] || value > maximums[stat]) {
+                return false;
+            }
+        }
+        int minutes = segment.minutesInTenths[row];
+        int stat = GameStatsSegment.COUNTING_STATS;
+        return minutes >= minimums[stat] && minutes <= maximums[stat];
+    }
+
+    private static int toInt(BigDecimal value, RoundingMode rounding) {
+        BigDecimal rounded = value.setScale(0, rounding);
+        if (rounded.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (rounded.compareTo(BigDecimal.valueOf(Integer.MIN_VALUE)) < 0) {
+            return Integer.MIN_VALUE;
+        }
+        return rounded.intValue();
+    }
+}
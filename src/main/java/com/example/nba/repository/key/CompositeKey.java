@@ -0,0 +1,52 @@
+package com.example.nba.repository.key;
+
+import java.util.Objects;
+
+/**
+ * Immutable two-part key for the in-memory repositories, such as {@code (playerId, season)},
+ * {@code (teamId, season)} or {@code (playerId, gameId)}.
+ * <p>
+ * Unlike a joined string key, building a {@code CompositeKey} does not copy its components, and its hash
+ * code is computed once at construction, so map lookups only hash and compare the two components.
+ * Each repository map holds a single kind of key, so the components are not tagged with their meaning.
+ */
+public final class CompositeKey {
+    private final String first;
+    private final String second;
+    private final int hash;
+
+    public CompositeKey(String first, String second) {
+        this.first = Objects.requireNonNull(first, "First key component cannot be null");
+        this.second = Objects.requireNonNull(second, "Second key component cannot be null");
+        this.hash = 31 * first.hashCode() + second.hashCode();
+    }
+
+    public String first() {
+        return first;
+    }
+
+    public String second() {
+        return second;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompositeKey other)) {
+            return false;
+        }
+        return hash == other.hash && first.equals(other.first) && second.equals(other.second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return first + ":" + second;
+    }
+}
@@ -9,7 +9,8 @@ import org.springframework.stereotype.Component;
  * <p>
  * This class provides a mechanism for generating unique keys by joining
  * components using a predefined separator. The generated keys are intended
- * for use in contexts like caching or as composite identifiers.
+ * for use in contexts like caching or as composite identifiers. Repository lookups use the
+ * allocation-light {@link CompositeKey} instead, which skips the string building and logging.
  */
 @Component
 public class DefaultKeyGenerator implements KeyGenerator {
@@ -22,4 +23,9 @@ public class DefaultKeyGenerator implements KeyGenerator {
         logger.debug("Generated key: {}", key);
         return key;
     }
-}
\ No newline at end of file
+
+    @Override
+    public CompositeKey compositeKey(String first, String second) {
+        return new CompositeKey(first, second);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.nba.repository.key;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps string identifiers, such as player, team or season IDs, to dense {@code int} codes and back.
+ * <p>
+ * Codes are assigned in first-seen order starting at zero and are never reused, so structures keyed by
+ * code can be plain arrays. Encoding a known identifier and decoding are lock-free; only the first
+ * encoding of a new identifier takes the dictionary's monitor.
+ */
+public final class IdentifierDictionary {
+    /**
+     * Returned by {@link #lookup(String)} for an identifier that has never been encoded.
+     */
+    public static final int MISSING = -1;
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    // Written under the monitor before the identifier's code is published through codes
+    private volatile String[] identifiers = new String[16];
+    private int size;
+
+    /**
+     * Returns the code of the identifier, assigning the next free code if it is new.
+     */
+    public int encode(String identifier) {
+        Integer code = codes.get(identifier);
+        return code != null ? code : add(identifier);
+    }
+
+    private synchronized int add(String identifier) {
+        Integer existing = codes.get(identifier);
+        if (existing != null) {
+            return existing;
+        }
+        int code = size;
+        if (code == identifiers.length) {
+            identifiers = Arrays.copyOf(identifiers, code * 2);
+        }
+        identifiers[code] = identifier;
+        size = code + 1;
+        codes.put(identifier, code);
+        return code;
+    }
+
+    /**
+     * Returns the dictionary's instance of the identifier, adding the identifier if it is new. Equal
+     * identifiers are always interned to the same instance.
+     */
+    public String intern(String identifier) {
+        return decode(encode(identifier));
+    }
+
+    /**
+     * Returns the code of the identifier without assigning one, or {@link #MISSING} if it is unknown.
+     */
+    public int lookup(String identifier) {
+        return identifier == null ? MISSING : codes.getOrDefault(identifier, MISSING);
+    }
+
+    /**
+     * Returns the identifier of a code returned by {@link #encode(String)}.
+     *
+     * @throws IndexOutOfBoundsException if the code has not been assigned
+     */
+    public String decode(int code) {
+        String identifier = code < 0 ? null : identifiers[code];
+        if (identifier == null) {
+            throw new IndexOutOfBoundsException("Unknown identifier code: " + code);
+        }
+        return identifier;
+    }
+
+    /**
+     * Returns the number of encoded identifiers.
+     */
+    public int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.nba.repository.key;
+
+import com.example.nba.model.PlayerGameStats;
+import org.springframework.stereotype.Component;
+
+/**
+ * Interns the player, team and season identifiers of stored game lines.
+ * <p>
+ * Identifiers deserialized from JSON arrive as a new {@code String} per line, and every stored line, season
+ * aggregate and key built from them would otherwise keep its own copy. The repositories pass each line
+ * through {@link #intern(PlayerGameStats)} before storing it, so all stored structures share one instance
+ * per identifier, and keys built from interned identifiers compare by reference.
+ * <p>
+ * The same {@link IdentifierDictionary}s assign each identifier a dense {@code int} code, which the
+ * structures that store primitive columns or rows use in place of the strings.
+ */
+@Component
+public class IdentifierInterner {
+    private final IdentifierDictionary players = new IdentifierDictionary();
+    private final IdentifierDictionary teams = new IdentifierDictionary();
+    private final IdentifierDictionary seasons = new IdentifierDictionary();
+
+    public IdentifierDictionary players() {
+        return players;
+    }
+
+    public IdentifierDictionary teams() {
+        return teams;
+    }
+
+    public IdentifierDictionary seasons() {
+        return seasons;
+    }
+
+    /**
+     * Returns the line with its player, team and season IDs replaced by their interned instances, or the
+     * line itself if it already uses them.
+     */
+    public PlayerGameStats intern(PlayerGameStats gameStats) {
+        String playerId = players.intern(gameStats.playerId());
+        String teamId = teams.intern(gameStats.teamId());
+        String season = seasons.intern(gameStats.season());
+        if (playerId == gameStats.playerId() && teamId == gameStats.teamId() && season == gameStats.season()) {
+            return gameStats;
+        }
+        return new PlayerGameStats(gameStats.id(), playerId, gameStats.gameId(), teamId, gameStats.timestamp(),
+                season, gameStats.points(), gameStats.rebounds(), gameStats.assists(), gameStats.steals(),
+                gameStats.blocks(), gameStats.fouls(), gameStats.turnovers(), gameStats.minutesPlayed());
+    }
+}
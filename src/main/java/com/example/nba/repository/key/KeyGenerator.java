@@ -20,5 +20,16 @@ public interface KeyGenerator {
      * @return a unique string key generated from the provided components
      */
     String generateKey(String... components);
-}
 
+    /**
+     * Generates a typed two-part key, such as {@code (playerId, season)}, for use as a map key.
+     * <p>
+     * Unlike {@link #generateKey(String...)}, this does not build an intermediate string, so it is
+     * intended for the lookups and writes performed on every request.
+     *
+     * @param first  the first key component; must not be null
+     * @param second the second key component; must not be null
+     * @return a key that is equal to any other key built from equal components
+     */
+    CompositeKey compositeKey(String first, String second);
+}
@@ -0,0 +1,56 @@
+package com.example.nba.repository.leaderboard;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.LeaderboardEntry;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-season player leaderboards for every {@link GameStatsFilter.Stat}, ranked by per-game average.
+ * <p>
+ * Each season and statistic is kept ordered in an order-statistics tree that is updated incrementally
+ * whenever a player's season statistics change, so the top k players are listed in O(log n + k) and a
+ * player's rank is found in O(log n), for n ranked players in the season.
+ * <p>
+ * Callers must publish the updates of a player and season in the order of the underlying changes; the
+ * season repository publishes them through {@code PlayerSeasonAccumulator.publish}, one thread at a time.
+ */
+public final class PlayerLeaderboards {
+    private static final int STATS = GameStatsFilter.Stat.values().length;
+
+    private final ConcurrentHashMap<String, SeasonLeaderboard> seasons = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the player's per-game values in the season, indexed by {@link GameStatsFilter.Stat#ordinal()}, or
+     * removes the player from the season's leaderboards if {@code perGame} is {@code null}. The values are
+     * copied, so the caller may reuse the array.
+     */
+    public void update(String playerId, String season, double[] perGame) {
+        if (perGame == null) {
+            SeasonLeaderboard leaderboard = seasons.get(season);
+            if (leaderboard != null) {
+                leaderboard.update(playerId, null);
+            }
+            return;
+        }
+        seasons.computeIfAbsent(season, s -> new SeasonLeaderboard(STATS)).update(playerId, perGame);
+    }
+
+    /**
+     * Returns the first {@code limit} entries of the season's leaderboard for the statistic.
+     */
+    public List<LeaderboardEntry> leaders(String season, GameStatsFilter.Stat stat, int limit) {
+        SeasonLeaderboard leaderboard = seasons.get(season);
+        return leaderboard == null ? List.of() : leaderboard.page(stat.ordinal(), 0, limit, LeaderboardEntry::new);
+    }
+
+    /**
+     * Returns the player's entry on the season's leaderboard for the statistic, or {@code null} if the
+     * player has no statistics in the season.
+     */
+    public LeaderboardEntry rank(String playerId, String season, GameStatsFilter.Stat stat) {
+        SeasonLeaderboard leaderboard = seasons.get(season);
+        return leaderboard == null ? null : leaderboard.rank(playerId, stat.ordinal(), LeaderboardEntry::new);
+    }
+}
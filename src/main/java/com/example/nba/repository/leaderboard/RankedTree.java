@@ -0,0 +1,187 @@
+package com.example.nba.repository.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Order-statistics tree of {@code (value, id)} entries, ordered by descending value and then ascending ID.
+ * <p>
+ * A treap whose nodes carry the size of their subtree: inserting or removing an entry and counting the
+ * entries before a key take expected O(log n) time, and k consecutive entries from any position are visited
+ * in O(log n + k).
+ * Not thread-safe.
+ */
+final class RankedTree {
+    private Node root;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(double value, String id) {
+        root = insert(root, new Node(value, id, nextPriority()));
+    }
+
+    void remove(double value, String id) {
+        root = remove(root, value, id);
+    }
+
+    /**
+     * Returns the number of entries ordered before {@code (value, id)}. With the smallest ID, {@code ""},
+     * this is the number of entries with a greater value.
+     */
+    int countBefore(double value, String id) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(value, id, node) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes at most {@code limit} entries in order to the visitor, starting with the entry at position
+     * {@code offset}, which is found in O(log n) by the subtree sizes.
+     */
+    void visit(int offset, int limit, EntryVisitor visitor) {
+        // The start entry and its ancestors that come after it, nearest on top
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int skip = offset;
+        while (node != null) {
+            int before = size(node.left);
+            if (skip < before) {
+                path.push(node);
+                node = node.left;
+            } else if (skip == before) {
+                path.push(node);
+                break;
+            } else {
+                skip -= before + 1;
+                node = node.right;
+            }
+        }
+        for (int visited = 0; visited < limit && !path.isEmpty(); visited++) {
+            node = path.pop();
+            visitor.visit(node.value, node.id);
+            for (node = node.right; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(double value, String id);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted.value, inserted.id);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            return inserted.update();
+        }
+        if (compare(inserted.value, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return node.update();
+    }
+
+    private static Node remove(Node node, double value, String id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(value, id, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, value, id);
+        } else {
+            node.right = remove(node.right, value, id);
+        }
+        return node.update();
+    }
+
+    // Splits into the entries before (value, id) and the others
+    private static Node[] split(Node node, double value, String id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(value, id, node) <= 0) {
+            Node[] parts = split(node.left, value, id);
+            node.left = parts[1];
+            parts[1] = node.update();
+            return parts;
+        }
+        Node[] parts = split(node.right, value, id);
+        node.right = parts[0];
+        parts[0] = node.update();
+        return parts;
+    }
+
+    // Every entry of before is ordered before every entry of after
+    private static Node merge(Node before, Node after) {
+        if (before == null) {
+            return after;
+        }
+        if (after == null) {
+            return before;
+        }
+        if (before.priority > after.priority) {
+            before.right = merge(before.right, after);
+            return before.update();
+        }
+        after.left = merge(before, after.left);
+        return after.update();
+    }
+
+    private static int compare(double value, String id, Node node) {
+        int comparison = Double.compare(node.value, value);
+        return comparison != 0 ? comparison : id.compareTo(node.id);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // xorshift64
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) seed;
+    }
+
+    private static final class Node {
+        final double value;
+        final String id;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(double value, String id, int priority) {
+            this.value = value;
+            this.id = id;
+            this.priority = priority;
+        }
+
+        Node update() {
+            size = 1 + size(left) + size(right);
+            return this;
+        }
+    }
+}
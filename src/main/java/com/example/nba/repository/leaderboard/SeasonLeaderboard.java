@@ -0,0 +1,96 @@
+package com.example.nba.repository.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rankings of one season: a {@link RankedTree} of values for every ranked statistic, and each ranked
+ * ID's current values to find its entries again. Ranks follow standard competition ranking. Synchronized on
+ * itself.
+ */
+final class SeasonLeaderboard {
+    private final RankedTree[] trees;
+    private final Map<String, double[]> values = new HashMap<>();
+
+    SeasonLeaderboard(int statistics) {
+        trees = new RankedTree[statistics];
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = new RankedTree();
+        }
+    }
+
+    /**
+     * Replaces the values of an ID, indexed by statistic, or removes the ID if {@code updated} is {@code null}.
+     * The values are copied, so the caller may reuse the array; an ID already ranked keeps its array.
+     */
+    synchronized void update(String id, double[] updated) {
+        if (updated == null) {
+            double[] removed = values.remove(id);
+            if (removed != null) {
+                for (int stat = 0; stat < trees.length; stat++) {
+                    trees[stat].remove(removed[stat], id);
+                }
+            }
+            return;
+        }
+        double[] ranked = values.get(id);
+        if (ranked == null) {
+            values.put(id, updated.clone());
+            for (int stat = 0; stat < trees.length; stat++) {
+                trees[stat].insert(updated[stat], id);
+            }
+            return;
+        }
+        for (int stat = 0; stat < trees.length; stat++) {
+            if (Double.compare(ranked[stat], updated[stat]) != 0) {
+                trees[stat].remove(ranked[stat], id);
+                ranked[stat] = updated[stat];
+                trees[stat].insert(ranked[stat], id);
+            }
+        }
+    }
+
+    /**
+     * Returns at most {@code limit} ranked entries of the statistic, starting at position {@code offset}.
+     */
+    synchronized <E> List<E> page(int stat, int offset, int limit, EntryFactory<E> factory) {
+        List<E> page = new ArrayList<>(Math.max(0, Math.min(limit, values.size() - offset)));
+        RankedTree tree = trees[stat];
+        int[] position = {offset};
+        double[] previousValue = {Double.NaN};
+        int[] previousRank = {0};
+        tree.visit(offset, limit, (value, id) -> {
+            int rank;
+            if (Double.compare(previousValue[0], value) == 0) {
+                rank = previousRank[0];
+            } else {
+                // A page may start inside a group of ties, whose rank is set by the entries before it
+                rank = page.isEmpty() ? tree.countBefore(value, "") + 1 : position[0] + 1;
+            }
+            page.add(factory.create(rank, id, value));
+            position[0]++;
+            previousValue[0] = value;
+            previousRank[0] = rank;
+        });
+        return page;
+    }
+
+    /**
+     * Returns the ID's ranked entry for the statistic, or {@code null} if the ID is not ranked.
+     */
+    synchronized <E> E rank(String id, int stat, EntryFactory<E> factory) {
+        double[] ranked = values.get(id);
+        if (ranked == null) {
+            return null;
+        }
+        double value = ranked[stat];
+        return factory.create(trees[stat].countBefore(value, "") + 1, id, value);
+    }
+
+    @FunctionalInterface
+    interface EntryFactory<E> {
+        E create(int rank, String id, double value);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.nba.repository.leaderboard;
+
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-season team standings for every {@link TeamSeasonStats.Metric}.
+ * <p>
+ * Like {@link PlayerLeaderboards}, each season and metric is kept ordered in an order-statistics tree that is
+ * updated with every new value of a team's season statistics. A page of k teams starting at any position is
+ * listed in O(log n + k) and a team's rank is found in O(log n), for n ranked teams in the season.
+ * <p>
+ * Callers must publish the values of a team and season in the order of the underlying changes.
+ */
+public final class TeamStandings {
+    private static final TeamSeasonStats.Metric[] METRICS = TeamSeasonStats.Metric.values();
+
+    private final ConcurrentHashMap<String, SeasonLeaderboard> seasons = new ConcurrentHashMap<>();
+
+    /**
+     * Ranks the team by its new season statistics, or removes it from the season's standings if no game
+     * contributes to them anymore.
+     */
+    public void update(TeamSeasonStats stats) {
+        String teamId = stats.team().id();
+        if (stats.totalGamesPlayed() == 0) {
+            SeasonLeaderboard standings = seasons.get(stats.season());
+            if (standings != null) {
+                standings.update(teamId, null);
+            }
+            return;
+        }
+        double[] averages = new double[METRICS.length];
+        for (TeamSeasonStats.Metric metric : METRICS) {
+            averages[metric.ordinal()] = metric.of(stats);
+        }
+        seasons.computeIfAbsent(stats.season(), s -> new SeasonLeaderboard(METRICS.length)).update(teamId, averages);
+    }
+
+    /**
+     * Returns at most {@code limit} standings of the season by the metric, starting at position
+     * {@code offset}.
+     */
+    public List<TeamStanding> standings(String season, TeamSeasonStats.Metric metric, int offset, int limit) {
+        SeasonLeaderboard standings = seasons.get(season);
+        return standings == null ? List.of() : standings.page(metric.ordinal(), offset, limit, TeamStanding::new);
+    }
+
+    /**
+     * Returns the team's standing in the season by the metric, or {@code null} if the team has no statistics
+     * in the season.
+     */
+    public TeamStanding rank(String teamId, String season, TeamSeasonStats.Metric metric) {
+        SeasonLeaderboard standings = seasons.get(season);
+        return standings == null ? null : standings.rank(teamId, metric.ordinal(), TeamStanding::new);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.nba.repository.offheap;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.key.IdentifierDictionary;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Fixed-width game rows in direct {@link ByteBuffer}s, outside the Java heap.
+ * <p>
+ * A row holds the dictionary codes of the player, game, team and season, the timestamp as epoch seconds
+ * and nanos, the counting statistics, minutes played as unscaled value and scale, and the location of the
+ * statistics ID. Rows live in chunks of {@value #ROWS_PER_CHUNK} rows; statistics IDs, the only field of
+ * variable length, are appended as UTF-8 to separate {@value #ID_CHUNK_BYTES}-byte chunks. Nothing about a
+ * stored row is left on the heap, so the garbage collector never traces or copies it.
+ * <p>
+ * A row can be overwritten in place. Replacing a statistics ID appends the new ID and abandons the old
+ * bytes, which is acceptable because corrections almost never change the ID.
+ * <p>
+ * Not thread-safe; the repository guards it with a read-write lock.
+ */
+final class OffHeapGameRows {
+    static final int ROW_BYTES = 80;
+    static final int ROWS_PER_CHUNK = 1 << 16;
+    static final int ID_CHUNK_BYTES = 1 << 20;
+
+    private static final int PLAYER = 0;
+    private static final int GAME = 4;
+    private static final int TEAM = 8;
+    private static final int SEASON = 12;
+    private static final int EPOCH_SECOND = 16;
+    private static final int NANO = 24;
+    private static final int POINTS = 28;
+    private static final int REBOUNDS = 32;
+    private static final int ASSISTS = 36;
+    private static final int STEALS = 40;
+    private static final int BLOCKS = 44;
+    private static final int FOULS = 48;
+    private static final int TURNOVERS = 52;
+    private static final int MINUTES_UNSCALED = 56;
+    private static final int MINUTES_SCALE = 64;
+    private static final int ID_LENGTH = 68;
+    private static final int ID_CHUNK = 72;
+    private static final int ID_POSITION = 76;
+
+    private final IdentifierDictionary players;
+    private final IdentifierDictionary games;
+    private final IdentifierDictionary teams;
+    private final IdentifierDictionary seasons;
+
+    private ByteBuffer[] rowChunks = new ByteBuffer[0];
+    private int size;
+    private ByteBuffer[] idChunks = new ByteBuffer[0];
+    private int idPosition = ID_CHUNK_BYTES;
+
+    OffHeapGameRows(IdentifierDictionary players, IdentifierDictionary games, IdentifierDictionary teams,
+                    IdentifierDictionary seasons) {
+        this.players = players;
+        this.games = games;
+        this.teams = teams;
+        this.seasons = seasons;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Appends a row and returns its number.
+     */
+    int append(PlayerGameStats gameStats, int player, int game, byte[] id) {
+        int row = size;
+        if (row / ROWS_PER_CHUNK == rowChunks.length) {
+            rowChunks = Arrays.copyOf(rowChunks, rowChunks.length + 1);
+            rowChunks[rowChunks.length - 1] = ByteBuffer.allocateDirect(ROWS_PER_CHUNK * ROW_BYTES);
+        }
+        write(row, gameStats, player, game);
+        writeId(row, id);
+        size = row + 1;
+        return row;
+    }
+
+    /**
+     * Overwrites a row with a corrected line of the same player and game. {@code id} is the new statistics
+     * ID, or {@code null} if it is unchanged.
+     */
+    void overwrite(int row, PlayerGameStats gameStats, int player, int game, byte[] id) {
+        write(row, gameStats, player, game);
+        if (id != null) {
+            writeId(row, id);
+        }
+    }
+
+    private void write(int row, PlayerGameStats gameStats, int player, int game) {
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row);
+        BigDecimal minutes = gameStats.minutesPlayed();
+        chunk.putInt(offset + PLAYER, player);
+        chunk.putInt(offset + GAME, game);
+        chunk.putInt(offset + TEAM, teams.encode(gameStats.teamId()));
+        chunk.putInt(offset + SEASON, seasons.encode(gameStats.season()));
+        chunk.putLong(offset + EPOCH_SECOND, gameStats.timestamp().toEpochSecond(ZoneOffset.UTC));
+        chunk.putInt(offset + NANO, gameStats.timestamp().getNano());
+        chunk.putInt(offset + POINTS, gameStats.points());
+        chunk.putInt(offset + REBOUNDS, gameStats.rebounds());
+        chunk.putInt(offset + ASSISTS, gameStats.assists());
+        chunk.putInt(offset + STEALS, gameStats.steals());
+        chunk.putInt(offset + BLOCKS, gameStats.blocks());
+        chunk.putInt(offset + FOULS, gameStats.fouls());
+        chunk.putInt(offset + TURNOVERS, gameStats.turnovers());
+        chunk.putLong(offset + MINUTES_UNSCALED, minutes.unscaledValue().longValueExact());
+        chunk.putInt(offset + MINUTES_SCALE, minutes.scale());
+    }
+
+    private void writeId(int row, byte[] id) {
+        if (id.length > ID_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Statistics ID is longer than " + ID_CHUNK_BYTES + " bytes");
+        }
+        if (idPosition + id.length > ID_CHUNK_BYTES) {
+            idChunks = Arrays.copyOf(idChunks, idChunks.length + 1);
+            idChunks[idChunks.length - 1] = ByteBuffer.allocateDirect(ID_CHUNK_BYTES);
+            idPosition = 0;
+        }
+        idChunks[idChunks.length - 1].put(idPosition, id);
+
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row);
+        chunk.putInt(offset + ID_LENGTH, id.length);
+        chunk.putInt(offset + ID_CHUNK, idChunks.length - 1);
+        chunk.putInt(offset + ID_POSITION, idPosition);
+        idPosition += id.length;
+    }
+
+    /**
+     * Decodes a row into a new {@link PlayerGameStats}. Identifiers other than the statistics ID are the
+     * dictionary's instances, shared by every decoded row.
+     */
+    PlayerGameStats read(int row) {
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row);
+        return new PlayerGameStats(
+                new String(id(chunk, offset), StandardCharsets.UTF_8),
+                players.decode(chunk.getInt(offset + PLAYER)),
+                games.decode(chunk.getInt(offset + GAME)),
+                teams.decode(chunk.getInt(offset + TEAM)),
+                LocalDateTime.ofEpochSecond(chunk.getLong(offset + EPOCH_SECOND), chunk.getInt(offset + NANO),
+                        ZoneOffset.UTC),
+                seasons.decode(chunk.getInt(offset + SEASON)),
+                chunk.getInt(offset + POINTS),
+                chunk.getInt(offset + REBOUNDS),
+                chunk.getInt(offset + ASSISTS),
+                chunk.getInt(offset + STEALS),
+                chunk.getInt(offset + BLOCKS),
+                chunk.getInt(offset + FOULS),
+                chunk.getInt(offset + TURNOVERS),
+                BigDecimal.valueOf(chunk.getLong(offset + MINUTES_UNSCALED), chunk.getInt(offset + MINUTES_SCALE))
+        );
+    }
+
+    /**
+     * Returns {@code true} if the row's statistics ID has exactly the given UTF-8 bytes.
+     */
+    boolean hasId(int row, byte[] id) {
+        ByteBuffer chunk = chunk(row);
+        int offset = offset(row);
+        if (chunk.getInt(offset + ID_LENGTH) != id.length) {
+            return false;
+        }
+        ByteBuffer ids = idChunks[chunk.getInt(offset + ID_CHUNK)];
+        int position = chunk.getInt(offset + ID_POSITION);
+        for (int i = 0; i < id.length; i++) {
+            if (ids.get(position + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int game(int row) {
+        return chunk(row).getInt(offset(row) + GAME);
+    }
+
+    long epochSecond(int row) {
+        return chunk(row).getLong(offset(row) + EPOCH_SECOND);
+    }
+
+    int nano(int row) {
+        return chunk(row).getInt(offset(row) + NANO);
+    }
+
+    private byte[] id(ByteBuffer chunk, int offset) {
+        byte[] id = new byte[chunk.getInt(offset + ID_LENGTH)];
+        idChunks[chunk.getInt(offset + ID_CHUNK)].get(chunk.getInt(offset + ID_POSITION), id);
+        return id;
+    }
+
+    private ByteBuffer chunk(int row) {
+        return rowChunks[row / ROWS_PER_CHUNK];
+    }
+
+    private static int offset(int row) {
+        return (row % ROWS_PER_CHUNK) * ROW_BYTES;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.nba.repository.offheap;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.GameStatsWriteListener;
+import com.example.nba.repository.PlayerStatisticsRepository;
+import com.example.nba.repository.columnar.ColumnarGameStatsStore;
+import com.example.nba.repository.key.IdentifierDictionary;
+import com.example.nba.repository.key.IdentifierInterner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Player game statistics repository that keeps the game rows off the Java heap.
+ * <p>
+ * Selected with {@code nba.storage.game-rows=off-heap}. Rows are encoded at a fixed width into direct
+ * buffers by {@link OffHeapGameRows}, with the player, team and season codes of the shared
+ * {@link IdentifierInterner}; the heap only holds the identifier dictionaries and primitive indexes
+ * over row numbers: the primary index on {@code (player, game)}, the statistics ID index and each player's
+ * game log. A stored game therefore adds no objects for the garbage collector to trace, and lines are only
+ * materialized as {@link PlayerGameStats} while they are being returned.
+ * <p>
+ * Behaves like {@link com.example.nba.repository.InMemoryPlayerStatisticsRepository}: saves are idempotent
+ * on {@code (playerId, gameId)}, statistics IDs are unique, game logs are ordered by timestamp and every
+ * stored line is mirrored into a {@link ColumnarGameStatsStore} for aggregate scans.
+ * <p>
+ * Writers take an exclusive lock and readers a shared one, since a row may be overwritten in place by a
+ * correction. Off-heap memory is bounded by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum
+ * heap size.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "nba.storage", name = "game-rows", havingValue = "off-heap")
+public class OffHeapPlayerStatisticsRepository implements PlayerStatisticsRepository {
+    private final IdentifierInterner interner;
+    private final IdentifierDictionary players;
+    private final IdentifierDictionary games = new IdentifierDictionary();
+    private final OffHeapGameRows rows;
+    // (player code, game code) -> row
+    private final RowIndex primaryIndex = new RowIndex();
+    // statistics ID hash -> rows, resolved by comparing the stored ID
+    private final RowIndex idIndex = new RowIndex();
+    // Indexed by player code
+    private PlayerGameLog[] gameLogs = new PlayerGameLog[0];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ColumnarGameStatsStore columnarStore;
+
+    public OffHeapPlayerStatisticsRepository(IdentifierInterner interner) {
+        this.interner = interner;
+        this.players = interner.players();
+        this.rows = new OffHeapGameRows(players, games, interner.teams(), interner.seasons());
+        this.columnarStore = new ColumnarGameStatsStore(interner);
+    }
+
+    @Override
+    public Flux<PlayerGameStats> findByPlayerId(String playerId, LocalDateTime from, LocalDateTime to) {
+        return Flux.defer(() -> {
+            lock.readLock().lock();
+            try {
+                int player = players.lookup(playerId);
+                PlayerGameLog gameLog = player == IdentifierDictionary.MISSING || player >= gameLogs.length
+                        ? null
+                        : gameLogs[player];
+                if (gameLog == null) {
+                    return Flux.empty();
+                }
+                int[] range = gameLog.range(from, to);
+                List<PlayerGameStats> games = new ArrayList<>(range.length);
+                for (int row : range) {
+                    games.add(rows.read(row));
+                }
+                return Flux.fromIterable(games);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public Flux<PlayerGameStats> findAll() {
+        return Flux.defer(() -> Flux.range(0, size()).map(this::read));
+    }
+
+    @Override
+    public Mono<GameStatsSummary> summarize(GameStatsFilter filter) {
+        return Mono.fromSupplier(() -> columnarStore.summarize(filter));
+    }
+
+    @Override
+    public Mono<GameStatsWrite> save(PlayerGameStats playerGameStats, GameStatsWriteListener listener) {
+        return Mono.justOrEmpty(playerGameStats)
+                .map(interner::intern)
+                .map(stats -> {
+                    GameStatsWrite write;
+                    lock.writeLock().lock();
+                    try {
+                        write = write(stats);
+                        listener.onWrite(write);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    columnarStore.drain();
+                    return write;
+                });
+    }
+
+    private GameStatsWrite write(PlayerGameStats stats) {
+        int player = players.encode(stats.playerId());
+        int game = games.encode(stats.gameId());
+        long key = ((long) player << 32) | (game & 0xFFFFFFFFL);
+        byte[] id = stats.id().getBytes(StandardCharsets.UTF_8);
+        int row = primaryIndex.find(key, candidate -> true);
+
+        if (row == RowIndex.ABSENT) {
+            int owner = findById(stats.id(), id);
+            if (owner != RowIndex.ABSENT) {
+                return GameStatsWrite.duplicateId(rows.read(owner), stats);
+            }
+            row = rows.append(stats, player, game, id);
+            primaryIndex.put(key, row);
+            idIndex.put(stats.id().hashCode(), row);
+            gameLog(player).insert(row);
+            columnarStore.enqueue(stats);
+            return GameStatsWrite.inserted(stats);
+        }
+
+        PlayerGameStats previous = rows.read(row);
+        if (stats.equals(previous)) {
+            return GameStatsWrite.unchanged(previous);
+        }
+        boolean idChanged = !previous.id().equals(stats.id());
+        if (idChanged) {
+            int owner = findById(stats.id(), id);
+            if (owner != RowIndex.ABSENT) {
+                return GameStatsWrite.duplicateId(rows.read(owner), stats);
+            }
+            idIndex.remove(previous.id().hashCode(), row);
+        }
+        boolean moved = !previous.timestamp().equals(stats.timestamp());
+        if (moved) {
+            gameLog(player).remove(row);
+        }
+        rows.overwrite(row, stats, player, game, idChanged ? id : null);
+        if (idChanged) {
+            idIndex.put(stats.id().hashCode(), row);
+        }
+        if (moved) {
+            gameLog(player).insert(row);
+        }
+        columnarStore.enqueue(stats);
+        return GameStatsWrite.corrected(previous, stats);
+    }
+
+    private int findById(String statsId, byte[] id) {
+        return idIndex.find(statsId.hashCode(), candidate -> rows.hasId(candidate, id));
+    }
+
+    private PlayerGameLog gameLog(int player) {
+        if (player >= gameLogs.length) {
+            gameLogs = Arrays.copyOf(gameLogs, Math.max(player + 1, gameLogs.length * 2));
+        }
+        PlayerGameLog gameLog = gameLogs[player];
+        if (gameLog == null) {
+            gameLog = new PlayerGameLog(rows, games);
+            gameLogs[player] = gameLog;
+        }
+        return gameLog;
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PlayerGameStats read(int row) {
+        lock.readLock().lock();
+        try {
+            return rows.read(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
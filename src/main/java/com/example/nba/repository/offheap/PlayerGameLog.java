@@ -0,0 +1,87 @@
+package com.example.nba.repository.offheap;
+
+import com.example.nba.repository.key.IdentifierDictionary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * The row numbers of one player's games, kept sorted by timestamp and then game ID in a plain {@code int}
+ * array. Games mostly arrive in time order, so an insert is usually an append. Not thread-safe.
+ */
+final class PlayerGameLog {
+    private final OffHeapGameRows rows;
+    private final IdentifierDictionary games;
+    private int[] entries = new int[8];
+    private int size;
+
+    PlayerGameLog(OffHeapGameRows rows, IdentifierDictionary games) {
+        this.rows = rows;
+        this.games = games;
+    }
+
+    void insert(int row) {
+        int position = size;
+        while (position > 0 && compare(entries[position - 1], row) > 0) {
+            position--;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        System.arraycopy(entries, position, entries, position + 1, size - position);
+        entries[position] = row;
+        size++;
+    }
+
+    void remove(int row) {
+        for (int i = 0; i < size; i++) {
+            if (entries[i] == row) {
+                System.arraycopy(entries, i + 1, entries, i, size - i - 1);
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the rows with a timestamp in {@code [from, to)} in log order; a null bound is open.
+     */
+    int[] range(LocalDateTime from, LocalDateTime to) {
+        int start = from == null ? 0 : firstAtOrAfter(from);
+        int end = to == null ? size : firstAtOrAfter(to);
+        return start >= end ? new int[0] : Arrays.copyOfRange(entries, start, end);
+    }
+
+    private int firstAtOrAfter(LocalDateTime timestamp) {
+        long second = timestamp.toEpochSecond(ZoneOffset.UTC);
+        int nano = timestamp.getNano();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int row = entries[middle];
+            int order = Long.compare(rows.epochSecond(row), second);
+            if (order == 0) {
+                order = Integer.compare(rows.nano(row), nano);
+            }
+            if (order < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int left, int right) {
+        int order = Long.compare(rows.epochSecond(left), rows.epochSecond(right));
+        if (order == 0) {
+            order = Integer.compare(rows.nano(left), rows.nano(right));
+        }
+        if (order == 0) {
+            order = games.decode(rows.game(left)).compareTo(games.decode(rows.game(right)));
+        }
+        return order;
+    }
+}
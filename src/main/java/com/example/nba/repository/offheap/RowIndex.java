@@ -0,0 +1,99 @@
+package com.example.nba.repository.offheap;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Open-addressing hash index from a {@code long} hash to row numbers, without boxing or a node per entry.
+ * <p>
+ * Several rows may share a hash: lookups take a predicate that checks a candidate row against the searched
+ * key, so the index itself stores nothing but the hash and the row. When the hash is the key itself, as
+ * for {@code (player code, game code)}, the predicate can accept every candidate. Not thread-safe.
+ */
+final class RowIndex {
+    static final int ABSENT = -1;
+
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+
+    private long[] hashes;
+    // Row number + 1, so that the zeroed array is empty
+    private int[] slots;
+    private int size;
+    private int used;
+    private int shift;
+
+    RowIndex() {
+        allocate(1024);
+    }
+
+    /**
+     * Returns the first row with the given hash accepted by {@code matches}, or {@link #ABSENT}.
+     */
+    int find(long hash, IntPredicate matches) {
+        int mask = slots.length - 1;
+        for (int slot = slot(hash); slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (slots[slot] != REMOVED && hashes[slot] == hash && matches.test(row)) {
+                return row;
+            }
+        }
+        return ABSENT;
+    }
+
+    void put(long hash, int row) {
+        if ((used + 1) * 2 > slots.length) {
+            rehash(size * 4 > slots.length ? slots.length * 2 : slots.length);
+        }
+        int mask = slots.length - 1;
+        int slot = slot(hash);
+        while (slots[slot] != EMPTY && slots[slot] != REMOVED) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot] == EMPTY) {
+            used++;
+        }
+        hashes[slot] = hash;
+        slots[slot] = row + 1;
+        size++;
+    }
+
+    boolean remove(long hash, int row) {
+        int mask = slots.length - 1;
+        for (int slot = slot(hash); slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (slots[slot] == row + 1 && hashes[slot] == hash) {
+                slots[slot] = REMOVED;
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = hashes;
+        int[] oldSlots = slots;
+        allocate(capacity);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY && oldSlots[i] != REMOVED) {
+                put(oldHashes[i], oldSlots[i] - 1);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        slots = new int[capacity];
+        size = 0;
+        used = 0;
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    // Fibonacci hashing: the high bits of the product spread both dense codes and string hashes
+    private int slot(long hash) {
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
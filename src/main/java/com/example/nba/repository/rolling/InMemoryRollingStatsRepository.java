@@ -0,0 +1,107 @@
+package com.example.nba.repository.rolling;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.RollingStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.RollingStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of {@link RollingStatsRepository} with a {@link PlayerGameRing} per player.
+ * <p>
+ * The windows are configured with {@code nba.rolling.games} (the last 5 and 10 games by default) and
+ * {@code nba.rolling.days} (the last 30 days), and each player's ring keeps the last
+ * {@code nba.rolling.capacity} games (32 by default), which must cover the longest window.
+ */
+@Repository
+public class InMemoryRollingStatsRepository implements RollingStatsRepository {
+    private final ConcurrentHashMap<String, PlayerGameRing> rings = new ConcurrentHashMap<>();
+    private final RollingWindow[] windows;
+    private final int capacity;
+
+    @Autowired
+    public InMemoryRollingStatsRepository(@Value("${nba.rolling.games:5,10}") int[] games,
+                                          @Value("${nba.rolling.days:30}") int[] days,
+                                          @Value("${nba.rolling.capacity:32}") int capacity) {
+        this(windows(games, days), capacity);
+    }
+
+    public InMemoryRollingStatsRepository(List<RollingWindow> windows, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        for (RollingWindow window : windows) {
+            if (window.games() > capacity) {
+                throw new IllegalArgumentException("Window " + window.name() + " exceeds the capacity of " + capacity);
+            }
+        }
+        this.windows = windows.toArray(RollingWindow[]::new);
+        this.capacity = capacity;
+    }
+
+    private static List<RollingWindow> windows(int[] games, int[] days) {
+        List<RollingWindow> windows = new ArrayList<>(games.length + days.length);
+        for (int count : games) {
+            windows.add(RollingWindow.lastGames(count));
+        }
+        for (int count : days) {
+            windows.add(RollingWindow.lastDays(count));
+        }
+        return windows;
+    }
+
+    @Override
+    public Mono<Void> apply(GameStatsWrite write) {
+        return Mono.fromRunnable(() -> applyWrite(write));
+    }
+
+    @Override
+    public Mono<Void> applyAll(Collection<GameStatsWrite> writes) {
+        return Mono.fromRunnable(() -> writes.forEach(this::applyWrite));
+    }
+
+    private void applyWrite(GameStatsWrite write) {
+        switch (write.outcome()) {
+            case INSERTED -> ringOf(write.current()).add(write.current());
+            case CORRECTED -> {
+                PlayerGameRing ring = ringOf(write.current());
+                // Held across both steps so that readers never see the game missing
+                synchronized (ring) {
+                    ring.remove(write.previous());
+                    ring.add(write.current());
+                }
+            }
+            case UNCHANGED, DUPLICATE_ID -> {
+            }
+        }
+    }
+
+    @Override
+    public Flux<RollingStats> findByPlayerId(String playerId) {
+        return Flux.defer(() -> {
+            PlayerGameRing ring = rings.get(playerId);
+            return ring == null ? Flux.empty() : Flux.fromIterable(ring.snapshot());
+        });
+    }
+
+    @Override
+    public Mono<RollingStats> findByPlayerIdAndWindow(String playerId, String window) {
+        return Mono.fromSupplier(() -> {
+            PlayerGameRing ring = rings.get(playerId);
+            return ring == null ? null : ring.snapshot(window);
+        });
+    }
+
+    private PlayerGameRing ringOf(PlayerGameStats gameStats) {
+        return rings.computeIfAbsent(gameStats.playerId(), playerId -> new PlayerGameRing(playerId, windows, capacity));
+    }
+}
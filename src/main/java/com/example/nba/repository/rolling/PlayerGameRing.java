@@ -0,0 +1,301 @@
+package com.example.nba.repository.rolling;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.RollingStats;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The most recent games of one player in a ring buffer of primitive stat vectors, with running sums for
+ * every {@link RollingWindow}.
+ * <p>
+ * The ring keeps at most {@code capacity} games ordered by timestamp and game ID; a new game evicts the oldest one when
+ * it is full. Every window covers a suffix of the ring, so each keeps the sums and the number of its
+ * games: appending the player's newest game adds its vector to every window and subtracts the vectors that
+ * leave the window, in amortized O(1) per window. Lines arriving out of timestamp order and corrections
+ * shift the ring and recompute the sums, in O(capacity); a line older than every game of a full ring is
+ * ignored.
+ * <p>
+ * Windows of days end at the player's latest game. A window of days only covers games still in the ring,
+ * so the capacity must exceed the number of games a player can play in the longest window.
+ * <p>
+ * The ring holds at most one line per game. A correction may overtake the insert of the line it replaces;
+ * the removal of a line that is not in the ring is then remembered, and the overtaken line is dropped when
+ * it arrives. At most {@code capacity} such removals are remembered.
+ * <p>
+ * Synchronized on itself.
+ */
+final class PlayerGameRing {
+    // points, rebounds, assists, steals, blocks, fouls, turnovers, minutes in tenths
+    static final int STATS = 8;
+
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private final String playerId;
+    private final RollingWindow[] windows;
+    private final int capacity;
+
+    private final long[] times;
+    private final String[] gameIds;
+    private final long[] values;
+    private int head;
+    private int size;
+
+    // Per window: the number of games of the ring's suffix in the window and their sums
+    private final int[] counts;
+    private final long[][] sums;
+
+    // Lines removed before they were added, oldest first
+    private final Set<PlayerGameStats> overtaken = new LinkedHashSet<>();
+
+    PlayerGameRing(String playerId, RollingWindow[] windows, int capacity) {
+        this.playerId = playerId;
+        this.windows = windows;
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.gameIds = new String[capacity];
+        this.values = new long[capacity * STATS];
+        this.counts = new int[windows.length];
+        this.sums = new long[windows.length][STATS];
+    }
+
+    /**
+     * Adds the game's line, replacing the game's line already in the ring, if any. A line whose removal
+     * overtook it is dropped instead.
+     */
+    synchronized void add(PlayerGameStats gameStats) {
+        if (!overtaken.isEmpty() && overtaken.remove(gameStats)) {
+            return;
+        }
+        int existing = indexOf(gameStats.gameId());
+        if (existing >= 0) {
+            removeAt(existing);
+        }
+        long time = epochNanos(gameStats);
+        if (size > 0 && isBefore(time, gameStats.gameId(), size - 1)) {
+            insertOrdered(gameStats, time);
+            return;
+        }
+        if (size == capacity) {
+            evictOldest();
+        }
+        int slot = slot(size++);
+        write(slot, gameStats, time);
+        for (int window = 0; window < windows.length; window++) {
+            addTo(window, slot, 1);
+            counts[window]++;
+            trim(window);
+        }
+    }
+
+    /**
+     * Removes the game's line from the ring, e.g. before adding its corrected line. If the ring does not hold
+     * this line, the removal is remembered so that the line is not added later.
+     */
+    synchronized void remove(PlayerGameStats gameStats) {
+        int index = indexOf(gameStats.gameId());
+        if (index >= 0 && holds(index, gameStats)) {
+            removeAt(index);
+            return;
+        }
+        overtaken.add(gameStats);
+        if (overtaken.size() > capacity) {
+            Iterator<PlayerGameStats> oldest = overtaken.iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    synchronized List<RollingStats> snapshot() {
+        List<RollingStats> snapshot = new ArrayList<>(windows.length);
+        for (int window = 0; window < windows.length; window++) {
+            RollingStats stats = snapshot(window);
+            if (stats != null) {
+                snapshot.add(stats);
+            }
+        }
+        return snapshot;
+    }
+
+    synchronized RollingStats snapshot(String windowName) {
+        for (int window = 0; window < windows.length; window++) {
+            if (windows[window].name().equals(windowName)) {
+                return snapshot(window);
+            }
+        }
+        return null;
+    }
+
+    private RollingStats snapshot(int window) {
+        int games = counts[window];
+        if (games == 0) {
+            return null;
+        }
+        long[] sum = sums[window];
+        return new RollingStats(
+                playerId,
+                windows[window].name(),
+                games,
+                (double) sum[0] / games,
+                (double) sum[1] / games,
+                (double) sum[2] / games,
+                (double) sum[3] / games,
+                (double) sum[4] / games,
+                (double) sum[5] / games,
+                (double) sum[6] / games,
+                (double) sum[7] / games / 10
+        );
+    }
+
+    // Drops the games that no longer belong to the window from the front of its suffix
+    private void trim(int window) {
+        RollingWindow definition = windows[window];
+        if (definition.games() > 0) {
+            while (counts[window] > definition.games()) {
+                addTo(window, slot(size - counts[window]), -1);
+                counts[window]--;
+            }
+        } else {
+            long cutoff = time(size - 1) - definition.days() * NANOS_PER_DAY;
+            while (counts[window] > 0 && time(size - counts[window]) <= cutoff) {
+                addTo(window, slot(size - counts[window]), -1);
+                counts[window]--;
+            }
+        }
+    }
+
+    private int indexOf(String gameId) {
+        for (int index = size - 1; index >= 0; index--) {
+            if (gameIds[slot(index)].equals(gameId)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Compares what the ring keeps of a line, which is all that the sums depend on
+    private boolean holds(int index, PlayerGameStats gameStats) {
+        int slot = slot(index);
+        if (times[slot] != epochNanos(gameStats)) {
+            return false;
+        }
+        int offset = slot * STATS;
+        return values[offset] == gameStats.points()
+                && values[offset + 1] == gameStats.rebounds()
+                && values[offset + 2] == gameStats.assists()
+                && values[offset + 3] == gameStats.steals()
+                && values[offset + 4] == gameStats.blocks()
+                && values[offset + 5] == gameStats.fouls()
+                && values[offset + 6] == gameStats.turnovers()
+                && values[offset + 7] == tenths(gameStats);
+    }
+
+    private void removeAt(int index) {
+        for (int next = index + 1; next < size; next++) {
+            copy(slot(next), slot(next - 1));
+        }
+        gameIds[slot(--size)] = null;
+        recompute();
+    }
+
+    private void evictOldest() {
+        for (int window = 0; window < windows.length; window++) {
+            if (counts[window] == size) {
+                addTo(window, head, -1);
+                counts[window]--;
+            }
+        }
+        gameIds[head] = null;
+        head = (head + 1) % capacity;
+        size--;
+    }
+
+    private void insertOrdered(PlayerGameStats gameStats, long time) {
+        if (size == capacity) {
+            if (isBefore(time, gameStats.gameId(), 0)) {
+                return;
+            }
+            gameIds[head] = null;
+            head = (head + 1) % capacity;
+            size--;
+        }
+        int index = size;
+        while (index > 0 && isBefore(time, gameStats.gameId(), index - 1)) {
+            copy(slot(index - 1), slot(index));
+            index--;
+        }
+        size++;
+        write(slot(index), gameStats, time);
+        recompute();
+    }
+
+    private void recompute() {
+        for (int window = 0; window < windows.length; window++) {
+            counts[window] = size;
+            Arrays.fill(sums[window], 0);
+            for (int index = 0; index < size; index++) {
+                addTo(window, slot(index), 1);
+            }
+            if (size > 0) {
+                trim(window);
+            }
+        }
+    }
+
+    private void write(int slot, PlayerGameStats gameStats, long time) {
+        times[slot] = time;
+        gameIds[slot] = gameStats.gameId();
+        int offset = slot * STATS;
+        values[offset] = gameStats.points();
+        values[offset + 1] = gameStats.rebounds();
+        values[offset + 2] = gameStats.assists();
+        values[offset + 3] = gameStats.steals();
+        values[offset + 4] = gameStats.blocks();
+        values[offset + 5] = gameStats.fouls();
+        values[offset + 6] = gameStats.turnovers();
+        values[offset + 7] = tenths(gameStats);
+    }
+
+    // Game minutes are validated to be in 0.1 increments
+    private static long tenths(PlayerGameStats gameStats) {
+        return Math.round(gameStats.minutesPlayed().doubleValue() * 10);
+    }
+
+    private void copy(int from, int to) {
+        times[to] = times[from];
+        gameIds[to] = gameIds[from];
+        System.arraycopy(values, from * STATS, values, to * STATS, STATS);
+    }
+
+    private void addTo(int window, int slot, int sign) {
+        long[] sum = sums[window];
+        int offset = slot * STATS;
+        for (int stat = 0; stat < STATS; stat++) {
+            sum[stat] += sign * values[offset + stat];
+        }
+    }
+
+    // Games are ordered by timestamp, then by game ID
+    private boolean isBefore(long time, String gameId, int index) {
+        long other = time(index);
+        return time < other || time == other && gameId.compareTo(gameIds[slot(index)]) < 0;
+    }
+
+    private long time(int index) {
+        return times[slot(index)];
+    }
+
+    private int slot(int index) {
+        return (head + index) % capacity;
+    }
+
+    private static long epochNanos(PlayerGameStats gameStats) {
+        return gameStats.timestamp().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + gameStats.timestamp().getNano();
+    }
+}
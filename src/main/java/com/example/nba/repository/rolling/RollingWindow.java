@@ -0,0 +1,26 @@
+package com.example.nba.repository.rolling;
+
+/**
+ * A rolling window over a player's most recent games: either the last {@code games} games, or the games
+ * played in the {@code days} days up to the player's latest game.
+ *
+ * @param name  the window's name in responses, e.g. {@code last-5-games}
+ * @param games the number of games in the window, or 0 for a window of days
+ * @param days  the number of days in the window, or 0 for a window of games
+ */
+public record RollingWindow(String name, int games, int days) {
+
+    public RollingWindow {
+        if ((games > 0) == (days > 0) || games < 0 || days < 0) {
+            throw new IllegalArgumentException("A rolling window spans either a positive number of games or of days");
+        }
+    }
+
+    public static RollingWindow lastGames(int games) {
+        return new RollingWindow("last-" + games + "-games", games, 0);
+    }
+
+    public static RollingWindow lastDays(int days) {
+        return new RollingWindow("last-" + days + "-days", 0, days);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.nba.service;
+
+/**
+ * Thrown when a game statistics line reuses the statistics ID of a different player game.
+ */
+public class DuplicateStatisticsIdException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateStatisticsIdException(String id) {
+        super("Duplicate statistics ID: " + id);
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.nba.service;
 
+import com.example.nba.model.BatchIngestResult;
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.TeamSeasonStats;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Service
 public interface GameStatisticsService {
 
     Mono<PlayerGameStats> saveGameStatistics(PlayerGameStats playerGameStats);
 
+    Mono<BatchIngestResult> saveGameStatisticsBatch(List<PlayerGameStats> batch);
+
+    Mono<Void> restoreGameStatistics(List<PlayerGameStats> batch);
+
     Mono<TeamSeasonStats> getTeamSeasonStats(String teamId, String season);
 
 }
\ No newline at end of file
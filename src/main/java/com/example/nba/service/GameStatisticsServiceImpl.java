@@ -1,32 +1,140 @@
 package com.example.nba.service;
 
+import com.example.nba.cache.SeasonStatsResponseCache;
 import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.BatchIngestResult;
+import com.example.nba.model.BatchItemResult;
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.persistence.GameStatsChangeLog;
+import com.example.nba.persistence.GameStatsJournal;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.GameStatsWriteListener;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
 @Service
 public class GameStatisticsServiceImpl implements GameStatisticsService {
+    private static final Logger logger = LoggerFactory.getLogger(GameStatisticsServiceImpl.class);
+
     private final TeamInitializer teamInitializer;
     private final PlayerStatisticsService playerStatisticsService;
     private final TeamStatisticsService teamStatisticsService;
+    private final Validator validator;
+    private final GameStatsJournal journal;
+    private final SeasonStatsResponseCache responseCache;
+    private final GameStatsChangeLog changeLog;
+    // Applied lines whose journal append failed, so a resend journals them again instead of being ignored
+    private final Set<PlayerGameStats> unjournaled = ConcurrentHashMap.newKeySet();
 
     public GameStatisticsServiceImpl(
             PlayerStatisticsService playerStatisticsService,
             TeamStatisticsService teamStatisticsService,
-            TeamInitializer teamInitializer) {
+            TeamInitializer teamInitializer,
+            Validator validator,
+            GameStatsJournal journal,
+            SeasonStatsResponseCache responseCache,
+            GameStatsChangeLog changeLog) {
         this.playerStatisticsService = playerStatisticsService;
         this.teamStatisticsService = teamStatisticsService;
         this.teamInitializer = teamInitializer;
+        this.validator = validator;
+        this.journal = journal;
+        this.responseCache = responseCache;
+        this.changeLog = changeLog;
     }
 
+    /**
+     * Saves the line and folds it into the player and team statistics. A line that changed the statistics is
+     * journaled, and so is a resent line whose earlier journal append failed; the returned {@code Mono}
+     * completes once the journal has made it durable.
+     */
     @Override
     public Mono<PlayerGameStats> saveGameStatistics(PlayerGameStats playerGameStats) {
-        return playerStatisticsService.savePlayerStatistics(playerGameStats)
-                .flatMap(savedPlayerStats -> updateTeamStatistics(savedPlayerStats)
-                        .thenReturn(savedPlayerStats));
+        return Mono.defer(() -> {
+            JournalingListener journaling = new JournalingListener();
+            return playerStatisticsService.savePlayerStatistics(playerGameStats, journaling)
+                    .flatMap(write -> write.outcome() == GameStatsWrite.Outcome.DUPLICATE_ID
+                            ? Mono.error(new DuplicateStatisticsIdException(write.current().id()))
+                            : updateTeamStatistics(write, this::teamOf)
+                            .then(Mono.fromRunnable(() -> responseCache.invalidate(write)))
+                            .then(journaling.durable())
+                            .then(changeLog.flush())
+                            .thenReturn(write.current()))
+                    .doFinally(signal -> journaling.release());
+        });
+    }
+
+    /**
+     * Validates every entry of the batch up front, then saves the valid entries with a single season merge
+     * per player and season and a single merge per team and season. Invalid entries, including entries of
+     * unknown teams, are reported as rejected and do not affect any aggregate. Resent lines are accepted
+     * without changing any aggregate, and lines reusing the statistics ID of a different game are rejected.
+     */
+    @Override
+    public Mono<BatchIngestResult> saveGameStatisticsBatch(List<PlayerGameStats> batch) {
+        return Mono.defer(() -> {
+            List<BatchItemResult> results = new ArrayList<>(batch.size());
+            List<PlayerGameStats> accepted = new ArrayList<>(batch.size());
+            List<Integer> acceptedIndexes = new ArrayList<>(batch.size());
+
+            for (int index = 0; index < batch.size(); index++) {
+                PlayerGameStats gameStats = batch.get(index);
+                List<String> errors = validate(gameStats);
+                if (!errors.isEmpty()) {
+                    results.add(BatchItemResult.rejected(index, gameStats == null ? null : gameStats.id(), errors));
+                    continue;
+                }
+                accepted.add(gameStats);
+                acceptedIndexes.add(index);
+                results.add(BatchItemResult.accepted(index, gameStats.id()));
+            }
+
+            JournalingListener journaling = new JournalingListener();
+            return playerStatisticsService.saveAllPlayerStatistics(accepted, journaling)
+                    .flatMap(writes -> {
+                        for (int i = 0; i < writes.size(); i++) {
+                            GameStatsWrite write = writes.get(i);
+                            if (write.outcome() == GameStatsWrite.Outcome.DUPLICATE_ID) {
+                                int index = acceptedIndexes.get(i);
+                                String id = write.current().id();
+                                results.set(index, BatchItemResult.rejected(index, id,
+                                        List.of(new DuplicateStatisticsIdException(id).getMessage())));
+                            }
+                        }
+                        return updateTeamStatistics(writes)
+                                .then(invalidate(writes))
+                                .then(journaling.durable())
+                                .then(changeLog.flush())
+                                .then(Mono.fromSupplier(() -> BatchIngestResult.of(results)));
+                    })
+                    .doFinally(signal -> journaling.release());
+        });
+    }
+
+    /**
+     * Applies lines that were accepted before, e.g. replayed from the write-ahead log, to the player and team
+     * statistics. The lines are neither validated nor journaled again; a line whose team is no longer
+     * registered is restored to the player statistics only, and logged.
+     */
+    @Override
+    public Mono<Void> restoreGameStatistics(List<PlayerGameStats> batch) {
+        return playerStatisticsService.saveAllPlayerStatistics(batch, GameStatsWriteListener.NONE)
+                .flatMap(writes -> updateTeamStatistics(writes).then(invalidate(writes)));
     }
 
     @Override
@@ -34,18 +142,134 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
         return teamStatisticsService.getTeamStats(teamId, season);
     }
 
-    private Mono<TeamSeasonStats> updateTeamStatistics(PlayerGameStats gameStats) {
+    private Mono<Void> updateTeamStatistics(List<GameStatsWrite> writes) {
+        Map<Team, List<PlayerGameStats>> insertedByTeam = new LinkedHashMap<>();
+        List<GameStatsWrite> corrections = new ArrayList<>();
+        for (GameStatsWrite write : writes) {
+            switch (write.outcome()) {
+                case INSERTED -> {
+                    Team team = registeredTeam(write.current());
+                    if (team != null) {
+                        insertedByTeam.computeIfAbsent(team, key -> new ArrayList<>()).add(write.current());
+                    }
+                }
+                case CORRECTED -> corrections.add(write);
+                case UNCHANGED, DUPLICATE_ID -> {
+                }
+            }
+        }
+
+        return Flux.fromIterable(insertedByTeam.entrySet())
+                .concatMap(entry -> teamStatisticsService.mergeGames(entry.getKey(), entry.getValue()))
+                .thenMany(Flux.fromIterable(corrections).concatMap(write -> updateTeamStatistics(write,
+                        line -> Mono.justOrEmpty(registeredTeam(line)))))
+                .then();
+    }
+
+    private Mono<Void> updateTeamStatistics(GameStatsWrite write, Function<PlayerGameStats, Mono<Team>> teamOf) {
+        return switch (write.outcome()) {
+            case INSERTED -> teamOf.apply(write.current())
+                    .flatMap(team -> teamStatisticsService.mergeGame(team, write.current()));
+            case CORRECTED -> teamOf.apply(write.previous())
+                    .flatMap(team -> teamStatisticsService.removeGame(team, write.previous()))
+                    .then(Mono.defer(() -> teamOf.apply(write.current())))
+                    .flatMap(team -> teamStatisticsService.mergeGame(team, write.current()));
+            case UNCHANGED, DUPLICATE_ID -> Mono.empty();
+        };
+    }
+
+    // Cached responses are dropped once both the player and the team season statistics are updated
+    private Mono<Void> invalidate(List<GameStatsWrite> writes) {
+        return Mono.fromRunnable(() -> writes.forEach(responseCache::invalidate));
+    }
+
+    private static boolean isChange(GameStatsWrite write) {
+        return write.outcome() == GameStatsWrite.Outcome.INSERTED
+                || write.outcome() == GameStatsWrite.Outcome.CORRECTED;
+    }
+
+    /**
+     * Reserves the journal position of every saved line that must be replayed, and numbers every change in the
+     * change log, while the repository holds the line's game: two concurrent corrections of one game are
+     * journaled and numbered in the order they were applied. Only lines that changed the in-memory state need
+     * to be replayed, plus resent lines whose last journal append failed: those are in memory, but would be
+     * lost on restart.
+     */
+    private final class JournalingListener implements GameStatsWriteListener {
+        private final List<PlayerGameStats> lines = new ArrayList<>();
+        private final List<GameStatsJournal.Reservation> reservations = new ArrayList<>();
+
+        @Override
+        public void onWrite(GameStatsWrite write) {
+            if (isChange(write)) {
+                changeLog.record(write.current());
+            }
+            boolean journaled = switch (write.outcome()) {
+                case INSERTED -> true;
+                case CORRECTED -> {
+                    unjournaled.remove(write.previous());
+                    yield true;
+                }
+                case UNCHANGED -> !unjournaled.isEmpty() && unjournaled.contains(write.current());
+                case DUPLICATE_ID -> false;
+            };
+            if (journaled) {
+                lines.add(write.current());
+                reservations.add(journal.reserve(write.current()));
+            }
+        }
+
+        // Lets the journal write the lines once they are applied; safe to call more than once
+        void release() {
+            reservations.forEach(GameStatsJournal.Reservation::release);
+        }
+
+        Mono<Void> durable() {
+            return Mono.defer(() -> {
+                release();
+                List<Mono<Void>> durable = new ArrayList<>(reservations.size());
+                for (int i = 0; i < reservations.size(); i++) {
+                    PlayerGameStats line = lines.get(i);
+                    durable.add(reservations.get(i).durable()
+                            .doOnSuccess(done -> unjournaled.remove(line))
+                            .doOnError(e -> unjournaled.add(line)));
+                }
+                return Mono.whenDelayError(durable);
+            });
+        }
+    }
+
+    private Mono<Team> teamOf(PlayerGameStats gameStats) {
         Team team = teamInitializer.getTeam(gameStats.teamId());
         if (team == null) {
             return Mono.error(new IllegalStateException("Team not found for ID: " + gameStats.teamId()));
         }
+        return Mono.just(team);
+    }
 
-        return teamStatisticsService.getTeamStats(gameStats.teamId(), gameStats.season())
-                .flatMap(existingTeamStats ->
-                        teamStatisticsService.save(existingTeamStats.withNewGame(gameStats)))
-                .switchIfEmpty(
-                        teamStatisticsService.save(TeamSeasonStats.fromFirstGame(gameStats, team))
-                );
+    // Batch lines are validated against the team registry, but a restored line may name a team that is no
+    // longer registered: it stays in the player statistics and is left out of the team statistics
+    private Team registeredTeam(PlayerGameStats gameStats) {
+        Team team = teamInitializer.getTeam(gameStats.teamId());
+        if (team == null) {
+            logger.warn("Skipping team statistics for line {}: team {} is not registered",
+                    gameStats.id(), gameStats.teamId());
+        }
+        return team;
+    }
+
+    private List<String> validate(PlayerGameStats gameStats) {
+        if (gameStats == null) {
+            return List.of("Statistics entry is required");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<PlayerGameStats> violation : validator.validate(gameStats)) {
+            errors.add(String.format("%s : %s", violation.getPropertyPath(), violation.getMessage()));
+        }
+        if (errors.isEmpty() && teamInitializer.getTeam(gameStats.teamId()) == null) {
+            errors.add("Team not found for ID: " + gameStats.teamId());
+        }
+        return errors;
     }
 
-}
\ No newline at end of file
+}
@@ -1,10 +1,20 @@
 package com.example.nba.service;
 
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.LeaderboardEntry;
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.RollingStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.GameStatsWriteListener;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Represents a service for managing player statistics, including game-level and season-level data.
  * The service provides functions to save, retrieve, and manage a player's statistics.
@@ -23,11 +33,29 @@ public interface PlayerStatisticsService {
     /**
      * Persists the provided player game statistics to the database and updates the corresponding
      * player season statistics. If no season statistics exist, a new record is created.
+     * <p>
+     * Ingest is idempotent on {@code (playerId, gameId)}: a resent line leaves the season statistics
+     * unchanged, and a corrected line replaces the previous line's contribution. A line reusing the
+     * statistics ID of a different game is not saved.
      *
      * @param playerGameStats the player game statistics object to be saved
-     * @return a Mono emitting the saved player game statistics
+     * @param listener        notified of the outcome of the save while the game is locked against concurrent
+     *                        saves, see {@link GameStatsWriteListener}
+     * @return a Mono emitting the outcome of the save
+     */
+    Mono<GameStatsWrite> savePlayerStatistics(PlayerGameStats playerGameStats, GameStatsWriteListener listener);
+
+    /**
+     * Persists a batch of player game statistics and merges them into the corresponding player season
+     * statistics, with a single merge per player and season for new lines. Resent and corrected lines
+     * are handled as in {@link #savePlayerStatistics(PlayerGameStats, GameStatsWriteListener)}.
+     *
+     * @param playerGameStats the already validated player game statistics to be saved
+     * @param listener        notified of the outcome of each save while its game is locked
+     * @return a Mono emitting the outcome of each save, in iteration order, once all lines have been merged
      */
-    Mono<PlayerGameStats> savePlayerStatistics(PlayerGameStats playerGameStats);
+    Mono<List<GameStatsWrite>> saveAllPlayerStatistics(Collection<PlayerGameStats> playerGameStats,
+                                                       GameStatsWriteListener listener);
 
     /**
      * Retrieves all player season statistics.
@@ -36,4 +64,93 @@ public interface PlayerStatisticsService {
      */
     Flux<PlayerSeasonStats> getAllPlayerSeasonStatistics();
 
+    /**
+     * Streams player season statistics page by page. With a season filter, the statistics of that season
+     * are streamed in player ID order after {@code afterPlayerId}; otherwise all statistics are streamed in
+     * {@code (season, playerId)} order after the cursor {@code (afterSeason, afterPlayerId)}.
+     *
+     * @param season        the season to stream, or null to stream all seasons
+     * @param afterSeason   the season of the last row already consumed; ignored when a season filter is given
+     * @param afterPlayerId the player ID of the last row already consumed, or null to start from the beginning
+     * @return a {@link Flux} lazily emitting the player season statistics after the cursor
+     */
+    Flux<PlayerSeasonStats> streamPlayerSeasonStatistics(String season, String afterSeason, String afterPlayerId);
+
+    /**
+     * Retrieves the statistics of one player for every season the player has played, in season order.
+     *
+     * @param playerId the unique identifier of the player
+     * @return a {@link Flux} emitting the player's season statistics, or an empty {@link Flux} if there are none
+     */
+    Flux<PlayerSeasonStats> getPlayerSeasonStatisticsByPlayer(String playerId);
+
+    /**
+     * Retrieves the statistics of every player in one season, in player ID order.
+     *
+     * @param season the season identifier
+     * @return a {@link Flux} emitting the season's player statistics, or an empty {@link Flux} if there are none
+     */
+    Flux<PlayerSeasonStats> getPlayerSeasonStatisticsBySeason(String season);
+
+    /**
+     * Retrieves the leaders of one season for a statistic, ranked by per-game average.
+     *
+     * @param season the season identifier
+     * @param stat   the statistic the players are ranked by
+     * @param limit  the maximum number of entries
+     * @return a {@link Flux} emitting the leaderboard entries in rank order
+     */
+    Flux<LeaderboardEntry> getLeaders(String season, GameStatsFilter.Stat stat, int limit);
+
+    /**
+     * Retrieves a player's rank in one season for a statistic.
+     *
+     * @param playerId the unique identifier of the player
+     * @param season   the season identifier
+     * @param stat     the statistic the players are ranked by
+     * @return a {@link Mono} emitting the player's leaderboard entry, or an empty {@link Mono} if the player has
+     * no statistics in the season
+     */
+    Mono<LeaderboardEntry> getLeaderboardRank(String playerId, String season, GameStatsFilter.Stat stat);
+
+    /**
+     * Retrieves a player's per-game averages over every rolling window of their most recent games.
+     *
+     * @param playerId the unique identifier of the player
+     * @return a {@link Flux} emitting the player's statistics per window, or an empty {@link Flux} if the
+     * player has no games
+     */
+    Flux<RollingStats> getRollingStatistics(String playerId);
+
+    /**
+     * Retrieves a player's per-game averages over one rolling window, e.g. {@code last-5-games}.
+     *
+     * @param playerId the unique identifier of the player
+     * @param window   the window's name
+     * @return a {@link Mono} emitting the player's statistics in the window, or an empty {@link Mono} if the
+     * player has no games or the window does not exist
+     */
+    Mono<RollingStats> getRollingStatistics(String playerId, String window);
+
+    /**
+     * Retrieves the game log of a player: every recorded game of the player in timestamp order,
+     * optionally restricted to a time range.
+     *
+     * @param playerId the unique identifier of the player
+     * @param from     the earliest game timestamp to include (inclusive), or null for no lower bound
+     * @param to       the game timestamp to stop at (exclusive), or null for no upper bound
+     * @return a {@link Flux} emitting the player's game statistics in timestamp order
+     */
+    Flux<PlayerGameStats> getPlayerGameLog(String playerId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Aggregates the game statistics matching a filter, e.g. a team's games in a date range or every game
+     * in which a player played at least a given number of minutes.
+     *
+     * @param filter the criteria the aggregated games must meet
+     * @return a {@code Mono} emitting the number of matching games and the total, minimum, maximum and
+     * average of each statistic
+     */
+    Mono<GameStatsSummary> summarizeGameStatistics(GameStatsFilter filter);
+
 }
@@ -1,13 +1,25 @@
 package com.example.nba.service;
 
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.LeaderboardEntry;
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.RollingStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.GameStatsWriteListener;
 import com.example.nba.repository.PlayerSeasonStatisticsRepository;
 import com.example.nba.repository.PlayerStatisticsRepository;
+import com.example.nba.repository.RollingStatsRepository;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Service implementation for managing player statistics.
  * Handles both game-level and season-level statistics for players.
@@ -16,19 +28,39 @@ import reactor.core.publisher.Mono;
 public class PlayerStatisticsServiceImpl implements PlayerStatisticsService {
     private final PlayerStatisticsRepository gameStatsRepository;
     private final PlayerSeasonStatisticsRepository seasonStatsRepository;
+    private final RollingStatsRepository rollingStatsRepository;
 
     public PlayerStatisticsServiceImpl(
             PlayerStatisticsRepository gameStatsRepository,
-            PlayerSeasonStatisticsRepository seasonStatsRepository) {
+            PlayerSeasonStatisticsRepository seasonStatsRepository,
+            RollingStatsRepository rollingStatsRepository) {
         this.gameStatsRepository = gameStatsRepository;
         this.seasonStatsRepository = seasonStatsRepository;
+        this.rollingStatsRepository = rollingStatsRepository;
+    }
+
+    @Override
+    public Mono<GameStatsWrite> savePlayerStatistics(PlayerGameStats playerGameStats,
+                                                     GameStatsWriteListener listener) {
+        return gameStatsRepository.save(playerGameStats, listener)
+                .flatMap(write -> updateSeasonStats(write)
+                        .then(rollingStatsRepository.apply(write))
+                        .thenReturn(write));
     }
 
     @Override
-    public Mono<PlayerGameStats> savePlayerStatistics(PlayerGameStats playerGameStats) {
-        return saveGameStats(playerGameStats)
-                .flatMap(savedGameStats -> updateSeasonStats(savedGameStats)
-                        .thenReturn(savedGameStats));
+    public Mono<List<GameStatsWrite>> saveAllPlayerStatistics(Collection<PlayerGameStats> playerGameStats,
+                                                              GameStatsWriteListener listener) {
+        return Flux.fromIterable(playerGameStats)
+                .concatMap(gameStats -> gameStatsRepository.save(gameStats, listener))
+                .collectList()
+                .flatMap(writes -> seasonStatsRepository.mergeGames(inserted(writes))
+                        .then(Flux.fromIterable(writes)
+                                .filter(write -> write.outcome() == GameStatsWrite.Outcome.CORRECTED)
+                                .concatMap(this::updateSeasonStats)
+                                .then())
+                        .then(rollingStatsRepository.applyAll(writes))
+                        .thenReturn(writes));
     }
 
     @Override
@@ -36,32 +68,76 @@ public class PlayerStatisticsServiceImpl implements PlayerStatisticsService {
         return seasonStatsRepository.findByPlayerIdAndSeason(playerId, season);
     }
 
-    private Mono<PlayerGameStats> saveGameStats(PlayerGameStats gameStats) {
-        return gameStatsRepository.save(gameStats);
+    private Mono<Void> updateSeasonStats(GameStatsWrite write) {
+        return switch (write.outcome()) {
+            case INSERTED -> seasonStatsRepository.mergeGame(write.current());
+            case CORRECTED -> seasonStatsRepository.removeGame(write.previous())
+                    .then(seasonStatsRepository.mergeGame(write.current()));
+            case UNCHANGED, DUPLICATE_ID -> Mono.empty();
+        };
     }
 
-    private Mono<PlayerSeasonStats> updateSeasonStats(PlayerGameStats gameStats) {
-        return findExistingSeasonStats(gameStats)
-                .flatMap(existingStats -> updateExistingSeasonStats(existingStats, gameStats))
-                .switchIfEmpty(createNewSeasonStats(gameStats));
+    private static List<PlayerGameStats> inserted(List<GameStatsWrite> writes) {
+        List<PlayerGameStats> inserted = new ArrayList<>(writes.size());
+        for (GameStatsWrite write : writes) {
+            if (write.outcome() == GameStatsWrite.Outcome.INSERTED) {
+                inserted.add(write.current());
+            }
+        }
+        return inserted;
     }
 
-    private Mono<PlayerSeasonStats> findExistingSeasonStats(PlayerGameStats gameStats) {
-        return seasonStatsRepository.findByPlayerIdAndSeason(gameStats.playerId(), gameStats.season());
+    @Override
+    public Flux<PlayerSeasonStats> getAllPlayerSeasonStatistics() {
+        return seasonStatsRepository.findAll();
     }
 
-    private Mono<PlayerSeasonStats> updateExistingSeasonStats(PlayerSeasonStats existingStats,
-                                                              PlayerGameStats gameStats) {
-        return seasonStatsRepository.save(existingStats.withNewGame(gameStats));
+    @Override
+    public Flux<PlayerSeasonStats> streamPlayerSeasonStatistics(String season, String afterSeason,
+                                                                String afterPlayerId) {
+        return season != null
+                ? seasonStatsRepository.findBySeason(season, afterPlayerId)
+                : seasonStatsRepository.findAllAfter(afterSeason, afterPlayerId);
     }
 
-    private Mono<PlayerSeasonStats> createNewSeasonStats(PlayerGameStats gameStats) {
-        return seasonStatsRepository.save(PlayerSeasonStats.fromFirstGame(gameStats));
+    @Override
+    public Flux<PlayerSeasonStats> getPlayerSeasonStatisticsByPlayer(String playerId) {
+        return seasonStatsRepository.findByPlayerId(playerId);
     }
 
     @Override
-    public Flux<PlayerSeasonStats> getAllPlayerSeasonStatistics() {
-        return seasonStatsRepository.findAll();
+    public Flux<PlayerSeasonStats> getPlayerSeasonStatisticsBySeason(String season) {
+        return seasonStatsRepository.findBySeason(season, null);
+    }
+
+    @Override
+    public Flux<LeaderboardEntry> getLeaders(String season, GameStatsFilter.Stat stat, int limit) {
+        return seasonStatsRepository.findLeaders(season, stat, limit);
+    }
+
+    @Override
+    public Mono<LeaderboardEntry> getLeaderboardRank(String playerId, String season, GameStatsFilter.Stat stat) {
+        return seasonStatsRepository.findLeaderboardRank(playerId, season, stat);
+    }
+
+    @Override
+    public Flux<RollingStats> getRollingStatistics(String playerId) {
+        return rollingStatsRepository.findByPlayerId(playerId);
+    }
+
+    @Override
+    public Mono<RollingStats> getRollingStatistics(String playerId, String window) {
+        return rollingStatsRepository.findByPlayerIdAndWindow(playerId, window);
+    }
+
+    @Override
+    public Flux<PlayerGameStats> getPlayerGameLog(String playerId, LocalDateTime from, LocalDateTime to) {
+        return gameStatsRepository.findByPlayerId(playerId, from, to);
+    }
+
+    @Override
+    public Mono<GameStatsSummary> summarizeGameStatistics(GameStatsFilter filter) {
+        return gameStatsRepository.summarize(filter);
     }
 
-}
\ No newline at end of file
+}
@@ -18,4 +18,12 @@ public interface TeamService {
      * @return list of all teams
      */
     List<Team> getAllTeams();
-}
\ No newline at end of file
+
+    /**
+     * Checks whether a team is registered.
+     *
+     * @param teamId the unique identifier of the team
+     * @return true if the team is registered
+     */
+    boolean existsById(String teamId);
+}
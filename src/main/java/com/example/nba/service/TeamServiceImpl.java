@@ -28,6 +28,11 @@ public final class TeamServiceImpl implements TeamService {
         return convertTeamMapToList(teamInitializer.getTeams());
     }
 
+    @Override
+    public boolean existsById(String teamId) {
+        return teamInitializer.getTeam(teamId) != null;
+    }
+
     private List<Team> convertTeamMapToList(@Nonnull Map<String, Team> teamMap) {
         return teamMap.values()
                 .stream()
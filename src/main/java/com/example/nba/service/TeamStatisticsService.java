@@ -1,9 +1,14 @@
 package com.example.nba.service;
 
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Service interface for managing team statistics, including creating and retrieving
  * aggregate statistics for a team's performance during a specific season.
@@ -18,6 +23,36 @@ public interface TeamStatisticsService {
      */
     Mono<TeamSeasonStats> save(TeamSeasonStats teamSeasonStats);
 
+    /**
+     * Adds a single player game line to the aggregate statistics of the given team for the game's season,
+     * creating them if the team has no statistics for that season yet.
+     *
+     * @param team      the team the game line belongs to
+     * @param gameStats the player game statistics to add to the team's season
+     * @return a {@code Mono} that completes once the game has been added
+     */
+    Mono<Void> mergeGame(Team team, PlayerGameStats gameStats);
+
+    /**
+     * Adds a batch of player game lines of one team to its aggregate statistics, with a single merge
+     * per season.
+     *
+     * @param team      the team all game lines belong to
+     * @param gameStats the player game statistics to add to the team's seasons
+     * @return a {@code Mono} that completes once all lines have been added
+     */
+    Mono<Void> mergeGames(Team team, Collection<PlayerGameStats> gameStats);
+
+    /**
+     * Subtracts a previously added player game line from the aggregate statistics of the given team,
+     * e.g. before adding a corrected line for the same game.
+     *
+     * @param team      the team the game line was added to
+     * @param gameStats the previously added player game statistics
+     * @return a {@code Mono} that completes once the line has been removed
+     */
+    Mono<Void> removeGame(Team team, PlayerGameStats gameStats);
+
     /**
      * Retrieves the aggregate statistics for a team during a specific season.
      *
@@ -35,4 +70,54 @@ public interface TeamStatisticsService {
      */
     Flux<TeamSeasonStats> getAllTeamStats();
 
+    /**
+     * Streams team season statistics page by page. With a season filter, the statistics of that season
+     * are streamed in team ID order after {@code afterTeamId}; otherwise all statistics are streamed in
+     * {@code (season, teamId)} order after the cursor {@code (afterSeason, afterTeamId)}.
+     *
+     * @param season      the season to stream, or null to stream all seasons
+     * @param afterSeason the season of the last row already consumed; ignored when a season filter is given
+     * @param afterTeamId the team ID of the last row already consumed, or null to start from the beginning
+     * @return a {@code Flux} lazily emitting the team season statistics after the cursor
+     */
+    Flux<TeamSeasonStats> streamTeamStats(String season, String afterSeason, String afterTeamId);
+
+    /**
+     * Retrieves the aggregate statistics of one team for every season it has played, in season order.
+     *
+     * @param teamId the unique identifier of the team
+     * @return a {@code Flux} emitting the team's season statistics, or an empty {@code Flux} if there are none
+     */
+    Flux<TeamSeasonStats> getTeamStatsByTeam(String teamId);
+
+    /**
+     * Retrieves the aggregate statistics of every team in one season, in team ID order.
+     *
+     * @param season the season identifier
+     * @return a {@code Flux} emitting the season's team statistics, or an empty {@code Flux} if there are none
+     */
+    Flux<TeamSeasonStats> getTeamStatsBySeason(String season);
+
+    /**
+     * Retrieves a page of a season's team standings by one metric.
+     *
+     * @param season the season identifier
+     * @param metric the average teams are ranked by
+     * @param offset the number of leading standings to skip
+     * @param limit  the maximum number of standings to return
+     * @return a {@code Flux} emitting the standings in rank order
+     */
+    Flux<TeamStanding> getStandings(String season, TeamSeasonStats.Metric metric, int offset, int limit);
+
+    /**
+     * Retrieves a team's standing in a season by one metric.
+     *
+     * @param teamId the unique identifier of the team
+     * @param season the season identifier
+     * @param metric the average teams are ranked by
+     * @return a {@code Mono} emitting the team's standing, or an empty {@code Mono} if the team has no
+     *         statistics in the season
+     */
+    Mono<TeamStanding> getStanding(String teamId, String season, TeamSeasonStats.Metric metric);
+
 }
@@ -1,11 +1,16 @@
 package com.example.nba.service;
 
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
 import com.example.nba.repository.TeamStatisticsStatisticsRepository;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Implementation of the {@link TeamStatisticsService} interface for managing team statistics.
  * This service acts as a mediator between the underlying repository and business logic,
@@ -27,6 +32,21 @@ public class TeamStatisticsServiceImpl implements TeamStatisticsService {
         return repository.save(teamSeasonStats);
     }
 
+    @Override
+    public Mono<Void> mergeGame(Team team, PlayerGameStats gameStats) {
+        return repository.mergeGame(team, gameStats);
+    }
+
+    @Override
+    public Mono<Void> mergeGames(Team team, Collection<PlayerGameStats> gameStats) {
+        return repository.mergeGames(team, gameStats);
+    }
+
+    @Override
+    public Mono<Void> removeGame(Team team, PlayerGameStats gameStats) {
+        return repository.removeGame(team, gameStats);
+    }
+
     @Override
     public Mono<TeamSeasonStats> getTeamStats(String teamId, String season) {
         return repository.findByTeamId(teamId, season);
@@ -37,4 +57,31 @@ public class TeamStatisticsServiceImpl implements TeamStatisticsService {
         return repository.findAll();
     }
 
-}
\ No newline at end of file
+    @Override
+    public Flux<TeamSeasonStats> streamTeamStats(String season, String afterSeason, String afterTeamId) {
+        return season != null
+                ? repository.findBySeason(season, afterTeamId)
+                : repository.findAllAfter(afterSeason, afterTeamId);
+    }
+
+    @Override
+    public Flux<TeamSeasonStats> getTeamStatsByTeam(String teamId) {
+        return repository.findByTeamId(teamId);
+    }
+
+    @Override
+    public Flux<TeamSeasonStats> getTeamStatsBySeason(String season) {
+        return repository.findBySeason(season, null);
+    }
+
+    @Override
+    public Flux<TeamStanding> getStandings(String season, TeamSeasonStats.Metric metric, int offset, int limit) {
+        return repository.findStandings(season, metric, offset, limit);
+    }
+
+    @Override
+    public Mono<TeamStanding> getStanding(String teamId, String season, TeamSeasonStats.Metric metric) {
+        return repository.findStanding(teamId, season, metric);
+    }
+
+}
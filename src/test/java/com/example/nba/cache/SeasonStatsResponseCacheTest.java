@@ -0,0 +1,95 @@
+package com.example.nba.cache;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SeasonStatsResponseCacheTest {
+    private final SeasonStatsResponseCache cache =
+            new SeasonStatsResponseCache(new SerializedAggregates(new ObjectMapper(), 1_000), new DefaultKeyGenerator(), 2);
+
+    @Test
+    @DisplayName("Should serve hits without loading and reload only the invalidated player season")
+    void testInvalidate_AffectedSeasonOnly() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<PlayerSeasonStats> current = new AtomicReference<>(seasonStats("1", 20));
+
+        SeasonStatsResponseCache.CachedResponse first = player("1", loads, current);
+        assertSame(first, player("1", loads, current));
+        SeasonStatsResponseCache.CachedResponse other = player("2", loads, current);
+        assertEquals(2, loads.get());
+
+        current.set(seasonStats("1", 45));
+        cache.invalidate(GameStatsWrite.inserted(line("1")));
+
+        SeasonStatsResponseCache.CachedResponse reloaded = player("1", loads, current);
+        assertNotEquals(first.eTag(), reloaded.eTag());
+        assertSame(other, player("2", loads, current));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a response loaded before a concurrent invalidation")
+    void testInvalidate_DuringLoad() {
+        PlayerSeasonStats stale = seasonStats("1", 20);
+        cache.playerSeasonStats("1", "2023-2024", () -> Mono.fromSupplier(() -> {
+            cache.invalidate(GameStatsWrite.inserted(line("1")));
+            return stale;
+        })).block();
+
+        AtomicInteger loads = new AtomicInteger();
+        player("1", loads, new AtomicReference<>(seasonStats("1", 45)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict an entry that was not hit since it was stored before one that was")
+    void testPut_EvictsUnreferencedEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<PlayerSeasonStats> current = new AtomicReference<>(seasonStats("1", 20));
+        SeasonStatsResponseCache.CachedResponse first = player("1", loads, current);
+        player("2", loads, current);
+        assertSame(first, player("1", loads, current));
+
+        player("3", loads, current);
+        assertEquals(3, loads.get());
+
+        assertSame(first, player("1", loads, current));
+        player("3", loads, current);
+        assertEquals(3, loads.get());
+        player("2", loads, current);
+        assertEquals(4, loads.get());
+    }
+
+    private SeasonStatsResponseCache.CachedResponse player(String playerId, AtomicInteger loads,
+                                                           AtomicReference<PlayerSeasonStats> current) {
+        return cache.playerSeasonStats(playerId, "2023-2024", () -> {
+            loads.incrementAndGet();
+            return Mono.just(current.get());
+        }).block();
+    }
+
+    private static PlayerSeasonStats seasonStats(String playerId, int points) {
+        return new PlayerSeasonStats(playerId, "2023-2024", 1, points, 5, 4, 1, 0, 2, 3,
+                new BigDecimal("30.0"), points, 5, 4, 1, 0, 2, 3, new BigDecimal("30.0"));
+    }
+
+    private static PlayerGameStats line(String playerId) {
+        return new PlayerGameStats("s" + playerId, playerId, "g1", "1", LocalDateTime.of(2024, 3, 15, 19, 30),
+                "2023-2024", 25, 5, 4, 1, 0, 2, 3, new BigDecimal("30.0"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.nba.cache;
+
+import com.example.nba.model.PlayerSeasonStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SerializedAggregatesTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should serialize a snapshot once and reuse the form for the same instance only")
+    void testSerialize_ReusedForSameSnapshot() throws Exception {
+        SerializedAggregates aggregates = new SerializedAggregates(objectMapper, 16);
+        PlayerSeasonStats stats = seasonStats(20);
+
+        byte[] form = aggregates.serialize(stats);
+        assertArrayEquals(objectMapper.writeValueAsBytes(stats), form);
+        assertSame(form, aggregates.serialize(stats));
+
+        // An equal value of another snapshot is another version of the aggregate
+        PlayerSeasonStats equal = seasonStats(20);
+        assertNotSame(form, aggregates.serialize(equal));
+        assertArrayEquals(form, aggregates.serialize(equal));
+
+        PlayerSeasonStats changed = seasonStats(45);
+        assertArrayEquals(objectMapper.writeValueAsBytes(changed), aggregates.serialize(changed));
+    }
+
+    @Test
+    @DisplayName("Should replace the form of a snapshot whose slot is taken by another one")
+    void testSerialize_Bounded() {
+        SerializedAggregates aggregates = new SerializedAggregates(objectMapper, 1);
+        PlayerSeasonStats first = seasonStats(1);
+        PlayerSeasonStats second = seasonStats(2);
+
+        byte[] form = aggregates.serialize(first);
+        aggregates.serialize(second);
+
+        assertNotSame(form, aggregates.serialize(first));
+    }
+
+    @Test
+    @DisplayName("Should write forms for bulk paths without displacing the kept ones")
+    void testWrite_BypassesTable() throws Exception {
+        SerializedAggregates aggregates = new SerializedAggregates(objectMapper, 1);
+        PlayerSeasonStats hot = seasonStats(1);
+        byte[] form = aggregates.serialize(hot);
+
+        for (int points = 2; points < 100; points++) {
+            PlayerSeasonStats exported = seasonStats(points);
+            assertArrayEquals(objectMapper.writeValueAsBytes(exported), aggregates.write(exported));
+        }
+
+        assertSame(form, aggregates.serialize(hot));
+    }
+
+    private static PlayerSeasonStats seasonStats(int points) {
+        return new PlayerSeasonStats("1", "2023-2024", 1, points, 5, 4, 1, 0, 2, 3,
+                new BigDecimal("30.0"), points, 5, 4, 1, 0, 2, 3, new BigDecimal("30.0"));
+    }
+}
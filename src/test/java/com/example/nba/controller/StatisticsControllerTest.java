@@ -0,0 +1,484 @@
+package com.example.nba.controller;
+
+import com.example.nba.cache.SeasonStatsResponseCache;
+import com.example.nba.ingest.IngestPipeline;
+import com.example.nba.ingest.IngestQueueFullException;
+import com.example.nba.live.SeasonStatsUpdates;
+import com.example.nba.model.BatchIngestResult;
+import com.example.nba.model.BatchItemResult;
+import com.example.nba.model.GameStatsChange;
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.IngestReceipt;
+import com.example.nba.model.LeaderboardEntry;
+import com.example.nba.model.RollingStats;
+import com.example.nba.model.Team;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.persistence.GameStatsChangeLog;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.service.GameStatisticsService;
+import com.example.nba.service.PlayerStatisticsService;
+import com.example.nba.service.TeamService;
+import com.example.nba.service.TeamStatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(StatisticsController.class)
+@Import({SeasonStatsResponseCache.class, SeasonStatsUpdates.class, DefaultKeyGenerator.class})
+public class StatisticsControllerTest {
+
+    private static final String GAME_LINE_1 = """
+            {"id":"s1","playerId":"1","gameId":"g1","teamId":"1","timestamp":"2024-03-15T19:30:00",\
+            "season":"2023-2024","points":25,"rebounds":12,"assists":7,"steals":2,"blocks":1,\
+            "fouls":3,"turnovers":4,"minutesPlayed":38.5}""";
+    private static final String GAME_LINE_2 = """
+            {"id":"s2","playerId":"2","gameId":"g1","teamId":"2","timestamp":"2024-03-15T19:30:00",\
+            "season":"2023-2024","points":31,"rebounds":5,"assists":9,"steals":1,"blocks":0,\
+            "fouls":2,"turnovers":3,"minutesPlayed":36.0}""";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private SeasonStatsUpdates updates;
+
+    @MockBean
+    private PlayerStatisticsService playerStatisticsService;
+
+    @MockBean
+    private GameStatisticsService gameStatisticsService;
+
+    @MockBean
+    private TeamStatisticsService teamStatisticsService;
+
+    @MockBean
+    private TeamService teamService;
+
+    @MockBean
+    private GameStatsChangeLog changeLog;
+
+    @MockBean
+    private IngestPipeline ingestPipeline;
+
+    @Test
+    @DisplayName("Single-line endpoint queues the line and answers 202, or 429 when the queue is full")
+    void createPlayerGameStats_Queued() {
+        when(teamService.existsById("1")).thenReturn(true);
+        when(ingestPipeline.submit(any(PlayerGameStats.class)))
+                .thenReturn(new IngestReceipt(41, "s1"))
+                .thenThrow(new IngestQueueFullException());
+
+        webTestClient.post().uri("/api/v1/statistics/player/stats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(GAME_LINE_1)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.sequence").isEqualTo(41)
+                .jsonPath("$.id").isEqualTo("s1");
+
+        webTestClient.post().uri("/api/v1/statistics/player/stats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(GAME_LINE_1)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "1");
+    }
+
+    @Test
+    @DisplayName("Single-line endpoint rejects a line of an unknown team without queueing it")
+    void createPlayerGameStats_UnknownTeam() {
+        when(teamService.existsById("1")).thenReturn(false);
+
+        webTestClient.post().uri("/api/v1/statistics/player/stats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(GAME_LINE_1)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(ingestPipeline, times(0)).submit(any());
+    }
+
+    @Test
+    @DisplayName("Batch endpoint accepts a JSON array and returns a result per entry")
+    @SuppressWarnings("unchecked")
+    void createPlayerGameStatsBatch_JsonArray() {
+        when(gameStatisticsService.saveGameStatisticsBatch(anyList())).thenReturn(Mono.just(BatchIngestResult.of(
+                List.of(BatchItemResult.accepted(0, "s1"), BatchItemResult.accepted(1, "s2")))));
+
+        webTestClient.post().uri("/api/v1/statistics/player/stats/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + GAME_LINE_1 + "," + GAME_LINE_2 + "]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accepted").isEqualTo(2)
+                .jsonPath("$.items[1].id").isEqualTo("s2");
+
+        ArgumentCaptor<List<PlayerGameStats>> batch = ArgumentCaptor.forClass(List.class);
+        verify(gameStatisticsService).saveGameStatisticsBatch(batch.capture());
+        assertThat(batch.getValue()).extracting(PlayerGameStats::id).containsExactly("s1", "s2");
+    }
+
+    @Test
+    @DisplayName("Batch endpoint accepts an NDJSON stream")
+    @SuppressWarnings("unchecked")
+    void createPlayerGameStatsBatch_Ndjson() {
+        when(gameStatisticsService.saveGameStatisticsBatch(anyList())).thenReturn(Mono.just(BatchIngestResult.of(
+                List.of(BatchItemResult.accepted(0, "s1"), BatchItemResult.accepted(1, "s2")))));
+
+        webTestClient.post().uri("/api/v1/statistics/player/stats/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(GAME_LINE_1 + "\n" + GAME_LINE_2 + "\n")
+                .exchange()
+                .expectStatus().isOk();
+
+        ArgumentCaptor<List<PlayerGameStats>> batch = ArgumentCaptor.forClass(List.class);
+        verify(gameStatisticsService).saveGameStatisticsBatch(batch.capture());
+        assertThat(batch.getValue()).extracting(PlayerGameStats::id).containsExactly("s1", "s2");
+    }
+
+    @Test
+    @DisplayName("Season stats can be streamed as NDJSON with a season filter, cursor and limit")
+    void streamPlayerSeasonStats_Ndjson() {
+        PlayerSeasonStats first = new PlayerSeasonStats("2", "2023-2024", 1, 20, 5, 4, 1, 0, 2, 3,
+                new BigDecimal("30.0"), 20, 5, 4, 1, 0, 2, 3, new BigDecimal("30.0"));
+        PlayerSeasonStats second = new PlayerSeasonStats("3", "2023-2024", 1, 10, 2, 1, 0, 1, 1, 0,
+                new BigDecimal("12.5"), 10, 2, 1, 0, 1, 1, 0, new BigDecimal("12.5"));
+        when(playerStatisticsService.streamPlayerSeasonStatistics("2023-2024", null, "1"))
+                .thenReturn(Flux.just(first, second));
+
+        webTestClient.get().uri("/api/v1/statistics/players/season-stats?season=2023-2024&afterPlayerId=1&limit=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PlayerSeasonStats.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNext(first)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("A cross-season cursor without a season is rejected")
+    void streamPlayerSeasonStats_IncompleteCursor() {
+        webTestClient.get().uri("/api/v1/statistics/players/season-stats?afterPlayerId=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Game log endpoint passes the ISO time range through to the service")
+    void getPlayerGameLog_TimeRange() {
+        PlayerGameStats game = new PlayerGameStats("s1", "1", "g1", "1", LocalDateTime.of(2024, 3, 15, 19, 30),
+                "2023-2024", 25, 12, 7, 2, 1, 3, 4, new BigDecimal("38.5"));
+        when(playerStatisticsService.getPlayerGameLog("1", LocalDateTime.of(2024, 3, 1, 0, 0), null))
+                .thenReturn(Flux.just(game));
+
+        webTestClient.get().uri("/api/v1/statistics/players/1/games?from=2024-03-01T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].gameId").isEqualTo("g1");
+    }
+
+    @Test
+    @DisplayName("Game log endpoint rejects a range whose start is after its end")
+    void getPlayerGameLog_InvertedRange() {
+        webTestClient.get().uri("/api/v1/statistics/players/1/games?from=2024-03-02T00:00:00&to=2024-03-01T00:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Game summary endpoint turns the query parameters into a scan filter")
+    void getGameStatsSummary_Filters() {
+        GameStatsSummary.StatSummary stat = new GameStatsSummary.StatSummary(25, 25, 25, 25);
+        GameStatsSummary summary = new GameStatsSummary(1, stat, stat, stat, stat, stat, stat, stat,
+                new GameStatsSummary.MinutesSummary(new BigDecimal("38.5"), new BigDecimal("38.5"),
+                        new BigDecimal("38.5"), new BigDecimal("38.5")));
+        GameStatsFilter filter = new GameStatsFilter("2023-2024", "1", null, LocalDateTime.of(2024, 3, 1, 0, 0), null,
+                List.of(new GameStatsFilter.StatRange(GameStatsFilter.Stat.MINUTES_PLAYED, new BigDecimal("30"), null)));
+        when(playerStatisticsService.summarizeGameStatistics(filter)).thenReturn(Mono.just(summary));
+
+        webTestClient.get()
+                .uri("/api/v1/statistics/games/summary?season=2023-2024&teamId=1&from=2024-03-01T00:00:00&minMinutes=30")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.games").isEqualTo(1)
+                .jsonPath("$.points.total").isEqualTo(25)
+                .jsonPath("$.minutesPlayed.average").isEqualTo(38.5);
+    }
+
+    @Test
+    @DisplayName("Season stats are served from the cache with an ETag and revalidated with a 304")
+    void getPlayerSeasonStats_ETag() {
+        PlayerSeasonStats stats = new PlayerSeasonStats("1", "2023-2024", 1, 25, 12, 7, 2, 1, 3, 4,
+                new BigDecimal("38.5"), 25, 12, 7, 2, 1, 3, 4, new BigDecimal("38.5"));
+        when(playerStatisticsService.getPlayerSeasonStatistics("1", "2023-2024")).thenReturn(Mono.just(stats));
+
+        String eTag = webTestClient.get().uri("/api/v1/statistics/players/1/seasons/2023-2024")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(PlayerSeasonStats.class).isEqualTo(stats)
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/v1/statistics/players/1/seasons/2023-2024")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        verify(playerStatisticsService, times(1)).getPlayerSeasonStatistics("1", "2023-2024");
+    }
+
+    @Test
+    @DisplayName("Missing season stats are answered with a 404")
+    void getTeamSeasonStats_NotFound() {
+        when(gameStatisticsService.getTeamSeasonStats("1", "1999-2000")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/statistics/teams/1/seasons/1999-2000")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Season lists are written as JSON arrays of the serialized aggregates")
+    void getSeasonPlayerStats_JsonArray() {
+        PlayerSeasonStats first = new PlayerSeasonStats("1", "2023-2024", 1, 25, 12, 7, 2, 1, 3, 4,
+                new BigDecimal("38.5"), 25, 12, 7, 2, 1, 3, 4, new BigDecimal("38.5"));
+        PlayerSeasonStats second = new PlayerSeasonStats("2", "2023-2024", 1, 31, 5, 9, 1, 0, 2, 3,
+                new BigDecimal("36.0"), 31, 5, 9, 1, 0, 2, 3, new BigDecimal("36.0"));
+        when(playerStatisticsService.getPlayerSeasonStatisticsBySeason("2023-2024"))
+                .thenReturn(Flux.just(first, second));
+        when(playerStatisticsService.getPlayerSeasonStatisticsBySeason("1999-2000")).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/v1/statistics/seasons/2023-2024/players")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PlayerSeasonStats.class).isEqualTo(List.of(first, second));
+        webTestClient.get().uri("/api/v1/statistics/seasons/1999-2000/players")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("A player's seasons are listed as a JSON array in season order")
+    void getPlayerSeasons_JsonArray() {
+        PlayerSeasonStats first = new PlayerSeasonStats("1", "2022-2023", 1, 18, 9, 4, 1, 0, 2, 2,
+                new BigDecimal("31.0"), 18, 9, 4, 1, 0, 2, 2, new BigDecimal("31.0"));
+        PlayerSeasonStats second = new PlayerSeasonStats("1", "2023-2024", 1, 25, 12, 7, 2, 1, 3, 4,
+                new BigDecimal("38.5"), 25, 12, 7, 2, 1, 3, 4, new BigDecimal("38.5"));
+        when(playerStatisticsService.getPlayerSeasonStatisticsByPlayer("1")).thenReturn(Flux.just(first, second));
+        when(playerStatisticsService.getPlayerSeasonStatisticsByPlayer("99")).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/v1/statistics/players/1/seasons")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PlayerSeasonStats.class).isEqualTo(List.of(first, second));
+        webTestClient.get().uri("/api/v1/statistics/players/99/seasons")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("A team's seasons are listed as a JSON array in season order")
+    void getTeamSeasons_JsonArray() {
+        Team team = new Team("1", "Team One");
+        TeamSeasonStats first = new TeamSeasonStats(team, "2022-2023", 2, 104, 41, 22, 7, 4, 19, 13);
+        TeamSeasonStats second = new TeamSeasonStats(team, "2023-2024", 1, 100, 40, 20, 8, 5, 18, 12);
+        when(teamStatisticsService.getTeamStatsByTeam("1")).thenReturn(Flux.just(first, second));
+
+        webTestClient.get().uri("/api/v1/statistics/teams/1/seasons")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].season").isEqualTo("2022-2023")
+                .jsonPath("$[0].team.id").isEqualTo("1")
+                .jsonPath("$[1].season").isEqualTo("2023-2024")
+                .jsonPath("$[1].averageTeamPoints").isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("A season's teams are listed as a JSON array in team order")
+    void getSeasonTeamStats_JsonArray() {
+        TeamSeasonStats first = new TeamSeasonStats(new Team("1", "Team One"), "2023-2024", 1,
+                100, 40, 20, 8, 5, 18, 12);
+        TeamSeasonStats second = new TeamSeasonStats(new Team("2", "Team Two"), "2023-2024", 1,
+                95, 44, 25, 6, 3, 21, 14);
+        when(teamStatisticsService.getTeamStatsBySeason("2023-2024")).thenReturn(Flux.just(first, second));
+        when(teamStatisticsService.getTeamStatsBySeason("1999-2000")).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/v1/statistics/seasons/2023-2024/teams")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].team.id").isEqualTo("1")
+                .jsonPath("$[1].team.id").isEqualTo("2")
+                .jsonPath("$[1].averageTeamRebounds").isEqualTo(44.0);
+        webTestClient.get().uri("/api/v1/statistics/seasons/1999-2000/teams")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Leaders endpoint parses the statistic case-insensitively and rejects unknown ones")
+    void getLeaders_Stat() {
+        when(playerStatisticsService.getLeaders("2023-2024", GameStatsFilter.Stat.REBOUNDS, 2))
+                .thenReturn(Flux.just(new LeaderboardEntry(1, "5", 12.5), new LeaderboardEntry(2, "6", 11)));
+        when(playerStatisticsService.getLeaderboardRank("7", "2023-2024", GameStatsFilter.Stat.POINTS))
+                .thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/statistics/leaders?season=2023-2024&stat=rebounds&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].playerId").isEqualTo("5")
+                .jsonPath("$[1].rank").isEqualTo(2);
+        webTestClient.get().uri("/api/v1/statistics/leaders?season=2023-2024&stat=dunks")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/statistics/leaders/players/7?season=2023-2024&stat=points")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Standings endpoint pages through a season's standings by a metric")
+    void getStandings_Page() {
+        when(teamStatisticsService.getStandings("2023-2024", TeamSeasonStats.Metric.ASSISTS, 10, 5))
+                .thenReturn(Flux.just(new TeamStanding(11, "4", 25.5)));
+        when(teamStatisticsService.getStanding("4", "2023-2024", TeamSeasonStats.Metric.ASSISTS))
+                .thenReturn(Mono.just(new TeamStanding(11, "4", 25.5)));
+
+        webTestClient.get().uri("/api/v1/statistics/standings?season=2023-2024&metric=assists&offset=10&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].teamId").isEqualTo("4")
+                .jsonPath("$[0].rank").isEqualTo(11);
+        webTestClient.get().uri("/api/v1/statistics/standings/teams/4?season=2023-2024&metric=ASSISTS")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.value").isEqualTo(25.5);
+        webTestClient.get().uri("/api/v1/statistics/standings?season=2023-2024&metric=minutes_played")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/statistics/standings?season=2023-2024&metric=points&offset=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Rolling endpoints return every window of a player, or 404 for an unknown window")
+    void getRollingStats_Windows() {
+        RollingStats lastFive = new RollingStats("7", "last-5-games", 5, 31.2, 6, 7.4, 1.2, 0.6, 2, 3.2, 35.1);
+        when(playerStatisticsService.getRollingStatistics("7"))
+                .thenReturn(Flux.just(lastFive, new RollingStats("7", "last-30-days", 12, 29.5, 6, 7, 1, 0.5, 2, 3, 34)));
+        when(playerStatisticsService.getRollingStatistics("7", "last-5-games")).thenReturn(Mono.just(lastFive));
+        when(playerStatisticsService.getRollingStatistics("7", "last-3-games")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/statistics/players/7/rolling")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[1].window").isEqualTo("last-30-days")
+                .jsonPath("$[1].gamesPlayed").isEqualTo(12);
+        webTestClient.get().uri("/api/v1/statistics/players/7/rolling/last-5-games")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.avgPoints").isEqualTo(31.2);
+        webTestClient.get().uri("/api/v1/statistics/players/7/rolling/last-3-games")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Live endpoint streams heartbeats and the updated season statistics of the requested players")
+    void livePlayerSeasonStats_ServerSentEvents() {
+        PlayerSeasonStats stats = new PlayerSeasonStats("7", "2023-2024", 1, 25, 12, 7, 2, 1, 3, 4,
+                new BigDecimal("36.0"), 25, 12, 7, 2, 1, 3, 4, new BigDecimal("36.0"));
+
+        Flux<ServerSentEvent<PlayerSeasonStats>> body = webTestClient.get()
+                .uri("/api/v1/statistics/live/players?ids=7,8")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<PlayerSeasonStats>>() {
+                })
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .assertNext(event -> assertThat(event.comment()).isEqualTo("heartbeat"))
+                .then(() -> updates.publish(stats))
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("player");
+                    assertThat(event.data()).isEqualTo(stats);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Change log endpoint tails the changes as NDJSON from the requested sequence")
+    void getChanges_FromSequence() {
+        PlayerGameStats gameStats = new PlayerGameStats("s1", "1", "g1", "1", LocalDateTime.of(2024, 3, 15, 19, 30),
+                "2023-2024", 25, 12, 7, 2, 1, 3, 4, new BigDecimal("38.5"));
+        when(changeLog.nextSequence()).thenReturn(4L);
+        when(changeLog.changes(3)).thenReturn(Flux.just(new GameStatsChange(3, gameStats)));
+
+        Flux<GameStatsChange> body = webTestClient.get().uri("/api/v1/statistics/changes?from=3")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(GameStatsChange.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNext(new GameStatsChange(3, gameStats))
+                .verifyComplete();
+
+        webTestClient.get().uri("/api/v1/statistics/changes?from=5")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
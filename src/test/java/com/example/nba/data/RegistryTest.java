@@ -0,0 +1,56 @@
+package com.example.nba.data;
+
+import com.example.nba.model.Team;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegistryTest {
+
+    @Test
+    @DisplayName("Should assign dense codes in registry order and look entries up by ID and code")
+    void testOf_DenseCodes() {
+        Team lakers = new Team("1", "Los Angeles Lakers");
+        Team celtics = new Team("8", "Boston Celtics");
+        Registry<Team> registry = Registry.of(List.of(lakers, celtics), Team::id);
+
+        assertEquals(0, registry.code("1"));
+        assertEquals(1, registry.code("8"));
+        assertEquals(Registry.MISSING, registry.code("2"));
+        assertEquals(celtics, registry.get(1));
+        assertEquals(celtics, registry.get("8"));
+        assertNull(registry.get("2"));
+        assertEquals(List.of("1", "8"), List.copyOf(registry.asMap().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should resolve every ID of a larger registry to its code")
+    void testCode_ManyEntries() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            teams.add(new Team("team" + i, "Team " + i));
+        }
+        Registry<Team> registry = Registry.of(teams, Team::id);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, registry.code("team" + i));
+        }
+        assertEquals(Registry.MISSING, registry.code("team1000"));
+        assertEquals(Registry.MISSING, Registry.empty().code("team0"));
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate and blank IDs")
+    void testOf_InvalidIds() {
+        assertThrows(IllegalArgumentException.class, () -> Registry.of(
+                List.of(new Team("1", "Los Angeles Lakers"), new Team("1", "Golden State Warriors")), Team::id));
+        assertThrows(IllegalArgumentException.class,
+                () -> Registry.of(List.of(new Team(" ", "Phoenix Suns")), Team::id));
+    }
+}
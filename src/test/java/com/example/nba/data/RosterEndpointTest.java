@@ -0,0 +1,53 @@
+package com.example.nba.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RosterEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should publish both rosters together and apply neither if one file is invalid")
+    void testReload_AllOrNothing() throws IOException {
+        Path players = directory.resolve("players.json");
+        Path teams = directory.resolve("teams.json");
+        Files.writeString(players, "[{\"id\": \"1\", \"name\": \"LeBron James\"}]");
+        Files.writeString(teams, "[{\"id\": \"1\", \"name\": \"Los Angeles Lakers\"}]");
+        Rosters rosters = new Rosters();
+        PlayerInitializer playerInitializer = new PlayerInitializer(new FileSystemResource(players), rosters);
+        TeamInitializer teamInitializer = new TeamInitializer(new FileSystemResource(teams), rosters);
+        RosterEndpoint endpoint = new RosterEndpoint(playerInitializer, teamInitializer, rosters);
+
+        WebEndpointResponse<Map<String, Object>> loaded = endpoint.reload();
+        assertEquals(WebEndpointResponse.STATUS_OK, loaded.getStatus());
+        assertEquals(Map.of("players", 1, "teams", 1), loaded.getBody());
+
+        Rosters.Roster current = rosters.current();
+        Files.writeString(players, "[{\"id\": \"1\", \"name\": \"LeBron James\"},"
+                + " {\"id\": \"2\", \"name\": \"Stephen Curry\"}]");
+        Files.writeString(teams, "[{\"id\": \"1\", \"name\": ");
+
+        WebEndpointResponse<Map<String, Object>> failed = endpoint.reload();
+        assertEquals(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR, failed.getStatus());
+        assertEquals(1, failed.getBody().get("players"));
+        assertTrue(failed.getBody().get("error").toString().contains("teams.json"));
+        assertSame(current, rosters.current());
+        assertNull(playerInitializer.getPlayer("2"));
+        assertEquals(Map.of("players", 1, "teams", 1), endpoint.sizes());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.nba.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TeamInitializerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should load the bundled roster on startup")
+    void testRun_BundledRoster() {
+        TeamInitializer teamInitializer = new TeamInitializer();
+        teamInitializer.run();
+
+        assertEquals(10, teamInitializer.getTeams().size());
+        assertEquals("Boston Celtics", teamInitializer.getTeam("8").name());
+    }
+
+    @Test
+    @DisplayName("Should publish a reloaded roster and keep the current one if the file is invalid")
+    void testReload_ReplacesRoster() throws IOException {
+        Path roster = directory.resolve("teams.json");
+        Files.writeString(roster, "[{\"id\": \"1\", \"name\": \"Los Angeles Lakers\"}]");
+        TeamInitializer teamInitializer = new TeamInitializer(new FileSystemResource(roster));
+        teamInitializer.run();
+
+        Files.writeString(roster, "[{\"id\": \"1\", \"name\": \"Los Angeles Lakers\"},"
+                + " {\"id\": \"11\", \"name\": \"Seattle SuperSonics\"}]");
+        assertEquals(2, teamInitializer.reload());
+        assertEquals("Seattle SuperSonics", teamInitializer.getTeam("11").name());
+
+        Registry<?> current = teamInitializer.getRegistry();
+        Files.writeString(roster, "[{\"id\": \"1\", \"name\": ");
+        assertThrows(UncheckedIOException.class, teamInitializer::reload);
+        assertSame(current, teamInitializer.getRegistry());
+        assertNull(teamInitializer.getTeam("2"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.nba.ingest;
+
+import com.example.nba.model.BatchIngestResult;
+import com.example.nba.model.BatchItemResult;
+import com.example.nba.model.IngestReceipt;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.service.GameStatisticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IngestPipelineTest {
+
+    @Test
+    @DisplayName("Should apply every queued line in micro-batches, keeping each player's lines in order")
+    void testSubmit_AppliesLinesInBatches() {
+        List<List<PlayerGameStats>> batches = Collections.synchronizedList(new ArrayList<>());
+        GameStatisticsService service = mock(GameStatisticsService.class);
+        when(service.saveGameStatisticsBatch(anyList())).thenAnswer(invocation -> {
+            List<PlayerGameStats> batch = invocation.getArgument(0);
+            batches.add(batch);
+            return Mono.just(accepted(batch));
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        IngestPipeline pipeline = new IngestPipeline(service, 10_000, 64, 4, meterRegistry);
+        List<PlayerGameStats> submitted = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            PlayerGameStats line = createGameStats("stat" + i, "player" + i % 7, "game" + i);
+            IngestReceipt receipt = pipeline.submit(line);
+            assertEquals(i, receipt.sequence());
+            assertEquals("stat" + i, receipt.id());
+            submitted.add(line);
+        }
+        pipeline.close();
+
+        List<PlayerGameStats> applied = batches.stream().flatMap(List::stream).toList();
+        assertEquals(submitted.size(), applied.size());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 64));
+        for (int player = 0; player < 7; player++) {
+            String playerId = "player" + player;
+            assertEquals(submitted.stream().filter(line -> line.playerId().equals(playerId)).toList(),
+                    applied.stream().filter(line -> line.playerId().equals(playerId)).toList());
+        }
+        assertEquals(batches.size(), meterRegistry.get("nba.ingest.batch.size").summary().count());
+        assertEquals(0, meterRegistry.get("nba.ingest.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should shed submissions to a full queue and refuse them once closed")
+    void testSubmit_ShedsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GameStatisticsService service = mock(GameStatisticsService.class);
+        when(service.saveGameStatisticsBatch(anyList())).thenAnswer(invocation -> {
+            applying.countDown();
+            release.await();
+            return Mono.just(accepted(invocation.getArgument(0)));
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        IngestPipeline pipeline = new IngestPipeline(service, 2, 8, 1, meterRegistry);
+        pipeline.submit(createGameStats("stat0", "player1", "game0"));
+        assertTrue(applying.await(10, TimeUnit.SECONDS));
+        pipeline.submit(createGameStats("stat1", "player1", "game1"));
+        pipeline.submit(createGameStats("stat2", "player1", "game2"));
+
+        assertThrows(IngestQueueFullException.class,
+                () -> pipeline.submit(createGameStats("stat3", "player1", "game3")));
+        assertEquals(1, meterRegistry.get("nba.ingest.shed").counter().count());
+        assertEquals(2, meterRegistry.get("nba.ingest.queue.depth").gauge().value());
+
+        release.countDown();
+        pipeline.close();
+        assertEquals(0, pipeline.queueDepth());
+        assertThrows(IngestUnavailableException.class,
+                () -> pipeline.submit(createGameStats("stat4", "player1", "game4")));
+    }
+
+    private static BatchIngestResult accepted(List<PlayerGameStats> batch) {
+        List<BatchItemResult> items = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            items.add(BatchItemResult.accepted(i, batch.get(i).id()));
+        }
+        return BatchIngestResult.of(items);
+    }
+
+    private PlayerGameStats createGameStats(String id, String playerId, String gameId) {
+        return new PlayerGameStats(id, playerId, gameId, "1", LocalDateTime.of(2024, 3, 15, 19, 30),
+                "2023-24", 25, 10, 5, 2, 1, 3, 2, new BigDecimal("34.5"));
+    }
+}
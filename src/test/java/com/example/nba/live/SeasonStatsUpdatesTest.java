@@ -0,0 +1,69 @@
+package com.example.nba.live;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeasonStatsUpdatesTest {
+
+    @Test
+    @DisplayName("Should conflate the updates of each topic for a subscriber that does not keep up")
+    void testPlayers_ConflatesSlowSubscriber() {
+        SeasonStatsUpdates updates = new SeasonStatsUpdates();
+        PlayerSeasonStats first = stats("1", "2023-24", 10);
+        PlayerSeasonStats second = stats("1", "2023-24", 20);
+        PlayerSeasonStats third = stats("1", "2023-24", 30);
+        PlayerSeasonStats other = stats("2", "2023-24", 15);
+
+        StepVerifier.create(updates.players(List.of("1", "2"), null), 0)
+                .then(() -> {
+                    updates.publish(first);
+                    updates.publish(second);
+                    updates.publish(other);
+                    updates.publish(third);
+                    updates.publish(stats("3", "2023-24", 5));
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext(first, other, third)
+                .thenCancel()
+                .verify();
+
+        assertFalse(updates.hasPlayerSubscribers("1"));
+    }
+
+    @Test
+    @DisplayName("Should only push the requested season and keep a topic while it has subscribers")
+    void testPlayers_SeasonFilterAndTopicLifetime() {
+        SeasonStatsUpdates updates = new SeasonStatsUpdates();
+        PlayerSeasonStats current = stats("1", "2023-24", 10);
+
+        StepVerifier.create(updates.players(List.of("1"), "2023-24"))
+                .then(() -> StepVerifier.create(updates.players(List.of("1"), null))
+                        .thenCancel()
+                        .verify())
+                .then(() -> assertTrue(updates.hasPlayerSubscribers("1")))
+                .then(() -> {
+                    updates.publish(stats("1", "2022-23", 40));
+                    updates.publish(current);
+                })
+                .expectNext(current)
+                .thenCancel()
+                .verify();
+
+        assertFalse(updates.hasPlayerSubscribers("1"));
+    }
+
+    private static PlayerSeasonStats stats(String playerId, String season, int points) {
+        return PlayerSeasonStats.fromFirstGame(new PlayerGameStats("stat1", playerId, "game1", "1",
+                LocalDateTime.of(2023, 10, 24, 19, 30), season, points, 5, 4, 1, 0, 2, 3, new BigDecimal("30.0")));
+    }
+}
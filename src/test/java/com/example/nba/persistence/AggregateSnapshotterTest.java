@@ -0,0 +1,168 @@
+package com.example.nba.persistence;
+
+import com.example.nba.cache.SeasonStatsResponseCache;
+import com.example.nba.cache.SerializedAggregates;
+import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.model.RollingStats;
+import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.InMemoryPlayerStatisticsRepository;
+import com.example.nba.repository.InMemoryTeamStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import com.example.nba.repository.rolling.InMemoryRollingStatsRepository;
+import com.example.nba.service.GameStatisticsServiceImpl;
+import com.example.nba.service.PlayerStatisticsServiceImpl;
+import com.example.nba.service.TeamStatisticsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AggregateSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore from the snapshot plus the log tail to the same state as before the restart")
+    void testRestore_SnapshotPlusTailMatchesLiveState() throws IOException {
+        Node before = new Node();
+        try (WriteAheadLog log = before.open()) {
+            before.save(createGameStats("stat1", "1", "game1", "1", 20));
+            before.save(createGameStats("stat2", "2", "game1", "2", 31));
+            AggregateSnapshot.Footer footer = before.snapshotter(log).snapshot();
+            assertEquals(2, footer.lines());
+
+            before.save(createGameStats("stat1", "1", "game1", "1", 24));
+            before.save(createGameStats("stat2", "2", "game1", "2", 31));
+            before.save(createGameStats("stat3", "1", "game2", "1", 9));
+        }
+
+        Node after = new Node();
+        try (WriteAheadLog log = WriteAheadLog.open(after.logFile(), 16)) {
+            AggregateSnapshot.Footer footer = after.snapshotter(log).restore(log.size());
+            long tail = log.recover(footer.logPosition(), 8,
+                    batch -> after.gameStatisticsService.restoreGameStatistics(batch).block());
+            assertEquals(2, tail);
+        }
+
+        assertEquals(before.playerStats("1"), after.playerStats("1"));
+        assertEquals(before.playerStats("2"), after.playerStats("2"));
+        assertEquals(before.teamStats("1"), after.teamStats("1"));
+        assertEquals(2, after.playerStats("1").gamesPlayed());
+        assertEquals(33, after.playerStats("1").totalPoints());
+        assertEquals(before.rollingStats("1"), after.rollingStats("1"));
+        assertEquals(16.5, after.rollingStats("1").get(0).avgPoints());
+    }
+
+    @Test
+    @DisplayName("Should ignore a corrupt snapshot")
+    void testRestore_IgnoresCorruptSnapshot() throws IOException {
+        Node node = new Node();
+        try (WriteAheadLog log = node.open()) {
+            node.save(createGameStats("stat1", "1", "game1", "1", 20));
+            node.snapshotter(log).snapshot();
+        }
+        try (FileChannel channel = FileChannel.open(node.snapshotFile(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 12);
+        }
+
+        Node restarted = new Node();
+        try (WriteAheadLog log = WriteAheadLog.open(restarted.logFile(), 16)) {
+            assertNull(restarted.snapshotter(log).restore(log.size()));
+        }
+    }
+
+    private PlayerGameStats createGameStats(String id, String playerId, String gameId, String teamId, int points) {
+        return new PlayerGameStats(id, playerId, gameId, teamId, LocalDateTime.of(2024, 3, 15, 19, 30), "2023-24",
+                points, 10, 5, 2, 1, 3, 2, new BigDecimal("34.5"));
+    }
+
+    /**
+     * One application instance: repositories, services and persistence files in the shared temp directory.
+     */
+    private final class Node {
+        final DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        final InMemoryPlayerStatisticsRepository gameStatsRepository = 
+                new InMemoryPlayerStatisticsRepository(keyGenerator, new IdentifierInterner());
+        final InMemoryPlayerSeasonStatisticsRepository playerSeasonRepository =
+                new InMemoryPlayerSeasonStatisticsRepository(keyGenerator);
+        final InMemoryTeamStatisticsRepository teamSeasonRepository = new InMemoryTeamStatisticsRepository(keyGenerator);
+        final InMemoryRollingStatsRepository rollingStatsRepository =
+                new InMemoryRollingStatsRepository(new int[]{5, 10}, new int[]{30}, 32);
+        final TeamInitializer teamInitializer = new TeamInitializer();
+        final GameStatsChangeLog changeLog;
+        GameStatisticsServiceImpl gameStatisticsService;
+
+        Node() throws IOException {
+            changeLog = GameStatsChangeLog.openTemporary(1024);
+            teamInitializer.run();
+            service(GameStatsJournal.NONE);
+        }
+
+        WriteAheadLog open() throws IOException {
+            WriteAheadLog log = WriteAheadLog.open(logFile(), 16);
+            log.recover(8, batch -> {
+            });
+            service(log);
+            return log;
+        }
+
+        private void service(GameStatsJournal journal) {
+            gameStatisticsService = new GameStatisticsServiceImpl(
+                    new PlayerStatisticsServiceImpl(gameStatsRepository, playerSeasonRepository, rollingStatsRepository),
+                    new TeamStatisticsServiceImpl(teamSeasonRepository),
+                    teamInitializer,
+                    Validation.buildDefaultValidatorFactory().getValidator(),
+                    journal,
+                    new SeasonStatsResponseCache(
+                            new SerializedAggregates(new ObjectMapper(), 1_000), keyGenerator, 1_000),
+                    changeLog);
+        }
+
+        AggregateSnapshotter snapshotter(WriteAheadLog log) {
+            return new AggregateSnapshotter(snapshotFile(), log, gameStatsRepository, playerSeasonRepository,
+                    teamSeasonRepository, rollingStatsRepository, teamInitializer, keyGenerator);
+        }
+
+        void save(PlayerGameStats gameStats) {
+            gameStatisticsService.saveGameStatistics(gameStats).block();
+        }
+
+        PlayerSeasonStats playerStats(String playerId) {
+            return playerSeasonRepository.findByPlayerIdAndSeason(playerId, "2023-24").block();
+        }
+
+        List<RollingStats> rollingStats(String playerId) {
+            return rollingStatsRepository.findByPlayerId(playerId).collectList().block();
+        }
+
+        TeamSeasonStats teamStats(String teamId) {
+            return teamSeasonRepository.findByTeamId(teamId, "2023-24").block();
+        }
+
+        Path logFile() {
+            return directory.resolve("game-stats.wal");
+        }
+
+        Path snapshotFile() {
+            return directory.resolve("state.snapshot");
+        }
+    }
+}
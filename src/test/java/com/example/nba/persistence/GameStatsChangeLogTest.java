@@ -0,0 +1,138 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.GameStatsChange;
+import com.example.nba.model.PlayerGameStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameStatsChangeLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should resume from any sequence, reading changes that left the ring from the spill file")
+    void testChanges_ResumesFromMemoryAndSpillFile() throws IOException {
+        int changes = 3 * GameStatsChangeLog.INDEX_INTERVAL;
+        List<PlayerGameStats> lines = new ArrayList<>();
+        for (int i = 0; i < changes; i++) {
+            lines.add(createGameStats("stat" + i, "game" + i));
+        }
+
+        try (GameStatsChangeLog log = GameStatsChangeLog.open(directory.resolve("changes.log"), 16)) {
+            for (int i = 0; i < changes; i += 100) {
+                log.append(lines.subList(i, Math.min(changes, i + 100))).block();
+            }
+            assertEquals(changes, log.nextSequence());
+
+            for (long from : new long[]{0, 2_500, changes - 10}) {
+                List<GameStatsChange> read = log.changes(from).take(changes - from).collectList()
+                        .block(Duration.ofSeconds(10));
+                assertEquals(LongStream.range(from, changes).boxed().toList(),
+                        read.stream().map(GameStatsChange::sequence).toList());
+                assertEquals(lines.subList((int) from, changes),
+                        read.stream().map(GameStatsChange::gameStats).toList());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should push changes appended after a consumer caught up")
+    void testChanges_TailsNewChanges() throws IOException {
+        PlayerGameStats first = createGameStats("stat1", "game1");
+        PlayerGameStats second = createGameStats("stat2", "game2");
+        PlayerGameStats third = createGameStats("stat3", "game3");
+
+        try (GameStatsChangeLog log = GameStatsChangeLog.openTemporary(2)) {
+            log.append(List.of(first)).block();
+
+            StepVerifier.create(log.changes(0))
+                    .expectNext(new GameStatsChange(0, first))
+                    .then(() -> log.append(List.of(second, third)).block())
+                    .expectNext(new GameStatsChange(1, second), new GameStatsChange(2, third))
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(10));
+
+            StepVerifier.create(log.changes(4))
+                    .expectError(IllegalArgumentException.class)
+                    .verify(Duration.ofSeconds(10));
+        }
+    }
+
+    @Test
+    @DisplayName("Should number recorded changes in recording order, but expose them only once flushed")
+    void testRecord_VisibleOnceFlushed() throws IOException {
+        PlayerGameStats first = createGameStats("stat1", "game1");
+        PlayerGameStats second = createGameStats("stat2", "game2");
+
+        try (GameStatsChangeLog log = GameStatsChangeLog.openTemporary(16)) {
+            log.record(first);
+            log.record(second);
+            assertEquals(0, log.nextSequence());
+
+            log.flush().block();
+
+            assertEquals(2, log.nextSequence());
+            assertEquals(List.of(new GameStatsChange(0, first), new GameStatsChange(1, second)),
+                    log.changes(0).take(2).collectList().block(Duration.ofSeconds(10)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record and continue the numbering after reopening")
+    void testOpen_ContinuesNumberingAfterTornTail() throws IOException {
+        Path file = directory.resolve("changes.log");
+        PlayerGameStats first = createGameStats("stat1", "game1");
+        PlayerGameStats second = createGameStats("stat2", "game2");
+        PlayerGameStats third = createGameStats("stat3", "game3");
+
+        try (GameStatsChangeLog log = GameStatsChangeLog.open(file, 16)) {
+            log.append(List.of(first, second)).block();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (GameStatsChangeLog log = GameStatsChangeLog.open(file, 16)) {
+            assertEquals(1, log.nextSequence());
+            log.append(List.of(third)).block();
+
+            assertEquals(List.of(new GameStatsChange(0, first), new GameStatsChange(1, third)),
+                    log.changes(0).take(2).collectList().block(Duration.ofSeconds(10)));
+        }
+    }
+
+    private PlayerGameStats createGameStats(String id, String gameId) {
+        return new PlayerGameStats(
+                id,
+                "player1",
+                gameId,
+                "team1",
+                LocalDateTime.of(2024, 3, 15, 19, 30),
+                "2023-24",
+                25,
+                10,
+                5,
+                2,
+                1,
+                3,
+                2,
+                new BigDecimal("34.5")
+        );
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.nba.persistence;
+
+import com.example.nba.cache.SeasonStatsResponseCache;
+import com.example.nba.cache.SerializedAggregates;
+import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.repository.InMemoryPlayerSeasonStatisticsRepository;
+import com.example.nba.repository.InMemoryPlayerStatisticsRepository;
+import com.example.nba.repository.InMemoryTeamStatisticsRepository;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import com.example.nba.repository.rolling.InMemoryRollingStatsRepository;
+import com.example.nba.service.GameStatisticsServiceImpl;
+import com.example.nba.service.PlayerStatisticsServiceImpl;
+import com.example.nba.service.TeamStatisticsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WalRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay and number concurrent corrections of one game in the order they were applied")
+    void testRecover_ConcurrentCorrectionsReplayToTheAppliedLine() throws Exception {
+        Node before = new Node();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (WriteAheadLog log = before.open()) {
+            List<Future<?>> saves = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int first = thread * 250;
+                saves.add(executor.submit(() -> {
+                    for (int points = first; points < first + 250; points++) {
+                        before.save(createGameStats("stat1", "game1", points));
+                    }
+                }));
+            }
+            for (Future<?> save : saves) {
+                save.get();
+            }
+            // Every save returned once its line was durable
+            assertEquals(log.size(), log.durablePosition());
+        } finally {
+            executor.shutdown();
+        }
+
+        Node after = new Node();
+        after.recover();
+
+        assertEquals(before.gameLog(), List.of(before.lastChange()));
+        assertEquals(before.gameLog(), after.gameLog());
+        assertEquals(before.playerStats(), after.playerStats());
+        assertEquals(1, after.playerStats().gamesPlayed());
+    }
+
+    @Test
+    @DisplayName("Should journal a resent line whose first journal append failed")
+    void testRecover_ResentLineIsJournaledAfterFailedAppend() throws Exception {
+        Node before = new Node();
+        PlayerGameStats line = createGameStats("stat1", "game1", 20);
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        try (WriteAheadLog log = WriteAheadLog.open(before.logFile(), 16)) {
+            log.recover(8, batch -> {
+            });
+            before.service(new GameStatsJournal() {
+                @Override
+                public Mono<Void> append(PlayerGameStats gameStats) {
+                    return log.append(gameStats);
+                }
+
+                @Override
+                public Mono<Void> appendAll(List<PlayerGameStats> gameStats) {
+                    return log.appendAll(gameStats);
+                }
+
+                @Override
+                public Reservation reserve(PlayerGameStats gameStats) {
+                    if (!failNext.getAndSet(false)) {
+                        return log.reserve(gameStats);
+                    }
+                    return new Reservation() {
+                        @Override
+                        public void release() {
+                        }
+
+                        @Override
+                        public Mono<Void> durable() {
+                            return Mono.error(new IOException("Disk full"));
+                        }
+                    };
+                }
+            });
+
+            assertThrows(RuntimeException.class, () -> before.save(line));
+            before.save(line);
+        }
+
+        Node after = new Node();
+        after.recover();
+
+        assertEquals(List.of(line), after.gameLog());
+    }
+
+    private PlayerGameStats createGameStats(String id, String gameId, int points) {
+        return new PlayerGameStats(id, "1", gameId, "1", LocalDateTime.of(2024, 3, 15, 19, 30), "2023-24",
+                points, 10, 5, 2, 1, 3, 2, new BigDecimal("34.5"));
+    }
+
+    /**
+     * One application instance writing to, or recovering from, the write-ahead log in the shared temp directory.
+     */
+    private final class Node {
+        final DefaultKeyGenerator keyGenerator = new DefaultKeyGenerator();
+        final InMemoryPlayerStatisticsRepository gameStatsRepository =
+                new InMemoryPlayerStatisticsRepository(keyGenerator, new IdentifierInterner());
+        final InMemoryPlayerSeasonStatisticsRepository playerSeasonRepository =
+                new InMemoryPlayerSeasonStatisticsRepository(keyGenerator);
+        final InMemoryTeamStatisticsRepository teamSeasonRepository = new InMemoryTeamStatisticsRepository(keyGenerator);
+        final TeamInitializer teamInitializer = new TeamInitializer();
+        final GameStatsChangeLog changeLog;
+        GameStatisticsServiceImpl gameStatisticsService;
+
+        Node() throws IOException {
+            changeLog = GameStatsChangeLog.openTemporary(1024);
+            teamInitializer.run();
+            service(GameStatsJournal.NONE);
+        }
+
+        WriteAheadLog open() throws IOException {
+            WriteAheadLog log = WriteAheadLog.open(logFile(), 16);
+            log.recover(8, batch -> {
+            });
+            service(log);
+            return log;
+        }
+
+        void recover() throws IOException {
+            try (WriteAheadLog log = WriteAheadLog.open(logFile(), 16)) {
+                new WalRecovery(log, gameStatisticsService, 8, null, Duration.ofMinutes(1), new SimpleMeterRegistry())
+                        .recover();
+            }
+        }
+
+        void service(GameStatsJournal journal) {
+            gameStatisticsService = new GameStatisticsServiceImpl(
+                    new PlayerStatisticsServiceImpl(gameStatsRepository, playerSeasonRepository,
+                            new InMemoryRollingStatsRepository(new int[]{5}, new int[]{30}, 32)),
+                    new TeamStatisticsServiceImpl(teamSeasonRepository),
+                    teamInitializer,
+                    Validation.buildDefaultValidatorFactory().getValidator(),
+                    journal,
+                    new SeasonStatsResponseCache(
+                            new SerializedAggregates(new ObjectMapper(), 1_000), keyGenerator, 1_000),
+                    changeLog);
+        }
+
+        void save(PlayerGameStats gameStats) {
+            gameStatisticsService.saveGameStatistics(gameStats).block();
+        }
+
+        List<PlayerGameStats> gameLog() {
+            return gameStatsRepository.findByPlayerId("1", null, null).collectList().block();
+        }
+
+        PlayerGameStats lastChange() {
+            return changeLog.changes(changeLog.nextSequence() - 1).blockFirst().gameStats();
+        }
+
+        PlayerSeasonStats playerStats() {
+            return playerSeasonRepository.findByPlayerIdAndSeason("1", "2023-24").block();
+        }
+
+        Path logFile() {
+            return directory.resolve("game-stats.wal");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.nba.persistence;
+
+import com.example.nba.model.PlayerGameStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay appended lines in order and unchanged after reopening")
+    void testRecover_ReplaysAppendedLines() throws IOException {
+        Path file = directory.resolve("game-stats.wal");
+        PlayerGameStats first = createGameStats("stat1", "game1", new BigDecimal("34.5"));
+        PlayerGameStats second = createGameStats("stat2", "game2", new BigDecimal("30"));
+        PlayerGameStats third = createGameStats("stat3", "game3", new BigDecimal("12.20"));
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, 16)) {
+            assertEquals(0, log.recover(8, batch -> {
+            }));
+            log.append(first).block();
+            log.appendAll(List.of(second, third)).block();
+        }
+
+        assertEquals(List.of(first, second, third), replay(file));
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record at the end of the log and keep appending after the intact ones")
+    void testRecover_TruncatesTornTail() throws IOException {
+        Path file = directory.resolve("game-stats.wal");
+        PlayerGameStats first = createGameStats("stat1", "game1", new BigDecimal("34.5"));
+        PlayerGameStats second = createGameStats("stat2", "game2", new BigDecimal("30.0"));
+        PlayerGameStats third = createGameStats("stat3", "game3", new BigDecimal("28.1"));
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, 16)) {
+            log.recover(8, batch -> {
+            });
+            log.appendAll(List.of(first, second)).block();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, 16)) {
+            List<PlayerGameStats> replayed = new ArrayList<>();
+            assertEquals(1, log.recover(8, replayed::addAll));
+            assertEquals(List.of(first), replayed);
+            log.append(third).block();
+        }
+
+        assertEquals(List.of(first, third), replay(file));
+    }
+
+    @Test
+    @DisplayName("Should write reserved lines in reservation order, once they are released")
+    void testReserve_WritesInReservationOrderOnceReleased() throws IOException {
+        Path file = directory.resolve("game-stats.wal");
+        PlayerGameStats first = createGameStats("stat1", "game1", new BigDecimal("34.5"));
+        PlayerGameStats second = createGameStats("stat2", "game2", new BigDecimal("30"));
+        PlayerGameStats third = createGameStats("stat3", "game3", new BigDecimal("12.20"));
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, 16)) {
+            log.recover(8, batch -> {
+            });
+            GameStatsJournal.Reservation firstReservation = log.reserve(first);
+            GameStatsJournal.Reservation secondReservation = log.reserve(second);
+            secondReservation.release();
+            CompletableFuture<Void> thirdDurable = log.append(third).toFuture();
+
+            assertThrows(TimeoutException.class, () -> thirdDurable.get(300, TimeUnit.MILLISECONDS));
+            assertEquals(0, log.durablePosition());
+
+            firstReservation.release();
+            firstReservation.durable().then(secondReservation.durable()).block();
+            thirdDurable.join();
+        }
+
+        assertEquals(List.of(first, second, third), replay(file));
+    }
+
+    @Test
+    @DisplayName("Should make every concurrent append durable, sharing fsyncs between them")
+    void testAppend_ConcurrentAppendsAreAllDurable() throws IOException {
+        Path file = directory.resolve("game-stats.wal");
+        int appends = 2_000;
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, 256)) {
+            log.recover(8, batch -> {
+            });
+            Flux.range(0, appends)
+                    .flatMap(i -> log.append(createGameStats("stat" + i, "game" + i, BigDecimal.ONE)), 256)
+                    .blockLast();
+        }
+
+        assertEquals(appends, replay(file).size());
+        assertEquals(appends, replay(file).stream().map(PlayerGameStats::id).distinct().count());
+    }
+
+    private List<PlayerGameStats> replay(Path file) throws IOException {
+        List<PlayerGameStats> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(file, 16)) {
+            log.recover(2, replayed::addAll);
+        }
+        return replayed;
+    }
+
+    private PlayerGameStats createGameStats(String id, String gameId, BigDecimal minutesPlayed) {
+        return new PlayerGameStats(
+                id,
+                "player1",
+                gameId,
+                "team1",
+                LocalDateTime.of(2024, 3, 15, 19, 30, 0, 123_000_000),
+                "2023-24",
+                25,
+                10,
+                5,
+                2,
+                1,
+                3,
+                2,
+                minutesPlayed
+        );
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.nba.repository;
+
+import com.example.nba.live.SeasonStatsUpdates;
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.LeaderboardEntry;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryPlayerSeasonStatisticsRepositoryTest {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryPlayerSeasonStatisticsRepositoryTest.class);
+
+    private static final int THREADS = 32;
+    private static final int GAMES_PER_THREAD = 5_000;
+
+    private final InMemoryPlayerSeasonStatisticsRepository repository =
+            new InMemoryPlayerSeasonStatisticsRepository(new DefaultKeyGenerator());
+
+    @Test
+    @DisplayName("Should create season statistics from the first merged game")
+    void testMergeGame_FirstGame() {
+        PlayerGameStats gameStats = createGameStats("player1", "2023-24");
+
+        StepVerifier.create(repository.mergeGame(gameStats))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByPlayerIdAndSeason("player1", "2023-24"))
+                .expectNext(PlayerSeasonStats.fromFirstGame(gameStats))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should derive the same season statistics as repeatedly applying withNewGame")
+    void testMergeGame_MatchesWithNewGame() {
+        PlayerGameStats first = createGameStats("player1", "2023-24");
+        PlayerGameStats second = new PlayerGameStats("stat2", "player1", "game2", "team1", LocalDateTime.now(),
+                "2023-24", 17, 3, 11, 0, 2, 5, 4, new BigDecimal("28.3"));
+        PlayerGameStats third = new PlayerGameStats("stat3", "player1", "game3", "team1", LocalDateTime.now(),
+                "2023-24", 40, 12, 7, 3, 0, 2, 1, new BigDecimal("41"));
+
+        repository.mergeGame(first).block();
+        repository.mergeGame(second).block();
+        repository.mergeGame(third).block();
+
+        StepVerifier.create(repository.findByPlayerIdAndSeason("player1", "2023-24"))
+                .expectNext(PlayerSeasonStats.fromFirstGame(first).withNewGame(second).withNewGame(third))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should match a season without the removed game after a game is removed")
+    void testRemoveGame_SubtractsGame() {
+        PlayerGameStats first = createGameStats("player1", "2023-24");
+        PlayerGameStats second = new PlayerGameStats("stat2", "player1", "game2", "team1", LocalDateTime.now(),
+                "2023-24", 17, 3, 11, 0, 2, 5, 4, new BigDecimal("28.3"));
+
+        repository.mergeGame(first).block();
+        repository.mergeGame(second).block();
+        repository.removeGame(second).block();
+
+        StepVerifier.create(repository.findByPlayerIdAndSeason("player1", "2023-24"))
+                .expectNext(PlayerSeasonStats.fromFirstGame(first))
+                .verifyComplete();
+
+        repository.removeGame(first).block();
+
+        StepVerifier.create(repository.findByPlayerIdAndSeason("player1", "2023-24"))
+                .verifyComplete();
+        StepVerifier.create(repository.findAll())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep a removal that overtakes the merge of the same game")
+    void testRemoveGame_BeforeMergeOfTheSameGame() {
+        PlayerGameStats inserted = createGameStats("player1", "2023-24");
+        PlayerGameStats corrected = new PlayerGameStats("stat1", "player1", "game1", "team1", inserted.timestamp(),
+                "2023-24", 17, 3, 11, 0, 2, 5, 4, new BigDecimal("28.3"));
+
+        // A correction's delta applied before the merge of the line it replaces
+        repository.removeGame(inserted).block();
+        StepVerifier.create(repository.findByPlayerIdAndSeason("player1", "2023-24"))
+                .verifyComplete();
+        repository.mergeGame(corrected).block();
+        repository.mergeGame(inserted).block();
+
+        StepVerifier.create(repository.findByPlayerIdAndSeason("player1", "2023-24"))
+                .expectNext(PlayerSeasonStats.fromFirstGame(corrected))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not lose updates when many threads merge games for the same player and season")
+    void testMergeGame_ConcurrentMergesLoseNoUpdates() throws InterruptedException {
+        PlayerGameStats gameStats = createGameStats("player1", "2023-24");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int game = 0; game < GAMES_PER_THREAD; game++) {
+                        repository.mergeGame(gameStats).block();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        int totalGames = THREADS * GAMES_PER_THREAD;
+        logger.info("Merged {} games on {} threads into one key at {} merges/s",
+                totalGames, THREADS, (long) (totalGames / (elapsedNanos / 1e9)));
+
+        PlayerSeasonStats seasonStats = repository.findByPlayerIdAndSeason("player1", "2023-24").block();
+        assertEquals(totalGames, seasonStats.gamesPlayed());
+        assertEquals(totalGames * gameStats.points(), seasonStats.totalPoints());
+        assertEquals(totalGames * gameStats.rebounds(), seasonStats.totalRebounds());
+        assertEquals(0, gameStats.minutesPlayed().multiply(BigDecimal.valueOf(totalGames))
+                .compareTo(seasonStats.totalMinutesPlayed()));
+    }
+
+    @Test
+    @DisplayName("Should push a player's final season statistics last to live subscribers after concurrent merges")
+    void testMergeGame_LiveUpdatesEndWithFinalStatistics() throws InterruptedException {
+        SeasonStatsUpdates updates = new SeasonStatsUpdates();
+        InMemoryPlayerSeasonStatisticsRepository repository =
+                new InMemoryPlayerSeasonStatisticsRepository(new DefaultKeyGenerator(), updates);
+        AtomicReference<PlayerSeasonStats> published = new AtomicReference<>();
+        Disposable subscription = updates.players(List.of("player1"), "2023-24").subscribe(published::set);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+
+        for (int i = 0; i < 8; i++) {
+            int points = i * 3;
+            executor.execute(() -> {
+                for (int game = 0; game < 500; game++) {
+                    repository.mergeGame(points("player1", "game" + game, points + game % 7)).block();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        executor.shutdown();
+        subscription.dispose();
+
+        assertEquals(repository.findByPlayerIdAndSeason("player1", "2023-24").block(), published.get());
+    }
+
+    @Test
+    @DisplayName("Should stream season statistics in (season, playerId) order resuming after a cursor")
+    void testFindAllAfter_ResumesAfterCursor() {
+        repository.mergeGame(createGameStats("2", "2023-24")).block();
+        repository.mergeGame(createGameStats("1", "2024-25")).block();
+        repository.mergeGame(createGameStats("1", "2023-24")).block();
+        repository.mergeGame(createGameStats("3", "2023-24")).block();
+
+        StepVerifier.create(repository.findAllAfter(null, null).map(this::cursorOf))
+                .expectNext("2023-24/1", "2023-24/2", "2023-24/3", "2024-25/1")
+                .verifyComplete();
+
+        StepVerifier.create(repository.findAllAfter("2023-24", "2").map(this::cursorOf))
+                .expectNext("2023-24/3", "2024-25/1")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream only the requested season, resuming after a player ID")
+    void testFindBySeason_StaysWithinSeason() {
+        repository.mergeGame(createGameStats("1", "2022-23")).block();
+        repository.mergeGame(createGameStats("1", "2023-24")).block();
+        repository.mergeGame(createGameStats("2", "2023-24")).block();
+        repository.mergeGame(createGameStats("1", "2024-25")).block();
+
+        StepVerifier.create(repository.findBySeason("2023-24", null).map(this::cursorOf))
+                .expectNext("2023-24/1", "2023-24/2")
+                .verifyComplete();
+
+        StepVerifier.create(repository.findBySeason("2023-24", "1").map(this::cursorOf))
+                .expectNext("2023-24/2")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream every season of one player in season order")
+    void testFindByPlayerId_AllSeasonsOfPlayer() {
+        repository.mergeGame(createGameStats("1", "2024-25")).block();
+        repository.mergeGame(createGameStats("1", "2022-23")).block();
+        repository.mergeGame(createGameStats("10", "2023-24")).block();
+        repository.mergeGame(createGameStats("2", "2023-24")).block();
+
+        StepVerifier.create(repository.findByPlayerId("1").map(this::cursorOf))
+                .expectNext("2022-23/1", "2024-25/1")
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId("3"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep the season leaderboards ranked by per-game average as games are merged and removed")
+    void testFindLeaders_UpdatedIncrementally() {
+        PlayerGameStats star = points("1", "game1", 40);
+        repository.mergeGame(star).block();
+        repository.mergeGame(points("2", "game1", 30)).block();
+        repository.mergeGame(points("3", "game1", 30)).block();
+        repository.mergeGame(points("1", "game2", 10)).block();
+
+        StepVerifier.create(repository.findLeaders("2023-24", GameStatsFilter.Stat.POINTS, 2))
+                .expectNext(new LeaderboardEntry(1, "2", 30), new LeaderboardEntry(1, "3", 30))
+                .verifyComplete();
+        StepVerifier.create(repository.findLeaderboardRank("1", "2023-24", GameStatsFilter.Stat.POINTS))
+                .expectNext(new LeaderboardEntry(3, "1", 25))
+                .verifyComplete();
+
+        repository.removeGame(points("3", "game1", 30)).block();
+        repository.removeGame(points("1", "game2", 10)).block();
+
+        StepVerifier.create(repository.findLeaders("2023-24", GameStatsFilter.Stat.POINTS, 10))
+                .expectNext(new LeaderboardEntry(1, "1", 40), new LeaderboardEntry(2, "2", 30))
+                .verifyComplete();
+        StepVerifier.create(repository.findLeaderboardRank("3", "2023-24", GameStatsFilter.Stat.POINTS))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rank every player by their final season statistics after concurrent merges")
+    void testFindLeaders_ConcurrentMergesEndWithFinalStatistics() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+
+        for (int i = 0; i < 8; i++) {
+            int thread = i;
+            executor.execute(() -> {
+                for (int game = 0; game < 500; game++) {
+                    // Two threads per player, so a player's changes are published by either of them
+                    String playerId = String.valueOf(thread / 2);
+                    repository.mergeGame(points(playerId, "game" + thread + "-" + game, thread + game % 7)).block();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        executor.shutdown();
+
+        for (int player = 0; player < 4; player++) {
+            String playerId = String.valueOf(player);
+            PlayerSeasonStats stats = repository.findByPlayerIdAndSeason(playerId, "2023-24").block();
+            LeaderboardEntry entry = repository.findLeaderboardRank(playerId, "2023-24", GameStatsFilter.Stat.POINTS)
+                    .block();
+            assertEquals((double) stats.totalPoints() / stats.gamesPlayed(), entry.value());
+            assertEquals(4 - player, entry.rank());
+        }
+    }
+
+    private PlayerGameStats points(String playerId, String gameId, int points) {
+        return new PlayerGameStats("stat-" + playerId + "-" + gameId, playerId, gameId, "team1", LocalDateTime.now(),
+                "2023-24", points, 10, 5, 2, 1, 3, 2, new BigDecimal("35.0"));
+    }
+
+    private String cursorOf(PlayerSeasonStats stats) {
+        return stats.season() + "/" + stats.playerId();
+    }
+
+    private PlayerGameStats createGameStats(String playerId, String season) {
+        return new PlayerGameStats(
+                "stat1",
+                playerId,
+                "game1",
+                "team1",
+                LocalDateTime.now(),
+                season,
+                25,
+                10,
+                5,
+                2,
+                1,
+                3,
+                2,
+                new BigDecimal("34.5")
+        );
+    }
+}
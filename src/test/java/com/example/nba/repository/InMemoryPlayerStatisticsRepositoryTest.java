@@ -0,0 +1,165 @@
+package com.example.nba.repository;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.key.DefaultKeyGenerator;
+import com.example.nba.repository.key.IdentifierInterner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+class InMemoryPlayerStatisticsRepositoryTest {
+    private static final LocalDateTime TIP_OFF = LocalDateTime.of(2023, 11, 1, 19, 30);
+
+    private final InMemoryPlayerStatisticsRepository repository =
+            new InMemoryPlayerStatisticsRepository(new DefaultKeyGenerator(), new IdentifierInterner());
+
+    @Test
+    @DisplayName("Should return a player's games in timestamp order regardless of save order")
+    void testFindByPlayerId_OrdersByTimestamp() {
+        repository.save(createGameStats("player1", "game3", TIP_OFF.plusDays(2))).block();
+        repository.save(createGameStats("player1", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player2", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player1", "game2", TIP_OFF.plusDays(1))).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", null, null).map(PlayerGameStats::gameId))
+                .expectNext("game1", "game2", "game3")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return only the games in [from, to), none if from is after to")
+    void testFindByPlayerId_RestrictsToRange() {
+        repository.save(createGameStats("player1", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player1", "game2", TIP_OFF.plusDays(1))).block();
+        repository.save(createGameStats("player1", "game3", TIP_OFF.plusDays(2))).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", TIP_OFF.plusDays(1), TIP_OFF.plusDays(2))
+                        .map(PlayerGameStats::gameId))
+                .expectNext("game2")
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByPlayerId("player1", TIP_OFF.plusDays(1), null)
+                        .map(PlayerGameStats::gameId))
+                .expectNext("game2", "game3")
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId("player1", TIP_OFF.plusDays(2), TIP_OFF.plusDays(1)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep one log entry per game when a game is saved again with a new timestamp")
+    void testSave_ReplacesLogEntry() {
+        repository.save(createGameStats("player1", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player1", "game1", TIP_OFF.plusHours(1))).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", null, null).map(PlayerGameStats::timestamp))
+                .expectNext(TIP_OFF.plusHours(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return an empty log for an unknown player")
+    void testFindByPlayerId_UnknownPlayer() {
+        StepVerifier.create(repository.findByPlayerId("unknown", null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report a resent line as unchanged and a changed line as a correction")
+    void testSave_IsIdempotentPerGame() {
+        PlayerGameStats original = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats corrected = createGameStats("player1", "game1", TIP_OFF.plusMinutes(5));
+
+        StepVerifier.create(repository.save(original))
+                .expectNext(GameStatsWrite.inserted(original))
+                .verifyComplete();
+        StepVerifier.create(repository.save(original))
+                .expectNext(GameStatsWrite.unchanged(original))
+                .verifyComplete();
+        StepVerifier.create(repository.save(corrected))
+                .expectNext(GameStatsWrite.corrected(original, corrected))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a line reusing the statistics ID of another game")
+    void testSave_RejectsDuplicateId() {
+        PlayerGameStats owner = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats reused = new PlayerGameStats(owner.id(), "player2", "game2", "team1", TIP_OFF,
+                "2023-24", 1, 1, 1, 1, 1, 1, 1, new BigDecimal("10.0"));
+        repository.save(owner).block();
+
+        StepVerifier.create(repository.save(reused))
+                .expectNext(GameStatsWrite.duplicateId(owner, reused))
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId("player2", null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should release a statistics ID once its game is saved under a new ID")
+    void testSave_ReleasesReplacedId() {
+        PlayerGameStats original = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats renamed = new PlayerGameStats("renamed", "player1", "game1", "team1", TIP_OFF,
+                "2023-24", 25, 10, 5, 2, 1, 3, 2, new BigDecimal("34.5"));
+        PlayerGameStats reusesOriginalId = new PlayerGameStats(original.id(), "player2", "game1", "team1", TIP_OFF,
+                "2023-24", 1, 1, 1, 1, 1, 1, 1, new BigDecimal("10.0"));
+
+        repository.save(original).block();
+        repository.save(renamed).block();
+
+        StepVerifier.create(repository.save(reusesOriginalId).map(GameStatsWrite::outcome))
+                .expectNext(GameStatsWrite.Outcome.INSERTED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a reused ID and release a replaced one after they left the exact index window")
+    void testSave_IdsBeyondWindow() {
+        InMemoryPlayerStatisticsRepository bounded = new InMemoryPlayerStatisticsRepository(
+                new DefaultKeyGenerator(), new IdentifierInterner(), 2, 64);
+        PlayerGameStats original = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats renamed = new PlayerGameStats("renamed", "player1", "game2", "team1", TIP_OFF,
+                "2023-24", 25, 10, 5, 2, 1, 3, 2, new BigDecimal("34.5"));
+        bounded.save(original).block();
+        bounded.save(createGameStats("player1", "game2", TIP_OFF)).block();
+        for (int game = 3; game < 10; game++) {
+            bounded.save(createGameStats("player1", "game" + game, TIP_OFF)).block();
+        }
+        bounded.save(renamed).block();
+
+        PlayerGameStats reusesOriginalId = new PlayerGameStats(original.id(), "player2", "game1", "team1", TIP_OFF,
+                "2023-24", 1, 1, 1, 1, 1, 1, 1, new BigDecimal("10.0"));
+        StepVerifier.create(bounded.save(reusesOriginalId).map(GameStatsWrite::outcome))
+                .expectNext(GameStatsWrite.Outcome.DUPLICATE_ID)
+                .verifyComplete();
+
+        PlayerGameStats reusesReplacedId = new PlayerGameStats("stat-player1-game2", "player2", "game2", "team1",
+                TIP_OFF, "2023-24", 1, 1, 1, 1, 1, 1, 1, new BigDecimal("10.0"));
+        StepVerifier.create(bounded.save(reusesReplacedId).map(GameStatsWrite::outcome))
+                .expectNext(GameStatsWrite.Outcome.INSERTED)
+                .verifyComplete();
+    }
+
+    private PlayerGameStats createGameStats(String playerId, String gameId, LocalDateTime timestamp) {
+        return new PlayerGameStats(
+                "stat-" + playerId + "-" + gameId,
+                playerId,
+                gameId,
+                "team1",
+                timestamp,
+                "2023-24",
+                25,
+                10,
+                5,
+                2,
+                1,
+                3,
+                2,
+                new BigDecimal("34.5")
+        );
+    }
+}
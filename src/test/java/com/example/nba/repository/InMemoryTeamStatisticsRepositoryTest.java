@@ -1,14 +1,31 @@
 package com.example.nba.repository;
 
+import com.example.nba.live.SeasonStatsUpdates;
+import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.model.TeamStanding;
+import com.example.nba.repository.key.CompositeKey;
+import com.example.nba.repository.key.DefaultKeyGenerator;
 import com.example.nba.repository.key.KeyGenerator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.Disposable;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -33,8 +50,8 @@ class InMemoryTeamStatisticsRepositoryTest {
                 18.3,
                 14.7
         );
-        when(mockKeyGenerator.generateKey(stats.team().id(), stats.season()))
-                .thenReturn("team1_2023");
+        when(mockKeyGenerator.compositeKey(stats.team().id(), stats.season()))
+                .thenReturn(new CompositeKey("team1", "2023"));
 
         StepVerifier.create(repository.save(stats))
                 .expectNext(stats)
@@ -83,8 +100,8 @@ class InMemoryTeamStatisticsRepositoryTest {
                 15.0
         );
 
-        when(mockKeyGenerator.generateKey(team.id(), "2023"))
-                .thenReturn("team1_2023");
+        when(mockKeyGenerator.compositeKey(team.id(), "2023"))
+                .thenReturn(new CompositeKey("team1", "2023"));
 
         repository.save(initialStats).block();
         StepVerifier.create(repository.save(updatedStats))
@@ -95,4 +112,281 @@ class InMemoryTeamStatisticsRepositoryTest {
                 .expectNext(updatedStats)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should not lose games when many threads merge into the same team and season")
+    void testConcurrentMergesIntoHotTeamKey() throws InterruptedException {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team team = new Team("team1", "Lakers");
+        PlayerGameStats gameStats = new PlayerGameStats(
+                "stat1",
+                "player1",
+                "game1",
+                "team1",
+                LocalDateTime.now(),
+                "2023",
+                21,
+                9,
+                4,
+                2,
+                1,
+                3,
+                2,
+                new BigDecimal("30.0")
+        );
+        int threads = 32;
+        int gamesPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int game = 0; game < gamesPerThread; game++) {
+                    repository.mergeGame(team, gameStats).block();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        executor.shutdown();
+
+        TeamSeasonStats stats = repository.findByTeamId("team1", "2023").block();
+        assertEquals(threads * gamesPerThread, stats.totalGamesPlayed());
+        assertEquals(21.0, stats.averageTeamPoints());
+        assertEquals(9.0, stats.averageTeamRebounds());
+        assertEquals(4.0, stats.averageTeamAssists());
+    }
+
+    @Test
+    @DisplayName("Should continue aggregating from previously saved TeamSeasonStats")
+    void testMergeGameContinuesFromSavedStats() {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team team = new Team("team1", "Lakers");
+        repository.save(new TeamSeasonStats(team, "2023", 1, 10, 4, 2, 0, 0, 2, 1)).block();
+
+        repository.mergeGame(team, new PlayerGameStats(
+                "stat2", "player1", "game2", "team1", LocalDateTime.now(), "2023",
+                20, 6, 4, 2, 2, 4, 3, new BigDecimal("30.0"))).block();
+
+        StepVerifier.create(repository.findByTeamId("team1", "2023"))
+                .expectNext(new TeamSeasonStats(team, "2023", 2, 15, 5, 3, 1, 1, 3, 2))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should replace a corrected game line when it is removed and merged again")
+    void testRemoveGameAppliesCorrection() {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team team = new Team("team1", "Lakers");
+        PlayerGameStats original = new PlayerGameStats(
+                "stat1", "player1", "game1", "team1", LocalDateTime.now(), "2023",
+                20, 6, 4, 2, 2, 4, 3, new BigDecimal("30.0"));
+        PlayerGameStats corrected = new PlayerGameStats(
+                "stat1", "player1", "game1", "team1", original.timestamp(), "2023",
+                24, 6, 4, 2, 2, 4, 3, new BigDecimal("30.0"));
+
+        repository.mergeGame(team, original).block();
+        repository.removeGame(team, original).block();
+        repository.mergeGame(team, corrected).block();
+
+        StepVerifier.create(repository.findByTeamId("team1", "2023"))
+                .expectNext(new TeamSeasonStats(team, "2023", 1, 24, 6, 4, 2, 2, 4, 3))
+                .verifyComplete();
+
+        repository.removeGame(team, corrected).block();
+
+        StepVerifier.create(repository.findByTeamId("team1", "2023"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep a removal that overtakes the merge of the same game")
+    void testRemoveGameBeforeMergeOfTheSameGame() {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team team = new Team("team1", "Lakers");
+        PlayerGameStats original = new PlayerGameStats(
+                "stat1", "player1", "game1", "team1", LocalDateTime.now(), "2023",
+                20, 6, 4, 2, 2, 4, 3, new BigDecimal("30.0"));
+        PlayerGameStats corrected = new PlayerGameStats(
+                "stat1", "player1", "game1", "team1", original.timestamp(), "2023",
+                24, 6, 4, 2, 2, 4, 3, new BigDecimal("30.0"));
+
+        // A correction's delta applied before the merge of the line it replaces
+        repository.removeGame(team, original).block();
+        StepVerifier.create(repository.findByTeamId("team1", "2023"))
+                .verifyComplete();
+        StepVerifier.create(repository.findStandings("2023", TeamSeasonStats.Metric.POINTS, 0, 10))
+                .verifyComplete();
+        repository.mergeGame(team, corrected).block();
+        repository.mergeGame(team, original).block();
+
+        StepVerifier.create(repository.findByTeamId("team1", "2023"))
+                .expectNext(new TeamSeasonStats(team, "2023", 1, 24, 6, 4, 2, 2, 4, 3))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should find all seasons of a team and all teams of a season through the indexes")
+    void testFindByTeamIdAndBySeason() {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team lakers = new Team("1", "Lakers");
+        Team warriors = new Team("2", "Warriors");
+        TeamSeasonStats lakers2023 = new TeamSeasonStats(lakers, "2023", 1, 100, 40, 20, 8, 5, 18, 12);
+        TeamSeasonStats lakers2024 = new TeamSeasonStats(lakers, "2024", 1, 105, 42, 22, 7, 4, 17, 13);
+        TeamSeasonStats warriors2023 = new TeamSeasonStats(warriors, "2023", 1, 110, 44, 28, 9, 6, 19, 14);
+        repository.save(lakers2024).block();
+        repository.save(warriors2023).block();
+        repository.save(lakers2023).block();
+
+        StepVerifier.create(repository.findByTeamId("1"))
+                .expectNext(lakers2023, lakers2024)
+                .verifyComplete();
+
+        StepVerifier.create(repository.findBySeason("2023", null))
+                .expectNext(lakers2023, warriors2023)
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByTeamId("3"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rank a season's teams by each average as their statistics change")
+    void testFindStandings_UpdatedIncrementally() {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team lakers = new Team("1", "Lakers");
+        Team warriors = new Team("2", "Warriors");
+        Team celtics = new Team("3", "Celtics");
+        repository.save(new TeamSeasonStats(lakers, "2023", 1, 100, 40, 20, 8, 5, 18, 12)).block();
+        repository.save(new TeamSeasonStats(warriors, "2023", 1, 110, 44, 28, 9, 6, 19, 14)).block();
+        repository.save(new TeamSeasonStats(celtics, "2023", 1, 100, 50, 24, 7, 4, 17, 13)).block();
+
+        StepVerifier.create(repository.findStandings("2023", TeamSeasonStats.Metric.POINTS, 0, 10))
+                .expectNext(new TeamStanding(1, "2", 110), new TeamStanding(2, "1", 100), new TeamStanding(2, "3", 100))
+                .verifyComplete();
+        StepVerifier.create(repository.findStandings("2023", TeamSeasonStats.Metric.POINTS, 2, 10))
+                .expectNext(new TeamStanding(2, "3", 100))
+                .verifyComplete();
+
+        PlayerGameStats game = new PlayerGameStats(
+                "stat1", "player1", "game1", "1", LocalDateTime.now(), "2023",
+                130, 40, 20, 8, 5, 18, 12, new BigDecimal("30.0"));
+        repository.mergeGame(lakers, game).block();
+
+        StepVerifier.create(repository.findStandings("2023", TeamSeasonStats.Metric.POINTS, 0, 1))
+                .expectNext(new TeamStanding(1, "1", 115))
+                .verifyComplete();
+        StepVerifier.create(repository.findStanding("2", "2023", TeamSeasonStats.Metric.POINTS))
+                .expectNext(new TeamStanding(2, "2", 110))
+                .verifyComplete();
+
+        repository.removeGame(lakers, game).block();
+        repository.removeGame(lakers, new PlayerGameStats(
+                "stat0", "player1", "game0", "1", LocalDateTime.now(), "2023",
+                100, 40, 20, 8, 5, 18, 12, new BigDecimal("30.0"))).block();
+
+        StepVerifier.create(repository.findStanding("1", "2023", TeamSeasonStats.Metric.POINTS))
+                .verifyComplete();
+        StepVerifier.create(repository.findStandings("2023", TeamSeasonStats.Metric.REBOUNDS, 0, 10))
+                .expectNext(new TeamStanding(1, "3", 50), new TeamStanding(2, "2", 44))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should never read averages of a game without the game itself while games are merged")
+    void testConcurrentMerges_SnapshotsAreNeverTorn() throws InterruptedException {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team team = new Team("team1", "Lakers");
+        PlayerGameStats game = new PlayerGameStats(
+                "stat", "player1", "game", "team1", LocalDateTime.now(), "2023",
+                20, 9, 4, 2, 1, 3, 2, new BigDecimal("30.0"));
+        repository.mergeGame(team, game).block();
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int merge = 0; merge < 20_000; merge++) {
+                    repository.mergeGame(team, game).block();
+                }
+                done.countDown();
+            });
+        }
+
+        // Every game has the same statistics, so any consistent snapshot has exactly these averages
+        while (done.getCount() > 0) {
+            TeamSeasonStats stats = repository.findByTeamId("team1", "2023").block();
+            assertEquals(20, stats.averageTeamPoints());
+            assertEquals(9, stats.averageTeamRebounds());
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        executor.shutdown();
+
+        assertEquals(new TeamSeasonStats(team, "2023", 1 + threads * 20_000, 20, 9, 4, 2, 1, 3, 2),
+                repository.findByTeamId("team1", "2023").block());
+    }
+
+    @Test
+    @DisplayName("Should publish a team's final averages to the standings after concurrent merges")
+    void testConcurrentMerges_StandingsMatchStatistics() throws InterruptedException {
+        InMemoryTeamStatisticsRepository repository = new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator());
+        Team team = new Team("team1", "Lakers");
+        int threads = 8;
+        int gamesPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            int points = i * 3;
+            executor.execute(() -> {
+                for (int game = 0; game < gamesPerThread; game++) {
+                    repository.mergeGame(team, new PlayerGameStats(
+                            "stat", "player1", "game", "team1", LocalDateTime.now(), "2023",
+                            points + game % 7, 9, 4, 2, 1, 3, 2, new BigDecimal("30.0"))).block();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        executor.shutdown();
+
+        TeamSeasonStats stats = repository.findByTeamId("team1", "2023").block();
+        TeamStanding standing = repository.findStanding("team1", "2023", TeamSeasonStats.Metric.POINTS).block();
+        assertEquals(stats.averageTeamPoints(), standing.value());
+    }
+
+    @Test
+    @DisplayName("Should push a team's final statistics last to live subscribers after concurrent merges")
+    void testConcurrentMerges_LiveUpdatesEndWithFinalStatistics() throws InterruptedException {
+        SeasonStatsUpdates updates = new SeasonStatsUpdates();
+        InMemoryTeamStatisticsRepository repository =
+                new InMemoryTeamStatisticsRepository(new DefaultKeyGenerator(), updates);
+        Team team = new Team("team1", "Lakers");
+        AtomicReference<TeamSeasonStats> published = new AtomicReference<>();
+        Disposable subscription = updates.teams(List.of("team1"), null).subscribe(published::set);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            int points = i * 3;
+            executor.execute(() -> {
+                for (int game = 0; game < 500; game++) {
+                    repository.mergeGame(team, new PlayerGameStats(
+                            "stat", "player1", "game", "team1", LocalDateTime.now(), "2023",
+                            points + game % 7, 9, 4, 2, 1, 3, 2, new BigDecimal("30.0"))).block();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Merges did not finish in time");
+        executor.shutdown();
+        subscription.dispose();
+
+        assertEquals(repository.findByTeamId("team1", "2023").block(), published.get());
+    }
+}
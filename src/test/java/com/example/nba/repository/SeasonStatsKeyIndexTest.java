@@ -0,0 +1,87 @@
+package com.example.nba.repository;
+
+import com.example.nba.repository.key.CompositeKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class SeasonStatsKeyIndexTest {
+
+    private final SeasonStatsKeyIndex index = new SeasonStatsKeyIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.add(new CompositeKey("2", "2023-24"));
+        index.add(new CompositeKey("10", "2023-24"));
+        index.add(new CompositeKey("1", "2024-25"));
+        index.add(new CompositeKey("1", "2023-24"));
+        index.add(new CompositeKey("1", "2022-23"));
+    }
+
+    @Test
+    @DisplayName("Should stream all keys season-major, or strictly after a cursor across seasons")
+    void testAfter_SeasonMajorOrder() {
+        StepVerifier.create(index.after(null, null).map(this::cursorOf))
+                .expectNext("2022-23/1", "2023-24/1", "2023-24/10", "2023-24/2", "2024-25/1")
+                .verifyComplete();
+
+        StepVerifier.create(index.after("2023-24", "2").map(this::cursorOf))
+                .expectNext("2024-25/1")
+                .verifyComplete();
+
+        // A cursor that is not itself a key still resumes at the next key after it
+        StepVerifier.create(index.after("2023-24", "11").map(this::cursorOf))
+                .expectNext("2023-24/2", "2024-25/1")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream the keys of one season only, strictly after the given ID")
+    void testInSeason_StaysWithinSeason() {
+        StepVerifier.create(index.inSeason("2023-24", null).map(this::cursorOf))
+                .expectNext("2023-24/1", "2023-24/10", "2023-24/2")
+                .verifyComplete();
+
+        StepVerifier.create(index.inSeason("2023-24", "10").map(this::cursorOf))
+                .expectNext("2023-24/2")
+                .verifyComplete();
+
+        StepVerifier.create(index.inSeason("2023-24", "2"))
+                .verifyComplete();
+        StepVerifier.create(index.inSeason("1999-00", null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream the seasons of one ID only, not those of IDs it is a prefix of")
+    void testOfId_SeasonOrder() {
+        StepVerifier.create(index.ofId("1").map(this::cursorOf))
+                .expectNext("2022-23/1", "2023-24/1", "2024-25/1")
+                .verifyComplete();
+
+        StepVerifier.create(index.ofId("10").map(this::cursorOf))
+                .expectNext("2023-24/10")
+                .verifyComplete();
+
+        StepVerifier.create(index.ofId("3"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should index a key once however often it is added")
+    void testAdd_Idempotent() {
+        index.add(new CompositeKey("2", "2023-24"));
+
+        StepVerifier.create(index.ofId("2").map(this::cursorOf))
+                .expectNext("2023-24/2")
+                .verifyComplete();
+        StepVerifier.create(index.inSeason("2023-24", "10").map(this::cursorOf))
+                .expectNext("2023-24/2")
+                .verifyComplete();
+    }
+
+    private String cursorOf(CompositeKey key) {
+        return key.second() + "/" + key.first();
+    }
+}
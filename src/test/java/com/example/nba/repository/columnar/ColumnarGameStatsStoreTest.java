@@ -0,0 +1,167 @@
+package com.example.nba.repository.columnar;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.GameStatsSummary;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.key.IdentifierInterner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarGameStatsStoreTest {
+    private static final LocalDateTime TIP_OFF = LocalDateTime.of(2024, 3, 15, 19, 30);
+
+    // Small segments, so every test spans several sealed segments
+    private final ColumnarGameStatsStore store = new ColumnarGameStatsStore(new IdentifierInterner(), 4);
+    private final List<PlayerGameStats> lines = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should aggregate every line across sealed and open segments")
+    void testSummarize_AllLines() {
+        for (int i = 0; i < 10; i++) {
+            put(line(i, String.valueOf(i % 3), String.valueOf(i % 2), "2023-24", i));
+        }
+
+        GameStatsSummary summary = store.summarize(GameStatsFilter.all());
+
+        assertEquals(10, store.rows());
+        assertEquals(expected(line -> true), summary);
+        assertEquals(45, summary.points().total());
+        assertEquals(0, summary.points().min());
+        assertEquals(9, summary.points().max());
+        assertEquals(4.5, summary.points().average());
+    }
+
+    @Test
+    @DisplayName("Should only count the latest line of a corrected game")
+    void testSummarize_CorrectionReplacesLine() {
+        put(line(1, "1", "1", "2023-24", 10));
+        put(line(2, "2", "1", "2023-24", 20));
+        PlayerGameStats correction = line(1, "1", "1", "2023-24", 14);
+        lines.remove(0);
+        put(correction);
+
+        GameStatsSummary summary = store.summarize(GameStatsFilter.all());
+
+        assertEquals(2, summary.games());
+        assertEquals(34, summary.points().total());
+        assertEquals(3, store.rows());
+        assertEquals(2, store.liveRows());
+    }
+
+    @Test
+    @DisplayName("Should scan queued lines in queue order, and keep every line queued by concurrent writers")
+    void testEnqueue_ScansSeeQueuedLines() throws InterruptedException {
+        store.enqueue(line(1, "1", "1", "2023-24", 10));
+        store.enqueue(line(1, "1", "1", "2023-24", 14));
+
+        assertEquals(14, store.summarize(GameStatsFilter.all()).points().total());
+
+        Thread[] writers = new Thread[4];
+        for (int writer = 0; writer < writers.length; writer++) {
+            String playerId = String.valueOf(writer + 2);
+            writers[writer] = new Thread(() -> {
+                for (int game = 0; game < 1_000; game++) {
+                    store.enqueue(line(game, playerId, "1", "2023-24", 1));
+                    store.drain();
+                }
+            });
+            writers[writer].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(1 + writers.length * 1_000, store.liveRows());
+        assertEquals(14 + writers.length * 1_000, store.summarize(GameStatsFilter.all()).points().total());
+    }
+
+    @Test
+    @DisplayName("Should apply identifier, time range and statistic range filters together")
+    void testSummarize_Filters() {
+        for (int i = 0; i < 30; i++) {
+            put(line(i, String.valueOf(i % 5), String.valueOf(i % 3), i < 20 ? "2023-24" : "2024-25", i));
+        }
+        LocalDateTime from = TIP_OFF.plusDays(4);
+        LocalDateTime to = TIP_OFF.plusDays(18);
+
+        assertEquals(expected(line -> line.season().equals("2024-25")),
+                store.summarize(new GameStatsFilter("2024-25", null, null, null, null, List.of())));
+        assertEquals(expected(line -> line.teamId().equals("1") && line.playerId().equals("2")),
+                store.summarize(new GameStatsFilter(null, "1", "2", null, null, List.of())));
+        assertEquals(expected(line -> !line.timestamp().isBefore(from) && line.timestamp().isBefore(to)),
+                store.summarize(new GameStatsFilter(null, null, null, from, to, List.of())));
+        assertEquals(expected(line -> line.minutesPlayed().compareTo(new BigDecimal("20.5")) >= 0
+                        && line.points() <= 25),
+                store.summarize(new GameStatsFilter(null, null, null, null, null, List.of(
+                        new GameStatsFilter.StatRange(GameStatsFilter.Stat.MINUTES_PLAYED, new BigDecimal("20.5"), null),
+                        new GameStatsFilter.StatRange(GameStatsFilter.Stat.POINTS, null, new BigDecimal("25.5"))))));
+    }
+
+    @Test
+    @DisplayName("Should return an empty summary for an unknown identifier")
+    void testSummarize_UnknownIdentifier() {
+        put(line(1, "1", "1", "2023-24", 10));
+
+        GameStatsSummary summary = store.summarize(new GameStatsFilter(null, null, "unknown", null, null, List.of()));
+
+        assertEquals(0, summary.games());
+        assertEquals(BigDecimal.ZERO, summary.minutesPlayed().total());
+    }
+
+    private void put(PlayerGameStats line) {
+        lines.add(line);
+        store.put(line);
+    }
+
+    private PlayerGameStats line(int game, String playerId, String teamId, String season, int points) {
+        return new PlayerGameStats("stat-" + game + "-" + playerId, playerId, "game-" + game, teamId,
+                TIP_OFF.plusDays(game), season, points, game % 11, game % 7, game % 3, game % 2, game % 6, game % 4,
+                BigDecimal.valueOf(100 + game * 7L, 1));
+    }
+
+    /**
+     * Computes the summary of the matching lines directly from the records.
+     */
+    private GameStatsSummary expected(Predicate<PlayerGameStats> filter) {
+        List<PlayerGameStats> matching = lines.stream().filter(filter).toList();
+        if (matching.isEmpty()) {
+            return store.summarize(new GameStatsFilter(null, null, "unknown", null, null, List.of()));
+        }
+        BigDecimal minutes = matching.stream()
+                .map(PlayerGameStats::minutesPlayed)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new GameStatsSummary(
+                matching.size(),
+                stat(matching, PlayerGameStats::points),
+                stat(matching, PlayerGameStats::rebounds),
+                stat(matching, PlayerGameStats::assists),
+                stat(matching, PlayerGameStats::steals),
+                stat(matching, PlayerGameStats::blocks),
+                stat(matching, PlayerGameStats::fouls),
+                stat(matching, PlayerGameStats::turnovers),
+                new GameStatsSummary.MinutesSummary(
+                        minutes,
+                        matching.stream().map(PlayerGameStats::minutesPlayed).min(BigDecimal::compareTo).orElseThrow(),
+                        matching.stream().map(PlayerGameStats::minutesPlayed).max(BigDecimal::compareTo).orElseThrow(),
+                        minutes.divide(BigDecimal.valueOf(matching.size()), 1, RoundingMode.HALF_UP)));
+    }
+
+    private GameStatsSummary.StatSummary stat(List<PlayerGameStats> matching,
+                                              ToIntFunction<PlayerGameStats> stat) {
+        int total = matching.stream().mapToInt(stat).sum();
+        return new GameStatsSummary.StatSummary(total,
+                matching.stream().mapToInt(stat).min().orElseThrow(),
+                matching.stream().mapToInt(stat).max().orElseThrow(),
+                (double) total / matching.size());
+    }
+}
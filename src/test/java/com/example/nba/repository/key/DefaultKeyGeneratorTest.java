@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @SpringBootTest
 class DefaultKeyGeneratorTest {
@@ -65,4 +66,28 @@ class DefaultKeyGeneratorTest {
         // Assert
         assertEquals("player::stats", result, "Expected generated key to handle empty string components correctly.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should generate equal composite keys for equal components")
+    void shouldGenerateEqualCompositeKeysForEqualComponents() {
+        // Act
+        CompositeKey key = defaultKeyGenerator.compositeKey("player1", "2023-24");
+        CompositeKey sameKey = defaultKeyGenerator.compositeKey(new String("player1"), new String("2023-24"));
+
+        // Assert
+        assertEquals(key, sameKey, "Expected composite keys built from equal components to be equal.");
+        assertEquals(key.hashCode(), sameKey.hashCode(), "Expected equal composite keys to share a hash code.");
+        assertEquals("player1:2023-24", key.toString(), "Expected composite key to render like a generated key.");
+    }
+
+    @Test
+    @DisplayName("Should not treat composite keys with shifted separators as equal")
+    void shouldDistinguishCompositeKeysWithShiftedSeparators() {
+        // Act
+        CompositeKey key = defaultKeyGenerator.compositeKey("a:b", "c");
+        CompositeKey otherKey = defaultKeyGenerator.compositeKey("a", "b:c");
+
+        // Assert
+        assertNotEquals(key, otherKey, "Expected composite keys to compare components, not joined strings.");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.nba.repository.key;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdentifierDictionaryTest {
+    private final IdentifierDictionary dictionary = new IdentifierDictionary();
+
+    @Test
+    @DisplayName("Should assign dense codes in first-seen order and decode them back")
+    void testEncode_DenseCodes() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, dictionary.encode("player-" + i));
+        }
+
+        assertEquals(42, dictionary.encode("player-42"));
+        assertEquals("player-99", dictionary.decode(99));
+        assertEquals(100, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Should not assign a code on lookup")
+    void testLookup_DoesNotAssign() {
+        dictionary.encode("2023-24");
+
+        assertEquals(0, dictionary.lookup("2023-24"));
+        assertEquals(IdentifierDictionary.MISSING, dictionary.lookup("2024-25"));
+        assertEquals(1, dictionary.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.decode(1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.nba.repository.key;
+
+import com.example.nba.model.PlayerGameStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class IdentifierInternerTest {
+    private final IdentifierInterner interner = new IdentifierInterner();
+
+    @Test
+    @DisplayName("Should share one instance of each identifier across interned lines")
+    void testIntern_SharesIdentifiers() {
+        PlayerGameStats first = interner.intern(line("1", "game-1"));
+        PlayerGameStats second = interner.intern(line("2", "game-2"));
+
+        assertEquals(line("2", "game-2"), second);
+        assertSame(first.playerId(), second.playerId());
+        assertSame(first.teamId(), second.teamId());
+        assertSame(first.season(), second.season());
+        assertEquals(0, interner.players().lookup(second.playerId()));
+    }
+
+    @Test
+    @DisplayName("Should return a line that already uses the interned identifiers unchanged")
+    void testIntern_AlreadyInterned() {
+        PlayerGameStats interned = interner.intern(line("1", "game-1"));
+
+        assertSame(interned, interner.intern(interned));
+    }
+
+    private static PlayerGameStats line(String id, String gameId) {
+        // new String(...) gives each line its own identifier instances, as JSON deserialization does
+        return new PlayerGameStats(id, new String("player-1"), gameId, new String("team-1"),
+                LocalDateTime.of(2023, 10, 24, 19, 30), new String("2023-24"), 20, 5, 5, 1, 1, 2, 3,
+                new BigDecimal("30.5"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.nba.repository.leaderboard;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.LeaderboardEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PlayerLeaderboardsTest {
+    private static final int POINTS = GameStatsFilter.Stat.POINTS.ordinal();
+
+    @Test
+    @DisplayName("Should copy the published values, so the caller can reuse one array")
+    void testUpdate_ReusedArray() {
+        PlayerLeaderboards leaderboards = new PlayerLeaderboards();
+        double[] perGame = new double[GameStatsFilter.Stat.values().length];
+
+        perGame[POINTS] = 30;
+        leaderboards.update("1", "2023-24", perGame);
+        perGame[POINTS] = 20;
+        leaderboards.update("2", "2023-24", perGame);
+        perGame[POINTS] = 10;
+        leaderboards.update("1", "2023-24", perGame);
+        perGame[POINTS] = 99;
+
+        assertEquals(List.of(new LeaderboardEntry(1, "2", 20), new LeaderboardEntry(2, "1", 10)),
+                leaderboards.leaders("2023-24", GameStatsFilter.Stat.POINTS, 10));
+
+        leaderboards.update("2", "2023-24", null);
+        assertNull(leaderboards.rank("2", "2023-24", GameStatsFilter.Stat.POINTS));
+        assertEquals(new LeaderboardEntry(1, "1", 10), leaderboards.rank("1", "2023-24", GameStatsFilter.Stat.POINTS));
+    }
+}
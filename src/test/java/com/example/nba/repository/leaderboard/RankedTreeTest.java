@@ -0,0 +1,54 @@
+package com.example.nba.repository.leaderboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RankedTreeTest {
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingDouble(Entry::value).reversed().thenComparing(Entry::id);
+
+    private record Entry(double value, String id) {
+    }
+
+    @Test
+    @DisplayName("Should match a sorted list through random inserts and removals")
+    void testRandomOperations_MatchSortedList() {
+        Random random = new Random(42);
+        RankedTree tree = new RankedTree();
+        List<Entry> expected = new ArrayList<>();
+
+        for (int operation = 0; operation < 20_000; operation++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                Entry removed = expected.remove(random.nextInt(expected.size()));
+                tree.remove(removed.value(), removed.id());
+            } else {
+                Entry inserted = new Entry(random.nextInt(50), "p" + operation);
+                expected.add(inserted);
+                tree.insert(inserted.value(), inserted.id());
+            }
+        }
+        expected.sort(ORDER);
+
+        assertEquals(expected.size(), tree.size());
+        List<Entry> first = new ArrayList<>();
+        tree.visit(0, 100, (value, id) -> first.add(new Entry(value, id)));
+        assertEquals(expected.subList(0, 100), first);
+        List<Entry> page = new ArrayList<>();
+        tree.visit(1_000, 100, (value, id) -> page.add(new Entry(value, id)));
+        assertEquals(expected.subList(1_000, 1_100), page);
+        List<Entry> last = new ArrayList<>();
+        tree.visit(expected.size() - 3, 100, (value, id) -> last.add(new Entry(value, id)));
+        assertEquals(expected.subList(expected.size() - 3, expected.size()), last);
+        for (int i = 0; i < expected.size(); i += 97) {
+            Entry entry = expected.get(i);
+            assertEquals(i, tree.countBefore(entry.value(), entry.id()));
+        }
+    }
+}
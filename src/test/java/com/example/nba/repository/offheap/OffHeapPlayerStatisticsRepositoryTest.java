@@ -0,0 +1,175 @@
+package com.example.nba.repository.offheap;
+
+import com.example.nba.model.GameStatsFilter;
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.key.IdentifierInterner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OffHeapPlayerStatisticsRepositoryTest {
+    private static final LocalDateTime TIP_OFF = LocalDateTime.of(2023, 11, 1, 19, 30);
+
+    private final OffHeapPlayerStatisticsRepository repository =
+            new OffHeapPlayerStatisticsRepository(new IdentifierInterner());
+
+    @Test
+    @DisplayName("Should return a player's games in timestamp order regardless of save order")
+    void testFindByPlayerId_OrdersByTimestamp() {
+        repository.save(createGameStats("player1", "game3", TIP_OFF.plusDays(2))).block();
+        repository.save(createGameStats("player1", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player2", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player1", "game2", TIP_OFF.plusDays(1))).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", null, null).map(PlayerGameStats::gameId))
+                .expectNext("game1", "game2", "game3")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return only the games in [from, to), none if from is after to")
+    void testFindByPlayerId_RestrictsToRange() {
+        repository.save(createGameStats("player1", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player1", "game2", TIP_OFF.plusDays(1))).block();
+        repository.save(createGameStats("player1", "game3", TIP_OFF.plusDays(2))).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", TIP_OFF.plusDays(1), TIP_OFF.plusDays(2))
+                        .map(PlayerGameStats::gameId))
+                .expectNext("game2")
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByPlayerId("player1", TIP_OFF.plusDays(1), null)
+                        .map(PlayerGameStats::gameId))
+                .expectNext("game2", "game3")
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId("player1", TIP_OFF.plusDays(2), TIP_OFF.plusDays(1)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep one log entry per game when a game is saved again with a new timestamp")
+    void testSave_ReplacesLogEntry() {
+        repository.save(createGameStats("player1", "game1", TIP_OFF)).block();
+        repository.save(createGameStats("player1", "game1", TIP_OFF.plusHours(1))).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", null, null).map(PlayerGameStats::timestamp))
+                .expectNext(TIP_OFF.plusHours(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return an empty log for an unknown player")
+    void testFindByPlayerId_UnknownPlayer() {
+        StepVerifier.create(repository.findByPlayerId("unknown", null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report a resent line as unchanged and a changed line as a correction")
+    void testSave_IsIdempotentPerGame() {
+        PlayerGameStats original = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats corrected = createGameStats("player1", "game1", TIP_OFF.plusMinutes(5));
+
+        StepVerifier.create(repository.save(original))
+                .expectNext(GameStatsWrite.inserted(original))
+                .verifyComplete();
+        StepVerifier.create(repository.save(original))
+                .expectNext(GameStatsWrite.unchanged(original))
+                .verifyComplete();
+        StepVerifier.create(repository.save(corrected))
+                .expectNext(GameStatsWrite.corrected(original, corrected))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a line reusing the statistics ID of another game")
+    void testSave_RejectsDuplicateId() {
+        PlayerGameStats owner = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats reused = new PlayerGameStats(owner.id(), "player2", "game2", "team1", TIP_OFF,
+                "2023-24", 1, 1, 1, 1, 1, 1, 1, new BigDecimal("10.0"));
+        repository.save(owner).block();
+
+        StepVerifier.create(repository.save(reused))
+                .expectNext(GameStatsWrite.duplicateId(owner, reused))
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId("player2", null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should release a statistics ID once its game is saved under a new ID")
+    void testSave_ReleasesReplacedId() {
+        PlayerGameStats original = createGameStats("player1", "game1", TIP_OFF);
+        PlayerGameStats renamed = new PlayerGameStats("renamed", "player1", "game1", "team1", TIP_OFF,
+                "2023-24", 25, 10, 5, 2, 1, 3, 2, new BigDecimal("34.5"));
+        PlayerGameStats reusesOriginalId = new PlayerGameStats(original.id(), "player2", "game1", "team1", TIP_OFF,
+                "2023-24", 1, 1, 1, 1, 1, 1, 1, new BigDecimal("10.0"));
+
+        repository.save(original).block();
+        repository.save(renamed).block();
+
+        StepVerifier.create(repository.save(reusesOriginalId).map(GameStatsWrite::outcome))
+                .expectNext(GameStatsWrite.Outcome.INSERTED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should decode a stored line equal to the saved one, keeping the scale of minutes played")
+    void testSave_RoundTripsLine() {
+        PlayerGameStats line = new PlayerGameStats("ßtat-1", "player1", "game1", "team1",
+                TIP_OFF.withNano(123_456_789), "2023-24", 41, 12, 9, 3, 2, 6, 5, new BigDecimal("36.50"));
+        repository.save(line).block();
+
+        StepVerifier.create(repository.findByPlayerId("player1", null, null))
+                .expectNext(line)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep every line across row chunks and index growth")
+    void testSave_SpansChunks() {
+        int games = OffHeapGameRows.ROWS_PER_CHUNK + 1000;
+        for (int game = 0; game < games; game++) {
+            repository.save(createGameStats("player" + game % 7, "game" + game, TIP_OFF.plusMinutes(game))).block();
+        }
+        PlayerGameStats last = createGameStats("player" + (games - 1) % 7, "game" + (games - 1),
+                TIP_OFF.plusMinutes(games - 1));
+
+        assertEquals(games, repository.findAll().count().block());
+        StepVerifier.create(repository.save(last).map(GameStatsWrite::outcome))
+                .expectNext(GameStatsWrite.Outcome.UNCHANGED)
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId(last.playerId(), TIP_OFF.plusMinutes(games - 1), null))
+                .expectNext(last)
+                .verifyComplete();
+        assertEquals(games, repository.summarize(GameStatsFilter.all()).block().games());
+        assertEquals(1, repository.summarize(new GameStatsFilter(null, null, "player0", TIP_OFF, TIP_OFF.plusMinutes(7),
+                List.of())).block().games());
+    }
+
+    private PlayerGameStats createGameStats(String playerId, String gameId, LocalDateTime timestamp) {
+        return new PlayerGameStats(
+                "stat-" + playerId + "-" + gameId,
+                playerId,
+                gameId,
+                "team1",
+                timestamp,
+                "2023-24",
+                25,
+                10,
+                5,
+                2,
+                1,
+                3,
+                2,
+                new BigDecimal("34.5")
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.nba.repository.rolling;
+
+import com.example.nba.model.PlayerGameStats;
+import com.example.nba.model.RollingStats;
+import com.example.nba.repository.GameStatsWrite;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryRollingStatsRepositoryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 10, 24, 19, 30);
+    private static final List<RollingWindow> WINDOWS =
+            List.of(RollingWindow.lastGames(5), RollingWindow.lastGames(10), RollingWindow.lastDays(30));
+
+    @Test
+    @DisplayName("Should match averages recomputed from the game lines through inserts, corrections and late lines")
+    void testApply_MatchesRecomputedWindows() {
+        Random random = new Random(7);
+        InMemoryRollingStatsRepository repository = new InMemoryRollingStatsRepository(WINDOWS, 64);
+        Map<String, PlayerGameStats> games = new HashMap<>();
+
+        for (int operation = 0; operation < 300; operation++) {
+            String gameId = "game" + random.nextInt(50);
+            PlayerGameStats line = line(gameId, START.plusDays(random.nextInt(120)).plusMinutes(random.nextInt(60)),
+                    random.nextInt(40), new BigDecimal(random.nextInt(480)).movePointLeft(1));
+            PlayerGameStats previous = games.put(gameId, line);
+            repository.apply(previous == null
+                    ? GameStatsWrite.inserted(line)
+                    : GameStatsWrite.corrected(previous, line)).block();
+
+            assertEquals(recompute(new ArrayList<>(games.values())),
+                    repository.findByPlayerId("1").collectList().block());
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest games once a player's ring is full")
+    void testApply_EvictsOldestGames() {
+        InMemoryRollingStatsRepository repository =
+                new InMemoryRollingStatsRepository(List.of(RollingWindow.lastGames(2), RollingWindow.lastDays(30)), 3);
+        List<GameStatsWrite> writes = new ArrayList<>();
+        for (int game = 0; game < 5; game++) {
+            writes.add(GameStatsWrite.inserted(line("game" + game, START.plusDays(game), 10 * game, BigDecimal.TEN)));
+        }
+        repository.applyAll(writes).block();
+
+        StepVerifier.create(repository.findByPlayerId("1"))
+                .expectNext(new RollingStats("1", "last-2-games", 2, 35, 5, 0, 0, 0, 0, 0, 10))
+                .expectNext(new RollingStats("1", "last-30-days", 3, 30, 5, 0, 0, 0, 0, 0, 10))
+                .verifyComplete();
+
+        // Older than every game of the full ring
+        repository.apply(GameStatsWrite.inserted(line("game9", START.minusDays(1), 99, BigDecimal.TEN))).block();
+
+        StepVerifier.create(repository.findByPlayerIdAndWindow("1", "last-30-days"))
+                .expectNext(new RollingStats("1", "last-30-days", 3, 30, 5, 0, 0, 0, 0, 0, 10))
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerIdAndWindow("1", "last-7-days"))
+                .verifyComplete();
+        StepVerifier.create(repository.findByPlayerId("2"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should count a game once when corrections overtake the insert of the line they replace")
+    void testApply_CorrectionsBeforeInsert() {
+        InMemoryRollingStatsRepository repository = new InMemoryRollingStatsRepository(WINDOWS, 64);
+        PlayerGameStats other = line("game0", START, 10, BigDecimal.TEN);
+        PlayerGameStats inserted = line("game1", START.plusDays(1), 20, BigDecimal.TEN);
+        PlayerGameStats corrected = line("game1", START.plusDays(1), 24, BigDecimal.TEN);
+        PlayerGameStats recorrected = line("game1", START.plusDays(1), 30, new BigDecimal("12.0"));
+        repository.apply(GameStatsWrite.inserted(other)).block();
+
+        // The second correction is applied first, then the first one, then the insert they both replace
+        repository.apply(GameStatsWrite.corrected(corrected, recorrected)).block();
+        repository.apply(GameStatsWrite.corrected(inserted, corrected)).block();
+        repository.apply(GameStatsWrite.inserted(inserted)).block();
+
+        assertEquals(recompute(new ArrayList<>(List.of(other, recorrected))),
+                repository.findByPlayerId("1").collectList().block());
+
+        // Once the overtaken lines arrived, further corrections apply as usual
+        PlayerGameStats last = line("game1", START.plusDays(1), 8, BigDecimal.ONE);
+        repository.apply(GameStatsWrite.corrected(recorrected, last)).block();
+
+        assertEquals(recompute(new ArrayList<>(List.of(other, last))),
+                repository.findByPlayerId("1").collectList().block());
+    }
+
+    private static List<RollingStats> recompute(List<PlayerGameStats> games) {
+        games.sort(Comparator.comparing(PlayerGameStats::timestamp).thenComparing(PlayerGameStats::gameId));
+        LocalDateTime latest = games.get(games.size() - 1).timestamp();
+        List<RollingStats> expected = new ArrayList<>();
+        for (RollingWindow window : WINDOWS) {
+            List<PlayerGameStats> inWindow = window.games() > 0
+                    ? games.subList(Math.max(0, games.size() - window.games()), games.size())
+                    : games.stream().filter(game -> game.timestamp().isAfter(latest.minusDays(window.days()))).toList();
+            int points = 0;
+            long minutesInTenths = 0;
+            for (PlayerGameStats game : inWindow) {
+                points += game.points();
+                minutesInTenths += game.minutesPlayed().movePointRight(1).longValueExact();
+            }
+            int count = inWindow.size();
+            expected.add(new RollingStats("1", window.name(), count, (double) points / count, 5, 0, 0, 0, 0, 0,
+                    (double) minutesInTenths / count / 10));
+        }
+        return expected;
+    }
+
+    private static PlayerGameStats line(String gameId, LocalDateTime timestamp, int points, BigDecimal minutes) {
+        return new PlayerGameStats("stat-" + gameId, "1", gameId, "1", timestamp, "2023-24",
+                points, 5, 0, 0, 0, 0, 0, minutes);
+    }
+}
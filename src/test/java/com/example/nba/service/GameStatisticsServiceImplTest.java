@@ -1,9 +1,14 @@
 package com.example.nba.service;
 
 import com.example.nba.data.TeamInitializer;
+import com.example.nba.model.GameStatsChange;
+import com.example.nba.model.BatchItemResult;
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.Team;
 import com.example.nba.model.TeamSeasonStats;
+import com.example.nba.persistence.GameStatsChangeLog;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.GameStatsWriteListener;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,8 +20,13 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 @SpringBootTest
 public class GameStatisticsServiceImplTest {
@@ -33,6 +43,9 @@ public class GameStatisticsServiceImplTest {
     @MockBean
     private TeamInitializer teamInitializer;
 
+    @Autowired
+    private GameStatsChangeLog changeLog;
+
     @Test
     @DisplayName("Saves player and team statistics successfully")
     void saveGameStatistics_shouldSavePlayerAndTeamStats() {
@@ -54,20 +67,19 @@ public class GameStatisticsServiceImplTest {
         );
 
         Team team = new Team("team123", "Test Team");
-        TeamSeasonStats teamStats = TeamSeasonStats.fromFirstGame(playerGameStats, team);
 
-        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class)))
-                .thenReturn(Mono.just(playerGameStats));
+        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class), any()))
+                .thenReturn(Mono.just(GameStatsWrite.inserted(playerGameStats)));
         Mockito.when(teamInitializer.getTeam("team123"))
                 .thenReturn(team);
-        Mockito.when(teamStatisticsService.getTeamStats("team123", "2023"))
-                .thenReturn(Mono.just(teamStats));
-        Mockito.when(teamStatisticsService.save(any(TeamSeasonStats.class)))
-                .thenReturn(Mono.just(teamStats));
+        Mockito.when(teamStatisticsService.mergeGame(team, playerGameStats))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(gameStatisticsService.saveGameStatistics(playerGameStats))
                 .expectNextMatches(savedStats -> savedStats.equals(playerGameStats))
                 .verifyComplete();
+
+        Mockito.verify(teamStatisticsService).mergeGame(team, playerGameStats);
     }
 
     @Test
@@ -90,8 +102,8 @@ public class GameStatisticsServiceImplTest {
                 BigDecimal.valueOf(30.0)
         );
 
-        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class)))
-                .thenReturn(Mono.just(playerGameStats));
+        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class), any()))
+                .thenReturn(Mono.just(GameStatsWrite.inserted(playerGameStats)));
         Mockito.when(teamInitializer.getTeam("team999"))
                 .thenReturn(null);
 
@@ -103,8 +115,8 @@ public class GameStatisticsServiceImplTest {
     }
 
     @Test
-    @DisplayName("Creates new team statistics if they don't exist")
-    void saveGameStatistics_shouldCreateNewTeamStatsIfNotExist() {
+    @DisplayName("Merges the game into the team statistics without reading them first")
+    void saveGameStatistics_shouldMergeTeamStatsWithoutReadingThem() {
         PlayerGameStats playerGameStats = new PlayerGameStats(
                 "stat456",
                 "player456",
@@ -123,20 +135,20 @@ public class GameStatisticsServiceImplTest {
         );
 
         Team team = new Team("team456", "Another Team");
-        TeamSeasonStats newTeamStats = TeamSeasonStats.fromFirstGame(playerGameStats, team);
 
-        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class)))
-                .thenReturn(Mono.just(playerGameStats));
+        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class), any()))
+                .thenReturn(Mono.just(GameStatsWrite.inserted(playerGameStats)));
         Mockito.when(teamInitializer.getTeam("team456"))
                 .thenReturn(team);
-        Mockito.when(teamStatisticsService.getTeamStats("team456", "2023"))
+        Mockito.when(teamStatisticsService.mergeGame(team, playerGameStats))
                 .thenReturn(Mono.empty());
-        Mockito.when(teamStatisticsService.save(any(TeamSeasonStats.class)))
-                .thenReturn(Mono.just(newTeamStats));
 
         StepVerifier.create(gameStatisticsService.saveGameStatistics(playerGameStats))
                 .expectNextMatches(savedStats -> savedStats.equals(playerGameStats))
                 .verifyComplete();
+
+        Mockito.verify(teamStatisticsService, Mockito.never()).getTeamStats(any(), any());
+        Mockito.verify(teamStatisticsService, Mockito.never()).save(any(TeamSeasonStats.class));
     }
 
     @Test
@@ -159,7 +171,7 @@ public class GameStatisticsServiceImplTest {
                 BigDecimal.valueOf(20.0)
         );
 
-        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class)))
+        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class), any()))
                 .thenReturn(Mono.error(new RuntimeException("Failed to save player statistics")));
 
         StepVerifier.create(gameStatisticsService.saveGameStatistics(playerGameStats))
@@ -168,4 +180,141 @@ public class GameStatisticsServiceImplTest {
                                 throwable.getMessage().equals("Failed to save player statistics"))
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Saves only the valid entries of a batch with one merge per team")
+    void saveGameStatisticsBatch_shouldRejectInvalidEntriesAndMergeOncePerTeam() {
+        PlayerGameStats first = new PlayerGameStats("stat1", "player1", "game1", "team1", LocalDateTime.now(),
+                "2023", 20, 8, 7, 1, 1, 3, 1, BigDecimal.valueOf(30.0));
+        PlayerGameStats second = new PlayerGameStats("stat2", "player2", "game1", "team1", LocalDateTime.now(),
+                "2023", 12, 4, 2, 0, 1, 2, 2, BigDecimal.valueOf(22.0));
+        PlayerGameStats tooManyFouls = new PlayerGameStats("stat3", "player3", "game1", "team1", LocalDateTime.now(),
+                "2023", 8, 2, 1, 0, 0, 9, 0, BigDecimal.valueOf(12.0));
+        PlayerGameStats unknownTeam = new PlayerGameStats("stat4", "player4", "game1", "team999", LocalDateTime.now(),
+                "2023", 10, 3, 3, 1, 0, 1, 1, BigDecimal.valueOf(18.0));
+        Team team = new Team("team1", "Test Team");
+
+        Mockito.when(teamInitializer.getTeam("team1")).thenReturn(team);
+        Mockito.when(playerStatisticsService.saveAllPlayerStatistics(any(), any())).thenReturn(Mono.just(
+                List.of(GameStatsWrite.inserted(first), GameStatsWrite.inserted(second))));
+        Mockito.when(teamStatisticsService.mergeGames(any(Team.class), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(gameStatisticsService.saveGameStatisticsBatch(
+                        Arrays.asList(first, tooManyFouls, second, unknownTeam, null)))
+                .expectNextMatches(result -> result.accepted() == 2
+                        && result.rejected() == 3
+                        && result.items().get(0).status() == BatchItemResult.Status.ACCEPTED
+                        && result.items().get(1).errors().get(0).startsWith("fouls")
+                        && result.items().get(3).errors().contains("Team not found for ID: team999")
+                        && result.items().get(4).status() == BatchItemResult.Status.REJECTED)
+                .verifyComplete();
+
+        Mockito.verify(playerStatisticsService).saveAllPlayerStatistics(eq(List.of(first, second)), any());
+        Mockito.verify(teamStatisticsService).mergeGames(team, List.of(first, second));
+        Mockito.verify(playerStatisticsService, Mockito.never()).savePlayerStatistics(any(), any());
+    }
+
+    @Test
+    @DisplayName("Restores a line of an unregistered team to the player statistics only")
+    void restoreGameStatistics_shouldSkipTeamStatisticsOfUnknownTeam() {
+        PlayerGameStats known = new PlayerGameStats("stat1", "player1", "game1", "team1", LocalDateTime.now(),
+                "2023", 20, 8, 7, 1, 1, 3, 1, BigDecimal.valueOf(30.0));
+        PlayerGameStats unknownTeam = new PlayerGameStats("stat2", "player2", "game1", "team999", LocalDateTime.now(),
+                "2023", 12, 4, 2, 0, 1, 2, 2, BigDecimal.valueOf(22.0));
+        PlayerGameStats corrected = new PlayerGameStats("stat2", "player2", "game1", "team999",
+                unknownTeam.timestamp(), "2023", 14, 4, 2, 0, 1, 2, 2, BigDecimal.valueOf(22.0));
+        Team team = new Team("team1", "Test Team");
+
+        Mockito.when(teamInitializer.getTeam("team1")).thenReturn(team);
+        Mockito.when(teamInitializer.getTeam("team999")).thenReturn(null);
+        Mockito.when(playerStatisticsService.saveAllPlayerStatistics(any(), any())).thenReturn(Mono.just(List.of(
+                GameStatsWrite.inserted(known),
+                GameStatsWrite.inserted(unknownTeam),
+                GameStatsWrite.corrected(unknownTeam, corrected))));
+        Mockito.when(teamStatisticsService.mergeGames(any(Team.class), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(gameStatisticsService.restoreGameStatistics(List.of(known, unknownTeam, corrected)))
+                .verifyComplete();
+
+        Mockito.verify(teamStatisticsService).mergeGames(team, List.of(known));
+        Mockito.verify(teamStatisticsService, Mockito.never()).removeGame(any(), any());
+        Mockito.verify(teamStatisticsService, Mockito.never()).mergeGame(any(), any());
+    }
+
+    @Test
+    @DisplayName("Rejects a line reusing the statistics ID of another game without touching team statistics")
+    void saveGameStatistics_shouldRejectDuplicateId() {
+        PlayerGameStats owner = new PlayerGameStats("stat1", "player1", "game1", "team1", LocalDateTime.now(),
+                "2023", 20, 8, 7, 1, 1, 3, 1, BigDecimal.valueOf(30.0));
+        PlayerGameStats reused = new PlayerGameStats("stat1", "player2", "game1", "team1", LocalDateTime.now(),
+                "2023", 12, 4, 2, 0, 1, 2, 2, BigDecimal.valueOf(22.0));
+
+        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class), any()))
+                .thenReturn(Mono.just(GameStatsWrite.duplicateId(owner, reused)));
+
+        StepVerifier.create(gameStatisticsService.saveGameStatistics(reused))
+                .expectError(DuplicateStatisticsIdException.class)
+                .verify();
+
+        Mockito.verify(teamStatisticsService, Mockito.never()).mergeGame(any(), any());
+    }
+
+    @Test
+    @DisplayName("Replaces a corrected line in the team statistics and ignores resent lines in a batch")
+    void saveGameStatisticsBatch_shouldApplyCorrectionsAndSkipResends() {
+        PlayerGameStats previous = new PlayerGameStats("stat1", "player1", "game1", "team1", LocalDateTime.now(),
+                "2023", 20, 8, 7, 1, 1, 3, 1, BigDecimal.valueOf(30.0));
+        PlayerGameStats corrected = new PlayerGameStats("stat1", "player1", "game1", "team1", previous.timestamp(),
+                "2023", 22, 8, 7, 1, 1, 3, 1, BigDecimal.valueOf(30.0));
+        PlayerGameStats resent = new PlayerGameStats("stat2", "player2", "game1", "team1", LocalDateTime.now(),
+                "2023", 12, 4, 2, 0, 1, 2, 2, BigDecimal.valueOf(22.0));
+        PlayerGameStats reused = new PlayerGameStats("stat2", "player3", "game1", "team1", LocalDateTime.now(),
+                "2023", 8, 2, 1, 0, 0, 1, 0, BigDecimal.valueOf(12.0));
+        Team team = new Team("team1", "Test Team");
+
+        Mockito.when(teamInitializer.getTeam("team1")).thenReturn(team);
+        Mockito.when(playerStatisticsService.saveAllPlayerStatistics(any(), any())).thenReturn(Mono.just(List.of(
+                GameStatsWrite.corrected(previous, corrected),
+                GameStatsWrite.unchanged(resent),
+                GameStatsWrite.duplicateId(resent, reused))));
+        Mockito.when(teamStatisticsService.removeGame(any(Team.class), any())).thenReturn(Mono.empty());
+        Mockito.when(teamStatisticsService.mergeGame(any(Team.class), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(gameStatisticsService.saveGameStatisticsBatch(List.of(corrected, resent, reused)))
+                .expectNextMatches(result -> result.accepted() == 2
+                        && result.rejected() == 1
+                        && result.items().get(2).errors().contains("Duplicate statistics ID: stat2"))
+                .verifyComplete();
+
+        Mockito.verify(teamStatisticsService).removeGame(team, previous);
+        Mockito.verify(teamStatisticsService).mergeGame(team, corrected);
+        Mockito.verify(teamStatisticsService, Mockito.never()).mergeGames(any(), any());
+    }
+
+    @Test
+    @DisplayName("Records changed lines in the change log, but not resent ones")
+    void saveGameStatistics_shouldRecordChanges() {
+        PlayerGameStats playerGameStats = new PlayerGameStats("stat456", "player456", "game456", "team456",
+                LocalDateTime.now(), "2023", 25, 10, 5, 3, 2, 4, 2, BigDecimal.valueOf(35.0));
+        Team team = new Team("team456", "Test Team");
+
+        List<GameStatsWrite> writes = List.of(
+                GameStatsWrite.inserted(playerGameStats), GameStatsWrite.unchanged(playerGameStats));
+        AtomicInteger saves = new AtomicInteger();
+        Mockito.when(playerStatisticsService.savePlayerStatistics(any(PlayerGameStats.class), any()))
+                .thenAnswer(invocation -> {
+                    GameStatsWrite write = writes.get(saves.getAndIncrement());
+                    invocation.getArgument(1, GameStatsWriteListener.class).onWrite(write);
+                    return Mono.just(write);
+                });
+        Mockito.when(teamInitializer.getTeam("team456")).thenReturn(team);
+        Mockito.when(teamStatisticsService.mergeGame(team, playerGameStats)).thenReturn(Mono.empty());
+
+        long next = changeLog.nextSequence();
+        gameStatisticsService.saveGameStatistics(playerGameStats).block();
+        gameStatisticsService.saveGameStatistics(playerGameStats).block();
+
+        assertEquals(next + 1, changeLog.nextSequence());
+        assertEquals(new GameStatsChange(next, playerGameStats), changeLog.changes(next).blockFirst());
+    }
+}
@@ -2,8 +2,11 @@ package com.example.nba.service;
 
 import com.example.nba.model.PlayerGameStats;
 import com.example.nba.model.PlayerSeasonStats;
+import com.example.nba.repository.GameStatsWrite;
+import com.example.nba.repository.GameStatsWriteListener;
 import com.example.nba.repository.PlayerSeasonStatisticsRepository;
 import com.example.nba.repository.PlayerStatisticsRepository;
+import com.example.nba.repository.RollingStatsRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,7 +19,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -24,7 +26,7 @@ import static org.mockito.Mockito.*;
  * <p>
  * The savePlayerStatistics method is responsible for:
  * - Saving a player's game statistics (PlayerGameStats) to the game stats repository.
- * - Updating or creating the player's season statistics (PlayerSeasonStats) based on the saved game statistics.
+ * - Merging the saved game statistics into the player's season statistics (PlayerSeasonStats).
  * <p>
  * The tests validate different outcomes and scenarios of this method, ensuring correct behavior for
  * saving game stats, creating/updating season stats, and handling errors.
@@ -37,88 +39,104 @@ class PlayerStatisticsServiceImplTest {
     @Mock
     private PlayerSeasonStatisticsRepository seasonStatsRepository;
 
+    @Mock
+    private RollingStatsRepository rollingStatsRepository;
+
     @InjectMocks
     private PlayerStatisticsServiceImpl playerStatisticsService;
 
     PlayerStatisticsServiceImplTest() {
         MockitoAnnotations.openMocks(this);
+        when(rollingStatsRepository.apply(any(GameStatsWrite.class))).thenReturn(Mono.empty());
     }
 
     @Test
-    @DisplayName("Save player game statistics and create new season statistics when no existing season statistics are found")
-    void testSavePlayerStatistics_NewSeasonStats() {
+    @DisplayName("Save player game statistics and merge the game into the player's season statistics")
+    void testSavePlayerStatistics_MergesSeasonStats() {
         PlayerGameStats playerGameStats = createValidPlayerGameStats();
 
-        when(gameStatsRepository.save(any(PlayerGameStats.class))).thenReturn(Mono.just(playerGameStats));
-        when(seasonStatsRepository.findByPlayerIdAndSeason(eq(playerGameStats.playerId()), eq(playerGameStats.season())))
-                .thenReturn(Mono.empty());
-        when(seasonStatsRepository.save(any(PlayerSeasonStats.class)))
-                .thenReturn(Mono.just(PlayerSeasonStats.fromFirstGame(playerGameStats)));
+        when(gameStatsRepository.save(any(PlayerGameStats.class), any())).thenReturn(Mono.just(GameStatsWrite.inserted(playerGameStats)));
+        when(seasonStatsRepository.mergeGame(any(PlayerGameStats.class))).thenReturn(Mono.empty());
 
-        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats))
-                .expectNext(playerGameStats)
+        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats, GameStatsWriteListener.NONE))
+                .expectNext(GameStatsWrite.inserted(playerGameStats))
                 .verifyComplete();
 
-        verify(gameStatsRepository, times(1)).save(playerGameStats);
-        verify(seasonStatsRepository, times(1)).findByPlayerIdAndSeason(playerGameStats.playerId(), playerGameStats.season());
-        verify(seasonStatsRepository, times(1)).save(any(PlayerSeasonStats.class));
+        verify(gameStatsRepository, times(1)).save(playerGameStats, GameStatsWriteListener.NONE);
+        verify(seasonStatsRepository, times(1)).mergeGame(playerGameStats);
+        verify(seasonStatsRepository, times(0)).findByPlayerIdAndSeason(anyString(), anyString());
+        verify(seasonStatsRepository, times(0)).save(any(PlayerSeasonStats.class));
+        verify(rollingStatsRepository, times(1)).apply(GameStatsWrite.inserted(playerGameStats));
     }
 
     @Test
-    @DisplayName("Save player game statistics and update existing season statistics if they already exist")
-    void testSavePlayerStatistics_UpdateExistingSeasonStats() {
+    @DisplayName("Handle failure when saving game statistics")
+    void testSavePlayerStatistics_GameStatsSaveFails() {
         PlayerGameStats playerGameStats = createValidPlayerGameStats();
-        PlayerSeasonStats existingSeasonStats = PlayerSeasonStats.fromFirstGame(playerGameStats);
 
-        when(gameStatsRepository.save(any(PlayerGameStats.class))).thenReturn(Mono.just(playerGameStats));
-        when(seasonStatsRepository.findByPlayerIdAndSeason(eq(playerGameStats.playerId()), eq(playerGameStats.season())))
-                .thenReturn(Mono.just(existingSeasonStats));
-        when(seasonStatsRepository.save(any(PlayerSeasonStats.class)))
-                .thenReturn(Mono.just(existingSeasonStats.withNewGame(playerGameStats)));
+        when(gameStatsRepository.save(any(PlayerGameStats.class), any())).thenReturn(Mono.error(new RuntimeException("Save failed")));
 
-        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats))
-                .expectNext(playerGameStats)
-                .verifyComplete();
+        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats, GameStatsWriteListener.NONE))
+                .expectErrorMatches(throwable -> throwable instanceof RuntimeException && throwable.getMessage().equals("Save failed"))
+                .verify();
 
-        verify(gameStatsRepository, times(1)).save(playerGameStats);
-        verify(seasonStatsRepository, times(1)).findByPlayerIdAndSeason(playerGameStats.playerId(), playerGameStats.season());
-        verify(seasonStatsRepository, times(1)).save(existingSeasonStats.withNewGame(playerGameStats));
+        verify(gameStatsRepository, times(1)).save(playerGameStats, GameStatsWriteListener.NONE);
+        verify(seasonStatsRepository, times(0)).mergeGame(any(PlayerGameStats.class));
     }
 
     @Test
-    @DisplayName("Handle failure when saving game statistics")
-    void testSavePlayerStatistics_GameStatsSaveFails() {
+    @DisplayName("Handle failure when merging season statistics after successfully saving game statistics")
+    void testSavePlayerStatistics_SeasonStatsMergeFails() {
         PlayerGameStats playerGameStats = createValidPlayerGameStats();
 
-        when(gameStatsRepository.save(any(PlayerGameStats.class))).thenReturn(Mono.error(new RuntimeException("Save failed")));
+        when(gameStatsRepository.save(any(PlayerGameStats.class), any())).thenReturn(Mono.just(GameStatsWrite.inserted(playerGameStats)));
+        when(seasonStatsRepository.mergeGame(any(PlayerGameStats.class)))
+                .thenReturn(Mono.error(new RuntimeException("Save failed")));
 
-        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats))
+        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats, GameStatsWriteListener.NONE))
                 .expectErrorMatches(throwable -> throwable instanceof RuntimeException && throwable.getMessage().equals("Save failed"))
                 .verify();
 
-        verify(gameStatsRepository, times(1)).save(playerGameStats);
-        verify(seasonStatsRepository, times(0)).findByPlayerIdAndSeason(anyString(), anyString());
-        verify(seasonStatsRepository, times(0)).save(any(PlayerSeasonStats.class));
+        verify(gameStatsRepository, times(1)).save(playerGameStats, GameStatsWriteListener.NONE);
+        verify(seasonStatsRepository, times(1)).mergeGame(playerGameStats);
     }
 
     @Test
-    @DisplayName("Handle failure when saving season statistics after successfully saving game statistics")
-    void testSavePlayerStatistics_SeasonStatsSaveFails() {
+    @DisplayName("A resent game line does not change the season statistics")
+    void testSavePlayerStatistics_ResentLineIsNoOp() {
         PlayerGameStats playerGameStats = createValidPlayerGameStats();
 
-        when(gameStatsRepository.save(any(PlayerGameStats.class))).thenReturn(Mono.just(playerGameStats));
-        when(seasonStatsRepository.findByPlayerIdAndSeason(eq(playerGameStats.playerId()), eq(playerGameStats.season())))
-                .thenReturn(Mono.empty());
-        when(seasonStatsRepository.save(any(PlayerSeasonStats.class)))
-                .thenReturn(Mono.error(new RuntimeException("Save failed")));
+        when(gameStatsRepository.save(any(PlayerGameStats.class), any()))
+                .thenReturn(Mono.just(GameStatsWrite.unchanged(playerGameStats)));
 
-        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats))
-                .expectErrorMatches(throwable -> throwable instanceof RuntimeException && throwable.getMessage().equals("Save failed"))
-                .verify();
+        StepVerifier.create(playerStatisticsService.savePlayerStatistics(playerGameStats, GameStatsWriteListener.NONE))
+                .expectNext(GameStatsWrite.unchanged(playerGameStats))
+                .verifyComplete();
+
+        verify(seasonStatsRepository, times(0)).mergeGame(any(PlayerGameStats.class));
+        verify(seasonStatsRepository, times(0)).removeGame(any(PlayerGameStats.class));
+    }
+
+    @Test
+    @DisplayName("A corrected game line replaces the previous line in the season statistics")
+    void testSavePlayerStatistics_CorrectedLineAppliesDelta() {
+        PlayerGameStats previous = createValidPlayerGameStats();
+        PlayerGameStats corrected = new PlayerGameStats(previous.id(), previous.playerId(), previous.gameId(),
+                previous.teamId(), previous.timestamp(), previous.season(), previous.points() + 2,
+                previous.rebounds(), previous.assists(), previous.steals(), previous.blocks(), previous.fouls(),
+                previous.turnovers(), previous.minutesPlayed());
+
+        when(gameStatsRepository.save(any(PlayerGameStats.class), any()))
+                .thenReturn(Mono.just(GameStatsWrite.corrected(previous, corrected)));
+        when(seasonStatsRepository.removeGame(any(PlayerGameStats.class))).thenReturn(Mono.empty());
+        when(seasonStatsRepository.mergeGame(any(PlayerGameStats.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(playerStatisticsService.savePlayerStatistics(corrected, GameStatsWriteListener.NONE))
+                .expectNext(GameStatsWrite.corrected(previous, corrected))
+                .verifyComplete();
 
-        verify(gameStatsRepository, times(1)).save(playerGameStats);
-        verify(seasonStatsRepository, times(1)).findByPlayerIdAndSeason(playerGameStats.playerId(), playerGameStats.season());
-        verify(seasonStatsRepository, times(1)).save(any(PlayerSeasonStats.class));
+        verify(seasonStatsRepository, times(1)).removeGame(previous);
+        verify(seasonStatsRepository, times(1)).mergeGame(corrected);
     }
 
     private PlayerGameStats createValidPlayerGameStats() {